@@ -0,0 +1,27 @@
+package teammates.common.datatransfer;
+
+import java.util.Date;
+
+/**
+ * Represents the progress of the deletion of the data of a course, which is done in the background
+ * after the course itself has been deleted.
+ */
+public class CourseDeletionStatus {
+
+    public String courseId;
+    /** The Google ID of the instructor who deleted the course, or null if it was not deleted by an instructor. */
+    public String deletedBy;
+    /** The number of entities of the course which have been deleted so far. */
+    public long deletedCount;
+    public Date startedAt;
+    public Date updatedAt;
+
+    public CourseDeletionStatus(String courseId, String deletedBy, long deletedCount, Date startedAt, Date updatedAt) {
+        this.courseId = courseId;
+        this.deletedBy = deletedBy;
+        this.deletedCount = deletedCount;
+        this.startedAt = startedAt;
+        this.updatedAt = updatedAt;
+    }
+
+}
@@ -0,0 +1,72 @@
+package teammates.common.datatransfer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.appengine.api.datastore.Text;
+
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+
+/**
+ * A dictionary of the identifiers which are repeated across the responses of a feedback session,
+ * i.e. course IDs, session names, question IDs, participant identifiers and section names,
+ * and of the short answers which many responses share, e.g. the choices of multiple-choice questions.
+ *
+ * <p>Responses loaded from the datastore each hold their own copies of these strings.
+ * Replacing them with the copies in the dictionary as the responses are loaded lets the responses
+ * held in memory share one copy of each identifier and short answer.
+ */
+public class FeedbackIdentifierDictionary {
+
+    /** Answers longer than this are rarely repeated, so they are not added to the dictionary. */
+    public static final int MAX_SHARED_ANSWER_LENGTH = 100;
+
+    private final Map<String, String> identifiers = new HashMap<String, String>();
+    private final Map<String, Text> answers = new HashMap<String, Text>();
+
+    /**
+     * Returns the copy of {@code identifier} in the dictionary, adding it to the dictionary if it is not there.
+     */
+    public String intern(String identifier) {
+        if (identifier == null) {
+            return null;
+        }
+        String internedIdentifier = identifiers.get(identifier);
+        if (internedIdentifier == null) {
+            identifiers.put(identifier, identifier);
+            return identifier;
+        }
+        return internedIdentifier;
+    }
+
+    /**
+     * Returns the copy of {@code answer} in the dictionary, adding it to the dictionary if it is not there.
+     * Answers longer than {@link #MAX_SHARED_ANSWER_LENGTH} characters are returned as they are.
+     */
+    public Text intern(Text answer) {
+        if (answer == null || answer.getValue() == null || answer.getValue().length() > MAX_SHARED_ANSWER_LENGTH) {
+            return answer;
+        }
+        Text internedAnswer = answers.get(answer.getValue());
+        if (internedAnswer == null) {
+            answers.put(answer.getValue(), answer);
+            return answer;
+        }
+        return internedAnswer;
+    }
+
+    /**
+     * Replaces the identifiers and the answer in {@code response} with their copies in the dictionary.
+     */
+    public void intern(FeedbackResponseAttributes response) {
+        response.courseId = intern(response.courseId);
+        response.feedbackSessionName = intern(response.feedbackSessionName);
+        response.feedbackQuestionId = intern(response.feedbackQuestionId);
+        response.giver = intern(response.giver);
+        response.recipient = intern(response.recipient);
+        response.giverSection = intern(response.giverSection);
+        response.recipientSection = intern(response.recipientSection);
+        response.responseMetaData = intern(response.responseMetaData);
+    }
+
+}
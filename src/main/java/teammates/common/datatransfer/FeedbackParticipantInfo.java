@@ -0,0 +1,27 @@
+package teammates.common.datatransfer;
+
+/**
+ * The details of a giver or recipient of feedback responses as displayed in the results of a feedback session,
+ * looked up once per participant identifier.
+ *
+ * <p>A detail is null if it is not known for the participant, e.g. the last name of an anonymised participant.
+ */
+public class FeedbackParticipantInfo {
+
+    public String name;
+    public String lastName;
+    public String teamName;
+    public String section;
+
+    public FeedbackParticipantInfo() {
+        // all details are unknown
+    }
+
+    public FeedbackParticipantInfo(String name, String lastName, String teamName, String section) {
+        this.name = name;
+        this.lastName = lastName;
+        this.teamName = teamName;
+        this.section = section;
+    }
+
+}
@@ -0,0 +1,174 @@
+package teammates.common.datatransfer;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A view of one detail of the participants in a table of {@link FeedbackParticipantInfo},
+ * as a map from participant identifier to that detail.
+ *
+ * <p>Participants whose detail is null are not in the view.
+ * Putting a detail into the view adds the participant to the underlying table if it is not already there.
+ */
+class FeedbackParticipantInfoView extends AbstractMap<String, String> {
+
+    /**
+     * The details of a participant which can be viewed.
+     */
+    enum Detail {
+        NAME {
+            @Override
+            String get(FeedbackParticipantInfo info) {
+                return info.name;
+            }
+
+            @Override
+            void set(FeedbackParticipantInfo info, String value) {
+                info.name = value;
+            }
+        },
+        LAST_NAME {
+            @Override
+            String get(FeedbackParticipantInfo info) {
+                return info.lastName;
+            }
+
+            @Override
+            void set(FeedbackParticipantInfo info, String value) {
+                info.lastName = value;
+            }
+        },
+        TEAM_NAME {
+            @Override
+            String get(FeedbackParticipantInfo info) {
+                return info.teamName;
+            }
+
+            @Override
+            void set(FeedbackParticipantInfo info, String value) {
+                info.teamName = value;
+            }
+        };
+
+        abstract String get(FeedbackParticipantInfo info);
+
+        abstract void set(FeedbackParticipantInfo info, String value);
+    }
+
+    private final Map<String, FeedbackParticipantInfo> participantTable;
+    private final Detail detail;
+
+    FeedbackParticipantInfoView(Map<String, FeedbackParticipantInfo> participantTable, Detail detail) {
+        this.participantTable = participantTable;
+        this.detail = detail;
+    }
+
+    @Override
+    public String get(Object participantIdentifier) {
+        FeedbackParticipantInfo info = participantTable.get(participantIdentifier);
+        return info == null ? null : detail.get(info);
+    }
+
+    @Override
+    public boolean containsKey(Object participantIdentifier) {
+        return get(participantIdentifier) != null;
+    }
+
+    @Override
+    public String put(String participantIdentifier, String value) {
+        FeedbackParticipantInfo info = participantTable.get(participantIdentifier);
+        if (info == null) {
+            info = new FeedbackParticipantInfo();
+            participantTable.put(participantIdentifier, info);
+        }
+        String oldValue = detail.get(info);
+        detail.set(info, value);
+        return oldValue;
+    }
+
+    @Override
+    public String remove(Object participantIdentifier) {
+        FeedbackParticipantInfo info = participantTable.get(participantIdentifier);
+        if (info == null) {
+            return null;
+        }
+        String oldValue = detail.get(info);
+        detail.set(info, null);
+        return oldValue;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<Entry<String, String>>() {
+
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new EntryIterator(participantTable.entrySet().iterator());
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (FeedbackParticipantInfo info : participantTable.values()) {
+                    if (detail.get(info) != null) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+
+        };
+    }
+
+    /**
+     * Iterates over the participants whose detail is not null.
+     */
+    private class EntryIterator implements Iterator<Entry<String, String>> {
+
+        private final Iterator<Entry<String, FeedbackParticipantInfo>> participants;
+        private Entry<String, FeedbackParticipantInfo> next;
+
+        EntryIterator(Iterator<Entry<String, FeedbackParticipantInfo>> participants) {
+            this.participants = participants;
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (participants.hasNext()) {
+                Entry<String, FeedbackParticipantInfo> participant = participants.next();
+                if (detail.get(participant.getValue()) != null) {
+                    next = participant;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, String> entry =
+                    new SimpleImmutableEntry<String, String>(next.getKey(), detail.get(next.getValue()));
+            advance();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
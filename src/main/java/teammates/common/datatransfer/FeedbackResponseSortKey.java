@@ -0,0 +1,100 @@
+package teammates.common.datatransfer;
+
+import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+
+/**
+ * The values a response is sorted by in the results of a feedback session, looked up once per response
+ * so that the comparators of {@link FeedbackSessionResultsBundle} do not repeat the lookups in every comparison.
+ *
+ * <p>Names are compared with {@link FeedbackSessionResultsBundle#compareByNames}.
+ */
+public class FeedbackResponseSortKey {
+
+    public final String giver;
+    public final String recipient;
+    public final String giverSection;
+    public final String recipientSection;
+
+    public final boolean isGiverVisible;
+    public final boolean isRecipientVisible;
+
+    /** The names of the giver and recipient as stored in the bundle. */
+    public final String giverName;
+    public final String recipientName;
+
+    /** The names of the giver and recipient as displayed, e.g. "Unknown user" for a missing participant. */
+    public final String giverDisplayName;
+    public final String recipientDisplayName;
+
+    /** The team names of the giver and recipient, or their display names if they are not in a team. */
+    public final String giverTeamName;
+    public final String recipientTeamName;
+
+    private final FeedbackQuestionAttributes question;
+    private final FeedbackResponseAttributes response;
+    private String answerString;
+
+    FeedbackResponseSortKey(FeedbackResponseAttributes response, FeedbackSessionResultsBundle bundle) {
+        this.response = response;
+        this.giver = response.giver;
+        this.recipient = response.recipient;
+        this.giverSection = response.giverSection;
+        this.recipientSection = response.recipientSection;
+        this.isGiverVisible = bundle.isGiverVisible(response);
+        this.isRecipientVisible = bundle.isRecipientVisible(response);
+        this.giverName = bundle.emailNameTable.get(response.giver);
+        this.recipientName = bundle.emailNameTable.get(response.recipient);
+        this.giverDisplayName = bundle.getNameForEmail(response.giver);
+        this.recipientDisplayName = bundle.getNameForEmail(response.recipient);
+        this.giverTeamName = getTeamNameOrDisplayName(bundle.getTeamNameForEmail(response.giver), giverDisplayName);
+        this.recipientTeamName =
+                getTeamNameOrDisplayName(bundle.getTeamNameForEmail(response.recipient), recipientDisplayName);
+        this.question = bundle.questions.get(response.feedbackQuestionId);
+    }
+
+    private static String getTeamNameOrDisplayName(String teamName, String displayName) {
+        return teamName.isEmpty() ? displayName : teamName;
+    }
+
+    /**
+     * Returns true if the key was looked up for the current giver and recipient of its response.
+     */
+    boolean isCurrent() {
+        return giver.equals(response.giver) && recipient.equals(response.recipient);
+    }
+
+    /**
+     * Compares the questions of the responses by question number.
+     * Responses to questions which are not in the bundle are considered equal to all others.
+     */
+    public int compareQuestionTo(FeedbackResponseSortKey other) {
+        if (question == null || other.question == null) {
+            return 0;
+        }
+        return question.compareTo(other.question);
+    }
+
+    /**
+     * Compares the answers of the responses as strings.
+     */
+    public int compareAnswerTo(FeedbackResponseSortKey other) {
+        return getAnswerString().compareTo(other.getAnswerString());
+    }
+
+    /**
+     * Compares the IDs of the responses.
+     */
+    public int compareIdTo(FeedbackResponseSortKey other) {
+        return response.getId().compareTo(other.response.getId());
+    }
+
+    // the answer is only needed to break ties, so it is decoded only when first compared
+    private String getAnswerString() {
+        if (answerString == null) {
+            answerString = response.getResponseDetails().getAnswerString();
+        }
+        return answerString;
+    }
+
+}
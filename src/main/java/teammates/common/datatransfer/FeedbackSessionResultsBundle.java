@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,8 +43,13 @@ public class FeedbackSessionResultsBundle {
     public FeedbackSessionAttributes feedbackSession;
     public List<FeedbackResponseAttributes> responses;
     public Map<String, FeedbackQuestionAttributes> questions;
+    /** The details of the givers and recipients of the responses, keyed by participant identifier. */
+    public Map<String, FeedbackParticipantInfo> participantTable;
+    /** A view of the names in {@link #participantTable}. */
     public Map<String, String> emailNameTable;
+    /** A view of the last names in {@link #participantTable}. */
     public Map<String, String> emailLastNameTable;
+    /** A view of the team names in {@link #participantTable}. */
     public Map<String, String> emailTeamNameTable;
     public Map<String, Set<String>> rosterTeamNameMembersTable;
     public Map<String, Set<String>> rosterSectionTeamNameTable;
@@ -53,6 +59,20 @@ public class FeedbackSessionResultsBundle {
     public Map<String, List<FeedbackResponseCommentAttributes>> responseComments;
     private boolean isComplete;
 
+    /**
+     * The maps of the responses which have been built, keyed by the name of the view and its options.
+     * They are shared by all callers, so they are unmodifiable.
+     * They are valid until {@link #responses} or {@link #questions} is replaced,
+     * or until {@link #invalidateResponseViews} is called after either is modified in place.
+     */
+    private final Map<String, Object> responseViews = new HashMap<String, Object>();
+    private List<FeedbackResponseAttributes> responsesOfViews;
+    private Map<String, FeedbackQuestionAttributes> questionsOfViews;
+
+    /** The sort keys of the responses which have been sorted, keyed by the identity of the response. */
+    private final Map<FeedbackResponseAttributes, FeedbackResponseSortKey> sortKeys =
+            new IdentityHashMap<FeedbackResponseAttributes, FeedbackResponseSortKey>();
+
     /**
      * Responses with identities of giver/recipients NOT hidden.
      * To be used for anonymous result calculation only, and identities hidden before showing to users.
@@ -170,8 +190,8 @@ public class FeedbackSessionResultsBundle {
 
     public FeedbackSessionResultsBundle(FeedbackSessionAttributes feedbackSession,
             Map<String, FeedbackQuestionAttributes> questions, CourseRoster roster) {
-        this(feedbackSession, new ArrayList<FeedbackResponseAttributes>(), questions, new HashMap<String, String>(),
-             new HashMap<String, String>(), new HashMap<String, String>(), new HashMap<String, Set<String>>(),
+        this(feedbackSession, new ArrayList<FeedbackResponseAttributes>(), questions,
+             new HashMap<String, FeedbackParticipantInfo>(), new HashMap<String, Set<String>>(),
              new HashMap<String, boolean[]>(), new FeedbackSessionResponseStatus(), roster,
              new HashMap<String, List<FeedbackResponseCommentAttributes>>());
         createBundles();
@@ -190,7 +210,6 @@ public class FeedbackSessionResultsBundle {
                                         Map<String, List<FeedbackResponseCommentAttributes>> responseComments) {
         this(feedbackSession, responses, questions, emailNameTable, emailLastNameTable,
              emailTeamNameTable, sectionTeamNameTable, visibilityTable, responseStatus, roster, responseComments, true);
-        createBundles();
     }
 
     public FeedbackSessionResultsBundle(FeedbackSessionAttributes feedbackSession,
@@ -205,12 +224,63 @@ public class FeedbackSessionResultsBundle {
                                         CourseRoster roster,
                                         Map<String, List<FeedbackResponseCommentAttributes>> responseComments,
                                         boolean isComplete) {
+        this(feedbackSession, responses, questions,
+             toParticipantTable(emailNameTable, emailLastNameTable, emailTeamNameTable),
+             sectionTeamNameTable, visibilityTable, responseStatus, roster, responseComments, isComplete);
+    }
+
+    public FeedbackSessionResultsBundle(FeedbackSessionAttributes feedbackSession,
+                                        List<FeedbackResponseAttributes> responses,
+                                        Map<String, FeedbackQuestionAttributes> questions,
+                                        Map<String, FeedbackParticipantInfo> participantTable,
+                                        Map<String, Set<String>> sectionTeamNameTable,
+                                        Map<String, boolean[]> visibilityTable,
+                                        FeedbackSessionResponseStatus responseStatus,
+                                        CourseRoster roster,
+                                        Map<String, List<FeedbackResponseCommentAttributes>> responseComments) {
+        this(feedbackSession, responses, questions, participantTable, sectionTeamNameTable,
+             visibilityTable, responseStatus, roster, responseComments, true);
+    }
+
+    public FeedbackSessionResultsBundle(FeedbackSessionAttributes feedbackSession,
+                                        List<FeedbackResponseAttributes> responses,
+                                        Map<String, FeedbackQuestionAttributes> questions,
+                                        Map<String, FeedbackParticipantInfo> participantTable,
+                                        Map<String, Set<String>> sectionTeamNameTable,
+                                        Map<String, boolean[]> visibilityTable,
+                                        FeedbackSessionResponseStatus responseStatus,
+                                        CourseRoster roster,
+                                        Map<String, List<FeedbackResponseCommentAttributes>> responseComments,
+                                        boolean isComplete) {
+        this(feedbackSession, responses, questions, participantTable, sectionTeamNameTable, visibilityTable,
+             responseStatus, roster, responseComments, isComplete, new FeedbackIdentifierDictionary());
+    }
+
+    /**
+     * Creates a bundle whose responses share the identifiers in {@code dictionary},
+     * which the responses may have been interned into as they were loaded.
+     */
+    public FeedbackSessionResultsBundle(FeedbackSessionAttributes feedbackSession,
+                                        List<FeedbackResponseAttributes> responses,
+                                        Map<String, FeedbackQuestionAttributes> questions,
+                                        Map<String, FeedbackParticipantInfo> participantTable,
+                                        Map<String, Set<String>> sectionTeamNameTable,
+                                        Map<String, boolean[]> visibilityTable,
+                                        FeedbackSessionResponseStatus responseStatus,
+                                        CourseRoster roster,
+                                        Map<String, List<FeedbackResponseCommentAttributes>> responseComments,
+                                        boolean isComplete,
+                                        FeedbackIdentifierDictionary dictionary) {
         this.feedbackSession = feedbackSession;
         this.questions = questions;
         this.responses = responses;
-        this.emailNameTable = emailNameTable;
-        this.emailLastNameTable = emailLastNameTable;
-        this.emailTeamNameTable = emailTeamNameTable;
+        this.participantTable = participantTable;
+        this.emailNameTable =
+                new FeedbackParticipantInfoView(participantTable, FeedbackParticipantInfoView.Detail.NAME);
+        this.emailLastNameTable =
+                new FeedbackParticipantInfoView(participantTable, FeedbackParticipantInfoView.Detail.LAST_NAME);
+        this.emailTeamNameTable =
+                new FeedbackParticipantInfoView(participantTable, FeedbackParticipantInfoView.Detail.TEAM_NAME);
         this.sectionTeamNameTable = sectionTeamNameTable;
         this.visibilityTable = visibilityTable;
         this.responseStatus = responseStatus;
@@ -218,14 +288,23 @@ public class FeedbackSessionResultsBundle {
         this.responseComments = responseComments;
         this.actualResponses = new ArrayList<FeedbackResponseAttributes>();
 
+        // share one copy of each identifier among the responses, the questions and the participant table
+        for (FeedbackQuestionAttributes question : questions.values()) {
+            dictionary.intern(question.getId());
+        }
+        for (String participantIdentifier : participantTable.keySet()) {
+            dictionary.intern(participantIdentifier);
+        }
+
         // We change user email to team name here for display purposes.
         for (FeedbackResponseAttributes response : responses) {
+            dictionary.intern(response);
             if (questions.get(response.feedbackQuestionId).giverType == FeedbackParticipantType.TEAMS
                     && roster.isStudentInCourse(response.giver)) {
                 // for TEAMS giver type, for older responses,
                 // the giverEmail is stored as the student giver's email in the database
                 // so we convert it to the team name for use in FeedbackSessionResultsBundle
-                response.giver = emailNameTable.get(response.giver + Const.TEAM_OF_EMAIL_OWNER);
+                response.giver = dictionary.intern(emailNameTable.get(response.giver + Const.TEAM_OF_EMAIL_OWNER));
             }
             // Copy the data before hiding response recipient and giver.
             FeedbackResponseAttributes fraCopy = new FeedbackResponseAttributes(response);
@@ -233,14 +312,26 @@ public class FeedbackSessionResultsBundle {
         }
         this.isComplete = isComplete;
 
-        hideResponsesGiverRecipient();
-        // unlike emailTeamNameTable, emailLastNameTable and emailTeamNameTable,
+        hideResponsesGiverRecipient(dictionary);
+        // unlike participantTable,
         // roster.*Table is populated using the CourseRoster data directly
         this.rosterTeamNameMembersTable = getTeamNameToEmailsTableFromRoster(roster);
         this.rosterSectionTeamNameTable = getSectionToTeamNamesFromRoster(roster);
         createBundles();
     }
 
+    private static Map<String, FeedbackParticipantInfo> toParticipantTable(Map<String, String> emailNameTable,
+            Map<String, String> emailLastNameTable, Map<String, String> emailTeamNameTable) {
+        Map<String, FeedbackParticipantInfo> participantTable = new HashMap<String, FeedbackParticipantInfo>();
+        new FeedbackParticipantInfoView(participantTable, FeedbackParticipantInfoView.Detail.NAME)
+                .putAll(emailNameTable);
+        new FeedbackParticipantInfoView(participantTable, FeedbackParticipantInfoView.Detail.LAST_NAME)
+                .putAll(emailLastNameTable);
+        new FeedbackParticipantInfoView(participantTable, FeedbackParticipantInfoView.Detail.TEAM_NAME)
+                .putAll(emailTeamNameTable);
+        return participantTable;
+    }
+
     private void createBundles(){
         this.possibleGiversBundle = new PossibleGiversBundle();
         this.possibleRecipientsBundle = new PossibleRecipientsBundle();
@@ -254,7 +345,7 @@ public class FeedbackSessionResultsBundle {
      * Replaces the giver/recipient email in responses to an email with two "@@"s
      * to indicate it is invalid and should not be displayed.
      */
-    private void hideResponsesGiverRecipient() {
+    private void hideResponsesGiverRecipient(FeedbackIdentifierDictionary dictionary) {
         for (FeedbackResponseAttributes response : responses) {
             // Hide recipient details if its not visible to the current user
             String name = emailNameTable.get(response.recipient);
@@ -262,7 +353,7 @@ public class FeedbackSessionResultsBundle {
             FeedbackParticipantType participantType = question.recipientType;
 
             if (!isRecipientVisible(response)) {
-                String anonEmail = getAnonEmail(participantType, name);
+                String anonEmail = dictionary.intern(getAnonEmail(participantType, name));
                 name = getAnonName(participantType, name);
 
                 emailNameTable.put(anonEmail, name);
@@ -276,7 +367,7 @@ public class FeedbackSessionResultsBundle {
             participantType = question.giverType;
 
             if (!isGiverVisible(response)) {
-                String anonEmail = getAnonEmail(participantType, name);
+                String anonEmail = dictionary.intern(getAnonEmail(participantType, name));
                 name = getAnonName(participantType, name);
 
                 emailNameTable.put(anonEmail, name);
@@ -543,6 +634,12 @@ public class FeedbackSessionResultsBundle {
 
     public Map<String, Map<String, List<FeedbackResponseAttributes>>>
             getResponsesSortedByRecipient(boolean sortByTeam) {
+        Map<String, Map<String, List<FeedbackResponseAttributes>>> cachedMap =
+                getCachedResponseView("responsesSortedByRecipient/" + sortByTeam);
+        if (cachedMap != null) {
+            return cachedMap;
+        }
+
         Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
 
@@ -574,7 +671,7 @@ public class FeedbackSessionResultsBundle {
             responsesFromOneGiverToOneRecipient.add(response);
         }
 
-        return sortedMap;
+        return cacheNestedResponseView("responsesSortedByRecipient/" + sortByTeam, sortedMap);
     }
 
     /**
@@ -589,10 +686,15 @@ public class FeedbackSessionResultsBundle {
      * @return The responses in this bundle sorted by recipient identifier > giver identifier > question number.
      * @see #getResponsesSortedByRecipient
      */
-    public LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>
+    public Map<String, Map<String, List<FeedbackResponseAttributes>>>
             getResponsesSortedByRecipientGiverQuestion(boolean sortByTeam) {
+        Map<String, Map<String, List<FeedbackResponseAttributes>>> cachedMap =
+                getCachedResponseView("responsesSortedByRecipientGiverQuestion/" + sortByTeam);
+        if (cachedMap != null) {
+            return cachedMap;
+        }
 
-        LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
+        Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
 
         if (sortByTeam) {
@@ -619,7 +721,7 @@ public class FeedbackSessionResultsBundle {
             responsesFromOneGiverToOneRecipient.add(response);
         }
 
-        return sortedMap;
+        return cacheNestedResponseView("responsesSortedByRecipientGiverQuestion/" + sortByTeam, sortedMap);
     }
 
     /**
@@ -629,6 +731,12 @@ public class FeedbackSessionResultsBundle {
      */
     public Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
                 getResponsesSortedByGiverQuestionRecipient(boolean sortByTeam) {
+        Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> cachedMap =
+                getCachedResponseView("responsesSortedByGiverQuestionRecipient/" + sortByTeam);
+        if (cachedMap != null) {
+            return cachedMap;
+        }
+
         Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
 
@@ -656,7 +764,7 @@ public class FeedbackSessionResultsBundle {
             responsesFromOneGiverOneQuestion.add(response);
         }
 
-        return sortedMap;
+        return cacheNestedResponseView("responsesSortedByGiverQuestionRecipient/" + sortByTeam, sortedMap);
     }
 
     /**
@@ -676,6 +784,12 @@ public class FeedbackSessionResultsBundle {
 
     public Map<String, Map<String, List<FeedbackResponseAttributes>>>
             getResponsesSortedByGiver(boolean sortByTeam) {
+        Map<String, Map<String, List<FeedbackResponseAttributes>>> cachedMap =
+                getCachedResponseView("responsesSortedByGiver/" + sortByTeam);
+        if (cachedMap != null) {
+            return cachedMap;
+        }
+
         Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
 
@@ -707,7 +821,7 @@ public class FeedbackSessionResultsBundle {
             responsesFromOneGiverToOneRecipient.add(response);
         }
 
-        return sortedMap;
+        return cacheNestedResponseView("responsesSortedByGiver/" + sortByTeam, sortedMap);
     }
 
     /**
@@ -724,6 +838,12 @@ public class FeedbackSessionResultsBundle {
      */
     public Map<String, Map<String, List<FeedbackResponseAttributes>>>
                 getResponsesSortedByGiverRecipientQuestion(boolean sortByTeam) {
+        Map<String, Map<String, List<FeedbackResponseAttributes>>> cachedMap =
+                getCachedResponseView("responsesSortedByGiverRecipientQuestion/" + sortByTeam);
+        if (cachedMap != null) {
+            return cachedMap;
+        }
+
         if (sortByTeam) {
             Collections.sort(responses, compareByTeamGiverRecipientQuestion);
         } else {
@@ -751,7 +871,7 @@ public class FeedbackSessionResultsBundle {
             responsesFromOneGiverToOneRecipient.add(response);
         }
 
-        return sortedMap;
+        return cacheNestedResponseView("responsesSortedByGiverRecipientQuestion/" + sortByTeam, sortedMap);
     }
 
     public boolean isStudentHasSomethingNewToSee(StudentAttributes student) {
@@ -821,14 +941,76 @@ public class FeedbackSessionResultsBundle {
         return sectionToTeam;
     }
 
-    public int compareByQuestionNumber(FeedbackResponseAttributes r1,
-                                        FeedbackResponseAttributes r2) {
-        FeedbackQuestionAttributes q1 = questions.get(r1.feedbackQuestionId);
-        FeedbackQuestionAttributes q2 = questions.get(r2.feedbackQuestionId);
-        if (q1 == null || q2 == null) {
-            return 0;
+    /**
+     * Discards the views of the responses built so far, e.g. by {@link #getResponsesSortedByRecipient}.
+     * This must be called after {@link #responses} or {@link #questions} is modified in place.
+     */
+    public void invalidateResponseViews() {
+        responseViews.clear();
+    }
+
+    /**
+     * Returns the view of the responses named {@code viewName} if it has been built
+     * from the current responses and questions, or null otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T getCachedResponseView(String viewName) {
+        if (responses != responsesOfViews || questions != questionsOfViews) {
+            responseViews.clear();
+            responsesOfViews = responses;
+            questionsOfViews = questions;
+            return null;
         }
-        return q1.compareTo(q2);
+        return (T) responseViews.get(viewName);
+    }
+
+    /**
+     * Keeps an unmodifiable copy of {@code view}, a map of lists of responses,
+     * as the view of the responses named {@code viewName}.
+     * @return the unmodifiable view
+     */
+    <K> Map<K, List<FeedbackResponseAttributes>> cacheResponseView(
+            String viewName, Map<K, List<FeedbackResponseAttributes>> view) {
+        Map<K, List<FeedbackResponseAttributes>> unmodifiableView = toUnmodifiableView(view);
+        responseViews.put(viewName, unmodifiableView);
+        return unmodifiableView;
+    }
+
+    /**
+     * Keeps an unmodifiable copy of {@code view}, a map of maps of lists of responses,
+     * as the view of the responses named {@code viewName}.
+     * @return the unmodifiable view
+     */
+    <K1, K2> Map<K1, Map<K2, List<FeedbackResponseAttributes>>> cacheNestedResponseView(
+            String viewName, Map<K1, Map<K2, List<FeedbackResponseAttributes>>> view) {
+        for (Map.Entry<K1, Map<K2, List<FeedbackResponseAttributes>>> entry : view.entrySet()) {
+            entry.setValue(toUnmodifiableView(entry.getValue()));
+        }
+        Map<K1, Map<K2, List<FeedbackResponseAttributes>>> unmodifiableView = Collections.unmodifiableMap(view);
+        responseViews.put(viewName, unmodifiableView);
+        return unmodifiableView;
+    }
+
+    private static <K> Map<K, List<FeedbackResponseAttributes>> toUnmodifiableView(
+            Map<K, List<FeedbackResponseAttributes>> view) {
+        for (Map.Entry<K, List<FeedbackResponseAttributes>> entry : view.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        // the map keeps the order of the underlying LinkedHashMap
+        return Collections.unmodifiableMap(view);
+    }
+
+    /**
+     * Returns the values {@code response} is sorted by, which are looked up once per response
+     * and again only if its giver or recipient is changed.
+     */
+    public FeedbackResponseSortKey getSortKey(FeedbackResponseAttributes response) {
+        FeedbackResponseSortKey sortKey = sortKeys.get(response);
+        if (sortKey == null || !sortKey.isCurrent()) {
+            sortKey = new FeedbackResponseSortKey(response, this);
+            sortKeys.put(response, sortKey);
+        }
+        return sortKey;
     }
 
     /**
@@ -867,14 +1049,6 @@ public class FeedbackSessionResultsBundle {
         return order == 0 ? name1.compareTo(name2) : order;
     }
 
-    public int compareByResponseString(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-        String responseAnswer1 = o1.getResponseDetails().getAnswerString();
-
-        String responseAnswer2 = o2.getResponseDetails().getAnswerString();
-
-        return responseAnswer1.compareTo(responseAnswer2);
-    }
-
     public FeedbackSessionAttributes getFeedbackSession() {
         return feedbackSession;
     }
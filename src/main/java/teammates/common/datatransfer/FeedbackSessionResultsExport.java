@@ -0,0 +1,70 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Represents an export of the summary results of a feedback session to a CSV file in Google Cloud Storage,
+ * which is written in the background over as many task queue requests as it needs.
+ */
+public class FeedbackSessionResultsExport {
+
+    /** The number of days after which an export and its file are deleted. */
+    public static final int DAYS_KEPT = 7;
+
+    private static final String FILE_NAME_PREFIX = "feedbackSessionResultsExports/";
+
+    public String exportId;
+    public String courseId;
+    public String feedbackSessionName;
+    public String instructorEmail;
+    /** The section whose results are exported, or null if the results of all sections are exported. */
+    public String section;
+    public String filterText;
+    public boolean isMissingResponsesShown;
+    public boolean isStatsShown;
+
+    /** The IDs of the questions whose results have been written to the file. */
+    public List<String> writtenQuestionIds = new ArrayList<String>();
+    /** Whether the file has been written completely and closed. */
+    public boolean isCompleted;
+    /** Whether the instructor has been sent the link to download the file. */
+    public boolean isEmailSent;
+    public Date createdAt;
+
+    public FeedbackSessionResultsExport(String courseId, String feedbackSessionName, String instructorEmail,
+                                        String section, String filterText,
+                                        boolean isMissingResponsesShown, boolean isStatsShown) {
+        this.courseId = courseId;
+        this.feedbackSessionName = feedbackSessionName;
+        this.instructorEmail = instructorEmail;
+        this.section = section;
+        this.filterText = filterText;
+        this.isMissingResponsesShown = isMissingResponsesShown;
+        this.isStatsShown = isStatsShown;
+    }
+
+    /**
+     * Returns the name of the file in Google Cloud Storage which the results are exported to.
+     */
+    public String getFileName() {
+        return getFileName(exportId);
+    }
+
+    /**
+     * Returns the name of the file in Google Cloud Storage which the results of the export with {@code exportId}
+     * are exported to.
+     */
+    public static String getFileName(String exportId) {
+        return FILE_NAME_PREFIX + exportId + ".csv";
+    }
+
+    /**
+     * Returns the name suggested for the file when it is downloaded, without the extension.
+     */
+    public String getDownloadFileName() {
+        return courseId + "_" + feedbackSessionName + (section == null ? "" : "_" + section);
+    }
+
+}
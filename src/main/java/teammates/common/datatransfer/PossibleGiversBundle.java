@@ -6,7 +6,9 @@ import teammates.common.util.Const;
 import teammates.common.util.Logger;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Created by Rogier on 24-5-2017.
@@ -183,6 +185,30 @@ public class PossibleGiversBundle {
         return possibleGivers;
     }
 
+    /**
+     * Get the possible givers for the question specified, in the same order as {@link #getPossibleGivers},
+     * as a set from which the givers who have responded can be removed in constant time.
+     * @param fqa
+     * @param feedbackSessionResultsBundle
+     */
+    public Set<String> getPossibleGiversAsSet(FeedbackQuestionAttributes fqa,
+                                              FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
+        return new LinkedHashSet<String>(getPossibleGivers(fqa, feedbackSessionResultsBundle));
+    }
+
+    /**
+     * Get the possible givers for a recipient for the question specified, in the same order as
+     * {@link #getPossibleGivers}, as a set from which the givers who have responded can be removed in constant time.
+     * @param fqa
+     * @param recipientParticipantIdentifier
+     * @param feedbackSessionResultsBundle
+     */
+    public Set<String> getPossibleGiversAsSet(FeedbackQuestionAttributes fqa, String recipientParticipantIdentifier,
+                                              FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
+        return new LinkedHashSet<String>(
+                getPossibleGivers(fqa, recipientParticipantIdentifier, feedbackSessionResultsBundle));
+    }
+
     public List<String> getPossibleGivers(FeedbackQuestionAttributes fqa, FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
         FeedbackParticipantType giverType = fqa.giverType;
         List<String> possibleGivers = new ArrayList<String>();
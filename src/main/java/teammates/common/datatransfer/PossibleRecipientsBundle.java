@@ -8,6 +8,7 @@ import teammates.common.util.Logger;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -42,6 +43,20 @@ public class PossibleRecipientsBundle {
         }
     }
 
+    /**
+     * Get the possible recipients for a giver for the question specified, in the same order as
+     * {@link #getPossibleRecipients}, as a set from which the recipients who have been responded to
+     * can be removed in constant time.
+     * @param fqa
+     * @param giverParticipantIdentifier
+     * @param feedbackSessionResultsBundle
+     */
+    public Set<String> getPossibleRecipientsAsSet(FeedbackQuestionAttributes fqa, String giverParticipantIdentifier,
+                                                  FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
+        return new LinkedHashSet<String>(
+                getPossibleRecipients(fqa, giverParticipantIdentifier, feedbackSessionResultsBundle));
+    }
+
     /**
      * Get the possible recipients for a INSTRUCTOR giver for the question specified.
      * @return a list of possible recipients that can receive a response from giver specified by
@@ -27,6 +27,12 @@ public class QuestionResponseMapBundle {
             return null;
         }
 
+        Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> cachedMap =
+                feedbackSessionResultsBundle.getCachedResponseView("questionResponseMap");
+        if (cachedMap != null) {
+            return cachedMap;
+        }
+
         Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> sortedMap =
                 new LinkedHashMap<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>();
         List<FeedbackQuestionAttributes> sortedQuestions = new ArrayList<>(feedbackSessionResultsBundle.questions.values());
@@ -46,7 +52,7 @@ public class QuestionResponseMapBundle {
             Collections.sort(responsesForQuestion, feedbackSessionResultsBundle.compareByGiverRecipient);
         }
 
-        return sortedMap;
+        return feedbackSessionResultsBundle.cacheResponseView("questionResponseMap", sortedMap);
     }
 
     public Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> getQuestionResponseMapSortedByRecipient(FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
@@ -54,6 +60,12 @@ public class QuestionResponseMapBundle {
             return null;
         }
 
+        Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> cachedMap =
+                feedbackSessionResultsBundle.getCachedResponseView("questionResponseMapSortedByRecipient");
+        if (cachedMap != null) {
+            return cachedMap;
+        }
+
         Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> sortedMap =
                 new LinkedHashMap<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>();
 
@@ -74,12 +86,18 @@ public class QuestionResponseMapBundle {
             Collections.sort(responsesForQuestion, feedbackSessionResultsBundle.compareByRecipientNameEmailGiverNameEmail);
         }
 
-        return sortedMap;
+        return feedbackSessionResultsBundle.cacheResponseView("questionResponseMapSortedByRecipient", sortedMap);
     }
 
-    public LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
+    public Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
             getQuestionResponseMapByRecipientTeam(FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
-        LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
+        Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> cachedMap =
+                feedbackSessionResultsBundle.getCachedResponseView("questionResponseMapByRecipientTeam");
+        if (cachedMap != null) {
+            return cachedMap;
+        }
+
+        Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
 
         Collections.sort(feedbackSessionResultsBundle.responses, feedbackSessionResultsBundle.compareByTeamQuestionRecipientTeamGiver);
@@ -107,12 +125,18 @@ public class QuestionResponseMapBundle {
             responsesForOneRecipientOneQuestion.add(response);
         }
 
-        return sortedMap;
+        return feedbackSessionResultsBundle.cacheNestedResponseView("questionResponseMapByRecipientTeam", sortedMap);
     }
 
-    public LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
+    public Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
             getQuestionResponseMapByGiverTeam(FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
-        LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
+        Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> cachedMap =
+                feedbackSessionResultsBundle.getCachedResponseView("questionResponseMapByGiverTeam");
+        if (cachedMap != null) {
+            return cachedMap;
+        }
+
+        Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
 
         Collections.sort(feedbackSessionResultsBundle.responses, feedbackSessionResultsBundle.compareByTeamQuestionGiverTeamRecipient);
@@ -139,7 +163,7 @@ public class QuestionResponseMapBundle {
             responsesFromOneGiverOneQuestion.add(response);
         }
 
-        return sortedMap;
+        return feedbackSessionResultsBundle.cacheNestedResponseView("questionResponseMapByGiverTeam", sortedMap);
     }
 
     /**
@@ -151,6 +175,12 @@ public class QuestionResponseMapBundle {
      */
     public Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>
             getResponsesSortedByRecipientQuestionGiver(boolean sortByTeam, FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
+        Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> cachedMap =
+                feedbackSessionResultsBundle.getCachedResponseView("responsesSortedByRecipientQuestionGiver/" + sortByTeam);
+        if (cachedMap != null) {
+            return cachedMap;
+        }
+
         Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
 
@@ -178,6 +208,7 @@ public class QuestionResponseMapBundle {
             responsesForOneRecipientOneQuestion.add(response);
         }
 
-        return sortedMap;
+        return feedbackSessionResultsBundle.cacheNestedResponseView(
+                "responsesSortedByRecipientQuestionGiver/" + sortByTeam, sortedMap);
     }
 }
@@ -141,6 +141,11 @@ public class RosterBundle {
      * @param feedbackSessionResultsBundle
      */
     public String getSectionFromRoster(String participantIdentifier, FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
+        FeedbackParticipantInfo participant = feedbackSessionResultsBundle.participantTable.get(participantIdentifier);
+        if (participant != null && participant.section != null) {
+            return participant.section;
+        }
+
         boolean isStudent = feedbackSessionResultsBundle.isParticipantIdentifierStudent(participantIdentifier);
         boolean isInstructor = feedbackSessionResultsBundle.isParticipantIdentifierInstructor(participantIdentifier);
         boolean participantIsGeneral = participantIdentifier.equals(Const.GENERAL_QUESTION);
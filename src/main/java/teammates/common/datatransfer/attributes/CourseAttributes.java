@@ -52,6 +52,12 @@ public class CourseAttributes extends EntityAttributes implements Comparable<Cou
         this.createdAt = course.getCreatedAt();
     }
 
+    public CourseAttributes getCopy() {
+        CourseAttributes copy = new CourseAttributes(id, name, timeZone);
+        copy.createdAt = createdAt;
+        return copy;
+    }
+
     public String getId() {
         return id;
     }
@@ -43,6 +43,14 @@ public class FeedbackQuestionAttributes extends EntityAttributes implements Comp
     protected transient Date updatedAt;
     private String feedbackQuestionId;
 
+    /**
+     * The question details decoded from {@link #questionMetaData}, which are valid only as long as
+     * {@code questionMetaData} and {@code questionType} are the values they were decoded from.
+     */
+    private transient FeedbackQuestionDetails decodedQuestionDetails;
+    private transient Text decodedQuestionMetaData;
+    private transient FeedbackQuestionType decodedQuestionType;
+
     public FeedbackQuestionAttributes() {
         // attributes to be set after construction
     }
@@ -86,6 +94,9 @@ public class FeedbackQuestionAttributes extends EntityAttributes implements Comp
 
         this.createdAt = other.getCreatedAt();
         this.updatedAt = other.getUpdatedAt();
+        this.decodedQuestionDetails = other.decodedQuestionDetails;
+        this.decodedQuestionMetaData = other.decodedQuestionMetaData;
+        this.decodedQuestionType = other.decodedQuestionType;
 
         removeIrrelevantVisibilityOptions();
     }
@@ -551,15 +562,27 @@ public class FeedbackQuestionAttributes extends EntityAttributes implements Comp
      * Converts the given Feedback*QuestionDetails object to JSON for storing.
      */
     public void setQuestionDetails(FeedbackQuestionDetails questionDetails) {
-        questionMetaData = new Text(JsonUtils.toJson(questionDetails, getFeedbackQuestionDetailsClass()));
+        questionMetaData = new Text(JsonUtils.toCompactJson(questionDetails, getFeedbackQuestionDetailsClass()));
     }
 
     /**
      * Retrieves the Feedback*QuestionDetails object for this question.
+     * The details are decoded once and reused until the question data or question type is changed,
+     * so the returned object should not be modified.
      *
      * @return The Feedback*QuestionDetails object representing the question's details
      */
     public FeedbackQuestionDetails getQuestionDetails() {
+        if (decodedQuestionDetails == null || decodedQuestionMetaData != questionMetaData
+                || decodedQuestionType != questionType) {
+            decodedQuestionDetails = decodeQuestionDetails();
+            decodedQuestionMetaData = questionMetaData;
+            decodedQuestionType = questionType;
+        }
+        return decodedQuestionDetails;
+    }
+
+    private FeedbackQuestionDetails decodeQuestionDetails() {
         final String questionMetaDataValue = questionMetaData.getValue();
         // For old Text questions, the questionText simply contains the question, not a JSON
         if (questionType == FeedbackQuestionType.TEXT && !isValidJsonString(questionMetaDataValue)) {
@@ -45,6 +45,14 @@ public class FeedbackResponseAttributes extends EntityAttributes {
     protected transient Date updatedAt;
     private String feedbackResponseId;
 
+    /**
+     * The response details decoded from {@link #responseMetaData}, which are valid only as long as
+     * {@code responseMetaData} and {@code feedbackQuestionType} are the values they were decoded from.
+     */
+    private transient FeedbackResponseDetails decodedResponseDetails;
+    private transient Text decodedResponseMetaData;
+    private transient FeedbackQuestionType decodedQuestionType;
+
     public FeedbackResponseAttributes() {
         // attributes to be set after construction
     }
@@ -92,6 +100,9 @@ public class FeedbackResponseAttributes extends EntityAttributes {
         this.responseMetaData = copy.responseMetaData;
         this.createdAt = copy.createdAt;
         this.updatedAt = copy.updatedAt;
+        this.decodedResponseDetails = copy.decodedResponseDetails;
+        this.decodedResponseMetaData = copy.decodedResponseMetaData;
+        this.decodedQuestionType = copy.decodedQuestionType;
     }
 
     public String getId() {
@@ -110,6 +121,15 @@ public class FeedbackResponseAttributes extends EntityAttributes {
         return updatedAt == null ? Const.TIME_REPRESENTS_DEFAULT_TIMESTAMP : updatedAt;
     }
 
+    /**
+     * Sets the timestamps of the response as stored in the Datastore.
+     * Not to be used for responses which have not been read from the Datastore.
+     */
+    public void setTimestamps(Date createdAt, Date updatedAt) {
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public List<String> getInvalidityInfo() {
 
@@ -182,12 +202,14 @@ public class FeedbackResponseAttributes extends EntityAttributes {
             // This is due to legacy data in the data store before there were multiple question types
             responseMetaData = new Text(responseDetails.getAnswerString());
         } else {
-            responseMetaData = new Text(JsonUtils.toJson(responseDetails, getFeedbackResponseDetailsClass()));
+            responseMetaData = new Text(JsonUtils.toCompactJson(responseDetails, getFeedbackResponseDetailsClass()));
         }
     }
 
     /**
      * Retrieves the Feedback*ResponseDetails object for this response.
+     * The details are decoded once and reused until the response data or question type is changed,
+     * so the returned object should not be modified.
      * @return The Feedback*ResponseDetails object representing the response's details
      */
     public FeedbackResponseDetails getResponseDetails() {
@@ -196,6 +218,16 @@ public class FeedbackResponseAttributes extends EntityAttributes {
             return null;
         }
 
+        if (decodedResponseDetails == null || decodedResponseMetaData != responseMetaData
+                || decodedQuestionType != feedbackQuestionType) {
+            decodedResponseDetails = decodeResponseDetails();
+            decodedResponseMetaData = responseMetaData;
+            decodedQuestionType = feedbackQuestionType;
+        }
+        return decodedResponseDetails;
+    }
+
+    private FeedbackResponseDetails decodeResponseDetails() {
         Class<? extends FeedbackResponseDetails> responseDetailsClass = getFeedbackResponseDetailsClass();
 
         if (responseDetailsClass == FeedbackTextResponseDetails.class) {
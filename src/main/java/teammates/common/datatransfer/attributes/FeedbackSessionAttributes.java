@@ -131,8 +131,9 @@ public class FeedbackSessionAttributes extends EntityAttributes implements Sessi
             other.gracePeriod, other.feedbackSessionType,
             other.sentOpenEmail, other.sentClosingEmail, other.sentClosedEmail, other.sentPublishedEmail,
             other.isOpeningEmailEnabled, other.isClosingEmailEnabled,
-            other.isPublishedEmailEnabled, other.respondingInstructorList,
-            other.respondingStudentList);
+            other.isPublishedEmailEnabled,
+            other.respondingInstructorList == null ? null : new HashSet<String>(other.respondingInstructorList),
+            other.respondingStudentList == null ? null : new HashSet<String>(other.respondingStudentList));
     }
 
     public FeedbackSessionAttributes getCopy() {
@@ -126,7 +126,8 @@ public class InstructorAttributes extends EntityAttributes {
 
     private InstructorAttributes(InstructorAttributes other) {
         this(other.googleId, other.courseId, other.name, other.email,
-             other.role, other.isDisplayedToStudents, other.displayedName, other.privileges);
+             other.role, other.isDisplayedToStudents, other.displayedName,
+             other.privileges == null ? null : getInstructorPrivilegesFromText(other.getTextFromInstructorPrivileges()));
         this.key = other.key;
         this.isArchived = other.isArchived;
     }
@@ -136,7 +137,7 @@ public class InstructorAttributes extends EntityAttributes {
     }
 
     public String getTextFromInstructorPrivileges() {
-        return JsonUtils.toJson(privileges, InstructorPrivileges.class);
+        return JsonUtils.toCompactJson(privileges, InstructorPrivileges.class);
     }
 
     private static InstructorPrivileges getInstructorPrivilegesFromText(String instructorPrivilegesAsText) {
@@ -1,5 +1,6 @@
 package teammates.common.datatransfer.comparators;
 
+import teammates.common.datatransfer.FeedbackResponseSortKey;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
 
@@ -17,42 +18,44 @@ public class CompareByGiverRecipientQuestionComparator implements Comparator<Fee
 
     @Override
     public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-        String giverSection1 = o1.giverSection;
-        String giverSection2 = o2.giverSection;
+        FeedbackResponseSortKey key1 = feedbackSessionResultsBundle.getSortKey(o1);
+        FeedbackResponseSortKey key2 = feedbackSessionResultsBundle.getSortKey(o2);
+        String giverSection1 = key1.giverSection;
+        String giverSection2 = key2.giverSection;
         int order = giverSection1.compareTo(giverSection2);
         if (order != 0) {
             return order;
         }
 
-        boolean isGiverVisible1 = feedbackSessionResultsBundle.isGiverVisible(o1);
-        boolean isGiverVisible2 = feedbackSessionResultsBundle.isGiverVisible(o2);
+        boolean isGiverVisible1 = key1.isGiverVisible;
+        boolean isGiverVisible2 = key2.isGiverVisible;
 
-        String giverName1 = feedbackSessionResultsBundle.emailNameTable.get(o1.giver);
-        String giverName2 = feedbackSessionResultsBundle.emailNameTable.get(o2.giver);
+        String giverName1 = key1.giverName;
+        String giverName2 = key2.giverName;
         order = feedbackSessionResultsBundle.compareByNames(giverName1, giverName2, isGiverVisible1, isGiverVisible2);
         if (order != 0) {
             return order;
         }
 
-        boolean isRecipientVisible1 = feedbackSessionResultsBundle.isRecipientVisible(o1);
-        boolean isRecipientVisible2 = feedbackSessionResultsBundle.isRecipientVisible(o2);
+        boolean isRecipientVisible1 = key1.isRecipientVisible;
+        boolean isRecipientVisible2 = key2.isRecipientVisible;
 
-        String recipientName1 = feedbackSessionResultsBundle.emailNameTable.get(o1.recipient);
-        String recipientName2 = feedbackSessionResultsBundle.emailNameTable.get(o2.recipient);
+        String recipientName1 = key1.recipientName;
+        String recipientName2 = key2.recipientName;
         order = feedbackSessionResultsBundle.compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
         if (order != 0) {
             return order;
         }
 
-        order = feedbackSessionResultsBundle.compareByQuestionNumber(o1, o2);
+        order = key1.compareQuestionTo(key2);
         if (order != 0) {
             return order;
         }
-        order = feedbackSessionResultsBundle.compareByResponseString(o1, o2);
+        order = key1.compareAnswerTo(key2);
         if (order != 0) {
             return order;
         }
 
-        return o1.getId().compareTo(o2.getId());
+        return key1.compareIdTo(key2);
     }
 }
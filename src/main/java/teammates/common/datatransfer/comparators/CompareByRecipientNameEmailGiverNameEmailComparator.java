@@ -1,5 +1,6 @@
 package teammates.common.datatransfer.comparators;
 
+import teammates.common.datatransfer.FeedbackResponseSortKey;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
 
@@ -17,46 +18,48 @@ public class CompareByRecipientNameEmailGiverNameEmailComparator implements Comp
 
     @Override
     public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
+        FeedbackResponseSortKey key1 = feedbackSessionResultsBundle.getSortKey(o1);
+        FeedbackResponseSortKey key2 = feedbackSessionResultsBundle.getSortKey(o2);
 
-        boolean isRecipientVisible1 = feedbackSessionResultsBundle.isRecipientVisible(o1);
-        boolean isRecipientVisible2 = feedbackSessionResultsBundle.isRecipientVisible(o2);
+        boolean isRecipientVisible1 = key1.isRecipientVisible;
+        boolean isRecipientVisible2 = key2.isRecipientVisible;
         // Compare by Recipient Name
-        int recipientNameCompareResult = feedbackSessionResultsBundle.compareByNames(feedbackSessionResultsBundle.getNameForEmail(o1.recipient),
-                feedbackSessionResultsBundle.getNameForEmail(o2.recipient),
+        int recipientNameCompareResult = feedbackSessionResultsBundle.compareByNames(key1.recipientDisplayName,
+                key2.recipientDisplayName,
                 isRecipientVisible1, isRecipientVisible2);
         if (recipientNameCompareResult != 0) {
             return recipientNameCompareResult;
         }
 
         // Compare by Recipient Email
-        int recipientEmailCompareResult = feedbackSessionResultsBundle.compareByNames(o1.recipient, o2.recipient,
+        int recipientEmailCompareResult = feedbackSessionResultsBundle.compareByNames(key1.recipient, key2.recipient,
                 isRecipientVisible1, isRecipientVisible2);
         if (recipientEmailCompareResult != 0) {
             return recipientEmailCompareResult;
         }
 
-        boolean isGiverVisible1 = feedbackSessionResultsBundle.isGiverVisible(o1);
-        boolean isGiverVisible2 = feedbackSessionResultsBundle.isGiverVisible(o2);
+        boolean isGiverVisible1 = key1.isGiverVisible;
+        boolean isGiverVisible2 = key2.isGiverVisible;
         // Compare by Giver Name
-        int giverNameCompareResult = feedbackSessionResultsBundle.compareByNames(feedbackSessionResultsBundle.getNameForEmail(o1.giver),
-                feedbackSessionResultsBundle.getNameForEmail(o2.giver),
+        int giverNameCompareResult = feedbackSessionResultsBundle.compareByNames(key1.giverDisplayName,
+                key2.giverDisplayName,
                 isGiverVisible1, isGiverVisible2);
         if (giverNameCompareResult != 0) {
             return giverNameCompareResult;
         }
 
         // Compare by Giver Email
-        int giverEmailCompareResult = feedbackSessionResultsBundle.compareByNames(o1.giver, o2.giver,
+        int giverEmailCompareResult = feedbackSessionResultsBundle.compareByNames(key1.giver, key2.giver,
                 isGiverVisible1, isGiverVisible2);
         if (giverEmailCompareResult != 0) {
             return giverEmailCompareResult;
         }
 
-        int responseStringResult = feedbackSessionResultsBundle.compareByResponseString(o1, o2);
+        int responseStringResult = key1.compareAnswerTo(key2);
         if (responseStringResult != 0) {
             return responseStringResult;
         }
 
-        return o1.getId().compareTo(o2.getId());
+        return key1.compareIdTo(key2);
     }
 }
@@ -59,6 +59,9 @@ public final class Config {
     /** The value of the "app.mailjet.secretkey" in build.properties file. */
     public static final String MAILJET_SECRETKEY;
 
+    /** The value of the "app.storage.responses.lowlevelapi" in build.properties file. */
+    public static final boolean IS_RESPONSE_LOW_LEVEL_API_ENABLED;
+
     static {
         Properties properties = new Properties();
         try {
@@ -82,6 +85,8 @@ public final class Config {
         MAILGUN_DOMAINNAME = properties.getProperty("app.mailgun.domainname");
         MAILJET_APIKEY = properties.getProperty("app.mailjet.apikey");
         MAILJET_SECRETKEY = properties.getProperty("app.mailjet.secretkey");
+        IS_RESPONSE_LOW_LEVEL_API_ENABLED =
+                Boolean.parseBoolean(properties.getProperty("app.storage.responses.lowlevelapi"));
     }
 
     private Config() {
@@ -112,6 +117,14 @@ public final class Config {
         return SystemProperty.environment.value() == SystemProperty.Environment.Value.Development;
     }
 
+    /**
+     * This method is not to be used by classes not compiled by GAE (e.g non-production codes).
+     * @return true if the system is running at production environment
+     */
+    public static boolean isProductionServer() {
+        return SystemProperty.environment.value() == SystemProperty.Environment.Value.Production;
+    }
+
     /**
      * Creates an {@link AppUrl} for the supplied {@code relativeUrl} parameter.
      * The base URL will be the value of app.url in build.properties.
@@ -618,8 +618,7 @@ public final class Const {
         public static final String ADMIN_EMAIL_EMPTY_TRASH_BIN = "emptytrashbin";
         public static final String ADMIN_EMAIL_TRASH_ACTION_REDIRECT = "redirect";
 
-        public static final String ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX = "emaillistindex";
-        public static final String ADMIN_GROUP_RECEIVER_EMAIL_INDEX = "emailindex";
+        public static final String ADMIN_GROUP_RECEIVER_LIST_OFFSET = "receiverlistoffset";
 
         public static final String FEEDBACK_SESSION_NAME = "fsname";
         public static final String FEEDBACK_SESSION_INDEX = "fsindex";
@@ -714,6 +713,7 @@ public final class Const {
         public static final String FEEDBACK_RESULTS_INDICATE_MISSING_RESPONSES = "frindicatemissingresponses";
         public static final String FEEDBACK_RESULTS_NEED_AJAX = "frneedajax";
         public static final String FEEDBACK_RESULTS_MAIN_INDEX = "frmainindex";
+        public static final String FEEDBACK_RESULTS_EXPORT_ID = "frexportid";
 
         public static final String PREVIEWAS = "previewas";
 
@@ -902,6 +902,9 @@ public final class Const {
         public static final String INSTRUCTOR_FEEDBACK_EDIT_SAVE = "/page/instructorFeedbackEditSave";
         public static final String INSTRUCTOR_FEEDBACK_RESULTS_PAGE = "/page/instructorFeedbackResultsPage";
         public static final String INSTRUCTOR_FEEDBACK_RESULTS_DOWNLOAD = "/page/instructorFeedbackResultsDownload";
+        public static final String INSTRUCTOR_FEEDBACK_RESULTS_EXPORT = "/page/instructorFeedbackResultsExport";
+        public static final String INSTRUCTOR_FEEDBACK_RESULTS_EXPORT_DOWNLOAD =
+                "/page/instructorFeedbackResultsExportDownload";
         public static final String INSTRUCTOR_FEEDBACK_PREVIEW_ASSTUDENT = "/page/instructorFeedbackPreviewAsStudent";
         public static final String INSTRUCTOR_FEEDBACK_PREVIEW_ASINSTRUCTOR = "/page/instructorFeedbackPreviewAsInstructor";
 
@@ -981,6 +984,8 @@ public final class Const {
         public static final String AUTOMATED_FEEDBACK_CLOSED_REMINDERS = "/auto/feedbackSessionClosedReminders";
         public static final String AUTOMATED_FEEDBACK_CLOSING_REMINDERS = "/auto/feedbackSessionClosingReminders";
         public static final String AUTOMATED_FEEDBACK_PUBLISHED_REMINDERS = "/auto/feedbackSessionPublishedReminders";
+        public static final String AUTOMATED_FEEDBACK_RESULTS_EXPORTS_CLEANUP =
+                "/auto/feedbackSessionResultsExportsCleanup";
 
         public static final String BACKDOOR = "/backdoor";
 
@@ -1000,9 +1005,15 @@ public final class Const {
         public static final String ADMIN_SEND_EMAIL_QUEUE_NAME = "admin-send-email-queue";
         public static final String ADMIN_SEND_EMAIL_WORKER_URL = "/worker/adminSendEmail";
 
+        public static final String COURSE_DELETION_QUEUE_NAME = "course-deletion-queue";
+        public static final String COURSE_DELETION_WORKER_URL = "/worker/courseDeletion";
+
         public static final String FEEDBACK_RESPONSE_ADJUSTMENT_QUEUE_NAME = "feedback-response-adjustment-queue";
         public static final String FEEDBACK_RESPONSE_ADJUSTMENT_WORKER_URL = "/worker/feedbackResponseAdjustment";
 
+        public static final String FEEDBACK_RESPONSE_COUNT_REBUILD_QUEUE_NAME = "feedback-response-count-rebuild-queue";
+        public static final String FEEDBACK_RESPONSE_COUNT_REBUILD_WORKER_URL = "/worker/feedbackResponseCountRebuild";
+
         public static final String FEEDBACK_SESSION_PUBLISHED_EMAIL_QUEUE_NAME =
                 "feedback-session-published-email-queue";
         public static final String FEEDBACK_SESSION_PUBLISHED_EMAIL_WORKER_URL =
@@ -1016,6 +1027,9 @@ public final class Const {
         public static final String FEEDBACK_SESSION_REMIND_PARTICULAR_USERS_EMAIL_WORKER_URL =
                 "/worker/feedbackSessionRemindParticularUsersEmail";
 
+        public static final String FEEDBACK_SESSION_RESULTS_EXPORT_QUEUE_NAME = "feedback-session-results-export-queue";
+        public static final String FEEDBACK_SESSION_RESULTS_EXPORT_WORKER_URL = "/worker/feedbackSessionResultsExport";
+
         public static final String FEEDBACK_SESSION_UNPUBLISHED_EMAIL_QUEUE_NAME =
                 "feedback-session-unpublished-email-queue";
         public static final String FEEDBACK_SESSION_UNPUBLISHED_EMAIL_WORKER_URL =
@@ -1201,6 +1215,9 @@ public final class Const {
                 + "Go there to undo the archiving and bring the course back to the home page.";
         public static final String COURSE_UNARCHIVED = "The course %s has been unarchived.";
         public static final String COURSE_DELETED = "The course %s has been deleted.";
+        public static final String COURSE_DELETION_IN_PROGRESS =
+                "The data of the deleted course %s is still being deleted: %d items have been removed so far. "
+                + "A course with the same ID can be created once this is done.";
         public static final String COURSE_EMPTY =
                 "You have not created any courses yet. Use the form above to create a course.";
         public static final String COURSE_EMPTY_IN_INSTRUCTOR_FEEDBACKS =
@@ -1347,6 +1364,13 @@ public final class Const {
                 "This session seems to have a large number of responses. "
                 + "It is recommended to view the results for one question at a time. "
                 + "To view responses for a particular question, click on the question below.";
+        public static final String FEEDBACK_RESULTS_EXPORT_STARTED =
+                "The results are being exported. "
+                + "You will receive an email with a link to download them once the export is complete.";
+        public static final String FEEDBACK_RESULTS_EXPORT_IN_PROGRESS =
+                "The results are still being exported. Please try again later.";
+        public static final String FILE_DOWNLOAD_INCOMPLETE =
+                "ERROR: The download failed before the file was complete. Please download the file again.";
         public static final String ENROLL_LINE_EMPTY = "Please input at least one student detail.";
         public static final String ENROLL_LINES_PROBLEM_DETAIL_PREFIX = "&bull;";
         public static final String ENROLL_LINES_PROBLEM =
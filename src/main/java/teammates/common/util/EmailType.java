@@ -13,6 +13,7 @@ public enum EmailType {
     FEEDBACK_CLOSED("TEAMMATES: Feedback session closed [Course: %s][Feedback Session: %s]"),
     FEEDBACK_PUBLISHED("TEAMMATES: Feedback session results published [Course: %s][Feedback Session: %s]"),
     FEEDBACK_UNPUBLISHED("TEAMMATES: Feedback session results unpublished [Course: %s][Feedback Session: %s]"),
+    FEEDBACK_RESULTS_EXPORTED("TEAMMATES: Feedback session results exported [Course: %s][Feedback Session: %s]"),
     STUDENT_EMAIL_CHANGED("TEAMMATES: Summary of course [%s][Course ID: %s]"),
     PENDING_COMMENT_CLEARED("TEAMMATES: You have new comments for course [%s][Course ID: %s]"),
     NEW_INSTRUCTOR_ACCOUNT("TEAMMATES: Welcome to TEAMMATES! %s"),
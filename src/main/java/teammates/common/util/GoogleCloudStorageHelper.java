@@ -3,11 +3,8 @@ package teammates.common.util;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.List;
+import java.nio.channels.Channels;
 
-import com.google.appengine.api.blobstore.BlobInfoFactory;
 import com.google.appengine.api.blobstore.BlobKey;
 import com.google.appengine.api.blobstore.BlobstoreInputStream;
 import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
@@ -15,6 +12,7 @@ import com.google.appengine.api.blobstore.UploadOptions;
 import com.google.appengine.tools.cloudstorage.GcsFileOptions;
 import com.google.appengine.tools.cloudstorage.GcsFilename;
 import com.google.appengine.tools.cloudstorage.GcsOutputChannel;
+import com.google.appengine.tools.cloudstorage.GcsService;
 import com.google.appengine.tools.cloudstorage.GcsServiceFactory;
 import com.google.appengine.tools.cloudstorage.RetryParams;
 
@@ -23,7 +21,7 @@ import com.google.appengine.tools.cloudstorage.RetryParams;
  */
 public final class GoogleCloudStorageHelper {
 
-    private static final int MAX_READING_LENGTH = 900000;
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
     private static final Logger log = Logger.getLogger();
 
     private GoogleCloudStorageHelper() {
@@ -73,6 +71,50 @@ public final class GoogleCloudStorageHelper {
                 .createGsBlobKey("/gs/" + Config.GCS_BUCKETNAME + "/" + googleId).getKeyString();
     }
 
+    /**
+     * Creates a file named {@code fileName} in the Google Cloud Storage, replacing any existing file of that name,
+     * and returns the channel to write its content to. The file is only created when the channel is closed.
+     *
+     * <p>The channel is {@link java.io.Serializable}, so a file can be written over several requests
+     * by serializing the channel after calling {@link GcsOutputChannel#waitForOutstandingWrites}.
+     * On the dev server, the file is written to the local stub of the Google Cloud Storage.
+     */
+    public static GcsOutputChannel createFile(String fileName, String mimeType) throws IOException {
+        GcsFilename gcsFilename = new GcsFilename(Config.GCS_BUCKETNAME, fileName);
+        return getGcsService().createOrReplace(gcsFilename, new GcsFileOptions.Builder().mimeType(mimeType).build());
+    }
+
+    /**
+     * Returns a stream to read the content of the file named {@code fileName} in the Google Cloud Storage.
+     */
+    public static InputStream readFile(String fileName) {
+        GcsFilename gcsFilename = new GcsFilename(Config.GCS_BUCKETNAME, fileName);
+        return Channels.newInputStream(getGcsService().openPrefetchingReadChannel(gcsFilename, 0, READ_BUFFER_SIZE));
+    }
+
+    /**
+     * Returns true if the file named {@code fileName} exists in the Google Cloud Storage.
+     * A file created with {@link #createFile} only exists once its channel has been closed.
+     */
+    public static boolean doesFileExist(String fileName) throws IOException {
+        return getGcsService().getMetadata(new GcsFilename(Config.GCS_BUCKETNAME, fileName)) != null;
+    }
+
+    /**
+     * Deletes the file named {@code fileName} in the Google Cloud Storage, if there is one.
+     */
+    public static void deleteFile(String fileName) {
+        try {
+            getGcsService().delete(new GcsFilename(Config.GCS_BUCKETNAME, fileName));
+        } catch (IOException e) {
+            log.warning("Unable to delete file " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    private static GcsService getGcsService() {
+        return GcsServiceFactory.createGcsService(RetryParams.getDefaultInstance());
+    }
+
     /**
      * Creates and invokes a URL for uploading a large blob to Google Cloud Storage.
      * Upon completion of the upload, a callback is made to the specified {@code callbackUrl}.<br>
@@ -89,97 +131,20 @@ public final class GoogleCloudStorageHelper {
     }
 
     /**
-     * Gets the file with the specified {@link BlobKey} in the Google Cloud Storage,
-     * parses it and returns it as a list of list.<br>
+     * Opens the group receiver list file with the specified {@link BlobKey} in the Google Cloud Storage
+     * for reading its receivers one at a time, starting from the byte {@code offset} of the file.<br>
      * Assumption: the file represented by {@code blobKey} is a valid txt file
      *             that can be parsed into a comma-separated list
+     *
+     * @param offset 0 to read from the start of the file,
+     *         or the {@link GroupReceiverListReader#getOffset offset} reached by an earlier reader of the file
      */
-    public static List<List<String>> getGroupReceiverList(BlobKey blobKey) throws IOException {
+    public static GroupReceiverListReader readGroupReceiverList(BlobKey blobKey, long offset) throws IOException {
         Assumption.assertNotNull(blobKey);
 
-        // It turns out that error will occur if we read more than around 900000 bytes of data per time
-        // from the blobstream, which also brings problems when this large number of emails are all stored in one
-        // list. As a result, to prevent unexpected errors, we read the txt file several times and each time
-        // at most 900000 bytes are read, after which a new list is created to store all the emails addresses that
-        // happen to be in the newly read bytes.
-
-        // For email address which happens to be broken according to two consecutive reading, a check will be done
-        // before storing all emails separated from the second reading into a new list.
-        // Broken email will be fixed by deleting the first item of the email list from current reading
-        // AND appending it to the last item of the email list from last reading.
-
-        // The email list from each reading is inserted into an upper list (list of list).
-        // The structure is as below:
-
-        // ListOfList:
-        //       ListFromReading_1 :
-        //                     [example@email.com]
-        //                            ...
-        //       ListFromReading_2 :
-        //                     [example@email.com]
-        //                            ...
-
-        // This is the list of list
-        List<List<String>> listOfList = new LinkedList<List<String>>();
-
-        // Offset is needed for remembering where it stops from last reading
-        int offset = 0;
-
-        // File size is needed to track the number of unread bytes
-        int size = (int) getFileSize(blobKey);
-
-        while (size > 0) {
-            // Make sure not to over-read
-            int bytesToRead = Math.min(size, MAX_READING_LENGTH);
-            InputStream blobStream = new BlobstoreInputStream(blobKey, offset);
-            byte[] array = new byte[bytesToRead];
-
-            blobStream.read(array);
-
-            // Remember where it stops reading
-            offset += MAX_READING_LENGTH;
-            // Decrease unread bytes
-            size -= MAX_READING_LENGTH;
-
-            // Get the read bytes into string and split it by ","
-            String readString = new String(array);
-            List<String> newList = Arrays.asList(readString.split(","));
-
-            if (listOfList.isEmpty()) {
-                // This is the first time reading
-                listOfList.add(newList);
-            } else {
-                // Check if the last reading stopped in the middle of a email address string
-                List<String> lastAddedList = listOfList.get(listOfList.size() - 1);
-                // Get the last item of the list from last reading
-                String lastStringOfLastAddedList = lastAddedList.get(lastAddedList.size() - 1);
-                // Get the first item of the list from current reading
-                String firstStringOfNewList = newList.get(0);
-
-                if (lastStringOfLastAddedList.contains("@") && firstStringOfNewList.contains("@")) {
-                    // No broken email from last reading found, simply add the list
-                    // from current reading into the upper list.
-                    listOfList.add(newList);
-                } else {
-                    // Either the left part or the right part of the broken email string does not contains a "@".
-                    // Simply append the right part to the left part (last item of the list from last reading).
-                    listOfList.get(listOfList.size() - 1)
-                              .set(lastAddedList.size() - 1, lastStringOfLastAddedList + firstStringOfNewList);
-
-                    // And also needs to delete the right part which is the first item of the list from current reading
-                    listOfList.add(newList.subList(1, newList.size() - 1));
-                }
-            }
-
-            blobStream.close();
-        }
-
-        return listOfList;
-    }
-
-    private static long getFileSize(BlobKey blobKey) {
-        BlobInfoFactory blobInfoFactory = new BlobInfoFactory();
-        return blobInfoFactory.loadBlobInfo(blobKey).getSize();
+        // The file is streamed from the blobstore in buffered reads of limited size,
+        // so neither the whole file nor the whole list of receivers is held in memory.
+        return new GroupReceiverListReader(new BlobstoreInputStream(blobKey, offset), offset);
     }
 
 }
@@ -0,0 +1,71 @@
+package teammates.common.util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the receivers in a group receiver list, i.e. a txt file of email addresses separated by comma,
+ * one receiver at a time.
+ *
+ * <p>The reader keeps track of the byte offset in the file of the receiver to be read next,
+ * so that a later request can resume reading from that offset without reading the receivers before it again.
+ */
+public class GroupReceiverListReader implements Closeable {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int SEPARATOR = ',';
+
+    private final InputStream stream;
+    private final ByteArrayOutputStream receiverBytes = new ByteArrayOutputStream();
+    private long offset;
+
+    /**
+     * Creates a reader of the receivers in {@code stream}, which starts at byte {@code offset} of the file.
+     */
+    public GroupReceiverListReader(InputStream stream, long offset) {
+        this.stream = new BufferedInputStream(stream, READ_BUFFER_SIZE);
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the next receiver in the file, with surrounding whitespace removed,
+     * or null if there are no more receivers. Empty entries, e.g. after a trailing comma, are skipped.
+     */
+    public String readNextReceiver() throws IOException {
+        while (true) {
+            int nextByte = stream.read();
+            if (nextByte != -1 && nextByte != SEPARATOR) {
+                offset++;
+                receiverBytes.write(nextByte);
+                continue;
+            }
+
+            // the separator is a single byte in UTF-8, so it never splits the bytes of a character
+            String receiver = new String(receiverBytes.toByteArray(), Const.SystemParams.ENCODING).trim();
+            receiverBytes.reset();
+            if (nextByte == -1) {
+                return receiver.isEmpty() ? null : receiver;
+            }
+            offset++;
+            if (!receiver.isEmpty()) {
+                return receiver;
+            }
+        }
+    }
+
+    /**
+     * Returns the byte offset in the file of the receiver to be read next.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+
+}
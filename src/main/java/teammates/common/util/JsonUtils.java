@@ -1,29 +1,47 @@
 package teammates.common.util;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.text.DateFormat;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Provides means to handle, manipulate, and convert JSON objects to/from strings.
+ *
+ * <p>The {@link Gson} instances used are created once and shared, as they are immutable and thread-safe.
  */
 public final class JsonUtils {
 
+    private static final Gson TEAMMATES_GSON = createTeammatesGson(true);
+
+    private static final Gson COMPACT_TEAMMATES_GSON = createTeammatesGson(false);
+
+    /**
+     * Used to read the existing data which does not use the prescribed date format.
+     */
+    private static final Gson DEFAULT_GSON = new Gson();
+
     private JsonUtils() {
         // utility class
     }
 
     /**
      * This creates a Gson object that can handle the Date format we use in the
-     * Json file and also reformat the Json string in pretty-print format.
+     * Json file and, if {@code isPrettyPrinting}, also reformat the Json string in pretty-print format.
      */
-    private static Gson getTeammatesGson() {
-        return new GsonBuilder().setDateFormat(DateFormat.FULL)
-                                .setDateFormat(Const.SystemParams.DEFAULT_DATE_TIME_FORMAT)
-                                .setPrettyPrinting()
-                                .disableHtmlEscaping()
-                                .create();
+    private static Gson createTeammatesGson(boolean isPrettyPrinting) {
+        GsonBuilder builder = new GsonBuilder().setDateFormat(DateFormat.FULL)
+                                               .setDateFormat(Const.SystemParams.DEFAULT_DATE_TIME_FORMAT)
+                                               .disableHtmlEscaping();
+        if (isPrettyPrinting) {
+            builder.setPrettyPrinting();
+        }
+        return builder.create();
     }
 
     /**
@@ -32,7 +50,7 @@ public final class JsonUtils {
      * @see Gson#toJson(Object, Type)
      */
     public static String toJson(Object src, Type typeOfSrc) {
-        return getTeammatesGson().toJson(src, typeOfSrc);
+        return TEAMMATES_GSON.toJson(src, typeOfSrc);
     }
 
     /**
@@ -41,7 +59,42 @@ public final class JsonUtils {
      * @see Gson#toJson(Object)
      */
     public static String toJson(Object src) {
-        return getTeammatesGson().toJson(src);
+        return TEAMMATES_GSON.toJson(src);
+    }
+
+    /**
+     * Serializes the specified object into its equivalent JSON string without any whitespace.
+     * This should be used for JSON which is only read by the system, e.g. stored data and task parameters.
+     *
+     * @see Gson#toJson(Object, Type)
+     */
+    public static String toCompactJson(Object src, Type typeOfSrc) {
+        return COMPACT_TEAMMATES_GSON.toJson(src, typeOfSrc);
+    }
+
+    /**
+     * Serializes the specified object into its equivalent JSON string without any whitespace.
+     *
+     * @see #toCompactJson(Object, Type)
+     */
+    public static String toCompactJson(Object src) {
+        return COMPACT_TEAMMATES_GSON.toJson(src);
+    }
+
+    /**
+     * Serializes the specified object as compact JSON directly to {@code writer},
+     * without building the whole JSON string in memory. The writer is flushed but not closed.
+     *
+     * @see #toCompactJson(Object, Type)
+     */
+    public static void toCompactJson(Object src, Type typeOfSrc, Writer writer) {
+        try {
+            JsonWriter jsonWriter = COMPACT_TEAMMATES_GSON.newJsonWriter(writer);
+            COMPACT_TEAMMATES_GSON.toJson(src, typeOfSrc, jsonWriter);
+            jsonWriter.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
     }
 
     /**
@@ -51,13 +104,27 @@ public final class JsonUtils {
      */
     public static <T> T fromJson(String json, Type typeOfT) {
         try {
-            return getTeammatesGson().fromJson(json, typeOfT);
+            return TEAMMATES_GSON.fromJson(json, typeOfT);
         } catch (JsonSyntaxException e) {
             // some of the existing data does not use the prescribed date format
-            return new Gson().fromJson(json, typeOfT);
+            return DEFAULT_GSON.fromJson(json, typeOfT);
         }
     }
 
+    /**
+     * Deserializes the JSON read from {@code reader} into an object of the specified type,
+     * without reading the whole JSON string into memory. The reader is not closed.
+     *
+     * <p>Unlike {@link #fromJson(String, Type)}, this does not fall back to the default date format,
+     * as the JSON cannot be read again.
+     *
+     * @see Gson#fromJson(JsonReader, Type)
+     */
+    public static <T> T fromJson(Reader reader, Type typeOfT) {
+        JsonReader jsonReader = TEAMMATES_GSON.newJsonReader(reader);
+        return TEAMMATES_GSON.fromJson(jsonReader, typeOfT);
+    }
+
     /**
      * Parses the specified JSON string into a {@link JsonElement} object.
      *
@@ -10,11 +10,32 @@ public class TaskWrapper {
     private final String queueName;
     private final String workerUrl;
     private final Map<String, String[]> paramMap;
+    private final long countdownTime;
+    private final String taskName;
 
     public TaskWrapper(String queueName, String workerUrl, Map<String, String[]> paramMap) {
+        this(queueName, workerUrl, paramMap, 0);
+    }
+
+    /**
+     * Creates a task to be run after {@code countdownTime} milliseconds.
+     */
+    public TaskWrapper(String queueName, String workerUrl, Map<String, String[]> paramMap, long countdownTime) {
+        this(queueName, workerUrl, paramMap, countdownTime, null);
+    }
+
+    /**
+     * Creates a task named {@code taskName} to be run after {@code countdownTime} milliseconds.
+     * A task with the name of a task already added to the queue is not added again,
+     * so adding a named task again after an error is safe.
+     */
+    public TaskWrapper(String queueName, String workerUrl, Map<String, String[]> paramMap, long countdownTime,
+                       String taskName) {
         this.queueName = queueName;
         this.workerUrl = workerUrl;
         this.paramMap = paramMap;
+        this.countdownTime = countdownTime;
+        this.taskName = taskName;
     }
 
     public String getQueueName() {
@@ -29,4 +50,15 @@ public class TaskWrapper {
         return paramMap;
     }
 
+    public long getCountdownTime() {
+        return countdownTime;
+    }
+
+    /**
+     * Returns the name of the task, or null if the queue is to name the task.
+     */
+    public String getTaskName() {
+        return taskName;
+    }
+
 }
@@ -50,6 +50,8 @@ public final class Templates {
                 FileHelper.readResourceFile("userEmailTemplate-feedbackSubmissionConfirmation.html");
         public static final String USER_FEEDBACK_SESSION_UNPUBLISHED =
                 FileHelper.readResourceFile("userEmailTemplate-feedbackSessionUnpublished.html");
+        public static final String INSTRUCTOR_FEEDBACK_RESULTS_EXPORTED =
+                FileHelper.readResourceFile("instructorEmailTemplate-feedbackResultsExported.html");
         public static final String USER_PENDING_COMMENTS_CLEARED =
                 FileHelper.readResourceFile("userEmailTemplate-pendingCommentsCleared.html");
         public static final String FRAGMENT_SINGLE_FEEDBACK_SESSION_LINKS =
@@ -8,6 +8,7 @@ import java.util.Set;
 
 import com.google.appengine.api.log.AppLogLine;
 
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
 import teammates.common.datatransfer.attributes.AccountAttributes;
 import teammates.common.datatransfer.attributes.CourseAttributes;
 import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
@@ -643,6 +644,34 @@ public class EmailGenerator {
                 "${joinUrl}", joinUrl);
     }
 
+    /**
+     * Generates the email which gives the instructor who requested the {@code export} the link to download it.
+     */
+    public EmailWrapper generateFeedbackSessionResultsExportedEmail(FeedbackSessionResultsExport export) {
+        CourseAttributes course = coursesLogic.getCourse(export.courseId);
+        InstructorAttributes instructor =
+                instructorsLogic.getInstructorForEmail(export.courseId, export.instructorEmail);
+        String userName = instructor == null ? export.instructorEmail : instructor.name;
+        String downloadUrl = Config.getAppUrl(Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_EXPORT_DOWNLOAD)
+                                   .withParam(Const.ParamsNames.FEEDBACK_RESULTS_EXPORT_ID, export.exportId)
+                                   .toAbsoluteString();
+
+        String emailBody = Templates.populateTemplate(EmailTemplates.INSTRUCTOR_FEEDBACK_RESULTS_EXPORTED,
+                "${userName}", SanitizationHelper.sanitizeForHtml(userName),
+                "${courseId}", SanitizationHelper.sanitizeForHtml(course.getId()),
+                "${courseName}", SanitizationHelper.sanitizeForHtml(course.getName()),
+                "${feedbackSessionName}", SanitizationHelper.sanitizeForHtml(export.feedbackSessionName),
+                "${downloadUrl}", downloadUrl,
+                "${daysKept}", String.valueOf(FeedbackSessionResultsExport.DAYS_KEPT),
+                "${supportEmail}", Config.SUPPORT_EMAIL);
+
+        EmailWrapper email = getEmptyEmailAddressedToEmail(export.instructorEmail);
+        email.setSubject(String.format(EmailType.FEEDBACK_RESULTS_EXPORTED.getSubject(),
+                                       course.getName(), export.feedbackSessionName));
+        email.setContent(emailBody);
+        return email;
+    }
+
     /**
      * Generates the logs compilation email for the given {@code logs}.
      */
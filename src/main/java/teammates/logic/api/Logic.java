@@ -1,7 +1,10 @@
 package teammates.logic.api;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -11,6 +14,7 @@ import com.google.appengine.api.blobstore.BlobKey;
 import teammates.common.datatransfer.CommentParticipantType;
 import teammates.common.datatransfer.CommentSearchResultBundle;
 import teammates.common.datatransfer.CommentSendingState;
+import teammates.common.datatransfer.CourseDeletionStatus;
 import teammates.common.datatransfer.CourseDetailsBundle;
 import teammates.common.datatransfer.CourseEnrollmentResult;
 import teammates.common.datatransfer.CourseRoster;
@@ -20,6 +24,7 @@ import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
 import teammates.common.datatransfer.FeedbackSessionResponseStatus;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
 import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.InstructorSearchResultBundle;
 import teammates.common.datatransfer.SectionDetailsBundle;
@@ -57,6 +62,7 @@ import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.InstructorsLogic;
 import teammates.logic.core.ProfilesLogic;
 import teammates.logic.core.StudentsLogic;
+import teammates.storage.api.RequestScopedEntityCache;
 
 /**
  * Provides the business logic for production usage of the system.
@@ -78,6 +84,21 @@ public class Logic {
     protected static final AdminEmailsLogic adminEmailsLogic = AdminEmailsLogic.inst();
     protected static final ProfilesLogic profilesLogic = ProfilesLogic.inst();
 
+    /**
+     * Starts caching entities read from the Datastore on the current thread until
+     * {@link #endRequestScopedCache()} is called. Intended to wrap the processing of a single request.
+     */
+    public void startRequestScopedCache() {
+        RequestScopedEntityCache.start();
+    }
+
+    /**
+     * Discards the entities cached on the current thread by {@link #startRequestScopedCache()}.
+     */
+    public void endRequestScopedCache() {
+        RequestScopedEntityCache.end();
+    }
+
     /**
      * Creates a new Account based on given values. If a profile is not given,
      * a default empty profile is created for the user<br>
@@ -565,6 +586,18 @@ public class Logic {
         return coursesLogic.getCourse(courseId);
     }
 
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the students and instructors of the course.
+     */
+    public CourseRoster getCourseRoster(String courseId) {
+
+        Assumption.assertNotNull(courseId);
+
+        return coursesLogic.getCourseRoster(courseId);
+    }
+
     /**
      * Returns a detailed version of course data. <br>
      * Preconditions: <br>
@@ -726,6 +759,44 @@ public class Logic {
         coursesLogic.deleteCourseCascade(courseId);
     }
 
+    /**
+     * Deletes the course and its instructors, and marks the rest of the data of the course
+     * for deletion in the background by {@link #deleteNextChunkOfCourse(String)}. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @param deletedBy the Google ID of the instructor deleting the course, to whom the progress is reported
+     */
+    public void startCourseDeletion(String courseId, String deletedBy) {
+        Assumption.assertNotNull(courseId);
+        Assumption.assertNotNull(deletedBy);
+        coursesLogic.startCourseDeletion(courseId, deletedBy);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @return the progress of the deletions of the courses deleted by the instructor
+     *         whose data is still being deleted
+     */
+    public List<CourseDeletionStatus> getCourseDeletionsInProgress(String googleId) {
+        Assumption.assertNotNull(googleId);
+        return coursesLogic.getCourseDeletionsInProgress(googleId);
+    }
+
+    /**
+     * Deletes the next chunk of the data of a course whose deletion has been started. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @return true if there may be more data of the course to delete
+     */
+    public boolean deleteNextChunkOfCourse(String courseId) {
+        Assumption.assertNotNull(courseId);
+        return coursesLogic.deleteNextChunkOfCourse(courseId);
+    }
+
     /**
      * Creates a student. <br>
      * Preconditions: <br>
@@ -1341,6 +1412,126 @@ public class Logic {
                 questionId, filterText, isMissingResponsesShown, isStatsShown);
     }
 
+    /**
+     * Writes summary results (without comments) in CSV format to {@code writer},
+     * within a section if {@code section} is not null. <br>
+     * Preconditions: <br>
+     * * All parameters(except section and filterText) are non-null. <br>
+     * @see FeedbackSessionsLogic#writeFeedbackSessionResultsSummaryInSectionAsCsv(String, String, String,
+     *      String, String, boolean, boolean, Writer)
+     */
+    public void writeFeedbackSessionResultSummaryInSectionAsCsv(
+            String courseId, String feedbackSessionName, String instructorEmail,
+            String section, String filterText, boolean isMissingResponsesShown, boolean isStatsShown, Writer writer)
+            throws EntityDoesNotExistException, IOException {
+
+        Assumption.assertNotNull(courseId);
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(writer);
+
+        feedbackSessionsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                feedbackSessionName, courseId, instructorEmail, section,
+                filterText, isMissingResponsesShown, isStatsShown, writer);
+    }
+
+    /**
+     * Writes summary results (without comments) of the given questions of a feedback session
+     * in CSV format to {@code writer}, within a section if {@code section} is not null. <br>
+     * Preconditions: <br>
+     * * All parameters(except section and filterText) are non-null. <br>
+     * @see FeedbackSessionsLogic#writeFeedbackSessionResultsSummaryInSectionAsCsv(FeedbackSessionAttributes, List,
+     *      String, String, String, boolean, boolean, Writer)
+     */
+    public void writeFeedbackSessionResultSummaryInSectionAsCsv(
+            FeedbackSessionAttributes session, List<FeedbackQuestionAttributes> questions, String instructorEmail,
+            String section, String filterText, boolean isMissingResponsesShown, boolean isStatsShown, Writer writer)
+            throws EntityDoesNotExistException, IOException {
+
+        Assumption.assertNotNull(session);
+        Assumption.assertNotNull(questions);
+        Assumption.assertNotNull(writer);
+
+        feedbackSessionsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session, questions, instructorEmail, section,
+                filterText, isMissingResponsesShown, isStatsShown, writer);
+    }
+
+    /**
+     * Records a new export of the summary results of a feedback session, to be written in the background.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the export, with its ID set
+     */
+    public FeedbackSessionResultsExport createFeedbackSessionResultsExport(FeedbackSessionResultsExport export)
+            throws EntityDoesNotExistException {
+
+        Assumption.assertNotNull(export);
+        Assumption.assertNotNull(export.courseId);
+        Assumption.assertNotNull(export.feedbackSessionName);
+
+        return feedbackSessionsLogic.createFeedbackSessionResultsExport(export);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return null if not found.
+     */
+    public FeedbackSessionResultsExport getFeedbackSessionResultsExport(String exportId) {
+
+        Assumption.assertNotNull(exportId);
+
+        return feedbackSessionsLogic.getFeedbackSessionResultsExport(exportId);
+    }
+
+    /**
+     * Continues writing the file of an export until it is complete or {@code stopTimeMillis} is passed.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return true if there is more of the file to be written
+     */
+    public boolean continueFeedbackSessionResultsExport(String exportId, long stopTimeMillis)
+            throws EntityDoesNotExistException, IOException {
+
+        Assumption.assertNotNull(exportId);
+
+        return feedbackSessionsLogic.continueFeedbackSessionResultsExport(exportId, stopTimeMillis);
+    }
+
+    /**
+     * Records that the instructor who requested an export has been sent the link to download its file.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void markFeedbackSessionResultsExportEmailSent(String exportId) {
+
+        Assumption.assertNotNull(exportId);
+
+        feedbackSessionsLogic.markFeedbackSessionResultsExportEmailSent(exportId);
+    }
+
+    /**
+     * Deletes up to {@code limit} exports which are old enough to be deleted, together with their files.
+     * @return the number of exports deleted
+     */
+    public int deleteExpiredFeedbackSessionResultsExports(int limit) {
+        return feedbackSessionsLogic.deleteExpiredFeedbackSessionResultsExports(limit);
+    }
+
+    /**
+     * Writes the content of the file of a completed export to {@code writer}.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void writeFeedbackSessionResultsExportFile(String exportId, Writer writer)
+            throws EntityDoesNotExistException, IOException {
+
+        Assumption.assertNotNull(exportId);
+        Assumption.assertNotNull(writer);
+
+        feedbackSessionsLogic.writeFeedbackSessionResultsExportFile(exportId, writer);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1928,6 +2119,19 @@ public class Logic {
         feedbackResponsesLogic.updateFeedbackResponse(feedbackResponse);
     }
 
+    /**
+     * Updates the given feedback responses, reading the existing responses in a single batch.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the responses that could not be updated, mapped to the reason
+     */
+    public Map<FeedbackResponseAttributes, Exception> updateFeedbackResponses(
+            List<FeedbackResponseAttributes> feedbackResponses) throws EntityDoesNotExistException {
+
+        Assumption.assertNotNull(feedbackResponses);
+        return feedbackResponsesLogic.updateFeedbackResponses(feedbackResponses);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -2298,6 +2502,38 @@ public class Logic {
         return adminEmailsLogic.getAdminEmailById(emailId);
     }
 
+    /**
+     * Gets an admin email by email id for sending it, from the cache of admin emails if it is there.
+     *
+     * @see AdminEmailsLogic#getAdminEmailForSending(String)
+     */
+    public AdminEmailAttributes getAdminEmailForSending(String emailId) {
+        Assumption.assertNotNull(emailId);
+        return adminEmailsLogic.getAdminEmailForSending(emailId);
+    }
+
+    /**
+     * Returns true if the task named {@code taskName} is recorded to have sent its admin email to {@code receiver}.
+     *
+     * @see AdminEmailsLogic#isAdminEmailSentInTask(String, String)
+     */
+    public boolean isAdminEmailSentInTask(String taskName, String receiver) {
+        Assumption.assertNotNull(taskName);
+        Assumption.assertNotNull(receiver);
+        return adminEmailsLogic.isAdminEmailSentInTask(taskName, receiver);
+    }
+
+    /**
+     * Records that the task named {@code taskName} has sent its admin email to {@code receiver}.
+     *
+     * @see AdminEmailsLogic#markAdminEmailSentInTask(String, String)
+     */
+    public void markAdminEmailSentInTask(String taskName, String receiver) {
+        Assumption.assertNotNull(taskName);
+        Assumption.assertNotNull(receiver);
+        adminEmailsLogic.markAdminEmailSentInTask(taskName, receiver);
+    }
+
     public Date createAdminEmail(AdminEmailAttributes newAdminEmail) throws InvalidParametersException {
         Assumption.assertNotNull(newAdminEmail);
         return adminEmailsLogic.createAdminEmail(newAdminEmail);
@@ -2420,6 +2656,60 @@ public class Logic {
         return feedbackResponsesLogic.getFeedbackResponsesForSession(feedbackSessionName, courseId);
     }
 
+    /**
+     * Returns an iterator over the responses of the session which fetches them in chunks.
+     *
+     * @see FeedbackResponsesLogic#getFeedbackResponseIteratorForSession(String, String)
+     */
+    public Iterator<FeedbackResponseAttributes>
+            getFeedbackResponseIteratorForSession(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(courseId);
+        return feedbackResponsesLogic.getFeedbackResponseIteratorForSession(feedbackSessionName, courseId);
+    }
+
+    /**
+     * Returns the number of responses to each question of the session which has at least one response,
+     * or {@code null} if the response counts of the session have not been built yet. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @see FeedbackResponsesLogic#getFeedbackResponseCountsForSession(String, String)
+     */
+    public Map<String, Integer> getFeedbackResponseCountsForSession(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(courseId);
+        return feedbackResponsesLogic.getFeedbackResponseCountsForSession(feedbackSessionName, courseId);
+    }
+
+    /**
+     * Recounts the responses to each question of the session. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @return false if responses were written while they were recounted and the recount has to be tried again
+     * @see FeedbackResponsesLogic#rebuildFeedbackResponseCountsForSession(String, String)
+     */
+    public boolean rebuildFeedbackResponseCountsForSession(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(courseId);
+        return feedbackResponsesLogic.rebuildFeedbackResponseCountsForSession(feedbackSessionName, courseId);
+    }
+
+    /**
+     * Records that a rebuild of the response counts of the session is being scheduled. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @return true if the rebuild is to be scheduled by the caller
+     * @see FeedbackResponsesLogic#markFeedbackResponseCountRebuildScheduled(String, String)
+     */
+    public boolean markFeedbackResponseCountRebuildScheduled(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(courseId);
+        return feedbackResponsesLogic.markFeedbackResponseCountRebuildScheduled(feedbackSessionName, courseId);
+    }
+
     public void adjustFeedbackResponseForEnrollments(List<StudentEnrollDetails> enrollmentList,
                                                      FeedbackResponseAttributes response)
             throws InvalidParametersException, EntityDoesNotExistException {
@@ -2428,6 +2718,23 @@ public class Logic {
         studentsLogic.adjustFeedbackResponseForEnrollments(enrollmentList, response);
     }
 
+    /**
+     * Adjusts the responses of the session for the changes in the teams and sections of students in an enrollment,
+     * fetching only the responses given by or to those students. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @see StudentsLogic#adjustFeedbackResponsesForEnrollments(List, String, String)
+     */
+    public void adjustFeedbackResponsesForEnrollments(List<StudentEnrollDetails> enrollmentList,
+                                                      String feedbackSessionName, String courseId)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        Assumption.assertNotNull(enrollmentList);
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(courseId);
+        studentsLogic.adjustFeedbackResponsesForEnrollments(enrollmentList, feedbackSessionName, courseId);
+    }
+
     /**
      * Returns returns a list of sessions that were closed within past hour.
      *
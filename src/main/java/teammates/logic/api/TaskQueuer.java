@@ -1,10 +1,13 @@
 package teammates.logic.api;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import teammates.common.datatransfer.StudentEnrollDetails;
+import teammates.common.datatransfer.StudentUpdateStatus;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Const.TaskQueue;
 import teammates.common.util.EmailWrapper;
@@ -18,6 +21,12 @@ import teammates.logic.core.TaskQueuesLogic;
  */
 public class TaskQueuer {
 
+    /** The maximum number of tasks which are added to a queue together by the methods scheduling tasks in batches. */
+    public static final int MAX_TASKS_PER_BATCH = TaskQueuesLogic.MAX_TASKS_PER_BATCH_ADD;
+
+    /** The maximum number of receivers an admin email is sent to by one task. */
+    public static final int MAX_RECEIVERS_PER_ADMIN_EMAIL_TASK = 20;
+
     private static final Logger log = Logger.getLogger();
 
     // The following methods are facades to the actual logic for adding tasks to the queue.
@@ -25,21 +34,13 @@ public class TaskQueuer {
     // while at the same time allowing this API to be mocked during test.
 
     protected void addTask(String queueName, String workerUrl, Map<String, String> paramMap) {
-        Map<String, String[]> multisetParamMap = new HashMap<String, String[]>();
-        for (Map.Entry<String, String> entry : paramMap.entrySet()) {
-            multisetParamMap.put(entry.getKey(), new String[] { entry.getValue() });
-        }
-        TaskWrapper task = new TaskWrapper(queueName, workerUrl, multisetParamMap);
+        TaskWrapper task = new TaskWrapper(queueName, workerUrl, toMultisetParamMap(paramMap));
         new TaskQueuesLogic().addTask(task);
     }
 
     protected void addDeferredTask(String queueName, String workerUrl, Map<String, String> paramMap,
                                    long countdownTime) {
-        Map<String, String[]> multisetParamMap = new HashMap<String, String[]>();
-        for (Map.Entry<String, String> entry : paramMap.entrySet()) {
-            multisetParamMap.put(entry.getKey(), new String[] { entry.getValue() });
-        }
-        TaskWrapper task = new TaskWrapper(queueName, workerUrl, multisetParamMap);
+        TaskWrapper task = new TaskWrapper(queueName, workerUrl, toMultisetParamMap(paramMap));
         new TaskQueuesLogic().addDeferredTask(task, countdownTime);
     }
 
@@ -48,6 +49,18 @@ public class TaskQueuer {
         new TaskQueuesLogic().addTask(task);
     }
 
+    protected void addTasks(List<TaskWrapper> tasks) {
+        new TaskQueuesLogic().addTasks(tasks);
+    }
+
+    private static Map<String, String[]> toMultisetParamMap(Map<String, String> paramMap) {
+        Map<String, String[]> multisetParamMap = new HashMap<String, String[]>();
+        for (Map.Entry<String, String> entry : paramMap.entrySet()) {
+            multisetParamMap.put(entry.getKey(), new String[] { entry.getValue() });
+        }
+        return multisetParamMap;
+    }
+
     /**
      * Gets the tasks added to the queue.
      * This method is used only for testing, where it is overridden.
@@ -88,55 +101,45 @@ public class TaskQueuer {
     /**
      * Schedules an admin email preparation in group mode, i.e. using the group receiver list
      * retrieved from the Google Cloud Storage (GCS).
-     * <p>
-     * This group receiver list is in the form of {@code List<List<String>>} accessed by two indices,
-     * namely "email list index" for accessing the {@code List<String>} inside the {@code List<List<String>>}
-     * and "email index" for accessing the email {@code String} inside the {@code List<String>}.
-     * </p>
      *
      * @param emailId the ID of admin email to be retrieved from the database
      * @param groupReceiverListFileKey the file key for the group receiver list in GCS
-     * @param emailListIndex see method description
-     * @param emailIndex see method description
+     * @param receiverListOffset the byte offset in the group receiver list of the first receiver to prepare
+     *         the email for, i.e. 0 to start from the beginning of the list
      */
     public void scheduleAdminEmailPreparationInGroupMode(String emailId, String groupReceiverListFileKey,
-                                                         int emailListIndex, int emailIndex) {
+                                                         long receiverListOffset) {
         Map<String, String> paramMap = new HashMap<String, String>();
         paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
         paramMap.put(ParamsNames.ADMIN_EMAIL_GROUP_RECEIVER_LIST_FILE_KEY, groupReceiverListFileKey);
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX, Integer.toString(emailListIndex));
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_INDEX, Integer.toString(emailIndex));
+        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_LIST_OFFSET, Long.toString(receiverListOffset));
 
         addTask(TaskQueue.ADMIN_PREPARE_EMAIL_GROUP_MODE_QUEUE_NAME,
                 TaskQueue.ADMIN_PREPARE_EMAIL_GROUP_MODE_WORKER_URL, paramMap);
     }
 
     /**
-     * Schedules an admin email to be sent.
+     * Schedules an admin email to be sent to the given receivers.
+     * The tasks refer to the email by its ID instead of carrying its subject and content,
+     * and each task carries up to {@link #MAX_RECEIVERS_PER_ADMIN_EMAIL_TASK} receivers.
      *
-     * @param emailId the ID of admin email to be retrieved from the database (if needed)
-     * @param emailReceiver the email address of the email receiver
-     * @param emailSubject the subject of the email
-     * @param emailContent the content of the email
+     * @param emailId the ID of admin email to be retrieved from the database
+     * @param emailReceivers the email addresses of the email receivers
+     * @return the number of tasks added
      */
-    public void scheduleAdminEmailForSending(String emailId, String emailReceiver, String emailSubject,
-                                             String emailContent) {
-        Map<String, String> paramMap = new HashMap<String, String>();
-        paramMap.put(ParamsNames.ADMIN_EMAIL_RECEIVER, emailReceiver);
-        paramMap.put(ParamsNames.ADMIN_EMAIL_SUBJECT, emailSubject);
-        paramMap.put(ParamsNames.ADMIN_EMAIL_CONTENT, emailContent);
-
-        try {
-            addTask(TaskQueue.ADMIN_SEND_EMAIL_QUEUE_NAME, TaskQueue.ADMIN_SEND_EMAIL_WORKER_URL, paramMap);
-        } catch (IllegalArgumentException e) {
-            if (e.getMessage().toLowerCase().contains("task size too large")) {
-                log.info("Email task size exceeds max limit. Switching to large email task mode.");
-                paramMap.remove(ParamsNames.ADMIN_EMAIL_SUBJECT);
-                paramMap.remove(ParamsNames.ADMIN_EMAIL_CONTENT);
-                paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
-                addTask(TaskQueue.ADMIN_SEND_EMAIL_QUEUE_NAME, TaskQueue.ADMIN_SEND_EMAIL_WORKER_URL, paramMap);
-            }
+    public int scheduleAdminEmailsForSending(String emailId, List<String> emailReceivers) {
+        List<TaskWrapper> tasks = new ArrayList<TaskWrapper>();
+        for (int from = 0; from < emailReceivers.size(); from += MAX_RECEIVERS_PER_ADMIN_EMAIL_TASK) {
+            List<String> receivers = emailReceivers.subList(
+                    from, Math.min(from + MAX_RECEIVERS_PER_ADMIN_EMAIL_TASK, emailReceivers.size()));
+            Map<String, String[]> paramMap = new HashMap<String, String[]>();
+            paramMap.put(ParamsNames.ADMIN_EMAIL_ID, new String[] { emailId });
+            paramMap.put(ParamsNames.ADMIN_EMAIL_RECEIVER, receivers.toArray(new String[receivers.size()]));
+            tasks.add(new TaskWrapper(TaskQueue.ADMIN_SEND_EMAIL_QUEUE_NAME, TaskQueue.ADMIN_SEND_EMAIL_WORKER_URL,
+                                      paramMap));
         }
+        addTasks(tasks);
+        return tasks.size();
     }
 
     /**
@@ -254,10 +257,24 @@ public class TaskQueuer {
                 TaskQueue.STUDENT_COURSE_JOIN_EMAIL_WORKER_URL, paramMap);
     }
 
+    /**
+     * Schedules the data of a course to be deleted in the background, after the deletion
+     * of the course has been started.
+     *
+     * @param courseId the ID of the course to be deleted
+     */
+    public void scheduleCourseDeletion(String courseId) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.COURSE_ID, courseId);
+
+        addTask(TaskQueue.COURSE_DELETION_QUEUE_NAME, TaskQueue.COURSE_DELETION_WORKER_URL, paramMap);
+    }
+
     /**
      * Schedules adjustments to be done to responses of a feedback session in the database
      * after change is done to a course, typically after enrollment of new students
      * or re-enrollment of old students, or both.
+     * Only the responses of modified students need adjustments, so the other students are left out of the task.
      *
      * @param courseId the course ID of the feedback session
      * @param feedbackSessionName the name of the feedback session
@@ -265,17 +282,53 @@ public class TaskQueuer {
      */
     public void scheduleFeedbackResponseAdjustmentForCourse(String courseId, String feedbackSessionName,
                                                             List<StudentEnrollDetails> enrollmentList) {
+        List<StudentEnrollDetails> modifiedEnrollments = new ArrayList<StudentEnrollDetails>();
+        for (StudentEnrollDetails enrollment : enrollmentList) {
+            if (enrollment.updateStatus == StudentUpdateStatus.MODIFIED) {
+                modifiedEnrollments.add(enrollment);
+            }
+        }
+
         Map<String, String> paramMap = new HashMap<String, String>();
         paramMap.put(ParamsNames.COURSE_ID, courseId);
         paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
 
-        String enrollmentDetails = JsonUtils.toJson(enrollmentList);
+        String enrollmentDetails = JsonUtils.toCompactJson(modifiedEnrollments);
         paramMap.put(ParamsNames.ENROLLMENT_DETAILS, enrollmentDetails);
 
         addTask(TaskQueue.FEEDBACK_RESPONSE_ADJUSTMENT_QUEUE_NAME,
                 TaskQueue.FEEDBACK_RESPONSE_ADJUSTMENT_WORKER_URL, paramMap);
     }
 
+    /**
+     * Schedules the response counts of a feedback session to be recounted from its responses.
+     *
+     * @param courseId the course ID of the feedback session
+     * @param feedbackSessionName the name of the feedback session
+     */
+    public void scheduleFeedbackResponseCountRebuild(String courseId, String feedbackSessionName) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.COURSE_ID, courseId);
+        paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
+
+        addTask(TaskQueue.FEEDBACK_RESPONSE_COUNT_REBUILD_QUEUE_NAME,
+                TaskQueue.FEEDBACK_RESPONSE_COUNT_REBUILD_WORKER_URL, paramMap);
+    }
+
+    /**
+     * Schedules the file of a feedback session results export to be written in the background,
+     * continuing from its last checkpoint.
+     *
+     * @param exportId the ID of the export
+     */
+    public void scheduleFeedbackSessionResultsExport(String exportId) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.FEEDBACK_RESULTS_EXPORT_ID, exportId);
+
+        addTask(TaskQueue.FEEDBACK_SESSION_RESULTS_EXPORT_QUEUE_NAME,
+                TaskQueue.FEEDBACK_SESSION_RESULTS_EXPORT_WORKER_URL, paramMap);
+    }
+
     /**
      * Schedules putting of comment document in index.
      *
@@ -304,40 +357,83 @@ public class TaskQueuer {
         int oneHourInMillis = 60 * 60 * 1000;
         int emailIntervalMillis = Math.min(5000, oneHourInMillis / emails.size());
 
-        int numberOfEmailsSent = 0;
-        for (EmailWrapper email : emails) {
-            long emailDelayTimer = numberOfEmailsSent * emailIntervalMillis;
-            scheduleEmailForSending(email, emailDelayTimer);
-            numberOfEmailsSent++;
+        // the tasks are named so that a task added by a batch which failed only partially is not added again
+        String taskNamePrefix = "email-" + UUID.randomUUID().toString() + "-";
+
+        long startTime = System.currentTimeMillis();
+        for (int from = 0; from < emails.size(); from += MAX_TASKS_PER_BATCH) {
+            List<EmailWrapper> batch = emails.subList(from, Math.min(from + MAX_TASKS_PER_BATCH, emails.size()));
+            List<TaskWrapper> tasks = new ArrayList<TaskWrapper>();
+            for (int i = 0; i < batch.size(); i++) {
+                long emailDelayTimer = (long) (from + i) * emailIntervalMillis;
+                tasks.add(new TaskWrapper(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL,
+                                          toMultisetParamMap(getEmailParams(batch.get(i))), emailDelayTimer,
+                                          taskNamePrefix + (from + i)));
+            }
+            try {
+                addTasks(tasks);
+            } catch (Exception e) {
+                // add the emails of the batch one by one, so that only the emails which cannot be added are lost
+                log.warning("Error when adding a batch of emails to task queue: " + e.getMessage());
+                for (int i = 0; i < batch.size(); i++) {
+                    scheduleEmailForSending(batch.get(i), tasks.get(i));
+                }
+            }
         }
+        log.info(getTaskAddingRateMessage(emails.size(), System.currentTimeMillis() - startTime));
     }
 
-    private void scheduleEmailForSending(EmailWrapper email, long emailDelayTimer) {
-        String emailSubject = email.getSubject();
+    /**
+     * Schedules an email to be sent by a task named {@code taskName}. Scheduling an email again under the name
+     * of a task already added, e.g. when retrying a request which failed after scheduling it,
+     * does not send the email again. Unlike {@link #scheduleEmailsForSending}, errors are not caught,
+     * so that the caller can retry.
+     *
+     * @param taskName a name unique to the email, made of letters, digits, hyphens and underscores
+     */
+    public void scheduleEmailForSending(String taskName, EmailWrapper email) {
+        List<TaskWrapper> tasks = new ArrayList<TaskWrapper>();
+        tasks.add(new TaskWrapper(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL,
+                                  toMultisetParamMap(getEmailParams(email)), 0, taskName));
+        addTasks(tasks);
+    }
+
+    /**
+     * Returns a message on the number of tasks added and the number of tasks added per second.
+     *
+     * @param timeTakenMillis the time taken to add the tasks
+     */
+    public static String getTaskAddingRateMessage(int numberOfTasks, long timeTakenMillis) {
+        return String.format("Added %d tasks in %d ms (%.1f tasks per second)",
+                             numberOfTasks, timeTakenMillis, numberOfTasks * 1000.0 / Math.max(1, timeTakenMillis));
+    }
+
+    private Map<String, String> getEmailParams(EmailWrapper email) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.EMAIL_SUBJECT, email.getSubject());
+        paramMap.put(ParamsNames.EMAIL_CONTENT, email.getContent());
+        paramMap.put(ParamsNames.EMAIL_SENDER, email.getSenderEmail());
         String emailSenderName = email.getSenderName();
-        String emailSender = email.getSenderEmail();
-        String emailReceiver = email.getRecipient();
-        String emailReplyToAddress = email.getReplyTo();
-        try {
-            Map<String, String> paramMap = new HashMap<String, String>();
-            paramMap.put(ParamsNames.EMAIL_SUBJECT, emailSubject);
-            paramMap.put(ParamsNames.EMAIL_CONTENT, email.getContent());
-            paramMap.put(ParamsNames.EMAIL_SENDER, emailSender);
-            if (emailSenderName != null && !emailSenderName.isEmpty()) {
-                paramMap.put(ParamsNames.EMAIL_SENDERNAME, emailSenderName);
-            }
-            paramMap.put(ParamsNames.EMAIL_RECEIVER, emailReceiver);
-            paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, emailReplyToAddress);
+        if (emailSenderName != null && !emailSenderName.isEmpty()) {
+            paramMap.put(ParamsNames.EMAIL_SENDERNAME, emailSenderName);
+        }
+        paramMap.put(ParamsNames.EMAIL_RECEIVER, email.getRecipient());
+        paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, email.getReplyTo());
+        return paramMap;
+    }
 
-            addDeferredTask(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL,
-                            paramMap, emailDelayTimer);
+    private void scheduleEmailForSending(EmailWrapper email, TaskWrapper task) {
+        try {
+            List<TaskWrapper> tasks = new ArrayList<TaskWrapper>();
+            tasks.add(task);
+            addTasks(tasks);
         } catch (Exception e) {
             log.severe("Error when adding email to task queue: " + e.getMessage() + "\n"
-                       + "Email sender: " + emailSender + "\n"
-                       + "Email sender name: " + emailSenderName + "\n"
-                       + "Email receiver: " + emailReceiver + "\n"
-                       + "Email subject: " + emailSubject + "\n"
-                       + "Email reply-to address: " + emailReplyToAddress);
+                       + "Email sender: " + email.getSenderEmail() + "\n"
+                       + "Email sender name: " + email.getSenderName() + "\n"
+                       + "Email receiver: " + email.getRecipient() + "\n"
+                       + "Email subject: " + email.getSubject() + "\n"
+                       + "Email reply-to address: " + email.getReplyTo());
         }
     }
 
@@ -49,6 +49,33 @@ public final class AdminEmailsLogic {
         return adminEmailsDb.getAdminEmailById(emailId);
     }
 
+    /**
+     * Gets an admin email by email id for sending it, from the cache of admin emails if it is there.
+     * @return null if no matched email found
+     */
+    public AdminEmailAttributes getAdminEmailForSending(String emailId) {
+        Assumption.assertNotNull(emailId);
+        return adminEmailsDb.getAdminEmailByIdCached(emailId);
+    }
+
+    /**
+     * Returns true if the task named {@code taskName} is recorded to have sent its admin email to {@code receiver}.
+     */
+    public boolean isAdminEmailSentInTask(String taskName, String receiver) {
+        Assumption.assertNotNull(taskName);
+        Assumption.assertNotNull(receiver);
+        return adminEmailsDb.isAdminEmailSentInTask(taskName, receiver);
+    }
+
+    /**
+     * Records that the task named {@code taskName} has sent its admin email to {@code receiver}.
+     */
+    public void markAdminEmailSentInTask(String taskName, String receiver) {
+        Assumption.assertNotNull(taskName);
+        Assumption.assertNotNull(receiver);
+        adminEmailsDb.markAdminEmailSentInTask(taskName, receiver);
+    }
+
     /**
      * Gets an admin email by subject and createDate.
      * @return null if no matched email found
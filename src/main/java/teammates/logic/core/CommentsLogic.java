@@ -606,13 +606,18 @@ public final class CommentsLogic {
 
         Map<String, FeedbackQuestionAttributes> feedbackQuestionsTable =
                 new HashMap<String, FeedbackQuestionAttributes>();
-        Map<String, FeedbackResponseAttributes> feedbackResponsesTable =
-                new HashMap<String, FeedbackResponseAttributes>();
         Map<String, Set<String>> responseCommentsAddedTable = new HashMap<String, Set<String>>();
 
+        Set<String> relatedResponseIds = new HashSet<String>();
+        for (FeedbackResponseCommentAttributes frc : sendingResponseCommentsList) {
+            relatedResponseIds.add(frc.feedbackResponseId);
+        }
+        Map<String, FeedbackResponseAttributes> feedbackResponsesTable =
+                frLogic.getFeedbackResponses(relatedResponseIds);
+
         for (FeedbackResponseCommentAttributes frc : sendingResponseCommentsList) {
             FeedbackQuestionAttributes relatedQuestion = getRelatedQuestion(feedbackQuestionsTable, frc);
-            FeedbackResponseAttributes relatedResponse = getRelatedResponse(feedbackResponsesTable, frc);
+            FeedbackResponseAttributes relatedResponse = feedbackResponsesTable.get(frc.feedbackResponseId);
 
             if (relatedQuestion != null && relatedResponse != null) {
                 populateRecipientEmailsForGiver(roster, teamStudentTable, recipientEmailsList,
@@ -692,16 +697,6 @@ public final class CommentsLogic {
         }
     }
 
-    private FeedbackResponseAttributes getRelatedResponse(
-            Map<String, FeedbackResponseAttributes> feedbackResponsesTable, FeedbackResponseCommentAttributes frc) {
-        FeedbackResponseAttributes relatedResponse = feedbackResponsesTable.get(frc.feedbackResponseId);
-        if (relatedResponse == null) {
-            relatedResponse = frLogic.getFeedbackResponse(frc.feedbackResponseId);
-            feedbackResponsesTable.put(frc.feedbackResponseId, relatedResponse);
-        }
-        return relatedResponse;
-    }
-
     private FeedbackQuestionAttributes getRelatedQuestion(
             Map<String, FeedbackQuestionAttributes> feedbackQuestionsTable, FeedbackResponseCommentAttributes frc) {
         FeedbackQuestionAttributes relatedQuestion = feedbackQuestionsTable.get(frc.feedbackQuestionId);
@@ -8,7 +8,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import teammates.common.datatransfer.CourseDeletionStatus;
 import teammates.common.datatransfer.CourseDetailsBundle;
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.CourseSummaryBundle;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.InstructorPrivileges;
@@ -29,6 +31,8 @@ import teammates.common.util.FieldValidator;
 import teammates.common.util.Logger;
 import teammates.common.util.SanitizationHelper;
 import teammates.common.util.StringHelper;
+import teammates.storage.api.CourseCascadeDeleter;
+import teammates.storage.api.CourseRosterCache;
 import teammates.storage.api.CoursesDb;
 
 /**
@@ -59,6 +63,9 @@ public final class CoursesLogic {
     private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
     private static final StudentsLogic studentsLogic = StudentsLogic.inst();
 
+    private final CourseRosterCache rosterCache = new CourseRosterCache();
+    private final CourseCascadeDeleter courseDeleter = new CourseCascadeDeleter();
+
     private CoursesLogic() {
         // prevent initialization
     }
@@ -70,6 +77,12 @@ public final class CoursesLogic {
     public void createCourse(String courseId, String courseName, String courseTimeZone)
             throws InvalidParametersException, EntityAlreadyExistsException {
 
+        if (courseDeleter.isDeletionInProgress(courseId)) {
+            // the data left behind by the previous course would be deleted together with the new course
+            throw new EntityAlreadyExistsException("The data of a deleted course with the same ID is still being deleted: "
+                                                   + courseId);
+        }
+
         CourseAttributes courseToAdd = new CourseAttributes(courseId, courseName, courseTimeZone);
         coursesDb.createEntity(courseToAdd);
     }
@@ -122,6 +135,27 @@ public final class CoursesLogic {
         return coursesDb.getCourse(courseId);
     }
 
+    /**
+     * Gets the roster of the course with the specified ID.
+     * The roster is served from a cache shared across requests where possible.
+     */
+    public CourseRoster getCourseRoster(String courseId) {
+        Long generation = rosterCache.getGeneration(courseId);
+        if (generation != null) {
+            CourseRoster cachedRoster = rosterCache.getRoster(courseId, generation);
+            if (cachedRoster != null) {
+                return cachedRoster;
+            }
+        }
+
+        CourseRoster roster = new CourseRoster(studentsLogic.getStudentsForCourse(courseId),
+                                               instructorsLogic.getInstructorsForCourse(courseId));
+        if (generation != null) {
+            rosterCache.putRoster(courseId, generation, roster);
+        }
+        return roster;
+    }
+
     /**
      * Returns true if the course with ID courseId is present.
      */
@@ -625,6 +659,35 @@ public final class CoursesLogic {
         coursesDb.deleteCourse(courseId);
     }
 
+    /**
+     * Deletes the course and its instructors, so that the course disappears for its users at once,
+     * and marks the rest of the data of the course for deletion in chunks by {@link #deleteNextChunkOfCourse}.
+     *
+     * @param deletedBy the Google ID of the instructor deleting the course, or null if it is not deleted by one
+     */
+    public void startCourseDeletion(String courseId, String deletedBy) {
+        instructorsLogic.deleteInstructorsForCourse(courseId);
+        coursesDb.deleteCourse(courseId);
+        courseDeleter.startDeletion(courseId, deletedBy);
+    }
+
+    /**
+     * Returns the progress of the deletions of the courses deleted by the instructor
+     * whose data is still being deleted.
+     */
+    public List<CourseDeletionStatus> getCourseDeletionsInProgress(String googleId) {
+        return courseDeleter.getDeletionsInProgress(googleId);
+    }
+
+    /**
+     * Deletes the next chunk of the data of a course whose deletion has been started.
+     *
+     * @return true if there may be more data of the course to delete
+     */
+    public boolean deleteNextChunkOfCourse(String courseId) {
+        return courseDeleter.deleteNextChunk(courseId);
+    }
+
     private HashMap<String, CourseSummaryBundle> getCourseSummaryWithoutStatsForInstructor(
             List<InstructorAttributes> instructorAttributesList) {
 
@@ -442,6 +442,17 @@ public final class FeedbackQuestionsLogic {
 
         int numberOfResponsesGiven =
                 frLogic.getFeedbackResponsesFromGiverForQuestion(question.getId(), email).size();
+        return isQuestionFullyAnsweredByUser(question, email, numberOfResponsesGiven);
+    }
+
+    /**
+     * Checks if a question has been fully answered by a user who has given {@code numberOfResponsesGiven}
+     * responses to it, e.g. as read from the response counts of a session in which only the user responds.
+     */
+    public boolean isQuestionFullyAnsweredByUser(FeedbackQuestionAttributes question, String email,
+                                                 int numberOfResponsesGiven)
+            throws EntityDoesNotExistException {
+
         int numberOfResponsesNeeded =
                 question.numberOfEntitiesToGiveFeedbackTo;
 
@@ -1,8 +1,11 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -30,6 +33,9 @@ import teammates.storage.entity.FeedbackResponse;
  */
 public final class FeedbackResponsesLogic {
 
+    /** The maximum number of responses whose changes are committed together. */
+    private static final int MAX_RESPONSES_PER_BATCH_UPDATE = 100;
+
     private static final Logger log = Logger.getLogger();
 
     private static FeedbackResponsesLogic instance = new FeedbackResponsesLogic();
@@ -73,6 +79,14 @@ public final class FeedbackResponsesLogic {
         return frDb.getFeedbackResponse(feedbackResponseId);
     }
 
+    /**
+     * Gets the responses with the given IDs in a single batch.
+     * @return a map from response ID to response, without entries for IDs that are not found.
+     */
+    public Map<String, FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        return frDb.getFeedbackResponses(feedbackResponseIds);
+    }
+
     public FeedbackResponseAttributes getFeedbackResponse(
             String feedbackQuestionId, String giverEmail, String recipient) {
         return frDb.getFeedbackResponse(feedbackQuestionId, giverEmail, recipient);
@@ -107,6 +121,40 @@ public final class FeedbackResponsesLogic {
         return frDb.getFeedbackResponsesForSessionToSection(feedbackSessionName, courseId, section);
     }
 
+    /**
+     * Returns an iterator over the responses of the session which does not hold
+     * all of them in memory at once. Prefer this over {@link #getFeedbackResponsesForSession}
+     * when the responses only need to be processed one by one.
+     */
+    public Iterator<FeedbackResponseAttributes> getFeedbackResponseIteratorForSession(
+            String feedbackSessionName, String courseId) {
+        return frDb.getFeedbackResponseIteratorForSession(feedbackSessionName, courseId);
+    }
+
+    public Iterator<FeedbackResponseAttributes> getFeedbackResponseIteratorForSessionInSection(
+            String feedbackSessionName, String courseId, String section) {
+        if (section == null) {
+            return getFeedbackResponseIteratorForSession(feedbackSessionName, courseId);
+        }
+        return frDb.getFeedbackResponseIteratorForSessionInSection(feedbackSessionName, courseId, section);
+    }
+
+    public Iterator<FeedbackResponseAttributes> getFeedbackResponseIteratorForSessionFromSection(
+            String feedbackSessionName, String courseId, String section) {
+        if (section == null) {
+            return getFeedbackResponseIteratorForSession(feedbackSessionName, courseId);
+        }
+        return frDb.getFeedbackResponseIteratorForSessionFromSection(feedbackSessionName, courseId, section);
+    }
+
+    public Iterator<FeedbackResponseAttributes> getFeedbackResponseIteratorForSessionToSection(
+            String feedbackSessionName, String courseId, String section) {
+        if (section == null) {
+            return getFeedbackResponseIteratorForSession(feedbackSessionName, courseId);
+        }
+        return frDb.getFeedbackResponseIteratorForSessionToSection(feedbackSessionName, courseId, section);
+    }
+
     public List<FeedbackResponseAttributes> getFeedbackResponsesForSessionWithinRange(
             String feedbackSessionName, String courseId, long range) {
         return frDb.getFeedbackResponsesForSessionWithinRange(feedbackSessionName, courseId, range);
@@ -191,6 +239,14 @@ public final class FeedbackResponsesLogic {
         return frDb.getFeedbackResponsesFromGiverForSessionWithinRange(giverEmail, feedbackSessionName, courseId, range);
     }
 
+    /**
+     * Returns the responses of the session given by or to any of {@code participants}.
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponsesForSessionFromOrToParticipants(
+            String feedbackSessionName, String courseId, Collection<String> participants) {
+        return frDb.getFeedbackResponsesForSessionFromOrToParticipants(feedbackSessionName, courseId, participants);
+    }
+
     public boolean hasGiverRespondedForSession(String userEmail, String feedbackSessionName, String courseId) {
 
         return !getFeedbackResponsesFromGiverForSessionWithinRange(userEmail, feedbackSessionName, courseId, 1).isEmpty();
@@ -271,81 +327,8 @@ public final class FeedbackResponsesLogic {
             return false;
         }
 
-        // Early return if user is giver
-        if (question.giverType == FeedbackParticipantType.TEAMS) {
-            // if response is given by team, then anyone in the team can see the response
-            if (roster.isStudentsInSameTeam(response.giver, userEmail)) {
-                return true;
-            }
-        } else {
-            if (response.giver.equals(userEmail)) {
-                return true;
-            }
-        }
-
-        return isFeedbackParticipantNameVisibleToUser(question, response,
-                userEmail, role, isGiverName, roster);
-    }
-
-    private boolean isFeedbackParticipantNameVisibleToUser(
-            FeedbackQuestionAttributes question, FeedbackResponseAttributes response,
-            String userEmail, UserRole role, boolean isGiverName, CourseRoster roster) {
-        List<FeedbackParticipantType> showNameTo = isGiverName
-                                                 ? question.showGiverNameTo
-                                                 : question.showRecipientNameTo;
-        for (FeedbackParticipantType type : showNameTo) {
-            switch (type) {
-            case INSTRUCTORS:
-                if (roster.getInstructorForEmail(userEmail) != null && role == UserRole.INSTRUCTOR) {
-                    return true;
-                }
-                break;
-            case OWN_TEAM_MEMBERS:
-            case OWN_TEAM_MEMBERS_INCLUDING_SELF:
-                // Refers to Giver's Team Members
-                if (roster.isStudentsInSameTeam(response.giver, userEmail)) {
-                    return true;
-                }
-                break;
-            case RECEIVER:
-                // Response to team
-                if (question.recipientType.isTeam()) {
-                    if (roster.isStudentInTeam(userEmail, response.recipient)) {
-                        // this is a team name
-                        return true;
-                    }
-                    break;
-                    // Response to individual
-                } else if (response.recipient.equals(userEmail)) {
-                    return true;
-                } else {
-                    break;
-                }
-            case RECEIVER_TEAM_MEMBERS:
-                // Response to team; recipient = teamName
-                if (question.recipientType.isTeam()) {
-                    if (roster.isStudentInTeam(userEmail, response.recipient)) {
-                        // this is a team name
-                        return true;
-                    }
-                    break;
-                } else if (roster.isStudentsInSameTeam(response.recipient, userEmail)) {
-                    // Response to individual
-                    return true;
-                }
-                break;
-            case STUDENTS:
-                if (roster.isStudentInCourse(userEmail)) {
-                    return true;
-                }
-                break;
-            default:
-                Assumption.fail("Invalid FeedbackParticipantType for showNameTo in "
-                                + "FeedbackResponseLogic.isFeedbackParticipantNameVisibleToUser()");
-                break;
-            }
-        }
-        return false;
+        return new ResponseVisibilityDescriptor(question, new ResponseVisibilityDescriptor.Viewer(userEmail, role, roster))
+                .isNameVisible(response, isGiverName);
     }
 
     /**
@@ -373,6 +356,52 @@ public final class FeedbackResponsesLogic {
         return question.isResponseVisibleTo(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS);
     }
 
+    /**
+     * Returns the number of responses to each question of the session which has at least one response,
+     * or {@code null} if the response counts of the session have to be rebuilt first
+     * with {@link #rebuildFeedbackResponseCountsForSession}.
+     */
+    public Map<String, Integer> getFeedbackResponseCountsForSession(String feedbackSessionName, String courseId) {
+        return frDb.getFeedbackResponseCountsForSession(feedbackSessionName, courseId);
+    }
+
+    /**
+     * Recounts the responses to each question of the session from the stored responses
+     * and corrects the response counts of the session accordingly.
+     *
+     * @return false if responses were written while they were recounted, in which case nothing is corrected
+     *         and the recount has to be tried again
+     */
+    public boolean rebuildFeedbackResponseCountsForSession(String feedbackSessionName, String courseId) {
+        Set<String> questionIds = new HashSet<String>();
+        for (FeedbackQuestionAttributes question : fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId)) {
+            questionIds.add(question.getId());
+        }
+        Map<String, Long> totalsBeforeRecount =
+                frDb.getFeedbackResponseCountTotals(feedbackSessionName, courseId, questionIds);
+
+        Map<String, Integer> responseCounts = new HashMap<String, Integer>();
+        Iterator<FeedbackResponseAttributes> responses =
+                getFeedbackResponseIteratorForSession(feedbackSessionName, courseId);
+        while (responses.hasNext()) {
+            String questionId = responses.next().feedbackQuestionId;
+            Integer count = responseCounts.get(questionId);
+            responseCounts.put(questionId, count == null ? 1 : count + 1);
+        }
+        return frDb.reconcileFeedbackResponseCountsForSession(
+                feedbackSessionName, courseId, totalsBeforeRecount, responseCounts);
+    }
+
+    /**
+     * Records that a rebuild of the response counts of the session is being scheduled.
+     *
+     * @return true if the rebuild is to be scheduled by the caller, i.e. the counts are not available
+     *         and no rebuild has been scheduled recently
+     */
+    public boolean markFeedbackResponseCountRebuildScheduled(String feedbackSessionName, String courseId) {
+        return frDb.markFeedbackResponseCountRebuildScheduled(feedbackSessionName, courseId);
+    }
+
     public boolean hasResponsesForCourse(String courseId) {
         return frDb.hasFeedbackResponseEntitiesForCourse(courseId);
     }
@@ -412,6 +441,91 @@ public final class FeedbackResponsesLogic {
         updateFeedbackResponse(newResponse, oldResponseEntity);
     }
 
+    /**
+     * Updates the given {@link FeedbackResponse}s based on their {@code id}s.<br>
+     * Behaves like {@link #updateFeedbackResponse(FeedbackResponseAttributes)} for each response,
+     * but reads all the existing responses in a single batch and commits the valid responses
+     * that are updated in place all at once.<br>
+     * A response that cannot be updated does not prevent the others from being updated.
+     * @return the responses that could not be updated, mapped to the reason, in the given order
+     * @throws EntityDoesNotExistException  if any of the responses does not exist,
+     *                                      in which case none of them is updated
+     */
+    public Map<FeedbackResponseAttributes, Exception> updateFeedbackResponses(
+            List<FeedbackResponseAttributes> responsesToUpdate) throws EntityDoesNotExistException {
+
+        Set<String> responseIds = new HashSet<String>();
+        for (FeedbackResponseAttributes response : responsesToUpdate) {
+            if (response.getId() != null) {
+                responseIds.add(response.getId());
+            }
+        }
+        Map<String, FeedbackResponse> oldResponseEntities = frDb.getFeedbackResponseEntities(responseIds);
+
+        Map<FeedbackResponseAttributes, Exception> failedResponses =
+                new LinkedHashMap<FeedbackResponseAttributes, Exception>();
+        List<FeedbackResponseAttributes> responsesToUpdateInPlace = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponseAttributes> responsesToRecreate = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponseAttributes> responsesToReplace = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponseAttributes> requestedResponsesToRecreate = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponseAttributes> responsesWithoutId = new ArrayList<FeedbackResponseAttributes>();
+
+        for (FeedbackResponseAttributes response : responsesToUpdate) {
+            if (response.getId() == null) {
+                responsesWithoutId.add(response);
+                continue;
+            }
+
+            FeedbackResponse oldResponseEntity = oldResponseEntities.get(response.getId());
+            if (oldResponseEntity == null) {
+                throw new EntityDoesNotExistException(
+                        "Trying to update a feedback response that does not exist.");
+            }
+
+            // Create a copy.
+            FeedbackResponseAttributes newResponse = new FeedbackResponseAttributes(response);
+            FeedbackResponseAttributes oldResponse = new FeedbackResponseAttributes(oldResponseEntity);
+            copyFixedValuesFromOldToNew(newResponse, oldResponse);
+
+            if (!newResponse.recipient.equals(oldResponse.recipient)
+                    || !newResponse.giver.equals(oldResponse.giver)) {
+                responsesToRecreate.add(newResponse);
+                responsesToReplace.add(oldResponse);
+                requestedResponsesToRecreate.add(response);
+            } else if (newResponse.isValid()) {
+                responsesToUpdateInPlace.add(newResponse);
+            } else {
+                failedResponses.put(response, new InvalidParametersException(newResponse.getInvalidityInfo()));
+            }
+        }
+
+        try {
+            frDb.updateFeedbackResponsesOptimized(responsesToUpdateInPlace, oldResponseEntities);
+        } catch (InvalidParametersException e) {
+            // the invalid responses have been left out above
+            Assumption.fail();
+        }
+
+        for (int i = 0; i < responsesToRecreate.size(); i++) {
+            try {
+                // Recreate response to prevent possible future id conflict.
+                recreateResponse(responsesToRecreate.get(i), responsesToReplace.get(i));
+            } catch (InvalidParametersException | EntityAlreadyExistsException e) {
+                failedResponses.put(requestedResponsesToRecreate.get(i), e);
+            }
+        }
+
+        for (FeedbackResponseAttributes response : responsesWithoutId) {
+            try {
+                updateFeedbackResponse(response);
+            } catch (InvalidParametersException | EntityAlreadyExistsException e) {
+                failedResponses.put(response, e);
+            }
+        }
+
+        return failedResponses;
+    }
+
     /**
      * Updates a {@link FeedbackResponse} using a {@link FeedbackResponseAttributes} <br>
      * If the giver/recipient field is changed, the {@link FeedbackResponse} is
@@ -644,6 +758,38 @@ public final class FeedbackResponsesLogic {
         }
     }
 
+    /**
+     * Updates the giver and recipient sections of responses whose givers or recipients have moved to other sections.
+     * The changes are committed in batches of at most {@link #MAX_RESPONSES_PER_BATCH_UPDATE} responses,
+     * after which the sections of the comments on the responses of the batch are updated.
+     *
+     * @param newSections the new section of each participant who has moved, by email
+     */
+    public void updateFeedbackResponsesForChangingSections(List<FeedbackResponseAttributes> responses,
+            Map<String, String> newSections) throws InvalidParametersException, EntityDoesNotExistException {
+        for (int from = 0; from < responses.size(); from += MAX_RESPONSES_PER_BATCH_UPDATE) {
+            List<FeedbackResponseAttributes> batch =
+                    responses.subList(from, Math.min(from + MAX_RESPONSES_PER_BATCH_UPDATE, responses.size()));
+
+            for (FeedbackResponseAttributes response : batch) {
+                FeedbackResponse feedbackResponse = frDb.getFeedbackResponseEntityOptimized(response);
+                String newGiverSection = newSections.get(feedbackResponse.getGiverEmail());
+                if (newGiverSection != null) {
+                    feedbackResponse.setGiverSection(newGiverSection);
+                }
+                String newRecipientSection = newSections.get(feedbackResponse.getRecipientEmail());
+                if (newRecipientSection != null) {
+                    feedbackResponse.setRecipientSection(newRecipientSection);
+                }
+            }
+            frDb.commitOutstandingChanges();
+
+            for (FeedbackResponseAttributes response : batch) {
+                frcLogic.updateFeedbackResponseCommentsForResponse(response.getId());
+            }
+        }
+    }
+
     /**
      * Updates responses for a student when his email changes.
      */
@@ -1,18 +1,27 @@
 package teammates.logic.core;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import com.google.appengine.tools.cloudstorage.GcsOutputChannel;
+
 import teammates.common.datatransfer.*;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
@@ -29,10 +38,12 @@ import teammates.common.exception.TeammatesException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.SystemParams;
+import teammates.common.util.GoogleCloudStorageHelper;
 import teammates.common.util.Logger;
 import teammates.common.util.SanitizationHelper;
 import teammates.common.util.StringHelper;
 import teammates.common.util.TimeHelper;
+import teammates.storage.api.FeedbackSessionResultsExports;
 import teammates.storage.api.FeedbackSessionsDb;
 
 /**
@@ -44,9 +55,6 @@ import teammates.storage.api.FeedbackSessionsDb;
 public final class FeedbackSessionsLogic {
 
     private static final String QUESTION_ID_FOR_RESPONSE_RATE = "-1";
-    private static final int EMAIL_NAME_PAIR = 0;
-    private static final int EMAIL_LASTNAME_PAIR = 1;
-    private static final int EMAIL_TEAMNAME_PAIR = 2;
 
     private static final String PARAM_FROM_SECTION = "fromSection";
     private static final String PARAM_IN_SECTION = "inSection";
@@ -81,6 +89,7 @@ public final class FeedbackSessionsLogic {
     private static FeedbackSessionsLogic instance = new FeedbackSessionsLogic();
 
     private static final FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+    private static final FeedbackSessionResultsExports resultsExports = new FeedbackSessionResultsExports();
 
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
@@ -564,8 +573,7 @@ public final class FeedbackSessionsLogic {
         List<FeedbackQuestionAttributes> allQuestions = fqLogic.getFeedbackQuestionsForSession(feedbackSessionName,
                         courseId);
 
-        CourseRoster roster = new CourseRoster(studentsLogic.getStudentsForCourse(courseId),
-                                               instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         return getFeedbackSessionResponseStatus(session, roster, allQuestions);
     }
 
@@ -580,9 +588,7 @@ public final class FeedbackSessionsLogic {
         // Load details of students and instructors once and pass it to callee
         // methods
         // (rather than loading them many times).
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -604,9 +610,7 @@ public final class FeedbackSessionsLogic {
                                                 String questionId, String selectedSection)
                                         throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "true");
@@ -637,9 +641,7 @@ public final class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range, String viewType)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "true");
@@ -662,9 +664,7 @@ public final class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -685,9 +685,7 @@ public final class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -719,9 +717,7 @@ public final class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "true");
@@ -740,9 +736,7 @@ public final class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "false");
         params.put(PARAM_IN_SECTION, "false");
@@ -761,9 +755,7 @@ public final class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -851,21 +843,7 @@ public final class FeedbackSessionsLogic {
         Collections.sort(results.responses,
                 results.compareByGiverRecipientQuestion);
 
-        StringBuilder exportBuilder = new StringBuilder(100);
-
-        exportBuilder.append(String.format("Course,%s",
-                             SanitizationHelper.sanitizeForCsv(results.feedbackSession.getCourseId())))
-                     .append(Const.EOL)
-                     .append(String.format("Session Name,%s",
-                             SanitizationHelper.sanitizeForCsv(results.feedbackSession.getFeedbackSessionName())))
-                     .append(Const.EOL);
-
-        if (section != null) {
-            exportBuilder.append(String.format("Section Name,%s", SanitizationHelper.sanitizeForCsv(section)))
-                         .append(Const.EOL);
-        }
-
-        exportBuilder.append(Const.EOL).append(Const.EOL);
+        StringBuilder exportBuilder = getCsvHeader(results.feedbackSession, section);
 
         Set<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> entrySet =
                 results.getQuestionResponseMapBundle().getQuestionResponseMap(results).entrySet();
@@ -881,19 +859,236 @@ public final class FeedbackSessionsLogic {
         return exportBuilder.toString();
     }
 
+    /**
+     * Writes the summary results of a feedback session in CSV format to {@code writer},
+     * restricted to a section if {@code section} is not null.
+     *
+     * <p>Unlike {@link #getFeedbackSessionResultsSummaryInSectionAsCsv}, the number of responses
+     * is not limited. The responses are read and written one question at a time,
+     * so only the responses of a single question are held in memory at any time.
+     */
+    public void writeFeedbackSessionResultsSummaryInSectionAsCsv(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            String filterText, boolean isMissingResponsesShown, boolean isStatsShown, Writer writer)
+            throws EntityDoesNotExistException, IOException {
+
+        FeedbackSessionAttributes session = fsDb.getFeedbackSession(courseId, feedbackSessionName);
+        if (session == null) {
+            throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_VIEW + courseId + "/" + feedbackSessionName);
+        }
+
+        List<FeedbackQuestionAttributes> questions = fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        writeFeedbackSessionResultsSummaryInSectionAsCsv(session, questions, userEmail, section, filterText,
+                                                         isMissingResponsesShown, isStatsShown, writer);
+    }
+
+    /**
+     * Writes the summary results of the given questions of a feedback session like
+     * {@link #writeFeedbackSessionResultsSummaryInSectionAsCsv(String, String, String, String, String, boolean,
+     * boolean, Writer)}, for callers which read the session and its questions beforehand,
+     * e.g. to report a missing session before anything is written.
+     */
+    public void writeFeedbackSessionResultsSummaryInSectionAsCsv(
+            FeedbackSessionAttributes session, List<FeedbackQuestionAttributes> questions, String userEmail,
+            String section, String filterText, boolean isMissingResponsesShown, boolean isStatsShown, Writer writer)
+            throws EntityDoesNotExistException, IOException {
+
+        writer.append(getCsvHeader(session, section));
+
+        CourseRoster roster = coursesLogic.getCourseRoster(session.getCourseId());
+
+        for (FeedbackQuestionAttributes question : questions) {
+            writeFeedbackQuestionResultsAsCsv(session.getFeedbackSessionName(), session.getCourseId(), userEmail,
+                                              section, filterText, isMissingResponsesShown, isStatsShown,
+                                              question, roster, writer);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Records a new export of the summary results of a feedback session to the Google Cloud Storage,
+     * which is to be written in the background.
+     * @return the export, with its ID set
+     */
+    public FeedbackSessionResultsExport createFeedbackSessionResultsExport(FeedbackSessionResultsExport export)
+            throws EntityDoesNotExistException {
+        if (fsDb.getFeedbackSession(export.courseId, export.feedbackSessionName) == null) {
+            throw new EntityDoesNotExistException(
+                    ERROR_NON_EXISTENT_FS_VIEW + export.courseId + "/" + export.feedbackSessionName);
+        }
+        return resultsExports.createExport(export);
+    }
+
+    public FeedbackSessionResultsExport getFeedbackSessionResultsExport(String exportId) {
+        return resultsExports.getExport(exportId);
+    }
+
+    /**
+     * Continues writing the file of an export from its last checkpoint, one question at a time,
+     * until all questions are written or {@code stopTimeMillis} is passed.
+     * In the latter case, the export is checkpointed so that it can be continued by a later request.
+     * Questions are resumed by ID, so questions added to or deleted from the session in the meantime
+     * do not cause other questions to be skipped or written twice.
+     * @return true if there are more questions to be written
+     */
+    public boolean continueFeedbackSessionResultsExport(String exportId, long stopTimeMillis)
+            throws EntityDoesNotExistException, IOException {
+        FeedbackSessionResultsExport export = resultsExports.getExport(exportId);
+        if (export == null) {
+            throw new EntityDoesNotExistException("Trying to continue a non-existent results export: " + exportId);
+        }
+        if (export.isCompleted) {
+            return false;
+        }
+
+        FeedbackSessionAttributes session = fsDb.getFeedbackSession(export.courseId, export.feedbackSessionName);
+        if (session == null) {
+            throw new EntityDoesNotExistException(
+                    ERROR_NON_EXISTENT_FS_VIEW + export.courseId + "/" + export.feedbackSessionName);
+        }
+
+        if (GoogleCloudStorageHelper.doesFileExist(export.getFileName())) {
+            // an earlier request closed the file but failed before recording it, so the file is complete
+            resultsExports.markCompleted(exportId);
+            return false;
+        }
+
+        GcsOutputChannel outputChannel = resultsExports.getOutputChannel(exportId);
+        boolean isStarting = outputChannel == null;
+        if (isStarting) {
+            outputChannel = GoogleCloudStorageHelper.createFile(export.getFileName(), "text/csv; charset=UTF-8");
+        }
+        Writer writer = Channels.newWriter(outputChannel, "UTF-8");
+        if (isStarting) {
+            writer.append(getCsvHeader(session, export.section));
+        }
+
+        List<FeedbackQuestionAttributes> questions =
+                fqLogic.getFeedbackQuestionsForSession(export.feedbackSessionName, export.courseId);
+        CourseRoster roster = coursesLogic.getCourseRoster(export.courseId);
+
+        List<String> writtenQuestionIds = new ArrayList<String>(export.writtenQuestionIds);
+        for (FeedbackQuestionAttributes question : questions) {
+            if (writtenQuestionIds.contains(question.getId())) {
+                continue;
+            }
+            if (System.currentTimeMillis() > stopTimeMillis) {
+                writer.flush();
+                resultsExports.saveProgress(exportId, writtenQuestionIds, outputChannel);
+                return true;
+            }
+            writeFeedbackQuestionResultsAsCsv(export.feedbackSessionName, export.courseId, export.instructorEmail,
+                                              export.section, export.filterText, export.isMissingResponsesShown,
+                                              export.isStatsShown, question, roster, writer);
+            writtenQuestionIds.add(question.getId());
+        }
+
+        writer.close();
+        resultsExports.markCompleted(exportId);
+        return false;
+    }
+
+    /**
+     * Records that the instructor who requested an export has been sent the link to download its file.
+     */
+    public void markFeedbackSessionResultsExportEmailSent(String exportId) {
+        resultsExports.markEmailSent(exportId);
+    }
+
+    /**
+     * Deletes up to {@code limit} exports created more than {@link FeedbackSessionResultsExport#DAYS_KEPT} days ago,
+     * together with their files.
+     * @return the number of exports deleted
+     */
+    public int deleteExpiredFeedbackSessionResultsExports(int limit) {
+        Calendar createdBefore = TimeHelper.now(0);
+        createdBefore.add(Calendar.DAY_OF_MONTH, -FeedbackSessionResultsExport.DAYS_KEPT);
+        return resultsExports.deleteExportsCreatedBefore(createdBefore.getTime(), limit);
+    }
+
+    /**
+     * Writes the content of the file of a completed export to {@code writer}.
+     */
+    public void writeFeedbackSessionResultsExportFile(String exportId, Writer writer)
+            throws EntityDoesNotExistException, IOException {
+        FeedbackSessionResultsExport export = resultsExports.getExport(exportId);
+        if (export == null || !export.isCompleted) {
+            throw new EntityDoesNotExistException("Trying to read a non-existent results export file: " + exportId);
+        }
+
+        Reader reader = new InputStreamReader(GoogleCloudStorageHelper.readFile(export.getFileName()), "UTF-8");
+        try {
+            char[] buffer = new char[8192];
+            int length;
+            while ((length = reader.read(buffer)) != -1) {
+                writer.write(buffer, 0, length);
+            }
+            writer.flush();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void writeFeedbackQuestionResultsAsCsv(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            String filterText, boolean isMissingResponsesShown, boolean isStatsShown,
+            FeedbackQuestionAttributes question, CourseRoster roster, Writer writer)
+            throws EntityDoesNotExistException, IOException {
+        if (filterText != null && !filterText.isEmpty()
+                && !question.getQuestionMetaData().getValue().toLowerCase().contains(filterText.toLowerCase())) {
+            return;
+        }
+
+        Map<String, String> params = new HashMap<String, String>();
+        params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
+        params.put(PARAM_IN_SECTION, String.valueOf(section != null));
+        params.put(PARAM_FROM_SECTION, "false");
+        params.put(PARAM_TO_SECTION, "false");
+        params.put(PARAM_QUESTION_ID, question.getId());
+        params.put(PARAM_SECTION, section);
+        FeedbackSessionResultsBundle results = getFeedbackSessionResultsForUserWithParams(
+                feedbackSessionName, courseId, userEmail, UserRole.INSTRUCTOR, roster, params);
+
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : results.getQuestionResponseMapBundle().getQuestionResponseMap(results).entrySet()) {
+            writer.append(getFeedbackSessionResultsForQuestionInCsvFormat(
+                    results, entry, isMissingResponsesShown, isStatsShown));
+        }
+    }
+
+    private StringBuilder getCsvHeader(FeedbackSessionAttributes session, String section) {
+        StringBuilder exportBuilder = new StringBuilder(100);
+
+        exportBuilder.append(String.format("Course,%s",
+                             SanitizationHelper.sanitizeForCsv(session.getCourseId())))
+                     .append(Const.EOL)
+                     .append(String.format("Session Name,%s",
+                             SanitizationHelper.sanitizeForCsv(session.getFeedbackSessionName())))
+                     .append(Const.EOL);
+
+        if (section != null) {
+            exportBuilder.append(String.format("Section Name,%s", SanitizationHelper.sanitizeForCsv(section)))
+                         .append(Const.EOL);
+        }
+
+        exportBuilder.append(Const.EOL).append(Const.EOL);
+        return exportBuilder;
+    }
+
     private Set<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> filterQuestions(
             Set<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> entrySet,
             String filterText) {
 
-        for (Iterator<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> it =
-                entrySet.iterator(); it.hasNext(); ) {
-            Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry = it.next();
-            if (!entry.getKey().getQuestionMetaData().getValue().toLowerCase().contains(filterText)) {
-                it.remove();
+        // the entries belong to a view of the responses which is shared by the bundle, so they are copied
+        Set<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> filteredEntrySet =
+                new LinkedHashSet<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
+        for (Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry : entrySet) {
+            if (entry.getKey().getQuestionMetaData().getValue().toLowerCase().contains(filterText)) {
+                filteredEntrySet.add(entry);
             }
         }
 
-        return entrySet;
+        return filteredEntrySet;
     }
 
     private StringBuilder getFeedbackSessionResultsForQuestionInCsvFormat(
@@ -920,8 +1115,9 @@ public final class FeedbackSessionsLogic {
 
         exportBuilder.append(questionDetails.getCsvDetailedResponsesHeader());
 
-        List<String> possibleGiversWithoutResponses = fsrBundle.getPossibleGiversBundle().getPossibleGivers(question, fsrBundle);
-        List<String> possibleRecipientsForGiver = new ArrayList<String>();
+        Set<String> possibleGiversWithoutResponses =
+                fsrBundle.getPossibleGiversBundle().getPossibleGiversAsSet(question, fsrBundle);
+        Set<String> possibleRecipientsForGiver = new LinkedHashSet<String>();
         String prevGiver = "";
 
         for (FeedbackResponseAttributes response : allResponses) {
@@ -933,7 +1129,7 @@ public final class FeedbackSessionsLogic {
             }
 
             // keep track of possible recipients with no responses
-            removeParticipantIdentifierFromList(question.giverType,
+            removeParticipantIdentifierFromSet(question.giverType,
                     possibleGiversWithoutResponses, response.giver, fsrBundle);
 
             boolean isNewGiver = !prevGiver.equals(response.giver);
@@ -946,11 +1142,12 @@ public final class FeedbackSessionsLogic {
                                              ? fsrBundle.getRosterBundle().getFullNameFromRoster(response.giver, fsrBundle)
                                              : response.giver;
 
-                possibleRecipientsForGiver = fsrBundle.getPossibleRecipientsBundle().getPossibleRecipients(question, giverIdentifier, fsrBundle);
+                possibleRecipientsForGiver = fsrBundle.getPossibleRecipientsBundle()
+                                                      .getPossibleRecipientsAsSet(question, giverIdentifier, fsrBundle);
             }
 
-            removeParticipantIdentifierFromList(question.recipientType, possibleRecipientsForGiver,
-                                                response.recipient, fsrBundle);
+            removeParticipantIdentifierFromSet(question.recipientType, possibleRecipientsForGiver,
+                                               response.recipient, fsrBundle);
             prevGiver = response.giver;
 
             // Append row(s)
@@ -970,19 +1167,19 @@ public final class FeedbackSessionsLogic {
     }
 
     /**
-     * Given a participantIdentifier, remove it from participantIdentifierList.
+     * Given a participantIdentifier, remove it from participantIdentifierSet.
      *
      * <p>Before removal, {@link RosterBundle#getFullNameFromRoster} is used to
      * convert the identifier into a canonical form if the participantIdentifierType is TEAMS.
      */
-    private void removeParticipantIdentifierFromList(
+    private void removeParticipantIdentifierFromSet(
             FeedbackParticipantType participantIdentifierType,
-            List<String> participantIdentifierList, String participantIdentifier,
+            Set<String> participantIdentifierSet, String participantIdentifier,
             FeedbackSessionResultsBundle bundle) {
         if (participantIdentifierType == FeedbackParticipantType.TEAMS) {
-            participantIdentifierList.remove(bundle.getRosterBundle().getFullNameFromRoster(participantIdentifier, bundle));
+            participantIdentifierSet.remove(bundle.getRosterBundle().getFullNameFromRoster(participantIdentifier, bundle));
         } else {
-            participantIdentifierList.remove(participantIdentifier);
+            participantIdentifierSet.remove(participantIdentifier);
         }
     }
 
@@ -998,8 +1195,8 @@ public final class FeedbackSessionsLogic {
             Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry,
             FeedbackQuestionAttributes question,
             FeedbackQuestionDetails questionDetails,
-            List<String> remainingPossibleGivers,
-            List<String> possibleRecipientsForGiver, String prevGiver) {
+            Set<String> remainingPossibleGivers,
+            Set<String> possibleRecipientsForGiver, String prevGiver) {
         StringBuilder exportBuilder = new StringBuilder();
 
         if (possibleRecipientsForGiver != null) {
@@ -1009,7 +1206,7 @@ public final class FeedbackSessionsLogic {
 
         }
 
-        removeParticipantIdentifierFromList(question.giverType, remainingPossibleGivers, prevGiver, results);
+        removeParticipantIdentifierFromSet(question.giverType, remainingPossibleGivers, prevGiver, results);
 
         for (String possibleGiverWithNoResponses : remainingPossibleGivers) {
             List<String> possibleRecipientsForRemainingGiver =
@@ -1031,7 +1228,7 @@ public final class FeedbackSessionsLogic {
             FeedbackSessionResultsBundle results,
             FeedbackQuestionAttributes question,
             FeedbackQuestionDetails questionDetails,
-            List<String> possibleRecipientsForGiver, String giver) {
+            Collection<String> possibleRecipientsForGiver, String giver) {
         StringBuilder exportBuilder = new StringBuilder();
         for (String possibleRecipient : possibleRecipientsForGiver) {
             String giverName = results.getRosterBundle().getFullNameFromRoster(giver, results);
@@ -1232,8 +1429,10 @@ public final class FeedbackSessionsLogic {
 
         Set<String> respondingStudentList = new HashSet<String>();
         Set<String> respondingInstructorList = new HashSet<String>();
-        List<FeedbackResponseAttributes> responses = frLogic.getFeedbackResponsesForSession(feedbackSessionName, courseId);
-        for (FeedbackResponseAttributes response : responses) {
+        Iterator<FeedbackResponseAttributes> responses =
+                frLogic.getFeedbackResponseIteratorForSession(feedbackSessionName, courseId);
+        while (responses.hasNext()) {
+            FeedbackResponseAttributes response = responses.next();
             List<String> instructorQuestions = instructorQuestionsMap.get(response.giver);
             if (instructorQuestions != null && instructorQuestions.contains(response.feedbackQuestionId)) {
                 respondingInstructorList.add(response.giver);
@@ -1528,17 +1727,17 @@ public final class FeedbackSessionsLogic {
 
         switch (fsa.getFeedbackSessionType()) {
         case STANDARD:
-            List<StudentAttributes> students = studentsLogic.getStudentsForCourse(fsa.getCourseId());
-            List<InstructorAttributes> instructors = instructorsLogic.getInstructorsForCourse(fsa.getCourseId());
+            // the roster is cached across requests, as the stats of every session of a course need it
+            CourseRoster roster = coursesLogic.getCourseRoster(fsa.getCourseId());
             List<FeedbackQuestionAttributes> questions =
                     fqLogic.getFeedbackQuestionsForSession(fsa.getFeedbackSessionName(), fsa.getCourseId());
             List<FeedbackQuestionAttributes> studentQns = fqLogic.getFeedbackQuestionsForStudents(questions);
 
             if (!studentQns.isEmpty()) {
-                details.stats.expectedTotal += students.size();
+                details.stats.expectedTotal += roster.getStudents().size();
             }
 
-            for (InstructorAttributes instructor : instructors) {
+            for (InstructorAttributes instructor : roster.getInstructors()) {
                 List<FeedbackQuestionAttributes> instructorQns =
                         fqLogic.getFeedbackQuestionsForInstructor(questions, fsa.isCreator(instructor.email));
                 if (!instructorQns.isEmpty()) {
@@ -1561,9 +1760,16 @@ public final class FeedbackSessionsLogic {
                 break;
             }
             details.stats.expectedTotal = 1;
-            if (isFeedbackSessionFullyCompletedByInstructor(fsa.getFeedbackSessionName(),
-                                                            fsa.getCourseId(),
-                                                            fsa.getCreatorEmail())) {
+            // only the creator responds to a private session, so the response counts are the creator's
+            Map<String, Integer> responseCounts =
+                    frLogic.getFeedbackResponseCountsForSession(fsa.getFeedbackSessionName(), fsa.getCourseId());
+            boolean isCompleted = responseCounts == null
+                                  ? isFeedbackSessionFullyCompletedByInstructor(fsa.getFeedbackSessionName(),
+                                                                                fsa.getCourseId(),
+                                                                                fsa.getCreatorEmail())
+                                  : isFeedbackSessionFullyCompleted(instructorQuestions, fsa.getCreatorEmail(),
+                                                                    responseCounts);
+            if (isCompleted) {
                 details.stats.submittedTotal = 1;
             }
             break;
@@ -1583,9 +1789,7 @@ public final class FeedbackSessionsLogic {
         // Load details of students and instructors once and pass it to callee
         // methods
         // (rather than loading them many times).
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
 
         return getFeedbackSessionResultsForUserInSectionByQuestions(
                 feedbackSessionName, courseId, userEmail, role, section, roster);
@@ -1609,12 +1813,8 @@ public final class FeedbackSessionsLogic {
                 new ArrayList<FeedbackResponseAttributes>();
         Map<String, FeedbackQuestionAttributes> relevantQuestions =
                 new HashMap<String, FeedbackQuestionAttributes>();
-        Map<String, String> emailNameTable =
-                new HashMap<String, String>();
-        Map<String, String> emailLastNameTable =
-                new HashMap<String, String>();
-        Map<String, String> emailTeamNameTable =
-                new HashMap<String, String>();
+        Map<String, FeedbackParticipantInfo> participantTable =
+                new HashMap<String, FeedbackParticipantInfo>();
         Map<String, Set<String>> sectionTeamNameTable =
                 new HashMap<String, Set<String>>();
         Map<String, boolean[]> visibilityTable =
@@ -1629,14 +1829,15 @@ public final class FeedbackSessionsLogic {
         if (isPrivateSessionNotCreatedByThisUser) {
             // return empty result set
             return new FeedbackSessionResultsBundle(
-                    session, responses, relevantQuestions, emailNameTable,
-                    emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
+                    session, responses, relevantQuestions, participantTable,
+                    sectionTeamNameTable,
                     visibilityTable, responseStatus, roster, responseComments);
         }
 
         List<FeedbackQuestionAttributes> allQuestions = fqLogic.getFeedbackQuestionsForSession(
                                                                     feedbackSessionName, courseId);
         Map<String, FeedbackResponseAttributes> relevantResponse = new HashMap<String, FeedbackResponseAttributes>();
+        ResponseVisibilityDescriptor.Viewer viewer = new ResponseVisibilityDescriptor.Viewer(userEmail, role, roster);
         for (FeedbackQuestionAttributes question : allQuestions) {
 
             List<FeedbackResponseAttributes> responsesForThisQn;
@@ -1656,16 +1857,11 @@ public final class FeedbackSessionsLogic {
             if (thisQuestionHasResponses) {
                 relevantQuestions.put(question.getId(), question);
                 responses.addAll(responsesForThisQn);
+                ResponseVisibilityDescriptor visibility = new ResponseVisibilityDescriptor(question, viewer);
                 for (FeedbackResponseAttributes response : responsesForThisQn) {
                     relevantResponse.put(response.getId(), response);
-                    addEmailNamePairsToTable(emailNameTable, response,
-                            question, roster);
-                    addEmailLastNamePairsToTable(emailLastNameTable, response,
-                            question, roster);
-                    addEmailTeamNamePairsToTable(emailTeamNameTable, response,
-                            question, roster);
-                    addVisibilityToTable(visibilityTable, question, response,
-                            userEmail, role, roster);
+                    addParticipantsToTable(participantTable, response, question, roster);
+                    addVisibilityToTable(visibilityTable, visibility, response);
                 }
             }
         }
@@ -1710,8 +1906,8 @@ public final class FeedbackSessionsLogic {
         addSectionTeamNamesToTable(sectionTeamNameTable, roster, courseId, userEmail, role, feedbackSessionName, section);
 
         return new FeedbackSessionResultsBundle(
-                        session, responses, relevantQuestions, emailNameTable,
-                        emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
+                        session, responses, relevantQuestions, participantTable,
+                        sectionTeamNameTable,
                         visibilityTable, responseStatus, roster, responseComments);
     }
 
@@ -1751,20 +1947,12 @@ public final class FeedbackSessionsLogic {
         Map<String, FeedbackQuestionAttributes> allQuestionsMap = new HashMap<String, FeedbackQuestionAttributes>();
         putQuestionsIntoMap(allQuestions, allQuestionsMap);
 
-        List<FeedbackResponseAttributes> allResponses = getAllResponses(feedbackSessionName, courseId, params, section);
-
-        String rangeString = params.get(PARAM_RANGE);
-        boolean isComplete = rangeString == null || allResponses.size() <= Long.parseLong(rangeString);
-
-        if (!isComplete) {
-            putQuestionsIntoMap(allQuestions, relevantQuestions);
-        }
+        Iterator<FeedbackResponseAttributes> allResponses =
+                getAllResponses(feedbackSessionName, courseId, params, section);
 
         // create empty data containers to store results
         List<FeedbackResponseAttributes> responses = new ArrayList<>();
-        Map<String, String> emailNameTable = new HashMap<>();
-        Map<String, String> emailLastNameTable = new HashMap<>();
-        Map<String, String> emailTeamNameTable = new HashMap<>();
+        Map<String, FeedbackParticipantInfo> participantTable = new HashMap<>();
         Map<String, Set<String>> sectionTeamNameTable = new HashMap<>();
         Map<String, boolean[]> visibilityTable = new HashMap<>();
         FeedbackSessionResponseStatus responseStatus = section == null && isIncludeResponseStatus
@@ -1775,25 +1963,43 @@ public final class FeedbackSessionsLogic {
         Set<String> studentsEmailInTeam = getTeammateEmails(courseId, student);
 
         InstructorAttributes instructor = getInstructor(courseId, userEmail, role);
+        ResponseVisibilityDescriptor.Viewer viewer = new ResponseVisibilityDescriptor.Viewer(
+                userEmail, role, roster, student, studentsEmailInTeam, instructor, feedbackSessionName);
+        Map<String, ResponseVisibilityDescriptor> visibilityByQuestion =
+                new HashMap<String, ResponseVisibilityDescriptor>();
 
         Map<String, FeedbackResponseAttributes> relevantResponse = new HashMap<String, FeedbackResponseAttributes>();
-        for (FeedbackResponseAttributes response : allResponses) {
+        // the responses kept share their identifiers from the time they are loaded
+        FeedbackIdentifierDictionary dictionary = new FeedbackIdentifierDictionary();
+        long numberOfResponses = 0;
+        while (allResponses.hasNext()) {
+            FeedbackResponseAttributes response = allResponses.next();
+            numberOfResponses++;
             FeedbackQuestionAttributes relatedQuestion = allQuestionsMap.get(response.feedbackQuestionId);
             if (relatedQuestion != null) {
-                boolean isVisibleResponse = isResponseVisibleForUser(
-                        userEmail, role, student, studentsEmailInTeam, response, relatedQuestion, instructor);
-                if (isVisibleResponse) {
+                ResponseVisibilityDescriptor visibility = visibilityByQuestion.get(relatedQuestion.getId());
+                if (visibility == null) {
+                    visibility = new ResponseVisibilityDescriptor(relatedQuestion, viewer);
+                    visibilityByQuestion.put(relatedQuestion.getId(), visibility);
+                }
+                if (visibility.isResponseVisible(response)) {
+                    dictionary.intern(response);
                     responses.add(response);
                     relevantResponse.put(response.getId(), response);
                     relevantQuestions.put(relatedQuestion.getId(), relatedQuestion);
-                    addEmailNamePairsToTable(emailNameTable, response, relatedQuestion, roster);
-                    addEmailLastNamePairsToTable(emailLastNameTable, response, relatedQuestion, roster);
-                    addEmailTeamNamePairsToTable(emailTeamNameTable, response, relatedQuestion, roster);
-                    addVisibilityToTable(visibilityTable, relatedQuestion, response, userEmail, role, roster);
+                    addParticipantsToTable(participantTable, response, relatedQuestion, roster);
+                    addVisibilityToTable(visibilityTable, visibility, response);
                 }
             }
         }
 
+        String rangeString = params.get(PARAM_RANGE);
+        boolean isComplete = rangeString == null || numberOfResponses <= Long.parseLong(rangeString);
+
+        if (!isComplete) {
+            putQuestionsIntoMap(allQuestions, relevantQuestions);
+        }
+
         String viewType = params.get(PARAM_VIEW_TYPE);
         boolean isGrqSortType = Const.FeedbackSessionResults.GRQ_SORT_TYPE.equals(params.get(PARAM_VIEW_TYPE));
         boolean isRgqSortType = Const.FeedbackSessionResults.RGQ_SORT_TYPE.equals(params.get(PARAM_VIEW_TYPE));
@@ -1804,9 +2010,9 @@ public final class FeedbackSessionsLogic {
         addSectionTeamNamesToTable(sectionTeamNameTable, roster, courseId, userEmail, role, feedbackSessionName, section);
 
         return new FeedbackSessionResultsBundle(
-                session, responses, relevantQuestions, emailNameTable,
-                emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
-                visibilityTable, responseStatus, roster, responseComments, isComplete);
+                session, responses, relevantQuestions, participantTable,
+                sectionTeamNameTable,
+                visibilityTable, responseStatus, roster, responseComments, isComplete, dictionary);
     }
 
     private Map<String, List<FeedbackResponseCommentAttributes>> getResponseComments(
@@ -1889,9 +2095,7 @@ public final class FeedbackSessionsLogic {
                 boolean isIncludeResponseStatus, String section, String questionId) {
 
         List<FeedbackResponseAttributes> responses = new ArrayList<>();
-        Map<String, String> emailNameTable = new HashMap<>();
-        Map<String, String> emailLastNameTable = new HashMap<>();
-        Map<String, String> emailTeamNameTable = new HashMap<>();
+        Map<String, FeedbackParticipantInfo> participantTable = new HashMap<>();
         Map<String, Set<String>> sectionTeamNameTable = new HashMap<>();
         Map<String, boolean[]> visibilityTable = new HashMap<>();
         Map<String, List<FeedbackResponseCommentAttributes>> responseComments = new HashMap<>();
@@ -1919,16 +2123,15 @@ public final class FeedbackSessionsLogic {
 
                 boolean thisQuestionHasResponses = !responsesForThisQn.isEmpty();
                 if (thisQuestionHasResponses) {
+                    InstructorAttributes instructor = getInstructor(courseId, userEmail, role);
+                    ResponseVisibilityDescriptor visibility = new ResponseVisibilityDescriptor(question,
+                            new ResponseVisibilityDescriptor.Viewer(
+                                    userEmail, role, roster, null, null, instructor, feedbackSessionName));
                     for (FeedbackResponseAttributes response : responsesForThisQn) {
-                        InstructorAttributes instructor = getInstructor(courseId, userEmail, role);
-                        boolean isVisibleResponse = isResponseVisibleForUser(userEmail, role, null, null, response,
-                                                                             question, instructor);
-                        if (isVisibleResponse) {
+                        if (visibility.isResponseVisible(response)) {
                             responses.add(response);
-                            addEmailNamePairsToTable(emailNameTable, response, question, roster);
-                            addEmailLastNamePairsToTable(emailLastNameTable, response, question, roster);
-                            addEmailTeamNamePairsToTable(emailTeamNameTable, response, question, roster);
-                            addVisibilityToTable(visibilityTable, question, response, userEmail, role, roster);
+                            addParticipantsToTable(participantTable, response, question, roster);
+                            addVisibilityToTable(visibilityTable, visibility, response);
                         }
                     }
                 }
@@ -1939,8 +2142,8 @@ public final class FeedbackSessionsLogic {
                 sectionTeamNameTable, roster, courseId, userEmail, role, feedbackSessionName, section);
 
         return new FeedbackSessionResultsBundle(
-                session, responses, relevantQuestions, emailNameTable,
-                emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
+                session, responses, relevantQuestions, participantTable,
+                sectionTeamNameTable,
                 visibilityTable, responseStatus, roster, responseComments, true);
     }
 
@@ -1962,7 +2165,11 @@ public final class FeedbackSessionsLogic {
         return role == UserRole.INSTRUCTOR;
     }
 
-    private List<FeedbackResponseAttributes> getAllResponses(String feedbackSessionName, String courseId,
+    /**
+     * Returns the responses to be included in the results. Without a range, the responses are
+     * fetched in chunks as they are iterated over, so that large sessions are never held in memory at once.
+     */
+    private Iterator<FeedbackResponseAttributes> getAllResponses(String feedbackSessionName, String courseId,
             Map<String, String> params, String section) {
         boolean isInSection = Boolean.parseBoolean(params.get(PARAM_IN_SECTION));
         boolean isToSection = Boolean.parseBoolean(params.get(PARAM_TO_SECTION));
@@ -1970,11 +2177,11 @@ public final class FeedbackSessionsLogic {
 
         if (params.get(PARAM_RANGE) == null) {
             if (isInSection) {
-                return frLogic.getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, section);
+                return frLogic.getFeedbackResponseIteratorForSessionInSection(feedbackSessionName, courseId, section);
             } else if (isFromSection) {
-                return frLogic.getFeedbackResponsesForSessionFromSection(feedbackSessionName, courseId, section);
+                return frLogic.getFeedbackResponseIteratorForSessionFromSection(feedbackSessionName, courseId, section);
             } else if (isToSection) {
-                return frLogic.getFeedbackResponsesForSessionToSection(feedbackSessionName, courseId, section);
+                return frLogic.getFeedbackResponseIteratorForSessionToSection(feedbackSessionName, courseId, section);
             } else {
                 Assumption.fail(ASSUMPTION_FAIL_RESPONSE_ORIGIN);
             }
@@ -1982,18 +2189,18 @@ public final class FeedbackSessionsLogic {
             long range = Long.parseLong(params.get(PARAM_RANGE));
             if (isInSection) {
                 return frLogic.getFeedbackResponsesForSessionInSectionWithinRange(
-                        feedbackSessionName, courseId, section, range);
+                        feedbackSessionName, courseId, section, range).iterator();
             } else if (isFromSection) {
                 return frLogic.getFeedbackResponsesForSessionFromSectionWithinRange(
-                        feedbackSessionName, courseId, section, range);
+                        feedbackSessionName, courseId, section, range).iterator();
             } else if (isToSection) {
                 return frLogic.getFeedbackResponsesForSessionToSectionWithinRange(
-                        feedbackSessionName, courseId, section, range);
+                        feedbackSessionName, courseId, section, range).iterator();
             } else {
                 Assumption.fail(ASSUMPTION_FAIL_RESPONSE_ORIGIN);
             }
         }
-        return new ArrayList<FeedbackResponseAttributes>();
+        return Collections.<FeedbackResponseAttributes>emptyIterator();
     }
 
     private void addSectionTeamNamesToTable(Map<String, Set<String>> sectionTeamNameTable,
@@ -2024,56 +2231,6 @@ public final class FeedbackSessionsLogic {
         }
     }
 
-    private boolean isResponseVisibleForUser(String userEmail,
-            UserRole role, StudentAttributes student,
-            Set<String> studentsEmailInTeam,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes relatedQuestion, InstructorAttributes instructor) {
-
-        boolean isVisibleResponse = false;
-        if (isInstructor(role) && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.INSTRUCTORS)
-                || response.recipient.equals(userEmail)
-                        && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER)
-                || response.giver.equals(userEmail)
-                || isStudent(role) && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.STUDENTS)) {
-            isVisibleResponse = true;
-        } else if (studentsEmailInTeam != null && isStudent(role)) {
-            if (relatedQuestion.recipientType == FeedbackParticipantType.TEAMS
-                    && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER)
-                    && response.recipient.equals(student.team)) {
-                isVisibleResponse = true;
-            } else if (relatedQuestion.giverType == FeedbackParticipantType.TEAMS
-                       && studentsEmailInTeam.contains(response.giver)) {
-                isVisibleResponse = true;
-            } else if (relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.OWN_TEAM_MEMBERS)
-                       && studentsEmailInTeam.contains(response.giver)) {
-                isVisibleResponse = true;
-            } else if (relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)
-                       && studentsEmailInTeam.contains(response.recipient)) {
-                isVisibleResponse = true;
-            }
-        }
-        if (isVisibleResponse && instructor != null) {
-            boolean isGiverSectionRestricted =
-                    !instructor.isAllowedForPrivilege(response.giverSection,
-                                                      response.feedbackSessionName,
-                                                      Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS);
-            // If instructors are not restricted to view the giver's section,
-            // they are allowed to view responses to GENERAL, subject to visibility options
-            boolean isRecipientSectionRestricted =
-                    relatedQuestion.recipientType != FeedbackParticipantType.NONE
-                    && !instructor.isAllowedForPrivilege(response.recipientSection,
-                                                         response.feedbackSessionName,
-                                                         Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS);
-
-            boolean isNotAllowedForInstructor = isGiverSectionRestricted || isRecipientSectionRestricted;
-            if (isNotAllowedForInstructor) {
-                isVisibleResponse = false;
-            }
-        }
-        return isVisibleResponse;
-    }
-
     private void sortByCreatedDate(List<FeedbackResponseCommentAttributes> responseCommentList) {
         Collections.sort(responseCommentList, new Comparator<FeedbackResponseCommentAttributes>() {
             @Override
@@ -2086,68 +2243,34 @@ public final class FeedbackSessionsLogic {
 
     @SuppressWarnings("PMD.UnusedPrivateMethod") // false positive by PMD
     private void addVisibilityToTable(Map<String, boolean[]> visibilityTable,
-            FeedbackQuestionAttributes question,
-            FeedbackResponseAttributes response,
-            String userEmail,
-            UserRole role,
-            CourseRoster roster) {
+            ResponseVisibilityDescriptor responseVisibility,
+            FeedbackResponseAttributes response) {
         boolean[] visibility = new boolean[2];
-        visibility[Const.VISIBILITY_TABLE_GIVER] = frLogic.isNameVisibleToUser(
-                question, response, userEmail, role, true, roster);
-        visibility[Const.VISIBILITY_TABLE_RECIPIENT] = frLogic.isNameVisibleToUser(
-                question, response, userEmail, role, false, roster);
+        visibility[Const.VISIBILITY_TABLE_GIVER] = responseVisibility.isNameVisible(response, true);
+        visibility[Const.VISIBILITY_TABLE_RECIPIENT] = responseVisibility.isNameVisible(response, false);
         visibilityTable.put(response.getId(), visibility);
     }
 
-    private void addEmailNamePairsToTable(Map<String, String> emailNameTable,
+    private void addParticipantsToTable(Map<String, FeedbackParticipantInfo> participantTable,
             FeedbackResponseAttributes response,
             FeedbackQuestionAttributes question, CourseRoster roster) {
-        // keys of emailNameTable are participantIdentifiers,
+        // keys of participantTable are participantIdentifiers,
         // which consists of students' email, instructors' email, team names, or %GENERAL%.
-        // participants identifiers of anonymous responses are not anonymised in the tables
-        addEmailNamePairsToTable(emailNameTable, response, question, roster,
-                EMAIL_NAME_PAIR);
-    }
-
-    private void addEmailLastNamePairsToTable(Map<String, String> emailLastNameTable,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes question, CourseRoster roster) {
-        addEmailNamePairsToTable(emailLastNameTable, response, question, roster,
-                EMAIL_LASTNAME_PAIR);
-    }
-
-    private void addEmailTeamNamePairsToTable(
-            Map<String, String> emailTeamNameTable,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes question, CourseRoster roster) {
-        addEmailNamePairsToTable(emailTeamNameTable, response, question,
-                roster, EMAIL_TEAMNAME_PAIR);
-    }
-
-    private void addEmailNamePairsToTable(Map<String, String> emailNameTable,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes question, CourseRoster roster,
-            int pairType) {
+        // participants identifiers of anonymous responses are not anonymised in the table
         if (question.giverType == FeedbackParticipantType.TEAMS
                 && roster.isStudentInCourse(response.giver)) {
-            if (!emailNameTable.containsKey(response.giver + Const.TEAM_OF_EMAIL_OWNER)) {
-                emailNameTable.put(
-                        response.giver + Const.TEAM_OF_EMAIL_OWNER,
-                        getNameTeamNamePairForEmail(question.giverType,
-                                response.giver, roster)[pairType]);
-            }
-
             StudentAttributes studentGiver = roster.getStudentForEmail(response.giver);
-            if (studentGiver != null && !emailNameTable.containsKey(studentGiver.team)) {
-                emailNameTable.put(studentGiver.team, getNameTeamNamePairForEmail(
-                                                        question.giverType,
-                                                        response.giver, roster)[pairType]);
+            // the keys for the giving team are not in the roster, so they do not have a section
+            if (!participantTable.containsKey(response.giver + Const.TEAM_OF_EMAIL_OWNER)) {
+                participantTable.put(response.giver + Const.TEAM_OF_EMAIL_OWNER,
+                        getParticipantInfoForTeam(studentGiver.team));
             }
-        } else if (!emailNameTable.containsKey(response.giver)) {
-            emailNameTable.put(
-                    response.giver,
-                    getNameTeamNamePairForEmail(question.giverType,
-                            response.giver, roster)[pairType]);
+            if (!participantTable.containsKey(studentGiver.team)) {
+                participantTable.put(studentGiver.team, getParticipantInfoForTeam(studentGiver.team));
+            }
+        } else if (!participantTable.containsKey(response.giver)) {
+            participantTable.put(response.giver,
+                    getParticipantInfoForEmail(question.giverType, response.giver, roster));
         }
 
         FeedbackParticipantType recipientType = null;
@@ -2156,12 +2279,9 @@ public final class FeedbackSessionsLogic {
         } else {
             recipientType = question.recipientType;
         }
-        if (!emailNameTable.containsKey(response.recipient)) {
-            emailNameTable.put(
-                    response.recipient,
-                    getNameTeamNamePairForEmail(recipientType,
-                                                response.recipient, roster)[pairType]);
-
+        if (!participantTable.containsKey(response.recipient)) {
+            participantTable.put(response.recipient,
+                    getParticipantInfoForEmail(recipientType, response.recipient, roster));
         }
     }
 
@@ -2238,16 +2358,17 @@ public final class FeedbackSessionsLogic {
         return responseStatus;
     }
 
-    // return a pair of String that contains Giver/Recipient'sName (at index 0)
-    // and TeamName (at index 1)
-    private String[] getNameTeamNamePairForEmail(FeedbackParticipantType type,
+    private FeedbackParticipantInfo getParticipantInfoForTeam(String teamName) {
+        return new FeedbackParticipantInfo(teamName, teamName, "", "");
+    }
+
+    // returns the name, last name, team name and section to display for the giver/recipient
+    private FeedbackParticipantInfo getParticipantInfoForEmail(FeedbackParticipantType type,
             String email, CourseRoster roster) {
-        String giverRecipientName = null;
-        String giverRecipientLastName = null;
-        String teamName = null;
         String name = null;
         String lastName = null;
         String team = null;
+        String section = null;
 
         StudentAttributes student = roster.getStudentForEmail(email);
         boolean isStudent = student != null;
@@ -2255,6 +2376,7 @@ public final class FeedbackSessionsLogic {
             name = student.name;
             team = student.team;
             lastName = student.lastName;
+            section = student.section;
         } else {
             InstructorAttributes instructor = roster
                     .getInstructorForEmail(email);
@@ -2263,36 +2385,30 @@ public final class FeedbackSessionsLogic {
                 name = instructor.name;
                 lastName = instructor.name;
                 team = Const.USER_TEAM_FOR_INSTRUCTOR;
+                section = Const.NO_SPECIFIC_RECIPIENT;
             } else {
                 if (email.equals(Const.GENERAL_QUESTION)) {
                     // Email represents that there is no specific recipient.
                     name = Const.USER_IS_NOBODY;
                     lastName = Const.USER_IS_NOBODY;
                     team = email;
+                    section = Const.NO_SPECIFIC_RECIPIENT;
                 } else {
                     // The email represents a missing *Attribute.
                     // It might be a team name or the *Attribute has been deleted.
                     name = Const.USER_IS_MISSING;
                     lastName = Const.USER_IS_MISSING;
                     team = email;
+                    section = "";
                 }
             }
         }
 
         if (type == FeedbackParticipantType.TEAMS || type == FeedbackParticipantType.OWN_TEAM) {
-            giverRecipientName = team;
-            giverRecipientLastName = team;
-            teamName = "";
-        } else {
-            giverRecipientName = name;
-            giverRecipientLastName = lastName;
-            if (name.equals(Const.USER_IS_NOBODY) || name.equals(Const.USER_IS_MISSING)) {
-                teamName = "";
-            } else {
-                teamName = team;
-            }
+            return new FeedbackParticipantInfo(team, team, "", section);
         }
-        return new String[] { giverRecipientName, giverRecipientLastName, teamName };
+        boolean isNobodyOrMissing = name.equals(Const.USER_IS_NOBODY) || name.equals(Const.USER_IS_MISSING);
+        return new FeedbackParticipantInfo(name, lastName, isNobodyOrMissing ? "" : team, section);
     }
 
     public boolean isFeedbackSessionFullyCompletedByStudent(
@@ -2342,6 +2458,19 @@ public final class FeedbackSessionsLogic {
         return true;
     }
 
+    private boolean isFeedbackSessionFullyCompleted(List<FeedbackQuestionAttributes> questions, String userEmail,
+                                                    Map<String, Integer> responseCounts)
+            throws EntityDoesNotExistException {
+        for (FeedbackQuestionAttributes question : questions) {
+            Integer responseCount = responseCounts.get(question.getId());
+            if (!fqLogic.isQuestionFullyAnsweredByUser(question, userEmail,
+                                                       responseCount == null ? 0 : responseCount)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Checks whether the feedback session is viewable to the specified user.
      */
@@ -0,0 +1,219 @@
+package teammates.logic.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.UserRole;
+import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+
+/**
+ * The visibility of the responses to a question, and of the names of their givers and recipients,
+ * to a single {@link Viewer}.
+ *
+ * <p>The visibility settings of the question are compiled into bitmasks once, and the viewer's place
+ * in the course is looked up once, so that the visibility of each response is decided
+ * with a few bit tests and hash lookups.
+ */
+final class ResponseVisibilityDescriptor {
+
+    /** Participant types which can be given in the lists of whom the names in a response are shown to. */
+    private static final int VALID_NAME_VIEWERS = toMask(FeedbackParticipantType.INSTRUCTORS,
+            FeedbackParticipantType.OWN_TEAM_MEMBERS, FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF,
+            FeedbackParticipantType.RECEIVER, FeedbackParticipantType.RECEIVER_TEAM_MEMBERS,
+            FeedbackParticipantType.STUDENTS);
+
+    private final Viewer viewer;
+    private final FeedbackParticipantType giverType;
+    private final boolean isRecipientTeams;
+    private final boolean isRecipientTeam;
+    private final boolean isRecipientNone;
+
+    private final int showResponsesTo;
+    private final int showGiverNameTo;
+    private final int showRecipientNameTo;
+
+    /** Whether all responses to the question are visible to the viewer by virtue of the viewer's role. */
+    private final boolean isVisibleToRole;
+
+    ResponseVisibilityDescriptor(FeedbackQuestionAttributes question, Viewer viewer) {
+        this.viewer = viewer;
+        this.giverType = question.giverType;
+        this.isRecipientTeams = question.recipientType == FeedbackParticipantType.TEAMS;
+        this.isRecipientTeam = question.recipientType.isTeam();
+        this.isRecipientNone = question.recipientType == FeedbackParticipantType.NONE;
+        this.showResponsesTo = toMask(question.showResponsesTo);
+        this.showGiverNameTo = toMask(question.showGiverNameTo);
+        this.showRecipientNameTo = toMask(question.showRecipientNameTo);
+        this.isVisibleToRole =
+                viewer.isInstructorRole && isShownTo(showResponsesTo, FeedbackParticipantType.INSTRUCTORS)
+                || viewer.isStudentRole && isShownTo(showResponsesTo, FeedbackParticipantType.STUDENTS);
+    }
+
+    /**
+     * Returns true if the response is visible to the viewer, subject to the viewer's privileges
+     * to view the sections of its giver and recipient if the viewer is an instructor.
+     */
+    boolean isResponseVisible(FeedbackResponseAttributes response) {
+        boolean isVisibleResponse = isVisibleToRole
+                || response.giver.equals(viewer.email)
+                || response.recipient.equals(viewer.email)
+                        && isShownTo(showResponsesTo, FeedbackParticipantType.RECEIVER)
+                || isVisibleToTeam(response);
+
+        if (isVisibleResponse && viewer.instructor != null) {
+            // If instructors are not restricted to view the giver's section,
+            // they are allowed to view responses to GENERAL, subject to visibility options
+            return viewer.isAllowedToViewSection(response.giverSection)
+                   && (isRecipientNone || viewer.isAllowedToViewSection(response.recipientSection));
+        }
+        return isVisibleResponse;
+    }
+
+    private boolean isVisibleToTeam(FeedbackResponseAttributes response) {
+        if (viewer.teammateEmails == null || !viewer.isStudentRole) {
+            return false;
+        }
+        return isRecipientTeams && isShownTo(showResponsesTo, FeedbackParticipantType.RECEIVER)
+                       && response.recipient.equals(viewer.student.team)
+               || (giverType == FeedbackParticipantType.TEAMS
+                       || isShownTo(showResponsesTo, FeedbackParticipantType.OWN_TEAM_MEMBERS))
+                       && viewer.teammateEmails.contains(response.giver)
+               || isShownTo(showResponsesTo, FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)
+                       && viewer.teammateEmails.contains(response.recipient);
+    }
+
+    /**
+     * Returns true if the name of the giver ({@code isGiverName}) or the recipient of the response
+     * is visible to the viewer.
+     */
+    boolean isNameVisible(FeedbackResponseAttributes response, boolean isGiverName) {
+        // the giver can always see the names, and a team response is given by every member of the team
+        boolean isViewerGiver = giverType == FeedbackParticipantType.TEAMS
+                                ? viewer.isInSameTeamAs(response.giver)
+                                : response.giver.equals(viewer.email);
+        if (isViewerGiver) {
+            return true;
+        }
+
+        int showNameTo = isGiverName ? showGiverNameTo : showRecipientNameTo;
+        boolean isVisibleName =
+                isShownTo(showNameTo, FeedbackParticipantType.INSTRUCTORS)
+                        && viewer.isInstructorRole && viewer.isInstructorInCourse
+                || (isShownTo(showNameTo, FeedbackParticipantType.OWN_TEAM_MEMBERS)
+                        || isShownTo(showNameTo, FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF))
+                        && viewer.isInSameTeamAs(response.giver)
+                || isShownTo(showNameTo, FeedbackParticipantType.RECEIVER)
+                        && (isRecipientTeam ? viewer.isInTeam(response.recipient)
+                                            : response.recipient.equals(viewer.email))
+                || isShownTo(showNameTo, FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)
+                        && (isRecipientTeam ? viewer.isInTeam(response.recipient)
+                                            : viewer.isInSameTeamAs(response.recipient))
+                || isShownTo(showNameTo, FeedbackParticipantType.STUDENTS) && viewer.isStudentInCourse;
+
+        if (!isVisibleName && (showNameTo & ~VALID_NAME_VIEWERS) != 0) {
+            Assumption.fail("Invalid FeedbackParticipantType for showNameTo in "
+                            + "ResponseVisibilityDescriptor.isNameVisible()");
+        }
+        return isVisibleName;
+    }
+
+    private static boolean isShownTo(int mask, FeedbackParticipantType type) {
+        return (mask & 1 << type.ordinal()) != 0;
+    }
+
+    private static int toMask(List<FeedbackParticipantType> types) {
+        return types == null ? 0 : toMask(types.toArray(new FeedbackParticipantType[types.size()]));
+    }
+
+    private static int toMask(FeedbackParticipantType... types) {
+        int mask = 0;
+        for (FeedbackParticipantType type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * A user viewing the results of a feedback session, with the user's place in the course looked up once.
+     */
+    static final class Viewer {
+
+        private final String email;
+        private final boolean isInstructorRole;
+        private final boolean isStudentRole;
+        private final StudentAttributes student;
+        private final Set<String> teammateEmails;
+        private final InstructorAttributes instructor;
+        private final String feedbackSessionName;
+        private final CourseRoster roster;
+
+        private final boolean isInstructorInCourse;
+        private final boolean isStudentInCourse;
+        private final String teamInCourse;
+
+        private final Map<String, Boolean> isAllowedToViewSectionTable = new HashMap<String, Boolean>();
+
+        /**
+         * Creates a viewer whose visibility of names can be checked, but whose visibility of responses
+         * can only be checked by their role and whether they are the giver or recipient.
+         */
+        Viewer(String email, UserRole role, CourseRoster roster) {
+            this(email, role, roster, null, null, null, null);
+        }
+
+        /**
+         * Creates a viewer.
+         * @param student the student record of the viewer, if the viewer is a student
+         * @param teammateEmails the emails of the students in the viewer's team, including the viewer,
+         *         or null if the responses visible to the viewer's team are not to be included
+         * @param instructor the instructor record of the viewer, if the responses visible to the viewer
+         *         are restricted by the viewer's privileges to view the sections of the session
+         */
+        Viewer(String email, UserRole role, CourseRoster roster, StudentAttributes student,
+               Set<String> teammateEmails, InstructorAttributes instructor, String feedbackSessionName) {
+            this.email = email;
+            this.isInstructorRole = role == UserRole.INSTRUCTOR;
+            this.isStudentRole = role == UserRole.STUDENT;
+            this.student = student;
+            this.teammateEmails = teammateEmails;
+            this.instructor = instructor;
+            this.feedbackSessionName = feedbackSessionName;
+            this.roster = roster;
+
+            this.isInstructorInCourse = roster.isInstructorOfCourse(email);
+            StudentAttributes studentInRoster = roster.getStudentForEmail(email);
+            this.isStudentInCourse = studentInRoster != null;
+            this.teamInCourse = studentInRoster == null ? null : studentInRoster.team;
+        }
+
+        private boolean isInTeam(String teamName) {
+            return teamInCourse != null && teamInCourse.equals(teamName);
+        }
+
+        private boolean isInSameTeamAs(String studentEmail) {
+            StudentAttributes other = roster.getStudentForEmail(studentEmail);
+            return teamInCourse != null && other != null && teamInCourse.equals(other.team);
+        }
+
+        private boolean isAllowedToViewSection(String sectionName) {
+            Boolean isAllowed = isAllowedToViewSectionTable.get(sectionName);
+            if (isAllowed == null) {
+                isAllowed = instructor.isAllowedForPrivilege(sectionName, feedbackSessionName,
+                        Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS);
+                isAllowedToViewSectionTable.put(sectionName, isAllowed);
+            }
+            return isAllowed;
+        }
+
+    }
+
+}
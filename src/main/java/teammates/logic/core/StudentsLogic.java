@@ -1,7 +1,12 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import teammates.common.datatransfer.CourseEnrollmentResult;
 import teammates.common.datatransfer.StudentAttributesFactory;
@@ -303,28 +308,20 @@ public final class StudentsLogic {
         }
 
         List<StudentAttributes> studentList = createStudents(enrollLines, courseId);
-        ArrayList<StudentAttributes> returnList = new ArrayList<StudentAttributes>();
-        ArrayList<StudentEnrollDetails> enrollmentList = new ArrayList<StudentEnrollDetails>();
-
         verifyIsWithinSizeLimitPerEnrollment(studentList);
-        validateSectionsAndTeams(studentList, courseId);
 
-        // TODO: can we use a batch persist operation here?
-        // enroll all students
-        for (StudentAttributes student : studentList) {
-            StudentEnrollDetails enrollmentDetails;
+        // the roster is read once, both to validate the enrollment and to find the students being modified
+        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
+        verifySectionsAndTeamsAreValid(getMergedList(studentList, studentsInCourse));
 
-            enrollmentDetails = enrollStudent(student, hasDocument);
-            student.updateStatus = enrollmentDetails.updateStatus;
-
-            enrollmentList.add(enrollmentDetails);
-            returnList.add(student);
-        }
+        ArrayList<StudentEnrollDetails> enrollmentList =
+                enrollStudents(studentList, studentsInCourse, courseId, hasDocument);
 
         // add to return list students not included in the enroll list.
-        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
+        ArrayList<StudentAttributes> returnList = new ArrayList<StudentAttributes>(studentList);
+        Set<String> enrolledEmails = getLowerCaseEmails(studentList);
         for (StudentAttributes student : studentsInCourse) {
-            if (!isInEnrollList(student, returnList)) {
+            if (!enrolledEmails.contains(student.email.toLowerCase())) {
                 student.updateStatus = StudentUpdateStatus.NOT_IN_ENROLL_LIST;
                 returnList.add(student);
             }
@@ -333,6 +330,61 @@ public final class StudentsLogic {
         return new CourseEnrollmentResult(returnList, enrollmentList);
     }
 
+    /**
+     * Enrolls validated students into a course, given the students already in the course.
+     * The new and modified students are written in batches, and their search documents are put together afterwards.
+     */
+    private ArrayList<StudentEnrollDetails> enrollStudents(List<StudentAttributes> studentList,
+            List<StudentAttributes> studentsInCourse, String courseId, boolean hasDocument)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        Map<String, StudentAttributes> studentsInCourseByEmail = new HashMap<String, StudentAttributes>();
+        for (StudentAttributes student : studentsInCourse) {
+            studentsInCourseByEmail.put(student.email, student);
+        }
+
+        // the roster may miss students created since it was read, e.g. by another enrollment into the course,
+        // so the students not in it are looked up by key, and those found are modified instead of overwritten
+        List<String> emailsNotInRoster = new ArrayList<String>();
+        for (StudentAttributes student : studentList) {
+            if (!studentsInCourseByEmail.containsKey(student.email)) {
+                emailsNotInRoster.add(student.email);
+            }
+        }
+        for (StudentAttributes student : studentsDb.getStudentsForEmails(courseId, emailsNotInRoster)) {
+            studentsInCourseByEmail.put(student.email, student);
+        }
+
+        List<StudentAttributes> studentsToCreate = new ArrayList<StudentAttributes>();
+        List<StudentAttributes> studentsToUpdate = new ArrayList<StudentAttributes>();
+        ArrayList<StudentEnrollDetails> enrollmentList = new ArrayList<StudentEnrollDetails>();
+        for (StudentAttributes student : studentList) {
+            StudentAttributes originalStudent = studentsInCourseByEmail.get(student.email);
+            StudentEnrollDetails enrollmentDetails = getEnrollmentDetails(student, originalStudent);
+
+            if (enrollmentDetails.updateStatus == StudentUpdateStatus.MODIFIED) {
+                student.updateWithExistingRecord(originalStudent);
+                if (!student.isValid()) {
+                    throw new InvalidParametersException(student.getInvalidityInfo());
+                }
+                studentsToUpdate.add(student);
+            } else if (enrollmentDetails.updateStatus == StudentUpdateStatus.NEW) {
+                studentsToCreate.add(student);
+            }
+
+            student.updateStatus = enrollmentDetails.updateStatus;
+            enrollmentList.add(enrollmentDetails);
+        }
+
+        List<StudentAttributes> studentsToIndex = new ArrayList<StudentAttributes>();
+        studentsToIndex.addAll(studentsDb.updateStudentsWithoutSearchability(courseId, studentsToUpdate));
+        studentsToIndex.addAll(studentsDb.createNewStudentsWithoutSearchability(studentsToCreate));
+        if (hasDocument) {
+            studentsDb.putDocuments(studentsToIndex);
+        }
+
+        return enrollmentList;
+    }
+
     private void verifyIsWithinSizeLimitPerEnrollment(List<StudentAttributes> students) throws EnrollException {
         if (students.size() > Const.SIZE_LIMIT_PER_ENROLLMENT) {
             throw new EnrollException(Const.StatusMessages.QUOTA_PER_ENROLLMENT_EXCEED);
@@ -343,8 +395,10 @@ public final class StudentsLogic {
      * Validates sections for any limit violations and teams for any team name violations.
      */
     public void validateSectionsAndTeams(List<StudentAttributes> studentList, String courseId) throws EnrollException {
+        verifySectionsAndTeamsAreValid(getMergedList(studentList, getStudentsForCourse(courseId)));
+    }
 
-        List<StudentAttributes> mergedList = getMergedList(studentList, courseId);
+    private void verifySectionsAndTeamsAreValid(List<StudentAttributes> mergedList) throws EnrollException {
 
         if (mergedList.size() < 2) { // no conflicts
             return;
@@ -363,7 +417,7 @@ public final class StudentsLogic {
      */
     public void validateTeams(List<StudentAttributes> studentList, String courseId) throws EnrollException {
 
-        List<StudentAttributes> mergedList = getMergedList(studentList, courseId);
+        List<StudentAttributes> mergedList = getMergedList(studentList, getStudentsForCourse(courseId));
 
         if (mergedList.size() < 2) { // no conflicts
             return;
@@ -377,23 +431,32 @@ public final class StudentsLogic {
 
     }
 
-    private List<StudentAttributes> getMergedList(List<StudentAttributes> studentList, String courseId) {
-
-        List<StudentAttributes> mergedList = new ArrayList<StudentAttributes>();
-        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
+    /**
+     * Returns the students in {@code studentList}, followed by the students in {@code studentsInCourse}
+     * whose emails are not in {@code studentList}, ignoring case.
+     */
+    private List<StudentAttributes> getMergedList(List<StudentAttributes> studentList,
+            List<StudentAttributes> studentsInCourse) {
 
-        for (StudentAttributes student : studentList) {
-            mergedList.add(student);
-        }
+        List<StudentAttributes> mergedList = new ArrayList<StudentAttributes>(studentList);
+        Set<String> mergedEmails = getLowerCaseEmails(studentList);
 
         for (StudentAttributes student : studentsInCourse) {
-            if (!isInEnrollList(student, mergedList)) {
+            if (mergedEmails.add(student.email.toLowerCase())) {
                 mergedList.add(student);
             }
         }
         return mergedList;
     }
 
+    private Set<String> getLowerCaseEmails(List<StudentAttributes> students) {
+        Set<String> emails = new HashSet<String>();
+        for (StudentAttributes student : students) {
+            emails.add(student.email.toLowerCase());
+        }
+        return emails;
+    }
+
     public String getSectionForTeam(String courseId, String teamName) {
 
         List<StudentAttributes> students = getStudentsForTeam(teamName, courseId);
@@ -405,30 +468,18 @@ public final class StudentsLogic {
 
     private String getSectionInvalidityInfo(List<StudentAttributes> mergedList) {
 
-        StudentAttributes.sortBySectionName(mergedList);
-
-        List<String> invalidSectionList = new ArrayList<String>();
-        int studentsCount = 1;
-        for (int i = 1; i < mergedList.size(); i++) {
-            StudentAttributes currentStudent = mergedList.get(i);
-            StudentAttributes previousStudent = mergedList.get(i - 1);
-            if (currentStudent.section.equals(previousStudent.section)) {
-                studentsCount++;
-            } else {
-                if (studentsCount > SECTION_SIZE_LIMIT) {
-                    invalidSectionList.add(previousStudent.section);
-                }
-                studentsCount = 1;
-            }
-
-            if (i == mergedList.size() - 1 && studentsCount > SECTION_SIZE_LIMIT) {
-                invalidSectionList.add(currentStudent.section);
-            }
+        // sections are reported in the order of their names
+        Map<String, Integer> sectionSizes = new TreeMap<String, Integer>();
+        for (StudentAttributes student : mergedList) {
+            Integer sectionSize = sectionSizes.get(student.section);
+            sectionSizes.put(student.section, sectionSize == null ? 1 : sectionSize + 1);
         }
 
         StringBuilder errorMessage = new StringBuilder();
-        for (String section : invalidSectionList) {
-            errorMessage.append(String.format(Const.StatusMessages.SECTION_QUOTA_EXCEED, section));
+        for (Map.Entry<String, Integer> sectionSize : sectionSizes.entrySet()) {
+            if (sectionSize.getValue() > SECTION_SIZE_LIMIT) {
+                errorMessage.append(String.format(Const.StatusMessages.SECTION_QUOTA_EXCEED, sectionSize.getKey()));
+            }
         }
 
         return errorMessage.toString();
@@ -436,23 +487,23 @@ public final class StudentsLogic {
 
     private String getTeamInvalidityInfo(List<StudentAttributes> mergedList) {
 
-        StudentAttributes.sortByTeamName(mergedList);
-
-        List<String> invalidTeamList = new ArrayList<String>();
-        for (int i = 1; i < mergedList.size(); i++) {
-            StudentAttributes currentStudent = mergedList.get(i);
-            StudentAttributes previousStudent = mergedList.get(i - 1);
-            if (currentStudent.team.equals(previousStudent.team)
-                    && !currentStudent.section.equals(previousStudent.section)
-                    && !invalidTeamList.contains(currentStudent.team)) {
-                invalidTeamList.add(currentStudent.team);
+        // teams are reported in the order of their names
+        Map<String, Set<String>> sectionsOfTeams = new TreeMap<String, Set<String>>();
+        for (StudentAttributes student : mergedList) {
+            Set<String> sectionsOfTeam = sectionsOfTeams.get(student.team);
+            if (sectionsOfTeam == null) {
+                sectionsOfTeam = new HashSet<String>();
+                sectionsOfTeams.put(student.team, sectionsOfTeam);
             }
+            sectionsOfTeam.add(student.section);
         }
 
         StringBuilder errorMessage = new StringBuilder(100);
-        for (String team : invalidTeamList) {
-            errorMessage.append(String.format(Const.StatusMessages.TEAM_INVALID_SECTION_EDIT,
-                                              SanitizationHelper.sanitizeForHtml(team)));
+        for (Map.Entry<String, Set<String>> sectionsOfTeam : sectionsOfTeams.entrySet()) {
+            if (sectionsOfTeam.getValue().size() > 1) {
+                errorMessage.append(String.format(Const.StatusMessages.TEAM_INVALID_SECTION_EDIT,
+                                                  SanitizationHelper.sanitizeForHtml(sectionsOfTeam.getKey())));
+            }
         }
 
         if (errorMessage.length() != 0) {
@@ -530,6 +581,54 @@ public final class StudentsLogic {
         }
     }
 
+    /**
+     * Adjusts the responses of a session for the changes in the teams and sections of students in an enrollment.
+     * Only the responses given by or to the students whose team or section has changed are fetched.
+     */
+    public void adjustFeedbackResponsesForEnrollments(List<StudentEnrollDetails> enrollmentList,
+            String feedbackSessionName, String courseId)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        Map<String, StudentEnrollDetails> changedEnrollments = new HashMap<String, StudentEnrollDetails>();
+        for (StudentEnrollDetails enrollment : enrollmentList) {
+            if (enrollment.updateStatus == StudentUpdateStatus.MODIFIED
+                    && (isTeamChanged(enrollment.oldTeam, enrollment.newTeam)
+                        || isSectionChanged(enrollment.oldSection, enrollment.newSection))) {
+                changedEnrollments.put(enrollment.email, enrollment);
+            }
+        }
+        if (changedEnrollments.isEmpty()) {
+            return;
+        }
+
+        List<FeedbackResponseAttributes> responses = frLogic.getFeedbackResponsesForSessionFromOrToParticipants(
+                feedbackSessionName, courseId, changedEnrollments.keySet());
+
+        Map<String, String> newSections = new HashMap<String, String>();
+        List<FeedbackResponseAttributes> responsesChangingSection = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : responses) {
+            boolean isResponseDeleted = false;
+            boolean isSectionChanged = false;
+            for (String participant : new String[] {response.giver, response.recipient}) {
+                StudentEnrollDetails enrollment = changedEnrollments.get(participant);
+                if (enrollment == null || isResponseDeleted) {
+                    continue;
+                }
+                if (isTeamChanged(enrollment.oldTeam, enrollment.newTeam)) {
+                    isResponseDeleted = frLogic.updateFeedbackResponseForChangingTeam(enrollment, response);
+                }
+                if (isSectionChanged(enrollment.oldSection, enrollment.newSection)) {
+                    newSections.put(enrollment.email, enrollment.newSection);
+                    isSectionChanged = true;
+                }
+            }
+            if (isSectionChanged && !isResponseDeleted) {
+                responsesChangingSection.add(response);
+            }
+        }
+
+        frLogic.updateFeedbackResponsesForChangingSections(responsesChangingSection, newSections);
+    }
+
     public void putDocument(StudentAttributes student) {
         studentsDb.putDocument(student);
     }
@@ -541,11 +640,12 @@ public final class StudentsLogic {
         studentsDb.putDocuments(students);
     }
 
-    private StudentEnrollDetails enrollStudent(StudentAttributes validStudentAttributes, Boolean hasDocument)
-            throws InvalidParametersException, EntityDoesNotExistException, EntityAlreadyExistsException {
-        StudentAttributes originalStudentAttributes = getStudentForEmail(
-                validStudentAttributes.course, validStudentAttributes.email);
-
+    /**
+     * Returns the details of enrolling {@code validStudentAttributes}, given the existing record of the student
+     * in the course, or null if the student is not in the course.
+     */
+    private StudentEnrollDetails getEnrollmentDetails(StudentAttributes validStudentAttributes,
+            StudentAttributes originalStudentAttributes) {
         StudentEnrollDetails enrollmentDetails = new StudentEnrollDetails();
         enrollmentDetails.course = validStudentAttributes.course;
         enrollmentDetails.email = validStudentAttributes.email;
@@ -556,8 +656,6 @@ public final class StudentsLogic {
         if (validStudentAttributes.isEnrollInfoSameAs(originalStudentAttributes)) {
             enrollmentDetails.updateStatus = StudentUpdateStatus.UNMODIFIED;
         } else if (isModifyingExistingStudent) {
-            updateStudentCascadeWithSubmissionAdjustmentScheduled(originalStudentAttributes.email,
-                                                                  validStudentAttributes, true);
             enrollmentDetails.updateStatus = StudentUpdateStatus.MODIFIED;
 
             if (!originalStudentAttributes.team.equals(validStudentAttributes.team)) {
@@ -567,7 +665,6 @@ public final class StudentsLogic {
                 enrollmentDetails.oldSection = originalStudentAttributes.section;
             }
         } else {
-            createStudentCascade(validStudentAttributes, hasDocument);
             enrollmentDetails.updateStatus = StudentUpdateStatus.NEW;
         }
 
@@ -585,7 +682,7 @@ public final class StudentsLogic {
     public List<StudentAttributes> createStudents(String lines, String courseId) throws EnrollException {
         List<String> invalidityInfo = new ArrayList<String>();
         String[] linesArray = lines.split(Const.EOL);
-        ArrayList<String> studentEmailList = new ArrayList<String>();
+        Map<String, Integer> studentIndexesByEmail = new HashMap<String, Integer>();
         List<StudentAttributes> studentList = new ArrayList<StudentAttributes>();
 
         StudentAttributesFactory saf = new StudentAttributesFactory(linesArray[0]);
@@ -605,15 +702,17 @@ public final class StudentsLogic {
                     invalidityInfo.add(String.format(Const.StatusMessages.ENROLL_LINES_PROBLEM, sanitizedLine, info));
                 }
 
-                if (isStudentEmailDuplicated(student.email, studentEmailList)) {
+                Integer duplicateStudentIndex = studentIndexesByEmail.get(student.email);
+                if (duplicateStudentIndex == null) {
+                    studentIndexesByEmail.put(student.email, studentList.size());
+                } else {
                     String info =
                             StringHelper.toString(
-                                    getInvalidityInfoInDuplicatedEmail(student.email, studentEmailList, linesArray),
+                                    getInvalidityInfoInDuplicatedEmail(duplicateStudentIndex, linesArray),
                                     "<br>" + Const.StatusMessages.ENROLL_LINES_PROBLEM_DETAIL_PREFIX + " ");
                     invalidityInfo.add(String.format(Const.StatusMessages.ENROLL_LINES_PROBLEM, sanitizedLine, info));
                 }
 
-                studentEmailList.add(student.email);
                 studentList.add(student);
             } catch (EnrollException e) {
                 String info = String.format(Const.StatusMessages.ENROLL_LINES_PROBLEM, sanitizedLine, e.getMessage());
@@ -628,28 +727,12 @@ public final class StudentsLogic {
         return studentList;
     }
 
-    private List<String> getInvalidityInfoInDuplicatedEmail(String email,
-            ArrayList<String> studentEmailList, String[] linesArray) {
+    private List<String> getInvalidityInfoInDuplicatedEmail(int duplicateStudentIndex, String[] linesArray) {
         List<String> info = new ArrayList<String>();
-        info.add("Same email address as the student in line \"" + linesArray[studentEmailList.indexOf(email) + 1] + "\"");
+        info.add("Same email address as the student in line \"" + linesArray[duplicateStudentIndex + 1] + "\"");
         return info;
     }
 
-    private boolean isStudentEmailDuplicated(String email,
-            ArrayList<String> studentEmailList) {
-        return studentEmailList.contains(email);
-    }
-
-    private boolean isInEnrollList(StudentAttributes student,
-            List<StudentAttributes> studentInfoList) {
-        for (StudentAttributes studentInfo : studentInfoList) {
-            if (studentInfo.email.equalsIgnoreCase(student.email)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private boolean isTeamChanged(String originalTeam, String newTeam) {
         return newTeam != null && originalTeam != null
                 && !originalTeam.equals(newTeam);
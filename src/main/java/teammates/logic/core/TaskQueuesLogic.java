@@ -1,11 +1,18 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.google.appengine.api.taskqueue.Queue;
+import com.google.appengine.api.taskqueue.QueueConstants;
 import com.google.appengine.api.taskqueue.QueueFactory;
+import com.google.appengine.api.taskqueue.TaskAlreadyExistsException;
 import com.google.appengine.api.taskqueue.TaskOptions;
 
+import teammates.common.util.Logger;
 import teammates.common.util.TaskWrapper;
 
 /**
@@ -13,6 +20,11 @@ import teammates.common.util.TaskWrapper;
  */
 public class TaskQueuesLogic {
 
+    /** The maximum number of tasks which can be added to a queue in one call to the queue API. */
+    public static final int MAX_TASKS_PER_BATCH_ADD = QueueConstants.maxTasksPerAdd();
+
+    private static final Logger log = Logger.getLogger();
+
     /**
      * Adds the given task to the specified queue.
      *
@@ -24,13 +36,59 @@ public class TaskQueuesLogic {
 
     /**
      * Adds the given task, to be run after the specified time, to the specified queue.
+     * A named task is not added again if a task of that name has already been added to the queue.
      *
      * @param task the task object containing the details of task to be added
      * @param countdownTime the time delay for the task to be executed
      */
     public void addDeferredTask(TaskWrapper task, long countdownTime) {
         Queue requiredQueue = QueueFactory.getQueue(task.getQueueName());
+        try {
+            requiredQueue.add(toTaskOptions(task, countdownTime));
+        } catch (TaskAlreadyExistsException e) {
+            log.info("Task " + task.getTaskName() + " has already been added to " + task.getQueueName());
+        }
+    }
+
+    /**
+     * Adds the given tasks to their queues, each to be run after its countdown time.
+     * The tasks are grouped by queue and added in batches of at most {@link #MAX_TASKS_PER_BATCH_ADD} tasks,
+     * so that the number of calls to the queue API grows with the number of batches instead of tasks.
+     * Named tasks which have already been added to their queue are not added again,
+     * while the other tasks of their batch are still added.
+     *
+     * @param tasks the task objects containing the details of tasks to be added
+     */
+    public void addTasks(Collection<TaskWrapper> tasks) {
+        Map<String, List<TaskOptions>> tasksByQueue = new LinkedHashMap<String, List<TaskOptions>>();
+        for (TaskWrapper task : tasks) {
+            List<TaskOptions> tasksOfQueue = tasksByQueue.get(task.getQueueName());
+            if (tasksOfQueue == null) {
+                tasksOfQueue = new ArrayList<TaskOptions>();
+                tasksByQueue.put(task.getQueueName(), tasksOfQueue);
+            }
+            tasksOfQueue.add(toTaskOptions(task, task.getCountdownTime()));
+        }
+
+        for (Map.Entry<String, List<TaskOptions>> tasksOfQueue : tasksByQueue.entrySet()) {
+            Queue requiredQueue = QueueFactory.getQueue(tasksOfQueue.getKey());
+            List<TaskOptions> tasksToBeAdded = tasksOfQueue.getValue();
+            for (int from = 0; from < tasksToBeAdded.size(); from += MAX_TASKS_PER_BATCH_ADD) {
+                try {
+                    requiredQueue.add(tasksToBeAdded.subList(
+                            from, Math.min(from + MAX_TASKS_PER_BATCH_ADD, tasksToBeAdded.size())));
+                } catch (TaskAlreadyExistsException e) {
+                    log.info("Tasks " + e.getTaskNames() + " have already been added to " + tasksOfQueue.getKey());
+                }
+            }
+        }
+    }
+
+    private TaskOptions toTaskOptions(TaskWrapper task, long countdownTime) {
         TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(task.getWorkerUrl());
+        if (task.getTaskName() != null) {
+            taskToBeAdded.taskName(task.getTaskName());
+        }
         if (countdownTime > 0) {
             taskToBeAdded.countdownMillis(countdownTime);
         }
@@ -43,8 +101,7 @@ public class TaskQueuesLogic {
                 taskToBeAdded = taskToBeAdded.param(name, value);
             }
         }
-
-        requiredQueue.add(taskToBeAdded);
+        return taskToBeAdded;
     }
 
 }
@@ -583,7 +583,7 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
         for (FeedbackResponseAttributes response : responses) {
             FeedbackMsqResponseDetails frd = (FeedbackMsqResponseDetails) response.getResponseDetails();
             if (!otherEnabled) {
-                List<String> validChoices = msqChoices;
+                List<String> validChoices = new ArrayList<String>(msqChoices);
                 validChoices.add("");
                 if (!validChoices.containsAll(frd.answers) && generateOptionsFor == FeedbackParticipantType.NONE) {
                     errors.add(frd.getAnswerString() + Const.FeedbackQuestion.MSQ_ERROR_INVALID_OPTION);
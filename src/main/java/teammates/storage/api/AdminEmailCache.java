@@ -0,0 +1,79 @@
+package teammates.storage.api;
+
+import teammates.common.datatransfer.attributes.AdminEmailAttributes;
+import teammates.common.util.Config;
+import teammates.common.util.JsonUtils;
+
+/**
+ * Caches admin emails across requests, so that the many tasks sending an admin email to its receivers
+ * read the email from the cache instead of the datastore.
+ *
+ * <p>Each admin email has a generation counter which {@link AdminEmailsDb} increments after every update
+ * of the email. Emails are cached under the generation that was read before the email was read,
+ * so a cached email becomes unreachable as soon as the email changes.
+ *
+ * <p>The cache also records the receivers each send task has sent its email to,
+ * so that a task retried after sending to some of its receivers does not send to them again.
+ *
+ * <p>The cache is backed by memcache in production and by an in-process LRU map elsewhere.
+ */
+public class AdminEmailCache {
+
+    private static final String GENERATION_KEY_PREFIX = "AdminEmailGeneration%";
+    private static final String EMAIL_KEY_PREFIX = "AdminEmail%";
+    private static final String SENT_KEY_PREFIX = "AdminEmailSent%";
+
+    private static final int MEMCACHE_EXPIRY_SECONDS = 60 * 60;
+    private static final int LOCAL_CAPACITY = 100;
+
+    private static final CacheBackend BACKEND = Config.isProductionServer()
+                                              ? new MemcacheBackend(MEMCACHE_EXPIRY_SECONDS)
+                                              : new LruCacheBackend(LOCAL_CAPACITY);
+
+    /**
+     * Returns the current generation of the admin email, or {@code null} if it is not available,
+     * in which case the email should neither be read from nor written to the cache.
+     */
+    public Long getGeneration(String emailId) {
+        return BACKEND.increment(GENERATION_KEY_PREFIX + emailId, 0, System.currentTimeMillis());
+    }
+
+    /**
+     * Marks all versions of the admin email cached so far as outdated.
+     */
+    public void incrementGeneration(String emailId) {
+        BACKEND.increment(GENERATION_KEY_PREFIX + emailId, 1, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the admin email cached under {@code generation}, or {@code null} if there is none.
+     */
+    public AdminEmailAttributes getEmail(String emailId, long generation) {
+        String emailJson = BACKEND.get(getEmailKey(emailId, generation));
+        return emailJson == null ? null : JsonUtils.fromJson(emailJson, AdminEmailAttributes.class);
+    }
+
+    public void putEmail(String emailId, long generation, AdminEmailAttributes email) {
+        BACKEND.put(getEmailKey(emailId, generation), JsonUtils.toCompactJson(email, AdminEmailAttributes.class));
+    }
+
+    /**
+     * Returns true if the send task named {@code taskName} is recorded to have sent its email to {@code receiver}.
+     */
+    public boolean isSentToReceiver(String taskName, String receiver) {
+        return BACKEND.get(getSentKey(taskName, receiver)) != null;
+    }
+
+    public void markSentToReceiver(String taskName, String receiver) {
+        BACKEND.put(getSentKey(taskName, receiver), Boolean.TRUE.toString());
+    }
+
+    private static String getSentKey(String taskName, String receiver) {
+        return SENT_KEY_PREFIX + taskName + "%" + receiver;
+    }
+
+    private static String getEmailKey(String emailId, long generation) {
+        return EMAIL_KEY_PREFIX + emailId + "%" + generation;
+    }
+
+}
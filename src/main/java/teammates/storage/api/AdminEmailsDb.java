@@ -32,6 +32,8 @@ public class AdminEmailsDb extends EntitiesDb {
 
     private static final Logger log = Logger.getLogger();
 
+    private AdminEmailCache emailCache = new AdminEmailCache();
+
     public Date createAdminEmail(AdminEmailAttributes adminEmailToAdd) throws InvalidParametersException {
         try {
             AdminEmail ae = (AdminEmail) createEntity(adminEmailToAdd);
@@ -73,6 +75,7 @@ public class AdminEmailsDb extends EntitiesDb {
 
         log.info(ae.getBackupIdentifier());
         closePm();
+        emailCache.incrementGeneration(ae.emailId);
 
     }
 
@@ -101,6 +104,10 @@ public class AdminEmailsDb extends EntitiesDb {
             }
         }
         deleteEntities(emailsInTrashBin);
+
+        for (AdminEmailAttributes a : emailsInTrashBin) {
+            emailCache.incrementGeneration(a.emailId);
+        }
     }
 
     public void updateAdminEmailById(AdminEmailAttributes newAdminEmail, String emailId)
@@ -127,6 +134,7 @@ public class AdminEmailsDb extends EntitiesDb {
 
         log.info(newAdminEmail.getBackupIdentifier());
         closePm();
+        emailCache.incrementGeneration(emailId);
 
     }
 
@@ -161,6 +169,43 @@ public class AdminEmailsDb extends EntitiesDb {
         return new AdminEmailAttributes(matched);
     }
 
+    /**
+     * Gets an admin email by email id, from the cache of admin emails if it is there.
+     * Meant for sending the email, where the same email is read by many tasks.
+     * @return null if no matched email found
+     */
+    public AdminEmailAttributes getAdminEmailByIdCached(String emailId) {
+        Long generation = emailCache.getGeneration(emailId);
+        if (generation != null) {
+            AdminEmailAttributes cachedEmail = emailCache.getEmail(emailId, generation);
+            if (cachedEmail != null) {
+                return cachedEmail;
+            }
+        }
+
+        AdminEmailAttributes email = getAdminEmailById(emailId);
+        if (email != null && generation != null) {
+            emailCache.putEmail(emailId, generation, email);
+        }
+        return email;
+    }
+
+    /**
+     * Returns true if the task named {@code taskName} is recorded to have sent its admin email to
+     * {@code receiver}, in which case a retry of the task should not send the email to the receiver again.
+     * The record is kept in the cache of admin emails, so it may be lost.
+     */
+    public boolean isAdminEmailSentInTask(String taskName, String receiver) {
+        return emailCache.isSentToReceiver(taskName, receiver);
+    }
+
+    /**
+     * Records that the task named {@code taskName} has sent its admin email to {@code receiver}.
+     */
+    public void markAdminEmailSentInTask(String taskName, String receiver) {
+        emailCache.markSentToReceiver(taskName, receiver);
+    }
+
     /**
      * Gets an admin email by subject and createDate.
      * @return null if no matched email found
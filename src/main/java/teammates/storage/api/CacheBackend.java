@@ -0,0 +1,30 @@
+package teammates.storage.api;
+
+/**
+ * Stores string values shared across requests, e.g. App Engine memcache in production
+ * or an in-process map when running locally.
+ *
+ * <p>Implementations may evict values at any time, so callers must be able to
+ * recompute a value that is no longer present.
+ */
+public interface CacheBackend {
+
+    /**
+     * Returns the value stored for {@code key}, or {@code null} if there is none.
+     */
+    String get(String key);
+
+    /**
+     * Stores {@code value} for {@code key}, replacing any existing value. Fails silently.
+     */
+    void put(String key, String value);
+
+    /**
+     * Atomically increments the counter stored for {@code key} by {@code delta},
+     * starting from {@code initialValue} if there is no such counter.
+     *
+     * @return the value of the counter after incrementing, or {@code null} if the counter is unavailable.
+     */
+    Long increment(String key, long delta, long initialValue);
+
+}
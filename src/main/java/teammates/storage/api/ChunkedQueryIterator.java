@@ -0,0 +1,134 @@
+package teammates.storage.api;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.jdo.JDOHelper;
+import javax.jdo.PersistenceManager;
+
+import org.datanucleus.store.appengine.query.JDOCursorHelper;
+
+import com.google.appengine.api.datastore.Cursor;
+
+/**
+ * Iterates over the results of a query by fetching them in chunks of a fixed size,
+ * resuming each chunk from the Datastore cursor of the previous one.
+ *
+ * <p>Only the entities of the current chunk are held in memory, and they are converted
+ * to attributes one at a time as the iteration proceeds. Deleted entities are skipped.
+ *
+ * <p>The query is recreated for every chunk, so the caller may write to the Datastore
+ * (and thereby close the persistence manager) while iterating.
+ *
+ * @param <E> the type of the entities matched by the query
+ * @param <A> the type of the attributes returned by the iterator
+ */
+abstract class ChunkedQueryIterator<E, A> implements Iterator<A> {
+
+    private final int chunkSize;
+
+    private Iterator<?> currentChunk = Collections.emptyIterator();
+    private List<?> currentChunkEntities;
+    private Cursor cursor;
+    private boolean hasMoreChunks = true;
+    private A nextAttributes;
+
+    ChunkedQueryIterator(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns an iterator over the elements of {@code first} followed by the elements of {@code second}.
+     * {@code second} is not consumed until {@code first} is exhausted.
+     */
+    static <A> Iterator<A> concat(final Iterator<A> first, final Iterator<A> second) {
+        return new Iterator<A>() {
+            @Override
+            public boolean hasNext() {
+                return first.hasNext() || second.hasNext();
+            }
+
+            @Override
+            public A next() {
+                return first.hasNext() ? first.next() : second.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Creates the query whose results are iterated over. Called once for every chunk.
+     */
+    protected abstract QueryWithParams createQuery();
+
+    /**
+     * Converts {@code entity} to attributes, or returns null if the entity should be skipped.
+     */
+    protected abstract A toAttributes(E entity);
+
+    @Override
+    public boolean hasNext() {
+        while (nextAttributes == null) {
+            if (!currentChunk.hasNext()) {
+                if (!hasMoreChunks) {
+                    return false;
+                }
+                fetchNextChunk();
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            E entity = (E) currentChunk.next();
+            if (!JDOHelper.isDeleted(entity)) {
+                nextAttributes = toAttributes(entity);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public A next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        A attributes = nextAttributes;
+        nextAttributes = null;
+        return attributes;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    private void fetchNextChunk() {
+        evictCurrentChunk();
+
+        List<?> entities = createQuery().executeFromCursor(cursor, chunkSize);
+        cursor = JDOCursorHelper.getCursor(entities);
+        hasMoreChunks = entities.size() == chunkSize && cursor != null;
+        currentChunkEntities = entities;
+        currentChunk = entities.iterator();
+    }
+
+    /**
+     * Releases the entities of the current chunk from the persistence manager so that
+     * they can be garbage collected once the iteration moves past them.
+     */
+    private void evictCurrentChunk() {
+        if (currentChunkEntities == null || currentChunkEntities.isEmpty()) {
+            return;
+        }
+        PersistenceManager pm = JDOHelper.getPersistenceManager(currentChunkEntities.get(0));
+        if (pm != null && !pm.isClosed()) {
+            pm.evictAll(currentChunkEntities);
+        }
+    }
+
+}
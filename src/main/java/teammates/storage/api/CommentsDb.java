@@ -9,6 +9,7 @@ import java.util.Set;
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import com.google.appengine.api.datastore.Key;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
 
@@ -455,6 +456,20 @@ public class CommentsDb extends EntitiesDb {
             .deletePersistentAll();
     }
 
+    /**
+     * Deletes the next chunk of at most {@code limit} comments of the course, starting from {@code cursor},
+     * together with their search documents.
+     */
+    CourseEntityChunk deleteChunkForCourse(String courseId, String cursor, int limit) {
+        CourseEntityChunk chunk = CourseEntityChunk.get(Comment.class.getSimpleName(), courseId, cursor, limit, true);
+        for (Key key : chunk.getKeys()) {
+            deleteDocument(Const.SearchIndex.COMMENT, String.valueOf(key.getId()));
+        }
+        chunk.delete();
+        invalidateCachedEntities();
+        return chunk;
+    }
+
     /*
      * Create or update search document for the given comment
      */
@@ -0,0 +1,214 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.EntityNotFoundException;
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
+import com.google.appengine.api.datastore.Query;
+import com.google.appengine.api.datastore.Query.FilterOperator;
+import com.google.appengine.api.datastore.Query.FilterPredicate;
+
+import teammates.common.datatransfer.CourseDeletionStatus;
+import teammates.common.util.Assumption;
+import teammates.common.util.Logger;
+
+/**
+ * Deletes the data of a course one chunk at a time, so that the deletion of a large course
+ * can be spread over as many task queue requests as it needs.
+ *
+ * <p>The data is deleted step by step with children before their parents. Each step deletes the entities
+ * of one kind through the storage class which owns them, in chunks of at most {@link #CHUNK_SIZE} entities.
+ * The progress of the deletion is checkpointed in a status entity of the course after every chunk,
+ * so that a deletion which is interrupted resumes where it stopped.
+ */
+public class CourseCascadeDeleter {
+
+    /**
+     * Maximum number of entities deleted in one chunk.
+     */
+    public static final int CHUNK_SIZE = 500;
+
+    private static final String STEP_RESPONSE_COMMENTS = "responseComments";
+    private static final String STEP_RESPONSES = "responses";
+    private static final String STEP_QUESTIONS = "questions";
+    private static final String STEP_RESPONSE_COUNT_SHARDS = "responseCountShards";
+    private static final String STEP_RESPONSE_COUNT_STATUSES = "responseCountStatuses";
+    private static final String STEP_SESSION_RESPONDENTS = "sessionRespondents";
+    private static final String STEP_RESULTS_EXPORTS = "resultsExports";
+    private static final String STEP_SESSIONS = "sessions";
+    private static final String STEP_COMMENTS = "comments";
+    private static final String STEP_STUDENTS = "students";
+
+    private static final List<String> STEPS_IN_DELETION_ORDER = Arrays.asList(
+            STEP_RESPONSE_COMMENTS,
+            STEP_RESPONSES,
+            STEP_QUESTIONS,
+            STEP_RESPONSE_COUNT_SHARDS,
+            STEP_RESPONSE_COUNT_STATUSES,
+            STEP_SESSION_RESPONDENTS,
+            STEP_RESULTS_EXPORTS,
+            STEP_SESSIONS,
+            STEP_COMMENTS,
+            STEP_STUDENTS);
+
+    private static final String STATUS_KIND = "CourseDeletionStatus";
+
+    private static final String PROPERTY_STEP = "step";
+    private static final String PROPERTY_CURSOR = "cursor";
+    private static final String PROPERTY_DELETED_BY = "deletedBy";
+    private static final String PROPERTY_DELETED_COUNT = "deletedCount";
+    private static final String PROPERTY_STARTED_AT = "startedAt";
+    private static final String PROPERTY_UPDATED_AT = "updatedAt";
+
+    private static final Logger log = Logger.getLogger();
+
+    private final DatastoreService datastore = DatastoreServiceFactory.getDatastoreService();
+
+    private final CommentsDb commentsDb = new CommentsDb();
+    private final FeedbackQuestionsDb fqDb = new FeedbackQuestionsDb();
+    private final FeedbackResponseCommentsDb frcDb = new FeedbackResponseCommentsDb();
+    private final FeedbackResponseCounters responseCounters = new FeedbackResponseCounters();
+    private final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+    private final FeedbackSessionResultsExports resultsExports = new FeedbackSessionResultsExports();
+    private final FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+    private final StudentsDb studentsDb = new StudentsDb();
+
+    /**
+     * Marks the data of the course for deletion, starting from the first step.
+     * Deleting the data of a course which is already being deleted restarts the deletion.
+     *
+     * @param deletedBy the Google ID of the instructor who deleted the course, to whom the progress
+     *                  of the deletion is reported, or null if it was not deleted by an instructor
+     */
+    public void startDeletion(String courseId, String deletedBy) {
+        Entity status = new Entity(getStatusKey(courseId));
+        status.setUnindexedProperty(PROPERTY_STEP, STEPS_IN_DELETION_ORDER.get(0));
+        status.setProperty(PROPERTY_DELETED_BY, deletedBy);
+        status.setUnindexedProperty(PROPERTY_DELETED_COUNT, 0L);
+        Date now = new Date();
+        status.setUnindexedProperty(PROPERTY_STARTED_AT, now);
+        status.setUnindexedProperty(PROPERTY_UPDATED_AT, now);
+        datastore.put(status);
+    }
+
+    /**
+     * Returns true if the data of the course is still being deleted.
+     */
+    public boolean isDeletionInProgress(String courseId) {
+        return getStatus(courseId) != null;
+    }
+
+    /**
+     * Returns the progress of the deletions of the courses deleted by the instructor
+     * whose data is still being deleted.
+     */
+    public List<CourseDeletionStatus> getDeletionsInProgress(String deletedBy) {
+        Query query = new Query(STATUS_KIND)
+                .setFilter(new FilterPredicate(PROPERTY_DELETED_BY, FilterOperator.EQUAL, deletedBy));
+        List<CourseDeletionStatus> statuses = new ArrayList<CourseDeletionStatus>();
+        for (Entity status : datastore.prepare(query).asIterable()) {
+            statuses.add(new CourseDeletionStatus(status.getKey().getName(),
+                                                  (String) status.getProperty(PROPERTY_DELETED_BY),
+                                                  (Long) status.getProperty(PROPERTY_DELETED_COUNT),
+                                                  (Date) status.getProperty(PROPERTY_STARTED_AT),
+                                                  (Date) status.getProperty(PROPERTY_UPDATED_AT)));
+        }
+        return statuses;
+    }
+
+    /**
+     * Deletes the next chunk of the data of the course.
+     *
+     * @return true if there may be more data of the course to delete,
+     *         false if the deletion has been completed or was never started
+     */
+    public boolean deleteNextChunk(String courseId) {
+        Entity status = getStatus(courseId);
+        if (status == null) {
+            return false;
+        }
+
+        String step = (String) status.getProperty(PROPERTY_STEP);
+        String cursor = (String) status.getProperty(PROPERTY_CURSOR);
+        long deletedCount = (Long) status.getProperty(PROPERTY_DELETED_COUNT);
+
+        if (!STEPS_IN_DELETION_ORDER.contains(step)) {
+            // deleting the data again is harmless, so a deletion checkpointed at an unknown step is restarted
+            log.warning("Restarting the deletion of course " + courseId + " from unknown step " + step);
+            step = STEPS_IN_DELETION_ORDER.get(0);
+            cursor = null;
+        }
+
+        CourseEntityChunk chunk = deleteChunk(step, courseId, cursor);
+        deletedCount += chunk.size();
+
+        String nextCursor = chunk.getNextCursor();
+        int nextStepIndex = STEPS_IN_DELETION_ORDER.indexOf(step) + 1;
+        if (nextCursor == null && nextStepIndex == STEPS_IN_DELETION_ORDER.size()) {
+            datastore.delete(status.getKey());
+            long elapsedMillis = new Date().getTime() - ((Date) status.getProperty(PROPERTY_STARTED_AT)).getTime();
+            log.info("Deleted " + deletedCount + " entities of course " + courseId + " in " + elapsedMillis + " ms");
+            return false;
+        }
+
+        if (nextCursor == null) {
+            status.setUnindexedProperty(PROPERTY_STEP, STEPS_IN_DELETION_ORDER.get(nextStepIndex));
+            status.removeProperty(PROPERTY_CURSOR);
+        } else {
+            status.setUnindexedProperty(PROPERTY_STEP, step);
+            status.setUnindexedProperty(PROPERTY_CURSOR, nextCursor);
+        }
+        status.setUnindexedProperty(PROPERTY_DELETED_COUNT, deletedCount);
+        status.setUnindexedProperty(PROPERTY_UPDATED_AT, new Date());
+        datastore.put(status);
+        return true;
+    }
+
+    private CourseEntityChunk deleteChunk(String step, String courseId, String cursor) {
+        switch (step) {
+        case STEP_RESPONSE_COMMENTS:
+            return frcDb.deleteChunkForCourse(courseId, cursor, CHUNK_SIZE);
+        case STEP_RESPONSES:
+            return frDb.deleteChunkForCourse(courseId, cursor, CHUNK_SIZE);
+        case STEP_QUESTIONS:
+            return fqDb.deleteChunkForCourse(courseId, cursor, CHUNK_SIZE);
+        case STEP_RESPONSE_COUNT_SHARDS:
+            return responseCounters.deleteShardChunkForCourse(courseId, cursor, CHUNK_SIZE);
+        case STEP_RESPONSE_COUNT_STATUSES:
+            return responseCounters.deleteStatusChunkForCourse(courseId, cursor, CHUNK_SIZE);
+        case STEP_SESSION_RESPONDENTS:
+            return fsDb.deleteRespondentChunkForCourse(courseId, cursor, CHUNK_SIZE);
+        case STEP_RESULTS_EXPORTS:
+            return resultsExports.deleteChunkForCourse(courseId, cursor, CHUNK_SIZE);
+        case STEP_SESSIONS:
+            return fsDb.deleteChunkForCourse(courseId, cursor, CHUNK_SIZE);
+        case STEP_COMMENTS:
+            return commentsDb.deleteChunkForCourse(courseId, cursor, CHUNK_SIZE);
+        case STEP_STUDENTS:
+            return studentsDb.deleteChunkForCourse(courseId, cursor, CHUNK_SIZE);
+        default:
+            Assumption.fail("Unknown step of course deletion: " + step);
+            return null;
+        }
+    }
+
+    private Entity getStatus(String courseId) {
+        try {
+            return datastore.get(getStatusKey(courseId));
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Key getStatusKey(String courseId) {
+        return KeyFactory.createKey(STATUS_KIND, courseId);
+    }
+
+}
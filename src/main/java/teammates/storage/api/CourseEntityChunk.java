@@ -0,0 +1,84 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.appengine.api.datastore.Cursor;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.FetchOptions;
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.Query;
+import com.google.appengine.api.datastore.Query.FilterOperator;
+import com.google.appengine.api.datastore.Query.FilterPredicate;
+import com.google.appengine.api.datastore.QueryResultList;
+
+/**
+ * A chunk of the entities of one kind which belong to a course, read in query order from a cursor,
+ * so that the data of a course can be deleted in batches.
+ *
+ * @see CourseCascadeDeleter
+ */
+final class CourseEntityChunk {
+
+    private static final String PROPERTY_COURSE_ID = "courseId";
+
+    private final QueryResultList<Entity> entities;
+    private final int limit;
+
+    private CourseEntityChunk(QueryResultList<Entity> entities, int limit) {
+        this.entities = entities;
+        this.limit = limit;
+    }
+
+    /**
+     * Reads at most {@code limit} entities of {@code kind} whose {@code courseId} property is {@code courseId},
+     * starting from {@code cursor}, or from the first such entity if {@code cursor} is null.
+     * Only the keys of the entities are read unless {@code isKeysOnly} is false.
+     */
+    static CourseEntityChunk get(String kind, String courseId, String cursor, int limit, boolean isKeysOnly) {
+        Query query = new Query(kind)
+                .setFilter(new FilterPredicate(PROPERTY_COURSE_ID, FilterOperator.EQUAL, courseId));
+        if (isKeysOnly) {
+            query.setKeysOnly();
+        }
+
+        FetchOptions options = FetchOptions.Builder.withLimit(limit);
+        if (cursor != null) {
+            options.startCursor(Cursor.fromWebSafeString(cursor));
+        }
+        return new CourseEntityChunk(
+                DatastoreServiceFactory.getDatastoreService().prepare(query).asQueryResultList(options), limit);
+    }
+
+    List<Entity> getEntities() {
+        return entities;
+    }
+
+    List<Key> getKeys() {
+        List<Key> keys = new ArrayList<Key>();
+        for (Entity entity : entities) {
+            keys.add(entity.getKey());
+        }
+        return keys;
+    }
+
+    int size() {
+        return entities.size();
+    }
+
+    /**
+     * Returns the cursor from which the next chunk starts, or null if there are no entities after this chunk.
+     */
+    String getNextCursor() {
+        return entities.size() < limit ? null : entities.getCursor().toWebSafeString();
+    }
+
+    /**
+     * Deletes the entities of the chunk with a single batch delete.
+     */
+    void delete() {
+        DatastoreServiceFactory.getDatastoreService().delete(getKeys());
+    }
+
+}
@@ -0,0 +1,84 @@
+package teammates.storage.api;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.util.Config;
+import teammates.common.util.JsonUtils;
+
+/**
+ * Caches {@link CourseRoster}s across requests.
+ *
+ * <p>Each course has a generation counter which {@link StudentsDb} and {@link InstructorsDb} increment
+ * after every create, update or delete of a student or instructor of the course.
+ * Rosters are cached under the generation that was read before the roster was built,
+ * so a cached roster becomes unreachable as soon as the course changes.
+ *
+ * <p>Rosters are built from queries, which may not reflect a write until some time after it.
+ * A roster is therefore not cached within {@link #SETTLING_MILLIS} after the course last changed,
+ * as it may be missing that change.
+ *
+ * <p>The cache is backed by memcache in production and by an in-process LRU map elsewhere.
+ */
+public class CourseRosterCache {
+
+    /**
+     * Time after a change to a course within which the queries building its roster may still miss the change.
+     */
+    public static final long SETTLING_MILLIS = 30 * 1000L;
+
+    private static final String GENERATION_KEY_PREFIX = "CourseRosterGeneration%";
+    private static final String ROSTER_KEY_PREFIX = "CourseRoster%";
+    private static final String CHANGED_AT_KEY_PREFIX = "CourseRosterChangedAt%";
+
+    private static final int MEMCACHE_EXPIRY_SECONDS = 60 * 60;
+    private static final int LOCAL_CAPACITY = 200;
+
+    private static final CacheBackend BACKEND = Config.isProductionServer()
+                                              ? new MemcacheBackend(MEMCACHE_EXPIRY_SECONDS)
+                                              : new LruCacheBackend(LOCAL_CAPACITY);
+
+    /**
+     * Returns the current generation of the roster of the course, or {@code null} if it is not available,
+     * in which case the roster should neither be read from nor written to the cache.
+     */
+    public Long getGeneration(String courseId) {
+        return BACKEND.increment(GENERATION_KEY_PREFIX + courseId, 0, System.currentTimeMillis());
+    }
+
+    /**
+     * Marks all rosters cached so far for the course as outdated.
+     */
+    public void incrementGeneration(String courseId) {
+        long now = System.currentTimeMillis();
+        BACKEND.put(CHANGED_AT_KEY_PREFIX + courseId, String.valueOf(now));
+        BACKEND.increment(GENERATION_KEY_PREFIX + courseId, 1, now);
+    }
+
+    /**
+     * Returns the roster of the course cached under {@code generation}, or {@code null} if there is none.
+     */
+    public CourseRoster getRoster(String courseId, long generation) {
+        String rosterJson = BACKEND.get(getRosterKey(courseId, generation));
+        return rosterJson == null ? null : JsonUtils.fromJson(rosterJson, CourseRoster.class);
+    }
+
+    /**
+     * Caches the roster of the course under {@code generation}, unless the course changed
+     * less than {@link #SETTLING_MILLIS} ago.
+     *
+     * @return true if the roster has been cached
+     */
+    public boolean putRoster(String courseId, long generation, CourseRoster roster) {
+        String changedAt = BACKEND.get(CHANGED_AT_KEY_PREFIX + courseId);
+        // if the time of the last change has been evicted, the change is assumed to be long past
+        if (changedAt != null && System.currentTimeMillis() - Long.parseLong(changedAt) < SETTLING_MILLIS) {
+            return false;
+        }
+        BACKEND.put(getRosterKey(courseId, generation), JsonUtils.toCompactJson(roster, CourseRoster.class));
+        return true;
+    }
+
+    private static String getRosterKey(String courseId, long generation) {
+        return ROSTER_KEY_PREFIX + courseId + "%" + generation;
+    }
+
+}
@@ -57,13 +57,21 @@ public class CoursesDb extends EntitiesDb {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
+        Object cached = getCachedEntity(courseId);
+        if (cached != RequestScopedEntityCache.MISS) {
+            return cached == null ? null : ((CourseAttributes) cached).getCopy();
+        }
+
         Course c = getCourseEntity(courseId);
 
         if (c == null) {
+            putCachedEntity(courseId, null);
             return null;
         }
 
-        return new CourseAttributes(c);
+        CourseAttributes course = new CourseAttributes(c);
+        putCachedEntity(courseId, course.getCopy());
+        return course;
     }
 
     public List<CourseAttributes> getCourses(List<String> courseIds) {
@@ -131,6 +139,7 @@ public class CoursesDb extends EntitiesDb {
 
         log.info(courseToUpdate.getBackupIdentifier());
         getPm().close();
+        invalidateCachedEntities();
     }
 
     /**
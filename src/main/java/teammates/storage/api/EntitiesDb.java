@@ -1,6 +1,7 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -79,6 +80,7 @@ public abstract class EntitiesDb {
         Object entity = entityToAdd.toEntity();
         getPm().makePersistent(entity);
         getPm().flush();
+        onEntitiesWritten(Arrays.asList(entityToAdd));
 
         // Wait for the operation to persist
         int elapsedTime = 0;
@@ -130,6 +132,7 @@ public abstract class EntitiesDb {
 
         getPm().makePersistentAll(entities);
         getPm().flush();
+        onEntitiesWritten(entitiesToAdd);
 
         return entitiesToUpdate;
 
@@ -155,6 +158,7 @@ public abstract class EntitiesDb {
         Object entity = entityToAdd.toEntity();
         getPm().makePersistent(entity);
         getPm().flush();
+        onEntitiesWritten(Arrays.asList(entityToAdd));
 
         // Wait for the operation to persist
         if (Config.PERSISTENCE_CHECK_DURATION > 0) {
@@ -186,10 +190,19 @@ public abstract class EntitiesDb {
      * <br> * {@code courseId} is not null.
      */
     public void deleteEntity(EntityAttributes entityToDelete) {
+        deleteExistingEntity(entityToDelete);
+    }
+
+    /**
+     * Deletes the entity like {@link #deleteEntity}.
+     * @return true if the entity existed and has been deleted
+     */
+    protected boolean deleteExistingEntity(EntityAttributes entityToDelete) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entityToDelete);
 
-        getEntityKeyOnlyQuery(entityToDelete)
+        long deletedCount = getEntityKeyOnlyQuery(entityToDelete)
             .deletePersistentAll();
+        onEntitiesWritten(Arrays.asList(entityToDelete));
 
         // wait for the operation to persist
         if (Config.PERSISTENCE_CHECK_DURATION > 0) {
@@ -212,16 +225,31 @@ public abstract class EntitiesDb {
             }
         }
         log.info(entityToDelete.getBackupIdentifier());
+        return deletedCount > 0;
     }
 
     public void deleteEntities(Collection<? extends EntityAttributes> entitiesToDelete) {
+        deleteExistingEntities(entitiesToDelete);
+    }
+
+    /**
+     * Deletes the entities like {@link #deleteEntities}.
+     * @return the given entities which existed and have been deleted
+     */
+    protected List<EntityAttributes> deleteExistingEntities(Collection<? extends EntityAttributes> entitiesToDelete) {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToDelete);
+        List<EntityAttributes> deletedEntities = new ArrayList<EntityAttributes>();
         for (EntityAttributes entityToDelete : entitiesToDelete) {
             log.info(entityToDelete.getBackupIdentifier());
-            getEntityKeyOnlyQuery(entityToDelete)
+            long deletedCount = getEntityKeyOnlyQuery(entityToDelete)
                 .deletePersistentAll();
+            if (deletedCount > 0) {
+                deletedEntities.add(entityToDelete);
+            }
         }
+        onEntitiesWritten(entitiesToDelete);
+        return deletedEntities;
     }
 
     public void commitOutstandingChanges() {
@@ -269,6 +297,48 @@ public abstract class EntitiesDb {
         return pm;
     }
 
+    /**
+     * Returns a new persistence manager, separate from the one returned by {@link #getPm()},
+     * so that a transaction can be run without the changes pending in the shared one.
+     * The caller is responsible for closing it.
+     */
+    protected PersistenceManager getNewPm() {
+        return PMF.getPersistenceManager();
+    }
+
+    //the followings APIs are used by the request-scoped entity cache
+
+    /**
+     * Returns the value cached by this class for {@code key} in the current request,
+     * or {@link RequestScopedEntityCache#MISS} if there is none.
+     */
+    protected Object getCachedEntity(String key) {
+        return RequestScopedEntityCache.get(getClass(), key);
+    }
+
+    /**
+     * Caches {@code value} for {@code key} in the current request.
+     * {@code value} should not be shared with the caller, as callers are free to modify what they receive.
+     */
+    protected void putCachedEntity(String key, Object value) {
+        RequestScopedEntityCache.put(getClass(), key, value);
+    }
+
+    /**
+     * Discards all values cached by this class in the current request. Must be called after every write.
+     */
+    protected void invalidateCachedEntities() {
+        RequestScopedEntityCache.invalidate(getClass());
+    }
+
+    /**
+     * Called after {@code entities} have been created or deleted through the generic methods of this class.
+     * Subclasses that cache derived data elsewhere should override this to invalidate it as well.
+     */
+    protected void onEntitiesWritten(Collection<? extends EntityAttributes> entities) {
+        invalidateCachedEntities();
+    }
+
     //the followings APIs are used by Teammates' search engine
     protected void putDocument(String indexName, SearchDocument document) {
         try {
@@ -222,6 +222,17 @@ public class FeedbackQuestionsDb extends EntitiesDb {
             .deletePersistentAll();
     }
 
+    /**
+     * Deletes the next chunk of at most {@code limit} questions of the course, starting from {@code cursor}.
+     */
+    CourseEntityChunk deleteChunkForCourse(String courseId, String cursor, int limit) {
+        CourseEntityChunk chunk =
+                CourseEntityChunk.get(FeedbackQuestion.class.getSimpleName(), courseId, cursor, limit, true);
+        chunk.delete();
+        invalidateCachedEntities();
+        return chunk;
+    }
+
     private QueryWithParams getFeedbackQuestionsForCoursesQuery(List<String> courseIds) {
         Query q = getPm().newQuery(FeedbackQuestion.class);
         q.setFilter(":p.contains(courseId)");
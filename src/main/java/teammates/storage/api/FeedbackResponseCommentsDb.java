@@ -11,6 +11,7 @@ import java.util.Map;
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import com.google.appengine.api.datastore.Key;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
 
@@ -101,6 +102,37 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         return new FeedbackResponseCommentAttributes(frc);
     }
 
+    /**
+     * Gets the response comments with the given IDs using a single batch get.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return a map from comment ID to comment, without entries for IDs that are not found.
+     */
+    public Map<Long, FeedbackResponseCommentAttributes> getFeedbackResponseComments(
+                                                     Collection<Long> feedbackResponseCommentIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseCommentIds);
+
+        Map<Long, FeedbackResponseCommentAttributes> comments = new HashMap<Long, FeedbackResponseCommentAttributes>();
+        if (feedbackResponseCommentIds.isEmpty()) {
+            return comments;
+        }
+
+        // a contains() filter on the primary key is executed as a batch get
+        Query q = getPm().newQuery(FeedbackResponseComment.class);
+        q.setFilter(":p.contains(feedbackResponseCommentId)");
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponseComment> frcList =
+                (List<FeedbackResponseComment>) q.execute(new ArrayList<Long>(feedbackResponseCommentIds));
+
+        for (FeedbackResponseComment frc : frcList) {
+            if (!JDOHelper.isDeleted(frc)) {
+                comments.put(frc.getFeedbackResponseCommentId(), new FeedbackResponseCommentAttributes(frc));
+            }
+        }
+        return comments;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -214,6 +246,21 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         deleteFeedbackResponseCommentsForCourses(Arrays.asList(courseId));
     }
 
+    /**
+     * Deletes the next chunk of at most {@code limit} response comments of the course, starting from {@code cursor},
+     * together with their search documents.
+     */
+    CourseEntityChunk deleteChunkForCourse(String courseId, String cursor, int limit) {
+        CourseEntityChunk chunk =
+                CourseEntityChunk.get(FeedbackResponseComment.class.getSimpleName(), courseId, cursor, limit, true);
+        for (Key key : chunk.getKeys()) {
+            deleteDocument(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, String.valueOf(key.getId()));
+        }
+        chunk.delete();
+        invalidateCachedEntities();
+        return chunk;
+    }
+
     private QueryWithParams getFeedbackResponseCommentsForCoursesQuery(List<String> courseIds) {
         Query q = getPm().newQuery(FeedbackResponseComment.class);
         q.setFilter(":p.contains(courseId)");
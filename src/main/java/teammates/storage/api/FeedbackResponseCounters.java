@@ -0,0 +1,424 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.EntityNotFoundException;
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
+import com.google.appengine.api.datastore.Query;
+import com.google.appengine.api.datastore.Query.CompositeFilterOperator;
+import com.google.appengine.api.datastore.Query.FilterOperator;
+import com.google.appengine.api.datastore.Query.FilterPredicate;
+import com.google.appengine.api.datastore.Transaction;
+import com.google.appengine.api.datastore.TransactionOptions;
+
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.util.Logger;
+
+/**
+ * Maintains persisted counts of the responses to each feedback question.
+ *
+ * <p>The count of a question is spread over up to {@link #SHARD_COUNT} shards chosen by the hash of the giver,
+ * so that concurrent submissions seldom contend. The shards changed by one write are updated together
+ * in cross-group transactions of up to {@link #MAX_SHARDS_PER_TRANSACTION} shards.
+ * The counts of a session are read with a single query over the shards of the session.
+ *
+ * <p>As responses are written outside of these transactions, the counts may drift if a request fails
+ * between the two writes. The counts of a session are only reported after they have been rebuilt
+ * from the responses once with {@link #reconcileResponseCountsForSession}, or if the session was created
+ * after counting started, and can be rebuilt again at any time.
+ */
+public class FeedbackResponseCounters {
+
+    /**
+     * Maximum number of shards over which the count of a question is spread.
+     */
+    public static final int SHARD_COUNT = 8;
+
+    /**
+     * Maximum number of shards updated in one transaction, which is the limit of entity groups
+     * in a cross-group transaction.
+     */
+    public static final int MAX_SHARDS_PER_TRANSACTION = 25;
+
+    /**
+     * Time after which a rebuild of the counts of a session may be scheduled again
+     * if the counts have still not been initialized, e.g. because the scheduled rebuild failed.
+     */
+    public static final long REBUILD_RESCHEDULING_INTERVAL_MILLIS = 60 * 60 * 1000L;
+
+    private static final String COUNTER_KIND = "FeedbackResponseCounterShard";
+    private static final String STATUS_KIND = "FeedbackResponseCounterStatus";
+
+    private static final String PROPERTY_COURSE_ID = "courseId";
+    private static final String PROPERTY_FEEDBACK_SESSION_NAME = "feedbackSessionName";
+    private static final String PROPERTY_FEEDBACK_QUESTION_ID = "feedbackQuestionId";
+    private static final String PROPERTY_COUNT = "count";
+    private static final String PROPERTY_INITIALIZED_AT = "initializedAt";
+    private static final String PROPERTY_REBUILD_SCHEDULED_AT = "rebuildScheduledAt";
+
+    private static final int MAX_TRANSACTION_ATTEMPTS = 5;
+
+    private static final Logger log = Logger.getLogger();
+
+    private final DatastoreService datastore;
+
+    public FeedbackResponseCounters() {
+        this(DatastoreServiceFactory.getDatastoreService());
+    }
+
+    /**
+     * Creates an instance which reads and writes the counts through {@code datastore}.
+     */
+    public FeedbackResponseCounters(DatastoreService datastore) {
+        this.datastore = datastore;
+    }
+
+    /**
+     * Adds {@code delta} to the counts of the questions of the responses, once for every response.
+     */
+    public void addToResponseCounts(Collection<FeedbackResponseAttributes> responses, long delta) {
+        Map<Key, Entity> shardTemplates = new HashMap<Key, Entity>();
+        Map<Key, Long> deltas = new HashMap<Key, Long>();
+
+        for (FeedbackResponseAttributes response : responses) {
+            Entity template = createCounterEntity(response.feedbackSessionName, response.courseId,
+                                                  response.feedbackQuestionId, getShardIndex(response.giver));
+            Key key = template.getKey();
+            shardTemplates.put(key, template);
+            deltas.put(key, deltas.containsKey(key) ? deltas.get(key) + delta : delta);
+        }
+
+        addToShards(new ArrayList<Entity>(shardTemplates.values()), deltas);
+    }
+
+    /**
+     * Returns the number of responses to each question of the session which has at least one response,
+     * or {@code null} if the counts of the session have never been initialized.
+     */
+    public Map<String, Integer> getResponseCountsForSession(String feedbackSessionName, String courseId) {
+        if (!isInitialized(feedbackSessionName, courseId)) {
+            return null;
+        }
+
+        Map<String, Integer> counts = new HashMap<String, Integer>();
+        for (Entity shard : getShardsForSession(feedbackSessionName, courseId, false)) {
+            String questionId = (String) shard.getProperty(PROPERTY_FEEDBACK_QUESTION_ID);
+            int count = ((Long) shard.getProperty(PROPERTY_COUNT)).intValue();
+            Integer total = counts.get(questionId);
+            counts.put(questionId, total == null ? count : total + count);
+        }
+
+        // shards of questions whose responses have all been deleted remain with a count of 0
+        List<String> questionsWithoutResponses = new ArrayList<String>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() <= 0) {
+                questionsWithoutResponses.add(entry.getKey());
+            }
+        }
+        for (String questionId : questionsWithoutResponses) {
+            counts.remove(questionId);
+        }
+        return counts;
+    }
+
+    /**
+     * Replaces the counts of the session by {@code responseCounts}, a map from question ID to the
+     * number of responses to the question, and marks the counts of the session as initialized.
+     */
+    public void setResponseCountsForSession(String feedbackSessionName, String courseId,
+                                            Map<String, Integer> responseCounts) {
+        deleteShards(getShardsForSession(feedbackSessionName, courseId, true));
+
+        List<Entity> shards = new ArrayList<Entity>();
+        for (Map.Entry<String, Integer> entry : responseCounts.entrySet()) {
+            Entity shard = createCounterEntity(feedbackSessionName, courseId, entry.getKey(), 0);
+            shard.setUnindexedProperty(PROPERTY_COUNT, entry.getValue().longValue());
+            shards.add(shard);
+        }
+
+        shards.add(createStatusEntity(feedbackSessionName, courseId));
+
+        datastore.put(shards);
+    }
+
+    /**
+     * Deletes the counts of the session, which will have to be initialized again before they are reported.
+     */
+    public void deleteResponseCountsForSession(String feedbackSessionName, String courseId) {
+        deleteShards(getShardsForSession(feedbackSessionName, courseId, true));
+        datastore.delete(getStatusKey(feedbackSessionName, courseId));
+    }
+
+    /**
+     * Deletes the counts of all sessions in the courses.
+     */
+    public void deleteResponseCountsForCourses(Collection<String> courseIds) {
+        for (String courseId : courseIds) {
+            for (String kind : new String[] {COUNTER_KIND, STATUS_KIND}) {
+                Query query = new Query(kind)
+                        .setFilter(new FilterPredicate(PROPERTY_COURSE_ID, FilterOperator.EQUAL, courseId))
+                        .setKeysOnly();
+                deleteShards(datastore.prepare(query).asIterable());
+            }
+        }
+    }
+
+    /**
+     * Deletes the next chunk of at most {@code limit} count shards of the sessions of the course,
+     * starting from {@code cursor}.
+     */
+    CourseEntityChunk deleteShardChunkForCourse(String courseId, String cursor, int limit) {
+        CourseEntityChunk chunk = CourseEntityChunk.get(COUNTER_KIND, courseId, cursor, limit, true);
+        chunk.delete();
+        return chunk;
+    }
+
+    /**
+     * Deletes the next chunk of at most {@code limit} count statuses of the sessions of the course,
+     * starting from {@code cursor}.
+     */
+    CourseEntityChunk deleteStatusChunkForCourse(String courseId, String cursor, int limit) {
+        CourseEntityChunk chunk = CourseEntityChunk.get(STATUS_KIND, courseId, cursor, limit, true);
+        chunk.delete();
+        return chunk;
+    }
+
+    /**
+     * Returns the sum of the shards of each of the given questions of the session,
+     * including questions whose count is 0. The shards are read by key, so the sums include
+     * every update committed before the call.
+     */
+    public Map<String, Long> getResponseCountTotals(String feedbackSessionName, String courseId,
+                                                    Collection<String> feedbackQuestionIds) {
+        Map<Key, String> questionIdsByKey = new HashMap<Key, String>();
+        Map<String, Long> totals = new HashMap<String, Long>();
+        for (String questionId : feedbackQuestionIds) {
+            for (int shardIndex = 0; shardIndex < SHARD_COUNT; shardIndex++) {
+                Key key = createCounterEntity(feedbackSessionName, courseId, questionId, shardIndex).getKey();
+                questionIdsByKey.put(key, questionId);
+            }
+            totals.put(questionId, 0L);
+        }
+
+        for (Entity shard : datastore.get(questionIdsByKey.keySet()).values()) {
+            String questionId = questionIdsByKey.get(shard.getKey());
+            totals.put(questionId, totals.get(questionId) + (Long) shard.getProperty(PROPERTY_COUNT));
+        }
+        return totals;
+    }
+
+    /**
+     * Corrects the counts of the session to the numbers of responses in {@code responseCounts}, which were
+     * counted from the stored responses after {@code totalsBeforeRecount} were read with
+     * {@link #getResponseCountTotals}, and marks the counts of the session as initialized.
+     *
+     * <p>Responses written while the responses were counted may or may not have been counted. If any of the
+     * totals has changed since it was read, nothing is corrected and the responses have to be counted again.
+     * Otherwise the difference is added to the counts rather than replacing them, so that
+     * writes made after the totals are read again are kept.
+     *
+     * @return true if the counts were corrected
+     */
+    public boolean reconcileResponseCountsForSession(String feedbackSessionName, String courseId,
+                                                     Map<String, Long> totalsBeforeRecount,
+                                                     Map<String, Integer> responseCounts) {
+        Map<String, Long> totals = getResponseCountTotals(feedbackSessionName, courseId, totalsBeforeRecount.keySet());
+        if (!totals.equals(totalsBeforeRecount)) {
+            log.info("Responses to " + feedbackSessionName + "/" + courseId + " were written while they were counted");
+            return false;
+        }
+
+        List<Entity> shardTemplates = new ArrayList<Entity>();
+        Map<Key, Long> deltas = new HashMap<Key, Long>();
+        for (Map.Entry<String, Long> total : totals.entrySet()) {
+            Integer responseCount = responseCounts.get(total.getKey());
+            long delta = (responseCount == null ? 0 : responseCount) - total.getValue();
+            if (delta != 0) {
+                Entity template = createCounterEntity(feedbackSessionName, courseId, total.getKey(), 0);
+                shardTemplates.add(template);
+                deltas.put(template.getKey(), delta);
+            }
+        }
+        addToShards(shardTemplates, deltas);
+
+        datastore.put(createStatusEntity(feedbackSessionName, courseId));
+        return true;
+    }
+
+    /**
+     * Records that a rebuild of the counts of the session is being scheduled, unless the counts
+     * have been initialized or a rebuild was scheduled less than {@link #REBUILD_RESCHEDULING_INTERVAL_MILLIS} ago.
+     *
+     * @return true if the rebuild is to be scheduled by the caller
+     */
+    public boolean markRebuildScheduled(String feedbackSessionName, String courseId) {
+        Key statusKey = getStatusKey(feedbackSessionName, courseId);
+        for (int attempt = 1; attempt <= MAX_TRANSACTION_ATTEMPTS; attempt++) {
+            Transaction txn = datastore.beginTransaction();
+            try {
+                Entity status;
+                try {
+                    status = datastore.get(txn, statusKey);
+                } catch (EntityNotFoundException e) {
+                    status = new Entity(statusKey);
+                    status.setProperty(PROPERTY_COURSE_ID, courseId);
+                    status.setProperty(PROPERTY_FEEDBACK_SESSION_NAME, feedbackSessionName);
+                }
+
+                Date scheduledAt = (Date) status.getProperty(PROPERTY_REBUILD_SCHEDULED_AT);
+                long now = System.currentTimeMillis();
+                boolean isInitialized = status.getProperty(PROPERTY_INITIALIZED_AT) != null;
+                boolean isScheduledRecently =
+                        scheduledAt != null && now - scheduledAt.getTime() < REBUILD_RESCHEDULING_INTERVAL_MILLIS;
+                if (isInitialized || isScheduledRecently) {
+                    return false;
+                }
+
+                status.setUnindexedProperty(PROPERTY_REBUILD_SCHEDULED_AT, new Date(now));
+                datastore.put(txn, status);
+                txn.commit();
+                return true;
+            } catch (ConcurrentModificationException e) {
+                log.info("Contention on response counter status " + statusKey + ", attempt " + attempt);
+            } finally {
+                if (txn.isActive()) {
+                    txn.rollback();
+                }
+            }
+        }
+        // another request is scheduling the rebuild
+        return false;
+    }
+
+    private boolean isInitialized(String feedbackSessionName, String courseId) {
+        try {
+            Entity status = datastore.get(getStatusKey(feedbackSessionName, courseId));
+            return status.getProperty(PROPERTY_INITIALIZED_AT) != null;
+        } catch (EntityNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Adds the deltas to the shards, creating the shards from their templates if they do not exist yet.
+     * The shards are updated in transactions of up to {@link #MAX_SHARDS_PER_TRANSACTION} shards.
+     */
+    private void addToShards(List<Entity> shardTemplates, Map<Key, Long> deltas) {
+        for (int from = 0; from < shardTemplates.size(); from += MAX_SHARDS_PER_TRANSACTION) {
+            List<Entity> batch = shardTemplates.subList(
+                    from, Math.min(from + MAX_SHARDS_PER_TRANSACTION, shardTemplates.size()));
+            addToShardsInTransaction(batch, deltas);
+        }
+    }
+
+    private void addToShardsInTransaction(List<Entity> shardTemplates, Map<Key, Long> deltas) {
+        List<Key> keys = new ArrayList<Key>();
+        for (Entity template : shardTemplates) {
+            keys.add(template.getKey());
+        }
+        TransactionOptions options = TransactionOptions.Builder.withXG(keys.size() > 1);
+
+        for (int attempt = 1; attempt <= MAX_TRANSACTION_ATTEMPTS; attempt++) {
+            Transaction txn = datastore.beginTransaction(options);
+            try {
+                Map<Key, Entity> existingShards = datastore.get(txn, keys);
+                List<Entity> shards = new ArrayList<Entity>();
+                for (Entity template : shardTemplates) {
+                    Entity shard = existingShards.get(template.getKey());
+                    if (shard == null) {
+                        shard = template.clone();
+                        shard.setUnindexedProperty(PROPERTY_COUNT, 0L);
+                    }
+                    shard.setUnindexedProperty(PROPERTY_COUNT,
+                            (Long) shard.getProperty(PROPERTY_COUNT) + deltas.get(shard.getKey()));
+                    shards.add(shard);
+                }
+                datastore.put(txn, shards);
+                txn.commit();
+                return;
+            } catch (ConcurrentModificationException e) {
+                log.info("Contention on response counters " + keys + ", attempt " + attempt);
+            } finally {
+                if (txn.isActive()) {
+                    txn.rollback();
+                }
+            }
+        }
+        log.warning("Unable to update response counters " + keys + " by " + deltas
+                    + ", the counts of their sessions will be rebuilt");
+        invalidateCounts(shardTemplates);
+    }
+
+    /**
+     * Deletes the statuses of the sessions of the shards, so that their counts are no longer reported
+     * and are rebuilt from the responses the next time they are needed.
+     */
+    private void invalidateCounts(List<Entity> shardTemplates) {
+        Set<Key> statusKeys = new HashSet<Key>();
+        for (Entity template : shardTemplates) {
+            statusKeys.add(getStatusKey((String) template.getProperty(PROPERTY_FEEDBACK_SESSION_NAME),
+                                        (String) template.getProperty(PROPERTY_COURSE_ID)));
+        }
+        datastore.delete(statusKeys);
+    }
+
+    private Iterable<Entity> getShardsForSession(String feedbackSessionName, String courseId, boolean isKeysOnly) {
+        Query query = new Query(COUNTER_KIND).setFilter(CompositeFilterOperator.and(
+                new FilterPredicate(PROPERTY_COURSE_ID, FilterOperator.EQUAL, courseId),
+                new FilterPredicate(PROPERTY_FEEDBACK_SESSION_NAME, FilterOperator.EQUAL, feedbackSessionName)));
+        if (isKeysOnly) {
+            query.setKeysOnly();
+        }
+        return datastore.prepare(query).asIterable();
+    }
+
+    private void deleteShards(Iterable<Entity> shards) {
+        List<Key> keys = new ArrayList<Key>();
+        for (Entity shard : shards) {
+            keys.add(shard.getKey());
+        }
+        datastore.delete(keys);
+    }
+
+    private static Entity createCounterEntity(String feedbackSessionName, String courseId,
+                                              String feedbackQuestionId, int shardIndex) {
+        Entity shard = new Entity(KeyFactory.createKey(COUNTER_KIND,
+                feedbackSessionName + "%" + courseId + "%" + feedbackQuestionId + "%" + shardIndex));
+        shard.setProperty(PROPERTY_COURSE_ID, courseId);
+        shard.setProperty(PROPERTY_FEEDBACK_SESSION_NAME, feedbackSessionName);
+        shard.setUnindexedProperty(PROPERTY_FEEDBACK_QUESTION_ID, feedbackQuestionId);
+        return shard;
+    }
+
+    /**
+     * Creates the status of the counts of the session, marked as initialized now.
+     */
+    private static Entity createStatusEntity(String feedbackSessionName, String courseId) {
+        Entity status = new Entity(getStatusKey(feedbackSessionName, courseId));
+        status.setProperty(PROPERTY_COURSE_ID, courseId);
+        status.setProperty(PROPERTY_FEEDBACK_SESSION_NAME, feedbackSessionName);
+        status.setUnindexedProperty(PROPERTY_INITIALIZED_AT, new Date());
+        return status;
+    }
+
+    private static Key getStatusKey(String feedbackSessionName, String courseId) {
+        return KeyFactory.createKey(STATUS_KIND, feedbackSessionName + "%" + courseId);
+    }
+
+    private static int getShardIndex(String giver) {
+        return Math.abs(giver.hashCode() % SHARD_COUNT);
+    }
+
+}
@@ -1,20 +1,36 @@
 package teammates.storage.api;
 
+import static teammates.storage.api.LowLevelFeedbackResponseStore.PROPERTY_COURSE_ID;
+import static teammates.storage.api.LowLevelFeedbackResponseStore.PROPERTY_FEEDBACK_QUESTION_ID;
+import static teammates.storage.api.LowLevelFeedbackResponseStore.PROPERTY_FEEDBACK_SESSION_NAME;
+import static teammates.storage.api.LowLevelFeedbackResponseStore.PROPERTY_GIVER_EMAIL;
+import static teammates.storage.api.LowLevelFeedbackResponseStore.PROPERTY_GIVER_SECTION;
+import static teammates.storage.api.LowLevelFeedbackResponseStore.PROPERTY_RECEIVER;
+import static teammates.storage.api.LowLevelFeedbackResponseStore.PROPERTY_RECEIVER_SECTION;
+import static teammates.storage.api.LowLevelFeedbackResponseStore.and;
+import static teammates.storage.api.LowLevelFeedbackResponseStore.equal;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import com.google.appengine.api.datastore.FetchOptions;
+import com.google.appengine.api.datastore.Query.Filter;
+
 import teammates.common.datatransfer.attributes.EntityAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
+import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.Logger;
 import teammates.storage.entity.FeedbackResponse;
@@ -22,13 +38,54 @@ import teammates.storage.entity.FeedbackResponse;
 /**
  * Handles CRUD operations for feedback responses.
  *
+ * <p>If enabled in the configuration, responses are read and written through the low-level Datastore API,
+ * which maps entities directly to attributes without the overhead of JDO. The methods which take or return
+ * {@link FeedbackResponse} entities always use JDO, and write to the same entities.
+ *
  * @see FeedbackResponse
  * @see FeedbackResponseAttributes
  */
 public class FeedbackResponsesDb extends EntitiesDb {
 
+    /**
+     * Number of responses fetched from the Datastore at a time by the response iterators, unless specified otherwise.
+     */
+    public static final int RESPONSE_ITERATOR_CHUNK_SIZE = 500;
+
     private static final Logger log = Logger.getLogger();
 
+    private FeedbackResponseCounters responseCounters = new FeedbackResponseCounters();
+
+    private final LowLevelFeedbackResponseStore lowLevelStore = new LowLevelFeedbackResponseStore();
+
+    private final boolean isUsingLowLevelApi;
+
+    private final int responseIteratorChunkSize;
+
+    public FeedbackResponsesDb() {
+        this(Config.IS_RESPONSE_LOW_LEVEL_API_ENABLED);
+    }
+
+    /**
+     * Creates an instance which reads and writes responses through the low-level Datastore API
+     * if {@code isUsingLowLevelApi} is true, regardless of the configuration.
+     */
+    public FeedbackResponsesDb(boolean isUsingLowLevelApi) {
+        this(isUsingLowLevelApi, RESPONSE_ITERATOR_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates an instance whose response iterators fetch {@code responseIteratorChunkSize} responses at a time,
+     * e.g. so that tests can iterate over several chunks with few responses.
+     *
+     * @see #FeedbackResponsesDb(boolean)
+     */
+    public FeedbackResponsesDb(boolean isUsingLowLevelApi, int responseIteratorChunkSize) {
+        Assumption.assertTrue(responseIteratorChunkSize > 0);
+        this.isUsingLowLevelApi = isUsingLowLevelApi;
+        this.responseIteratorChunkSize = responseIteratorChunkSize;
+    }
+
     public void createFeedbackResponses(Collection<FeedbackResponseAttributes> responsesToAdd)
             throws InvalidParametersException {
         List<EntityAttributes> responsesToUpdate = createEntities(responsesToAdd);
@@ -50,6 +107,11 @@ public class FeedbackResponsesDb extends EntitiesDb {
      * @return Null if not found.
      */
     public FeedbackResponseAttributes getFeedbackResponse(String feedbackResponseId) {
+        if (isUsingLowLevelApi()) {
+            Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseId);
+            return lowLevelStore.getResponse(feedbackResponseId);
+        }
+
         FeedbackResponse feedbackResponse = getFeedbackResponseEntityWithCheck(feedbackResponseId);
         if (feedbackResponse == null) {
             return null;
@@ -57,6 +119,25 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return new FeedbackResponseAttributes(feedbackResponse);
     }
 
+    /**
+     * Gets the responses with the given IDs using a single batch get.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return a map from response ID to response, without entries for IDs that are not found.
+     */
+    public Map<String, FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        if (isUsingLowLevelApi()) {
+            Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseIds);
+            return lowLevelStore.getResponses(feedbackResponseIds);
+        }
+
+        Map<String, FeedbackResponseAttributes> responses = new HashMap<String, FeedbackResponseAttributes>();
+        for (Map.Entry<String, FeedbackResponse> entry : getFeedbackResponseEntities(feedbackResponseIds).entrySet()) {
+            responses.put(entry.getKey(), new FeedbackResponseAttributes(entry.getValue()));
+        }
+        return responses;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -64,6 +145,18 @@ public class FeedbackResponsesDb extends EntitiesDb {
      */
     public FeedbackResponseAttributes getFeedbackResponse(
             String feedbackQuestionId, String giverEmail, String receiverEmail) {
+        if (isUsingLowLevelApi()) {
+            Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
+            Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmail);
+            Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, receiverEmail);
+
+            FeedbackResponseAttributes response = new FeedbackResponseAttributes();
+            response.feedbackQuestionId = feedbackQuestionId;
+            response.giver = giverEmail;
+            response.recipient = receiverEmail;
+            return lowLevelStore.getResponse(response);
+        }
+
         FeedbackResponse feedbackResponse =
                 getFeedbackResponseEntityWithCheck(feedbackQuestionId, giverEmail, receiverEmail);
         if (feedbackResponse == null) {
@@ -116,6 +209,35 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fr;
     }
 
+    /**
+     * Gets the response entities with the given IDs using a single batch get.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return a map from response ID to entity, without entries for IDs that are not found.
+     */
+    public Map<String, FeedbackResponse> getFeedbackResponseEntities(Collection<String> feedbackResponseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseIds);
+
+        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
+        if (feedbackResponseIds.isEmpty()) {
+            return feedbackResponses;
+        }
+
+        // a contains() filter on the primary key is executed as a batch get
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.setFilter(":p.contains(feedbackResponseId)");
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> frList = (List<FeedbackResponse>) q.execute(new ArrayList<String>(feedbackResponseIds));
+
+        for (FeedbackResponse fr : frList) {
+            if (!JDOHelper.isDeleted(fr)) {
+                feedbackResponses.put(fr.getId(), fr);
+            }
+        }
+        return feedbackResponses;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -136,7 +258,15 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
 
-        List<FeedbackResponse> frList =
+        if (isUsingLowLevelApi()) {
+            return new ArrayList<FeedbackResponseAttributes>(lowLevelStore.getResponsesMatchingAny(
+                    allResults(),
+                    and(isForQuestion(feedbackQuestionId), isInSections(section, section)),
+                    and(isForQuestion(feedbackQuestionId), isInSections(section, Const.DEFAULT_SECTION)),
+                    and(isForQuestion(feedbackQuestionId), isInSections(Const.DEFAULT_SECTION, section))));
+        }
+
+        Collection<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesForQuestionInSection(feedbackQuestionId, section);
         List<FeedbackResponseAttributes> fraList =
                 new ArrayList<FeedbackResponseAttributes>();
@@ -160,6 +290,10 @@ public class FeedbackResponsesDb extends EntitiesDb {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(isForQuestion(feedbackQuestionId), allResults());
+        }
+
         List<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesForQuestion(feedbackQuestionId);
         List<FeedbackResponseAttributes> fraList =
@@ -184,6 +318,10 @@ public class FeedbackResponsesDb extends EntitiesDb {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(isForQuestion(feedbackQuestionId), withinRange(range));
+        }
+
         List<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesForQuestionWithinRange(feedbackQuestionId, range);
         List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
@@ -208,6 +346,10 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(isInSession(feedbackSessionName, courseId), allResults());
+        }
+
         List<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesForSession(feedbackSessionName, courseId);
         List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
@@ -232,6 +374,10 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(isInSession(feedbackSessionName, courseId), withinRange(range));
+        }
+
         List<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesForSessionWithinRange(feedbackSessionName, courseId, range);
         List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
@@ -257,6 +403,11 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
 
+        if (isUsingLowLevelApi()) {
+            return getResponsesInSectionFromLowLevelStore(isInSession(feedbackSessionName, courseId), section,
+                                                          allResults());
+        }
+
         Collection<FeedbackResponse> frList = getFeedbackResponseEntitiesForSessionInSection(feedbackSessionName,
                                                                                       courseId, section);
         List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
@@ -282,6 +433,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(
+                    and(isInSession(feedbackSessionName, courseId), equal(PROPERTY_GIVER_SECTION, section)),
+                    allResults());
+        }
+
         Collection<FeedbackResponse> frList = getFeedbackResponseEntitiesForSessionFromSection(feedbackSessionName,
                                                                                       courseId, section);
         List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
@@ -307,6 +464,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(
+                    and(isInSession(feedbackSessionName, courseId), equal(PROPERTY_RECEIVER_SECTION, section)),
+                    allResults());
+        }
+
         Collection<FeedbackResponse> frList = getFeedbackResponseEntitiesForSessionToSection(feedbackSessionName,
                                                                                       courseId, section);
         List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
@@ -320,6 +483,105 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
 
+    /**
+     * Returns an iterator over the responses of the session which fetches them from the Datastore
+     * in chunks of {@link #RESPONSE_ITERATOR_CHUNK_SIZE} responses, or of the chunk size this instance was created with,
+     * so that the whole session is never held in memory. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public Iterator<FeedbackResponseAttributes> getFeedbackResponseIteratorForSession(
+            final String feedbackSessionName, final String courseId) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        return new FeedbackResponseIterator(responseIteratorChunkSize) {
+            @Override
+            protected QueryWithParams createQuery() {
+                return getFeedbackResponsesForSessionQuery(feedbackSessionName, courseId);
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over the responses of the session given or received in the section.
+     * Each response is returned once, even if both its giver and its recipient are in the section. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @see #getFeedbackResponseIteratorForSession
+     */
+    public Iterator<FeedbackResponseAttributes> getFeedbackResponseIteratorForSessionInSection(
+            final String feedbackSessionName, final String courseId, final String section) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        Iterator<FeedbackResponseAttributes> receivedFromOtherSections =
+                new FeedbackResponseIterator(responseIteratorChunkSize) {
+            @Override
+            protected QueryWithParams createQuery() {
+                return getFeedbackResponsesForSessionInSectionQuery(
+                        feedbackSessionName, courseId, "receiverSection", section);
+            }
+
+            @Override
+            protected FeedbackResponseAttributes toAttributes(FeedbackResponse entity) {
+                // responses given in the section have been returned by the first iterator already
+                return section.equals(entity.getGiverSection()) ? null : super.toAttributes(entity);
+            }
+        };
+
+        return ChunkedQueryIterator.concat(
+                getFeedbackResponseIteratorForSessionFromSection(feedbackSessionName, courseId, section),
+                receivedFromOtherSections);
+    }
+
+    /**
+     * Returns an iterator over the responses of the session given in the section. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @see #getFeedbackResponseIteratorForSession
+     */
+    public Iterator<FeedbackResponseAttributes> getFeedbackResponseIteratorForSessionFromSection(
+            final String feedbackSessionName, final String courseId, final String section) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        return new FeedbackResponseIterator(responseIteratorChunkSize) {
+            @Override
+            protected QueryWithParams createQuery() {
+                return getFeedbackResponsesForSessionInSectionQuery(
+                        feedbackSessionName, courseId, "giverSection", section);
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over the responses of the session received in the section. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @see #getFeedbackResponseIteratorForSession
+     */
+    public Iterator<FeedbackResponseAttributes> getFeedbackResponseIteratorForSessionToSection(
+            final String feedbackSessionName, final String courseId, final String section) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        return new FeedbackResponseIterator(responseIteratorChunkSize) {
+            @Override
+            protected QueryWithParams createQuery() {
+                return getFeedbackResponsesForSessionInSectionQuery(
+                        feedbackSessionName, courseId, "receiverSection", section);
+            }
+        };
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -332,6 +594,11 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
 
+        if (isUsingLowLevelApi()) {
+            return getResponsesInSectionFromLowLevelStore(isInSession(feedbackSessionName, courseId), section,
+                                                          withinRange(range));
+        }
+
         Collection<FeedbackResponse> frList = getFeedbackResponseEntitiesForSessionInSectionWithinRange(feedbackSessionName,
                                                                                       courseId, section, range);
         List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
@@ -357,6 +624,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(
+                    and(isInSession(feedbackSessionName, courseId), equal(PROPERTY_GIVER_SECTION, section)),
+                    withinRange(range));
+        }
+
         Collection<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesForSessionFromSectionWithinRange(feedbackSessionName, courseId, section, range);
         List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
@@ -382,6 +655,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(
+                    and(isInSession(feedbackSessionName, courseId), equal(PROPERTY_RECEIVER_SECTION, section)),
+                    withinRange(range));
+        }
+
         Collection<FeedbackResponse> frList = getFeedbackResponseEntitiesForSessionToSectionWithinRange(feedbackSessionName,
                                                                                       courseId, section, range);
         List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
@@ -406,6 +685,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, receiver);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(
+                    and(isForQuestion(feedbackQuestionId), equal(PROPERTY_RECEIVER, receiver)),
+                    allResults());
+        }
+
         List<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesForReceiverForQuestion(feedbackQuestionId, receiver);
         List<FeedbackResponseAttributes> fraList =
@@ -432,6 +717,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, receiver);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
 
+        if (isUsingLowLevelApi()) {
+            return getResponsesInSectionFromLowLevelStore(
+                    and(isForQuestion(feedbackQuestionId), equal(PROPERTY_RECEIVER, receiver)),
+                    section, allResults());
+        }
+
         Collection<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesForReceiverForQuestionInSection(feedbackQuestionId, receiver, section);
         List<FeedbackResponseAttributes> fraList =
@@ -457,6 +748,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmail);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(
+                    and(isForQuestion(feedbackQuestionId), equal(PROPERTY_GIVER_EMAIL, giverEmail)),
+                    allResults());
+        }
+
         List<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesFromGiverForQuestion(feedbackQuestionId, giverEmail);
         List<FeedbackResponseAttributes> fraList =
@@ -483,6 +780,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmail);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
 
+        if (isUsingLowLevelApi()) {
+            return getResponsesInSectionFromLowLevelStore(
+                    and(isForQuestion(feedbackQuestionId), equal(PROPERTY_GIVER_EMAIL, giverEmail)),
+                    section, allResults());
+        }
+
         Collection<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesFromGiverForQuestionInSection(feedbackQuestionId, giverEmail, section);
         List<FeedbackResponseAttributes> fraList =
@@ -509,6 +812,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(
+                    and(equal(PROPERTY_GIVER_EMAIL, giverEmail), isInSession(feedbackSessionName, courseId)),
+                    withinRange(range));
+        }
+
         Collection<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesFromGiverForSessionWithinRange(giverEmail, feedbackSessionName, courseId, range);
         List<FeedbackResponseAttributes> fraList =
@@ -523,6 +832,41 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
 
+    /**
+     * Gets the responses of a session given by or to any of {@code participants},
+     * with a query by giver and a query by recipient for each participant. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return An empty list if no such responses are found.
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponsesForSessionFromOrToParticipants(
+            String feedbackSessionName, String courseId, Collection<String> participants) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, participants);
+
+        if (participants.isEmpty()) {
+            return new ArrayList<FeedbackResponseAttributes>();
+        }
+
+        if (isUsingLowLevelApi()) {
+            return new ArrayList<FeedbackResponseAttributes>(lowLevelStore.getResponsesMatchingAny(
+                    allResults(), getFromOrToParticipantsFilters(feedbackSessionName, courseId, participants)));
+        }
+
+        Collection<FeedbackResponse> frList =
+                getFeedbackResponseEntitiesForSessionFromOrToParticipants(feedbackSessionName, courseId, participants);
+        List<FeedbackResponseAttributes> fraList =
+                new ArrayList<FeedbackResponseAttributes>();
+
+        for (FeedbackResponse fr : frList) {
+            fraList.add(new FeedbackResponseAttributes(fr));
+        }
+
+        return fraList;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -534,6 +878,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, receiver);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(
+                    and(equal(PROPERTY_COURSE_ID, courseId), equal(PROPERTY_RECEIVER, receiver)),
+                    allResults());
+        }
+
         List<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesForReceiverForCourse(courseId, receiver);
         List<FeedbackResponseAttributes> fraList =
@@ -559,6 +909,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmail);
 
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(
+                    and(equal(PROPERTY_COURSE_ID, courseId), equal(PROPERTY_GIVER_EMAIL, giverEmail)),
+                    allResults());
+        }
+
         List<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesFromGiverForCourse(courseId, giverEmail);
         List<FeedbackResponseAttributes> fraList =
@@ -606,6 +962,13 @@ public class FeedbackResponsesDb extends EntitiesDb {
             throw new InvalidParametersException(newAttributes.getInvalidityInfo());
         }
 
+        if (isUsingLowLevelApi()) {
+            lowLevelStore.updateResponse(newAttributes, keepUpdateTimestamp);
+            onLowLevelWrite(Arrays.asList(newAttributes));
+            log.info(newAttributes.getBackupIdentifier());
+            return;
+        }
+
         FeedbackResponse fr = (FeedbackResponse) getEntity(newAttributes);
 
         updateFeedbackResponseOptimized(newAttributes, fr, keepUpdateTimestamp);
@@ -628,6 +991,14 @@ public class FeedbackResponsesDb extends EntitiesDb {
                 Const.StatusCodes.DBLEVEL_NULL_INPUT,
                 newAttributes);
 
+        verifyFeedbackResponseUpdate(newAttributes, fr);
+        setFeedbackResponseFields(newAttributes, fr, keepUpdateTimestamp);
+        getPm().close();
+    }
+
+    private void verifyFeedbackResponseUpdate(FeedbackResponseAttributes newAttributes, FeedbackResponse fr)
+            throws InvalidParametersException, EntityDoesNotExistException {
+
         //TODO: Sanitize values and update tests accordingly
 
         if (!newAttributes.isValid()) {
@@ -638,7 +1009,10 @@ public class FeedbackResponsesDb extends EntitiesDb {
             throw new EntityDoesNotExistException(
                     ERROR_UPDATE_NON_EXISTENT + newAttributes.toString());
         }
+    }
 
+    private void setFeedbackResponseFields(FeedbackResponseAttributes newAttributes, FeedbackResponse fr,
+            boolean keepUpdateTimestamp) {
         fr.keepUpdateTimestamp = keepUpdateTimestamp;
         fr.setAnswer(newAttributes.responseMetaData);
         fr.setRecipientEmail(newAttributes.recipient);
@@ -646,7 +1020,6 @@ public class FeedbackResponsesDb extends EntitiesDb {
         fr.setRecipientSection(newAttributes.recipientSection);
 
         log.info(newAttributes.getBackupIdentifier());
-        getPm().close();
     }
 
     public void updateFeedbackResponseOptimized(FeedbackResponseAttributes newAttributes, FeedbackResponse fr)
@@ -654,6 +1027,32 @@ public class FeedbackResponsesDb extends EntitiesDb {
         updateFeedbackResponseOptimized(newAttributes, fr, false);
     }
 
+    /**
+     * Updates the given responses in place and commits all the changes at once.
+     * All the responses are checked first, so nothing is updated if any of them is invalid or does not exist;
+     * callers that need to update the other responses regardless should leave out the invalid ones.
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     * * {@code entitiesById} contains the entities retrieved in the current request for the responses,
+     * e.g. by {@link #getFeedbackResponseEntities(Collection)}.
+     */
+    public void updateFeedbackResponsesOptimized(List<FeedbackResponseAttributes> newAttributesList,
+                                                 Map<String, FeedbackResponse> entitiesById)
+            throws InvalidParametersException, EntityDoesNotExistException {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newAttributesList);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesById);
+
+        for (FeedbackResponseAttributes newAttributes : newAttributesList) {
+            verifyFeedbackResponseUpdate(newAttributes, entitiesById.get(newAttributes.getId()));
+        }
+
+        for (FeedbackResponseAttributes newAttributes : newAttributesList) {
+            setFeedbackResponseFields(newAttributes, entitiesById.get(newAttributes.getId()), false);
+        }
+        getPm().close();
+    }
+
     public void deleteFeedbackResponsesForCourse(String courseId) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
@@ -663,8 +1062,28 @@ public class FeedbackResponsesDb extends EntitiesDb {
     public void deleteFeedbackResponsesForCourses(List<String> courseIds) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
 
-        getFeedbackResponsesForCoursesQuery(courseIds)
-            .deletePersistentAll();
+        if (isUsingLowLevelApi()) {
+            lowLevelStore.deleteResponsesForCourses(courseIds);
+            onLowLevelWrite(new ArrayList<FeedbackResponseAttributes>());
+        } else {
+            getFeedbackResponsesForCoursesQuery(courseIds)
+                .deletePersistentAll();
+        }
+        responseCounters.deleteResponseCountsForCourses(courseIds);
+    }
+
+    /**
+     * Deletes the next chunk of at most {@code limit} responses of the course, starting from {@code cursor}.
+     * The response counts of the course are not deleted.
+     */
+    CourseEntityChunk deleteChunkForCourse(String courseId, String cursor, int limit) {
+        CourseEntityChunk chunk =
+                CourseEntityChunk.get(FeedbackResponse.class.getSimpleName(), courseId, cursor, limit, true);
+        chunk.delete();
+        // responses loaded by JDO earlier in the request would otherwise still be returned
+        getPm().evictAll();
+        invalidateCachedEntities();
+        return chunk;
     }
 
     private QueryWithParams getFeedbackResponsesForCoursesQuery(List<String> courseIds) {
@@ -679,6 +1098,10 @@ public class FeedbackResponsesDb extends EntitiesDb {
     }
 
     public List<FeedbackResponseAttributes> getFeedbackResponsesForCourse(String courseId) {
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.getResponses(equal(PROPERTY_COURSE_ID, courseId), allResults());
+        }
+
         List<FeedbackResponse> frList =
                 getFeedbackResponseEntitiesForCourse(courseId);
         List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
@@ -705,6 +1128,9 @@ public class FeedbackResponsesDb extends EntitiesDb {
      */
     public boolean hasFeedbackResponseEntitiesForCourse(String courseId) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        if (isUsingLowLevelApi()) {
+            return lowLevelStore.hasResponses(equal(PROPERTY_COURSE_ID, courseId));
+        }
         return !getFeedbackResponseEntitiesForCourseWithinRange(courseId, 1).isEmpty();
     }
 
@@ -754,33 +1180,14 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses.get(0);
     }
 
-    private List<FeedbackResponse> getFeedbackResponseEntitiesForQuestionInSection(
+    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForQuestionInSection(
                 String feedbackQuestionId, String section) {
 
-        List<FeedbackResponse> feedbackResponses = new ArrayList<FeedbackResponse>();
-
-        Query q = getPm().newQuery(FeedbackResponse.class);
-        q.declareParameters("String feedbackQuestionIdParam, String giverSectionParam, String receiverSectionParam");
-        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam "
-                    + "&& giverSection == giverSectionParam "
-                    + "&& receiverSection == receiverSectionParam");
-
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackQuestionId, section, section);
-        feedbackResponses.addAll(firstQueryResponses);
-
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackQuestionId, section, "None");
-        feedbackResponses.addAll(secondQueryResponses);
-
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> thirdQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackQuestionId, "None", section);
-        feedbackResponses.addAll(thirdQueryResponses);
-
-        return feedbackResponses;
+        return getFeedbackResponseEntitiesMatchingAny(
+                allResults(),
+                and(isForQuestion(feedbackQuestionId), isInSections(section, section)),
+                and(isForQuestion(feedbackQuestionId), isInSections(section, Const.DEFAULT_SECTION)),
+                and(isForQuestion(feedbackQuestionId), isInSections(Const.DEFAULT_SECTION, section)));
     }
 
     private List<FeedbackResponse> getFeedbackResponseEntitiesForQuestion(
@@ -824,6 +1231,26 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
 
+    private QueryWithParams getFeedbackResponsesForSessionQuery(String feedbackSessionName, String courseId) {
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        return new QueryWithParams(q, new Object[] {feedbackSessionName, courseId});
+    }
+
+    /**
+     * Returns a query for the responses of the session whose {@code sectionField} is {@code section}.
+     */
+    private QueryWithParams getFeedbackResponsesForSessionInSectionQuery(
+            String feedbackSessionName, String courseId, String sectionField, String section) {
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam "
+                    + "&& courseId == courseIdParam "
+                    + "&& " + sectionField + " == sectionParam");
+        return new QueryWithParams(q, new Object[] {feedbackSessionName, courseId, section});
+    }
+
     private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionWithinRange(
             String feedbackSessionName, String courseId, long range) {
 
@@ -842,36 +1269,7 @@ public class FeedbackResponsesDb extends EntitiesDb {
     private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSection(
             String feedbackSessionName, String courseId, String section) {
 
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-
-        Query q = getPm().newQuery(FeedbackResponse.class);
-        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam "
-                    + "&& courseId == courseIdParam "
-                    + "&& giverSection == sectionParam");
-
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam "
-                    + "&& courseId == courseIdParam "
-                    + "&& receiverSection == sectionParam");
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-
-        return feedbackResponses.values();
+        return getFeedbackResponseEntitiesInSection(isInSession(feedbackSessionName, courseId), section, allResults());
     }
 
     private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionFromSection(
@@ -909,38 +1307,8 @@ public class FeedbackResponsesDb extends EntitiesDb {
     private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSectionWithinRange(
             String feedbackSessionName, String courseId, String section, long range) {
 
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-
-        Query q = getPm().newQuery(FeedbackResponse.class);
-        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam "
-                    + "&& courseId == courseIdParam "
-                    + "&& giverSection == sectionParam");
-        q.setRange(0, range + 1);
-
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam "
-                    + "&& courseId == courseIdParam "
-                    + "&& receiverSection == sectionParam");
-        q.setRange(0, range + 1);
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-
-        return feedbackResponses.values();
+        return getFeedbackResponseEntitiesInSection(isInSession(feedbackSessionName, courseId), section,
+                                                    withinRange(range));
     }
 
     private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionFromSectionWithinRange(
@@ -994,34 +1362,8 @@ public class FeedbackResponsesDb extends EntitiesDb {
     private Collection<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForQuestionInSection(
             String feedbackQuestionId, String receiver, String section) {
 
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-
-        Query q = getPm().newQuery(FeedbackResponse.class);
-        q.declareParameters("String feedbackQuestionIdParam, String receiverParam, String sectionParam");
-        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && receiver == receiverParam "
-                    + "&& giverSection == sectionParam");
-
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackQuestionId, receiver, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-
-        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && receiver == receiverParam "
-                + "&& receiverSection == sectionParam");
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackQuestionId, receiver, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-
-        return feedbackResponses.values();
+        return getFeedbackResponseEntitiesInSection(
+                and(isForQuestion(feedbackQuestionId), equal(PROPERTY_RECEIVER, receiver)), section, allResults());
     }
 
     private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForQuestion(
@@ -1041,34 +1383,29 @@ public class FeedbackResponsesDb extends EntitiesDb {
     private Collection<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForQuestionInSection(
             String feedbackQuestionId, String giverEmail, String section) {
 
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-
-        Query q = getPm().newQuery(FeedbackResponse.class);
-        q.declareParameters("String feedbackQuestionIdParam, String giverEmailParam, String sectionParam");
-        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && giverEmail == giverEmailParam "
-                    + "&& giverSection == sectionParam");
-
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackQuestionId, giverEmail, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
+        return getFeedbackResponseEntitiesInSection(
+                and(isForQuestion(feedbackQuestionId), equal(PROPERTY_GIVER_EMAIL, giverEmail)), section, allResults());
+    }
 
-        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && giverEmail == giverEmailParam "
-                + "&& receiverSection == sectionParam");
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackQuestionId, giverEmail, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
+    /**
+     * Returns the response entities matched by {@code filter} which are given or received in the section.
+     */
+    private Collection<FeedbackResponse> getFeedbackResponseEntitiesInSection(
+            Filter filter, String section, FetchOptions options) {
+        return getFeedbackResponseEntitiesMatchingAny(options,
+                and(filter, equal(PROPERTY_GIVER_SECTION, section)),
+                and(filter, equal(PROPERTY_RECEIVER_SECTION, section)));
+    }
 
-        return feedbackResponses.values();
+    /**
+     * Returns the response entities matched by any of {@code filters}, each limited by {@code options},
+     * without duplicates.
+     *
+     * <p>The filters are run concurrently as keys-only queries through the low-level Datastore API,
+     * after which the matched entities are loaded with a single batch get.
+     */
+    private Collection<FeedbackResponse> getFeedbackResponseEntitiesMatchingAny(FetchOptions options, Filter... filters) {
+        return getFeedbackResponseEntities(lowLevelStore.getResponseIdsMatchingAny(options, filters)).values();
     }
 
     private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForSessionWithinRange(
@@ -1088,6 +1425,13 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
 
+    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionFromOrToParticipants(
+            String feedbackSessionName, String courseId, Collection<String> participants) {
+
+        return getFeedbackResponseEntitiesMatchingAny(
+                allResults(), getFromOrToParticipantsFilters(feedbackSessionName, courseId, participants));
+    }
+
     private List<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForCourse(
             String courseId, String receiver) {
 
@@ -1114,6 +1458,190 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
 
+    /**
+     * Returns the number of responses to each question of the session which has at least one response,
+     * or {@code null} if the response counts of the session have not been initialized yet.
+     *
+     * @see FeedbackResponseCounters
+     */
+    public Map<String, Integer> getFeedbackResponseCountsForSession(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        return responseCounters.getResponseCountsForSession(feedbackSessionName, courseId);
+    }
+
+    /**
+     * Replaces the response counts of the session, a map from question ID to the number of responses
+     * to the question, and marks them as initialized.
+     */
+    public void setFeedbackResponseCountsForSession(String feedbackSessionName, String courseId,
+                                                    Map<String, Integer> responseCounts) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responseCounts);
+
+        responseCounters.setResponseCountsForSession(feedbackSessionName, courseId, responseCounts);
+    }
+
+    /**
+     * Returns the sum of the response counters of each of the given questions of the session, read by key.
+     *
+     * @see FeedbackResponseCounters#getResponseCountTotals
+     */
+    public Map<String, Long> getFeedbackResponseCountTotals(String feedbackSessionName, String courseId,
+                                                            Collection<String> feedbackQuestionIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionIds);
+
+        return responseCounters.getResponseCountTotals(feedbackSessionName, courseId, feedbackQuestionIds);
+    }
+
+    /**
+     * Corrects the response counts of the session to the recounted {@code responseCounts}
+     * and marks them as initialized, unless responses were written while they were recounted.
+     *
+     * @return true if the counts were corrected
+     * @see FeedbackResponseCounters#reconcileResponseCountsForSession
+     */
+    public boolean reconcileFeedbackResponseCountsForSession(String feedbackSessionName, String courseId,
+                                                             Map<String, Long> totalsBeforeRecount,
+                                                             Map<String, Integer> responseCounts) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, totalsBeforeRecount);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responseCounts);
+
+        return responseCounters.reconcileResponseCountsForSession(
+                feedbackSessionName, courseId, totalsBeforeRecount, responseCounts);
+    }
+
+    /**
+     * Records that a rebuild of the response counts of the session is being scheduled.
+     *
+     * @return true if the rebuild is to be scheduled by the caller, i.e. the counts have not been initialized
+     *         and no rebuild has been scheduled recently
+     * @see FeedbackResponseCounters#markRebuildScheduled
+     */
+    public boolean markFeedbackResponseCountRebuildScheduled(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        return responseCounters.markRebuildScheduled(feedbackSessionName, courseId);
+    }
+
+    /**
+     * Note: This also adds the response to the response count of its question.
+     */
+    @Override
+    public Object createEntity(EntityAttributes entityToAdd)
+            throws InvalidParametersException, EntityAlreadyExistsException {
+        Object entity = isUsingLowLevelApi() ? createEntityWithLowLevelApi(entityToAdd) : super.createEntity(entityToAdd);
+        responseCounters.addToResponseCounts(
+                Arrays.asList((FeedbackResponseAttributes) entityToAdd), 1);
+        return entity;
+    }
+
+    /**
+     * Note: This also adds the new responses to the response counts of their questions.
+     */
+    @Override
+    public List<EntityAttributes> createEntities(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+        List<EntityAttributes> entitiesToUpdate = isUsingLowLevelApi()
+                                                ? createEntitiesWithLowLevelApi(entitiesToAdd)
+                                                : super.createEntities(entitiesToAdd);
+        List<FeedbackResponseAttributes> createdResponses = new ArrayList<FeedbackResponseAttributes>();
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            if (!entitiesToUpdate.contains(entityToAdd)) {
+                createdResponses.add((FeedbackResponseAttributes) entityToAdd);
+            }
+        }
+        responseCounters.addToResponseCounts(createdResponses, 1);
+        return entitiesToUpdate;
+    }
+
+    /**
+     * Note: This also removes the response from the response count of its question.
+     */
+    @Override
+    public void deleteEntity(EntityAttributes entityToDelete) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entityToDelete);
+
+        if (isUsingLowLevelApi()) {
+            deleteEntitiesWithLowLevelApi(Arrays.asList(entityToDelete));
+            return;
+        }
+
+        if (isCountable(entityToDelete)) {
+            if (deleteExistingEntity(entityToDelete)) {
+                responseCounters.addToResponseCounts(Arrays.asList((FeedbackResponseAttributes) entityToDelete), -1);
+            }
+            return;
+        }
+
+        List<FeedbackResponseAttributes> deletedResponses = getExistingResponses(Arrays.asList(entityToDelete));
+        super.deleteEntity(entityToDelete);
+        responseCounters.addToResponseCounts(deletedResponses, -1);
+    }
+
+    /**
+     * Note: This also removes the responses from the response counts of their questions.
+     */
+    @Override
+    public void deleteEntities(Collection<? extends EntityAttributes> entitiesToDelete) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToDelete);
+
+        if (isUsingLowLevelApi()) {
+            deleteEntitiesWithLowLevelApi(entitiesToDelete);
+            return;
+        }
+
+        List<EntityAttributes> countableResponses = new ArrayList<EntityAttributes>();
+        List<EntityAttributes> otherResponses = new ArrayList<EntityAttributes>();
+        for (EntityAttributes entityToDelete : entitiesToDelete) {
+            if (isCountable(entityToDelete)) {
+                countableResponses.add(entityToDelete);
+            } else {
+                otherResponses.add(entityToDelete);
+            }
+        }
+
+        List<FeedbackResponseAttributes> deletedResponses = getExistingResponses(otherResponses);
+        for (EntityAttributes deletedResponse : deleteExistingEntities(entitiesToDelete)) {
+            if (isCountable(deletedResponse)) {
+                deletedResponses.add((FeedbackResponseAttributes) deletedResponse);
+            }
+        }
+        responseCounters.addToResponseCounts(deletedResponses, -1);
+    }
+
+    /**
+     * Returns true if the attributes passed for deletion specify the question and the giver of the response,
+     * which are then used to update the counts without reading the stored response.
+     */
+    private boolean isCountable(EntityAttributes response) {
+        FeedbackResponseAttributes fra = (FeedbackResponseAttributes) response;
+        return fra.feedbackSessionName != null && fra.courseId != null
+               && fra.feedbackQuestionId != null && fra.giver != null;
+    }
+
+    /**
+     * Returns the stored versions of the given responses, as the attributes passed for deletion
+     * may only identify a response without specifying its question and giver.
+     */
+    private List<FeedbackResponseAttributes> getExistingResponses(Collection<? extends EntityAttributes> responses) {
+        List<FeedbackResponseAttributes> existingResponses = new ArrayList<FeedbackResponseAttributes>();
+        for (EntityAttributes response : responses) {
+            FeedbackResponse entity = (FeedbackResponse) getEntity(response);
+            if (entity != null) {
+                existingResponses.add(new FeedbackResponseAttributes(entity));
+            }
+        }
+        return existingResponses;
+    }
+
     @Override
     protected Object getEntity(EntityAttributes attributes) {
 
@@ -1153,4 +1681,150 @@ public class FeedbackResponsesDb extends EntitiesDb {
 
         return new QueryWithParams(q, params, primaryKeyName);
     }
+
+    private boolean isUsingLowLevelApi() {
+        return isUsingLowLevelApi;
+    }
+
+    /**
+     * Creates the response with the low-level API, with the same checks as {@link EntitiesDb#createEntity}.
+     * @return the created response as a {@link FeedbackResponse} which is not managed by JDO
+     */
+    private Object createEntityWithLowLevelApi(EntityAttributes entityToAdd)
+            throws InvalidParametersException, EntityAlreadyExistsException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entityToAdd);
+
+        FeedbackResponseAttributes response = (FeedbackResponseAttributes) entityToAdd;
+        response.sanitizeForSaving();
+        if (!response.isValid()) {
+            throw new InvalidParametersException(response.getInvalidityInfo());
+        }
+
+        if (lowLevelStore.getResponse(response) != null) {
+            String error = String.format(ERROR_CREATE_ENTITY_ALREADY_EXISTS, response.getEntityTypeAsString())
+                    + response.getIdentificationString();
+            log.info(error);
+            throw new EntityAlreadyExistsException(error);
+        }
+
+        lowLevelStore.createResponses(Arrays.asList(response));
+        onLowLevelWrite(Arrays.asList(response));
+        log.info(response.getBackupIdentifier());
+
+        return response.toEntity();
+    }
+
+    /**
+     * Creates the responses with the low-level API, with the same checks as {@link EntitiesDb#createEntities}.
+     * @return the responses which already exist and have not been written
+     */
+    private List<EntityAttributes> createEntitiesWithLowLevelApi(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToAdd);
+
+        List<EntityAttributes> entitiesToUpdate = new ArrayList<EntityAttributes>();
+        List<FeedbackResponseAttributes> responsesToCreate = new ArrayList<FeedbackResponseAttributes>();
+
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            FeedbackResponseAttributes response = (FeedbackResponseAttributes) entityToAdd;
+            response.sanitizeForSaving();
+            if (!response.isValid()) {
+                throw new InvalidParametersException(response.getInvalidityInfo());
+            }
+
+            if (lowLevelStore.getResponse(response) == null) {
+                responsesToCreate.add(response);
+            } else {
+                entitiesToUpdate.add(response);
+            }
+
+            log.info(response.getBackupIdentifier());
+        }
+
+        lowLevelStore.createResponses(responsesToCreate);
+        onLowLevelWrite(responsesToCreate);
+
+        return entitiesToUpdate;
+    }
+
+    private void deleteEntitiesWithLowLevelApi(Collection<? extends EntityAttributes> entitiesToDelete) {
+        List<FeedbackResponseAttributes> responsesToDelete = new ArrayList<FeedbackResponseAttributes>();
+        for (EntityAttributes entityToDelete : entitiesToDelete) {
+            log.info(entityToDelete.getBackupIdentifier());
+            responsesToDelete.add((FeedbackResponseAttributes) entityToDelete);
+        }
+
+        List<FeedbackResponseAttributes> deletedResponses = lowLevelStore.deleteResponses(responsesToDelete);
+        onLowLevelWrite(deletedResponses);
+        responseCounters.addToResponseCounts(deletedResponses, -1);
+    }
+
+    /**
+     * Called after responses are written with the low-level API.
+     */
+    private void onLowLevelWrite(Collection<FeedbackResponseAttributes> responses) {
+        // responses loaded by JDO earlier in the request would otherwise be returned as they were before the write
+        getPm().evictAll();
+        onEntitiesWritten(responses);
+    }
+
+    private static FetchOptions allResults() {
+        return FetchOptions.Builder.withDefaults();
+    }
+
+    /**
+     * Returns fetch options which limit a query to one more result than {@code range},
+     * as is done by the JDO queries within a range.
+     */
+    private static FetchOptions withinRange(long range) {
+        return FetchOptions.Builder.withLimit((int) range + 1);
+    }
+
+    private static Filter isForQuestion(String feedbackQuestionId) {
+        return equal(PROPERTY_FEEDBACK_QUESTION_ID, feedbackQuestionId);
+    }
+
+    private static Filter isInSession(String feedbackSessionName, String courseId) {
+        return and(equal(PROPERTY_FEEDBACK_SESSION_NAME, feedbackSessionName), equal(PROPERTY_COURSE_ID, courseId));
+    }
+
+    private static Filter isInSections(String giverSection, String receiverSection) {
+        return and(equal(PROPERTY_GIVER_SECTION, giverSection), equal(PROPERTY_RECEIVER_SECTION, receiverSection));
+    }
+
+    private static Filter[] getFromOrToParticipantsFilters(
+            String feedbackSessionName, String courseId, Collection<String> participants) {
+        List<Filter> filters = new ArrayList<Filter>();
+        for (String participant : participants) {
+            filters.add(and(isInSession(feedbackSessionName, courseId), equal(PROPERTY_GIVER_EMAIL, participant)));
+            filters.add(and(isInSession(feedbackSessionName, courseId), equal(PROPERTY_RECEIVER, participant)));
+        }
+        return filters.toArray(new Filter[filters.size()]);
+    }
+
+    /**
+     * Returns the responses matched by {@code filter} which are given or received in the section.
+     */
+    private List<FeedbackResponseAttributes> getResponsesInSectionFromLowLevelStore(
+            Filter filter, String section, FetchOptions options) {
+        return new ArrayList<FeedbackResponseAttributes>(lowLevelStore.getResponsesMatchingAny(options,
+                and(filter, equal(PROPERTY_GIVER_SECTION, section)),
+                and(filter, equal(PROPERTY_RECEIVER_SECTION, section))));
+    }
+
+    /**
+     * Iterates over the {@link FeedbackResponse}s matched by a query as {@link FeedbackResponseAttributes}.
+     */
+    private abstract static class FeedbackResponseIterator
+            extends ChunkedQueryIterator<FeedbackResponse, FeedbackResponseAttributes> {
+
+        FeedbackResponseIterator(int chunkSize) {
+            super(chunkSize);
+        }
+
+        @Override
+        protected FeedbackResponseAttributes toAttributes(FeedbackResponse entity) {
+            return new FeedbackResponseAttributes(entity);
+        }
+    }
 }
@@ -0,0 +1,230 @@
+package teammates.storage.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.google.appengine.api.datastore.Blob;
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.EntityNotFoundException;
+import com.google.appengine.api.datastore.FetchOptions;
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
+import com.google.appengine.api.datastore.Query;
+import com.google.appengine.api.datastore.Query.FilterOperator;
+import com.google.appengine.api.datastore.Query.FilterPredicate;
+import com.google.appengine.tools.cloudstorage.GcsOutputChannel;
+
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
+import teammates.common.util.GoogleCloudStorageHelper;
+
+/**
+ * Keeps track of the exports of feedback session results which are being written in the background.
+ *
+ * <p>The channel to the file being written is checkpointed together with the IDs of the questions
+ * written so far, so that an export which is interrupted resumes from its last checkpoint.
+ * Closing the file, and sending the link to it, are each recorded once they are done,
+ * so that a request which is retried after either of them does not repeat it.
+ *
+ * <p>Exports are deleted together with their files {@link FeedbackSessionResultsExport#DAYS_KEPT} days
+ * after they are created, or when their course is deleted.
+ */
+public class FeedbackSessionResultsExports {
+
+    private static final String EXPORT_KIND = "FeedbackSessionResultsExport";
+
+    private static final String PROPERTY_COURSE_ID = "courseId";
+    private static final String PROPERTY_FEEDBACK_SESSION_NAME = "feedbackSessionName";
+    private static final String PROPERTY_INSTRUCTOR_EMAIL = "instructorEmail";
+    private static final String PROPERTY_SECTION = "section";
+    private static final String PROPERTY_FILTER_TEXT = "filterText";
+    private static final String PROPERTY_IS_MISSING_RESPONSES_SHOWN = "isMissingResponsesShown";
+    private static final String PROPERTY_IS_STATS_SHOWN = "isStatsShown";
+    private static final String PROPERTY_WRITTEN_QUESTION_IDS = "writtenQuestionIds";
+    private static final String PROPERTY_OUTPUT_CHANNEL = "outputChannel";
+    private static final String PROPERTY_CREATED_AT = "createdAt";
+    private static final String PROPERTY_COMPLETED_AT = "completedAt";
+    private static final String PROPERTY_EMAIL_SENT_AT = "emailSentAt";
+
+    private final DatastoreService datastore = DatastoreServiceFactory.getDatastoreService();
+
+    /**
+     * Records a new export, which starts from the first question.
+     * @return the export, with its ID set
+     */
+    public FeedbackSessionResultsExport createExport(FeedbackSessionResultsExport export) {
+        Entity entity = new Entity(EXPORT_KIND);
+        entity.setProperty(PROPERTY_COURSE_ID, export.courseId);
+        entity.setUnindexedProperty(PROPERTY_FEEDBACK_SESSION_NAME, export.feedbackSessionName);
+        entity.setUnindexedProperty(PROPERTY_INSTRUCTOR_EMAIL, export.instructorEmail);
+        entity.setUnindexedProperty(PROPERTY_SECTION, export.section);
+        entity.setUnindexedProperty(PROPERTY_FILTER_TEXT, export.filterText);
+        entity.setUnindexedProperty(PROPERTY_IS_MISSING_RESPONSES_SHOWN, export.isMissingResponsesShown);
+        entity.setUnindexedProperty(PROPERTY_IS_STATS_SHOWN, export.isStatsShown);
+        // indexed for finding the exports to be deleted
+        entity.setProperty(PROPERTY_CREATED_AT, new Date());
+        datastore.put(entity);
+
+        return toExport(entity);
+    }
+
+    /**
+     * Returns the export with the given ID, or null if there is none.
+     */
+    public FeedbackSessionResultsExport getExport(String exportId) {
+        Entity entity = getEntity(exportId);
+        return entity == null ? null : toExport(entity);
+    }
+
+    /**
+     * Returns the channel to the file of the export as it was at the last checkpoint,
+     * or null if the export has not been checkpointed yet.
+     */
+    public GcsOutputChannel getOutputChannel(String exportId) throws IOException {
+        Entity entity = getEntity(exportId);
+        Blob serializedChannel = entity == null ? null : (Blob) entity.getProperty(PROPERTY_OUTPUT_CHANNEL);
+        if (serializedChannel == null) {
+            return null;
+        }
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serializedChannel.getBytes()));
+        try {
+            return (GcsOutputChannel) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Checkpoints the export, recording that the results of the questions with {@code writtenQuestionIds}
+     * have been written to {@code outputChannel}.
+     */
+    public void saveProgress(String exportId, List<String> writtenQuestionIds, GcsOutputChannel outputChannel)
+            throws IOException {
+        Entity entity = getEntity(exportId);
+        if (entity == null) {
+            return;
+        }
+
+        outputChannel.waitForOutstandingWrites();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(outputChannel);
+        out.close();
+
+        entity.setUnindexedProperty(PROPERTY_WRITTEN_QUESTION_IDS, new ArrayList<String>(writtenQuestionIds));
+        entity.setUnindexedProperty(PROPERTY_OUTPUT_CHANNEL, new Blob(bytes.toByteArray()));
+        datastore.put(entity);
+    }
+
+    /**
+     * Records that the file of the export has been written completely.
+     */
+    public void markCompleted(String exportId) {
+        Entity entity = getEntity(exportId);
+        if (entity == null) {
+            return;
+        }
+
+        entity.removeProperty(PROPERTY_OUTPUT_CHANNEL);
+        entity.setUnindexedProperty(PROPERTY_COMPLETED_AT, new Date());
+        datastore.put(entity);
+    }
+
+    /**
+     * Records that the instructor has been sent the link to download the file of the export.
+     */
+    public void markEmailSent(String exportId) {
+        Entity entity = getEntity(exportId);
+        if (entity == null) {
+            return;
+        }
+
+        entity.setUnindexedProperty(PROPERTY_EMAIL_SENT_AT, new Date());
+        datastore.put(entity);
+    }
+
+    /**
+     * Deletes up to {@code limit} exports created before {@code createdBefore}, together with their files.
+     * @return the number of exports deleted
+     */
+    public int deleteExportsCreatedBefore(Date createdBefore, int limit) {
+        Query query = new Query(EXPORT_KIND)
+                .setFilter(new FilterPredicate(PROPERTY_CREATED_AT, FilterOperator.LESS_THAN, createdBefore))
+                .setKeysOnly();
+        List<Key> keys = new ArrayList<Key>();
+        for (Entity entity : datastore.prepare(query).asIterable(FetchOptions.Builder.withLimit(limit))) {
+            keys.add(entity.getKey());
+        }
+        deleteExports(keys);
+        return keys.size();
+    }
+
+    /**
+     * Deletes the next chunk of at most {@code limit} exports of the course, starting from {@code cursor},
+     * together with their files.
+     */
+    CourseEntityChunk deleteChunkForCourse(String courseId, String cursor, int limit) {
+        CourseEntityChunk chunk = CourseEntityChunk.get(EXPORT_KIND, courseId, cursor, limit, true);
+        deleteExports(chunk.getKeys());
+        return chunk;
+    }
+
+    /**
+     * Deletes the exports with the given keys together with their files.
+     */
+    private void deleteExports(List<Key> keys) {
+        for (Key key : keys) {
+            GoogleCloudStorageHelper.deleteFile(FeedbackSessionResultsExport.getFileName(String.valueOf(key.getId())));
+        }
+        datastore.delete(keys);
+    }
+
+    private Entity getEntity(String exportId) {
+        Key key;
+        try {
+            key = KeyFactory.createKey(EXPORT_KIND, Long.parseLong(exportId));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        try {
+            return datastore.get(key);
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static FeedbackSessionResultsExport toExport(Entity entity) {
+        FeedbackSessionResultsExport export = new FeedbackSessionResultsExport(
+                (String) entity.getProperty(PROPERTY_COURSE_ID),
+                (String) entity.getProperty(PROPERTY_FEEDBACK_SESSION_NAME),
+                (String) entity.getProperty(PROPERTY_INSTRUCTOR_EMAIL),
+                (String) entity.getProperty(PROPERTY_SECTION),
+                (String) entity.getProperty(PROPERTY_FILTER_TEXT),
+                (Boolean) entity.getProperty(PROPERTY_IS_MISSING_RESPONSES_SHOWN),
+                (Boolean) entity.getProperty(PROPERTY_IS_STATS_SHOWN));
+        export.exportId = String.valueOf(entity.getKey().getId());
+        @SuppressWarnings("unchecked")
+        List<String> writtenQuestionIds = (List<String>) entity.getProperty(PROPERTY_WRITTEN_QUESTION_IDS);
+        if (writtenQuestionIds != null) {
+            // the datastore returns no list for an empty list
+            export.writtenQuestionIds = new ArrayList<String>(writtenQuestionIds);
+        }
+        export.isCompleted = entity.hasProperty(PROPERTY_COMPLETED_AT);
+        export.isEmailSent = entity.hasProperty(PROPERTY_EMAIL_SENT_AT);
+        export.createdAt = (Date) entity.getProperty(PROPERTY_CREATED_AT);
+        return export;
+    }
+
+
+}
@@ -5,16 +5,25 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import javax.jdo.JDOCanRetryException;
 import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.PersistenceManager;
 import javax.jdo.Query;
+import javax.jdo.Transaction;
 
 import teammates.common.datatransfer.FeedbackSessionType;
 import teammates.common.datatransfer.attributes.EntityAttributes;
 import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
@@ -22,6 +31,7 @@ import teammates.common.util.Const;
 import teammates.common.util.Logger;
 import teammates.common.util.TimeHelper;
 import teammates.storage.entity.FeedbackSession;
+import teammates.storage.entity.FeedbackSessionRespondentShard;
 
 /**
  * Handles CRUD operations for feedback sessions.
@@ -33,8 +43,19 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
     public static final String ERROR_UPDATE_NON_EXISTENT = "Trying to update non-existent Feedback Session : ";
 
+    /**
+     * Number of shards over which the respondents of a session are spread.
+     */
+    public static final int RESPONDENT_SHARD_COUNT = 16;
+
+    private static final int MAX_KEYS_PER_BATCH_GET = 1000;
+
+    private static final int MAX_TRANSACTION_ATTEMPTS = 5;
+
     private static final Logger log = Logger.getLogger();
 
+    private FeedbackResponseCounters responseCounters = new FeedbackResponseCounters();
+
     public void createFeedbackSessions(Collection<FeedbackSessionAttributes> feedbackSessionsToAdd)
             throws InvalidParametersException {
         List<EntityAttributes> feedbackSessionsToUpdate = createEntities(feedbackSessionsToAdd);
@@ -117,6 +138,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
             }
         }
 
+        addRespondentsFromShards(list);
         return list;
     }
 
@@ -130,13 +152,23 @@ public class FeedbackSessionsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
+        String cacheKey = feedbackSessionName + "%" + courseId;
+        Object cached = getCachedEntity(cacheKey);
+        if (cached != RequestScopedEntityCache.MISS) {
+            return cached == null ? null : ((FeedbackSessionAttributes) cached).getCopy();
+        }
+
         FeedbackSession fs = getFeedbackSessionEntity(feedbackSessionName, courseId);
 
         if (fs == null) {
             log.info("Trying to get non-existent Session: " + feedbackSessionName + "/" + courseId);
+            putCachedEntity(cacheKey, null);
             return null;
         }
-        return new FeedbackSessionAttributes(fs);
+
+        FeedbackSessionAttributes session = makeAttributesWithRespondents(Arrays.asList(fs)).get(0);
+        putCachedEntity(cacheKey, session.getCopy());
+        return session;
 
     }
 
@@ -147,14 +179,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
     @Deprecated
     public List<FeedbackSessionAttributes> getAllFeedbackSessions() {
         List<FeedbackSession> allFs = getAllFeedbackSessionEntities();
-        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
-
-        for (FeedbackSession fs : allFs) {
-            if (!JDOHelper.isDeleted(fs)) {
-                fsaList.add(new FeedbackSessionAttributes(fs));
-            }
-        }
-        return fsaList;
+        return makeAttributesWithRespondents(allFs);
     }
 
     /**
@@ -167,14 +192,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
         List<FeedbackSession> fsList = getFeedbackSessionEntitiesForCourse(courseId);
-        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
-
-        for (FeedbackSession fs : fsList) {
-            if (!JDOHelper.isDeleted(fs)) {
-                fsaList.add(new FeedbackSessionAttributes(fs));
-            }
-        }
-        return fsaList;
+        return makeAttributesWithRespondents(fsList);
     }
 
     /**
@@ -183,14 +201,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
     public List<FeedbackSessionAttributes> getFeedbackSessionsPossiblyNeedingOpenEmail() {
 
         List<FeedbackSession> fsList = getFeedbackSessionEntitiesPossiblyNeedingOpenEmail();
-        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
-
-        for (FeedbackSession fs : fsList) {
-            if (!JDOHelper.isDeleted(fs)) {
-                fsaList.add(new FeedbackSessionAttributes(fs));
-            }
-        }
-        return fsaList;
+        return makeAttributesWithRespondents(fsList);
     }
 
     /**
@@ -199,14 +210,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
     public List<FeedbackSessionAttributes> getFeedbackSessionsPossiblyNeedingClosingEmail() {
 
         List<FeedbackSession> fsList = getFeedbackSessionEntitiesPossiblyNeedingClosingEmail();
-        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
-
-        for (FeedbackSession fs : fsList) {
-            if (!JDOHelper.isDeleted(fs)) {
-                fsaList.add(new FeedbackSessionAttributes(fs));
-            }
-        }
-        return fsaList;
+        return makeAttributesWithRespondents(fsList);
     }
 
     /**
@@ -215,14 +219,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
     public List<FeedbackSessionAttributes> getFeedbackSessionsPossiblyNeedingClosedEmail() {
 
         List<FeedbackSession> fsList = getFeedbackSessionEntitiesPossiblyNeedingClosedEmail();
-        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
-
-        for (FeedbackSession fs : fsList) {
-            if (!JDOHelper.isDeleted(fs)) {
-                fsaList.add(new FeedbackSessionAttributes(fs));
-            }
-        }
-        return fsaList;
+        return makeAttributesWithRespondents(fsList);
     }
 
     /**
@@ -231,14 +228,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
     public List<FeedbackSessionAttributes> getFeedbackSessionsPossiblyNeedingPublishedEmail() {
 
         List<FeedbackSession> fsList = getFeedbackSessionEntitiesPossiblyNeedingPublishedEmail();
-        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
-
-        for (FeedbackSession fs : fsList) {
-            if (!JDOHelper.isDeleted(fs)) {
-                fsaList.add(new FeedbackSessionAttributes(fs));
-            }
-        }
-        return fsaList;
+        return makeAttributesWithRespondents(fsList);
     }
 
     /**
@@ -287,6 +277,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         log.info(newAttributes.getBackupIdentifier());
         getPm().close();
+        invalidateCachedEntities();
     }
 
     public void addInstructorRespondent(String email, FeedbackSessionAttributes feedbackSession)
@@ -301,24 +292,13 @@ public class FeedbackSessionsDb extends EntitiesDb {
             throws InvalidParametersException, EntityDoesNotExistException {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
-
-        feedbackSession.sanitizeForSaving();
-
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
-
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
 
-        fs.getRespondingInstructorList().addAll(emails);
+        FeedbackSession fs = getFeedbackSessionEntityForRespondentUpdate(feedbackSession);
+        addRespondents(fs, emails, true);
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCachedEntities();
     }
 
     public void updateInstructorRespondent(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession)
@@ -326,50 +306,26 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, oldEmail);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newEmail);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
-
-        feedbackSession.sanitizeForSaving();
 
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
-
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
-
-        if (fs.getRespondingInstructorList().contains(oldEmail)) {
-            fs.getRespondingInstructorList().remove(oldEmail);
-            fs.getRespondingInstructorList().add(newEmail);
+        FeedbackSession fs = getFeedbackSessionEntityForRespondentUpdate(feedbackSession);
+        if (removeRespondent(fs, oldEmail, true)) {
+            addRespondents(fs, Arrays.asList(newEmail), true);
         }
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCachedEntities();
     }
 
     public void clearInstructorRespondents(FeedbackSessionAttributes feedbackSession)
             throws InvalidParametersException, EntityDoesNotExistException {
 
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
-
-        feedbackSession.sanitizeForSaving();
-
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
-
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
-
-        fs.getRespondingInstructorList().clear();
+        FeedbackSession fs = getFeedbackSessionEntityForRespondentUpdate(feedbackSession);
+        clearRespondents(fs, true);
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCachedEntities();
     }
 
     public void addStudentRespondent(String email, FeedbackSessionAttributes feedbackSession)
@@ -384,48 +340,26 @@ public class FeedbackSessionsDb extends EntitiesDb {
             throws InvalidParametersException, EntityDoesNotExistException {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
-
-        feedbackSession.sanitizeForSaving();
-
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
-
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
 
-        fs.getRespondingInstructorList().remove(email);
+        FeedbackSession fs = getFeedbackSessionEntityForRespondentUpdate(feedbackSession);
+        removeRespondent(fs, email, true);
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCachedEntities();
     }
 
     public void addStudentRespondents(List<String> emails, FeedbackSessionAttributes feedbackSession)
             throws InvalidParametersException, EntityDoesNotExistException {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
-
-        feedbackSession.sanitizeForSaving();
-
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
-
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
 
-        fs.getRespondingStudentList().addAll(emails);
+        FeedbackSession fs = getFeedbackSessionEntityForRespondentUpdate(feedbackSession);
+        addRespondents(fs, emails, false);
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCachedEntities();
     }
 
     public void updateStudentRespondent(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession)
@@ -433,74 +367,87 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, oldEmail);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newEmail);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
-
-        feedbackSession.sanitizeForSaving();
-
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
-
-        if (fs.getRespondingStudentList().contains(oldEmail)) {
-            fs.getRespondingStudentList().remove(oldEmail);
-            fs.getRespondingStudentList().add(newEmail);
+        FeedbackSession fs = getFeedbackSessionEntityForRespondentUpdate(feedbackSession);
+        if (removeRespondent(fs, oldEmail, false)) {
+            addRespondents(fs, Arrays.asList(newEmail), false);
         }
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCachedEntities();
     }
 
     public void clearStudentRespondents(FeedbackSessionAttributes feedbackSession)
             throws InvalidParametersException, EntityDoesNotExistException {
 
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
-
-        feedbackSession.sanitizeForSaving();
-
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
-
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
-
-        fs.getRespondingStudentList().clear();
+        FeedbackSession fs = getFeedbackSessionEntityForRespondentUpdate(feedbackSession);
+        clearRespondents(fs, false);
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
+        invalidateCachedEntities();
     }
 
     public void deleteStudentRespondent(String email, FeedbackSessionAttributes feedbackSession)
             throws EntityDoesNotExistException, InvalidParametersException {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
 
-        feedbackSession.sanitizeForSaving();
+        FeedbackSession fs = getFeedbackSessionEntityForRespondentUpdate(feedbackSession);
+        removeRespondent(fs, email, false);
 
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
+        log.info(feedbackSession.getBackupIdentifier());
+        getPm().close();
+        invalidateCachedEntities();
+    }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
+    /**
+     * Note: The response counts of a new session start out initialized, as it has no responses yet.
+     */
+    @Override
+    public Object createEntity(EntityAttributes entityToAdd)
+            throws InvalidParametersException, EntityAlreadyExistsException {
+        Object entity = super.createEntity(entityToAdd);
+        initializeResponseCounts((FeedbackSessionAttributes) entityToAdd);
+        return entity;
+    }
+
+    /**
+     * Note: The response counts of the new sessions start out initialized, as they have no responses yet.
+     */
+    @Override
+    public List<EntityAttributes> createEntities(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+        List<EntityAttributes> entitiesToUpdate = super.createEntities(entitiesToAdd);
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            if (!entitiesToUpdate.contains(entityToAdd)) {
+                initializeResponseCounts((FeedbackSessionAttributes) entityToAdd);
+            }
         }
+        return entitiesToUpdate;
+    }
 
-        fs.getRespondingStudentList().remove(email);
+    /**
+     * Note: This also deletes the respondent shards and the response counts of the sessions.
+     */
+    @Override
+    public void deleteEntity(EntityAttributes entityToDelete) {
+        super.deleteEntity(entityToDelete);
+        deleteRespondentShards((FeedbackSessionAttributes) entityToDelete);
+        deleteResponseCounts((FeedbackSessionAttributes) entityToDelete);
+    }
 
-        log.info(feedbackSession.getBackupIdentifier());
-        getPm().close();
+    /**
+     * Note: This also deletes the respondent shards and the response counts of the sessions.
+     */
+    @Override
+    public void deleteEntities(Collection<? extends EntityAttributes> entitiesToDelete) {
+        super.deleteEntities(entitiesToDelete);
+        for (EntityAttributes entityToDelete : entitiesToDelete) {
+            deleteRespondentShards((FeedbackSessionAttributes) entityToDelete);
+            deleteResponseCounts((FeedbackSessionAttributes) entityToDelete);
+        }
     }
 
     public void deleteFeedbackSessionsForCourse(String courseId) {
@@ -514,6 +461,34 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         getFeedbackSessionsForCoursesQuery(courseIds)
             .deletePersistentAll();
+        getRespondentShardsForCoursesQuery(courseIds)
+            .deletePersistentAll();
+        responseCounters.deleteResponseCountsForCourses(courseIds);
+        invalidateCachedEntities();
+    }
+
+    /**
+     * Deletes the next chunk of at most {@code limit} sessions of the course, starting from {@code cursor}.
+     * The respondents of the sessions are deleted separately by {@link #deleteRespondentChunkForCourse}.
+     */
+    CourseEntityChunk deleteChunkForCourse(String courseId, String cursor, int limit) {
+        CourseEntityChunk chunk =
+                CourseEntityChunk.get(FeedbackSession.class.getSimpleName(), courseId, cursor, limit, true);
+        chunk.delete();
+        invalidateCachedEntities();
+        return chunk;
+    }
+
+    /**
+     * Deletes the next chunk of at most {@code limit} respondent shards of the sessions of the course,
+     * starting from {@code cursor}.
+     */
+    CourseEntityChunk deleteRespondentChunkForCourse(String courseId, String cursor, int limit) {
+        CourseEntityChunk chunk = CourseEntityChunk.get(
+                FeedbackSessionRespondentShard.class.getSimpleName(), courseId, cursor, limit, true);
+        chunk.delete();
+        invalidateCachedEntities();
+        return chunk;
     }
 
     private QueryWithParams getFeedbackSessionsForCoursesQuery(List<String> courseIds) {
@@ -522,6 +497,271 @@ public class FeedbackSessionsDb extends EntitiesDb {
         return new QueryWithParams(q, new Object[] {courseIds});
     }
 
+    private QueryWithParams getRespondentShardsForCoursesQuery(List<String> courseIds) {
+        Query q = getPm().newQuery(FeedbackSessionRespondentShard.class);
+        q.setFilter(":p.contains(courseId)");
+        return new QueryWithParams(q, new Object[] {courseIds});
+    }
+
+    private FeedbackSession getFeedbackSessionEntityForRespondentUpdate(FeedbackSessionAttributes feedbackSession)
+            throws InvalidParametersException, EntityDoesNotExistException {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
+
+        feedbackSession.sanitizeForSaving();
+
+        if (!feedbackSession.isValid()) {
+            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
+        }
+
+        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
+        if (fs == null) {
+            throw new EntityDoesNotExistException(
+                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
+        }
+        return fs;
+    }
+
+    /**
+     * Adds the emails to the respondent shards of the session. Emails that are already recorded as respondents,
+     * either in a shard or in the legacy list of the session entity, cause no write.
+     */
+    private void addRespondents(FeedbackSession fs, Collection<String> emails, boolean isInstructor) {
+        Set<String> legacyRespondents = getLegacyRespondents(fs, isInstructor);
+        Map<Integer, Set<String>> emailsForShard = new HashMap<Integer, Set<String>>();
+        for (String email : emails) {
+            if (legacyRespondents != null && legacyRespondents.contains(email)) {
+                continue;
+            }
+
+            int shardIndex = getRespondentShardIndex(email);
+            if (!emailsForShard.containsKey(shardIndex)) {
+                emailsForShard.put(shardIndex, new HashSet<String>());
+            }
+            emailsForShard.get(shardIndex).add(email);
+        }
+
+        for (Map.Entry<Integer, Set<String>> entry : emailsForShard.entrySet()) {
+            final Set<String> shardEmails = entry.getValue();
+            updateRespondentShard(fs, entry.getKey(), isInstructor, true, new RespondentsUpdate() {
+                @Override
+                public boolean apply(Set<String> respondents) {
+                    return respondents.addAll(shardEmails);
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes the email from the respondents of the session.
+     * @return true if the email was recorded as a respondent.
+     */
+    private boolean removeRespondent(FeedbackSession fs, final String email, boolean isInstructor) {
+        Set<String> legacyRespondents = getLegacyRespondents(fs, isInstructor);
+        boolean isRemovedFromLegacyList = legacyRespondents != null && legacyRespondents.remove(email);
+
+        boolean isRemovedFromShard = updateRespondentShard(fs, getRespondentShardIndex(email), isInstructor, false,
+                new RespondentsUpdate() {
+                    @Override
+                    public boolean apply(Set<String> respondents) {
+                        return respondents.remove(email);
+                    }
+                });
+        return isRemovedFromLegacyList || isRemovedFromShard;
+    }
+
+    private void clearRespondents(FeedbackSession fs, boolean isInstructor) {
+        Set<String> legacyRespondents = getLegacyRespondents(fs, isInstructor);
+        if (legacyRespondents != null && !legacyRespondents.isEmpty()) {
+            legacyRespondents.clear();
+        }
+
+        RespondentsUpdate clear = new RespondentsUpdate() {
+            @Override
+            public boolean apply(Set<String> respondents) {
+                if (respondents.isEmpty()) {
+                    return false;
+                }
+                respondents.clear();
+                return true;
+            }
+        };
+        // every shard is looked up by key, as a query may miss a shard created just before
+        for (int shardIndex = 0; shardIndex < RESPONDENT_SHARD_COUNT; shardIndex++) {
+            updateRespondentShard(fs, shardIndex, isInstructor, false, clear);
+        }
+    }
+
+    /**
+     * An update of the respondents of one type recorded in a shard.
+     */
+    private interface RespondentsUpdate {
+
+        /**
+         * Updates {@code respondents} in place.
+         * @return true if {@code respondents} was changed
+         */
+        boolean apply(Set<String> respondents);
+    }
+
+    /**
+     * Applies {@code update} to the respondents of one shard of the session in a transaction of its own,
+     * so that concurrent updates of the same shard are not lost, and retries the transaction if it fails
+     * because of such an update.
+     *
+     * @param isCreatedIfAbsent whether the shard is created if it does not exist yet,
+     *        otherwise there is nothing to update
+     * @return true if the respondents were changed
+     */
+    private boolean updateRespondentShard(FeedbackSession fs, int shardIndex, boolean isInstructor,
+                                          boolean isCreatedIfAbsent, RespondentsUpdate update) {
+        String shardId = FeedbackSessionRespondentShard.generateId(
+                fs.getFeedbackSessionName(), fs.getCourseId(), shardIndex);
+
+        JDOCanRetryException lastException = null;
+        for (int attempt = 1; attempt <= MAX_TRANSACTION_ATTEMPTS; attempt++) {
+            // a persistence manager of its own keeps the changes to the session entity out of the transaction
+            PersistenceManager pm = getNewPm();
+            Transaction txn = pm.currentTransaction();
+            try {
+                txn.begin();
+                FeedbackSessionRespondentShard shard;
+                try {
+                    shard = pm.getObjectById(FeedbackSessionRespondentShard.class, shardId);
+                } catch (JDOObjectNotFoundException e) {
+                    if (!isCreatedIfAbsent) {
+                        return false;
+                    }
+                    shard = new FeedbackSessionRespondentShard(fs.getFeedbackSessionName(), fs.getCourseId(), shardIndex);
+                    pm.makePersistent(shard);
+                }
+
+                boolean isUpdated = update.apply(getRespondents(shard, isInstructor));
+                txn.commit();
+                return isUpdated;
+            } catch (JDOCanRetryException e) {
+                lastException = e;
+                log.info("Contention on respondent shard " + shardId + ", attempt " + attempt);
+            } finally {
+                if (txn.isActive()) {
+                    txn.rollback();
+                }
+                pm.close();
+            }
+        }
+        throw lastException;
+    }
+
+    private Set<String> getLegacyRespondents(FeedbackSession fs, boolean isInstructor) {
+        return isInstructor ? fs.getRespondingInstructorList() : fs.getRespondingStudentList();
+    }
+
+    private Set<String> getRespondents(FeedbackSessionRespondentShard shard, boolean isInstructor) {
+        return isInstructor ? shard.getRespondingInstructorList() : shard.getRespondingStudentList();
+    }
+
+    private int getRespondentShardIndex(String email) {
+        return Math.abs(email.hashCode() % RESPONDENT_SHARD_COUNT);
+    }
+
+    /**
+     * Converts the session entities to attributes whose respondent lists include
+     * the respondents recorded in the shards of the sessions.
+     */
+    private List<FeedbackSessionAttributes> makeAttributesWithRespondents(Collection<FeedbackSession> fsList) {
+        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
+        for (FeedbackSession fs : fsList) {
+            if (!JDOHelper.isDeleted(fs)) {
+                fsaList.add(new FeedbackSessionAttributes(fs));
+            }
+        }
+        addRespondentsFromShards(fsaList);
+        return fsaList;
+    }
+
+    private void addRespondentsFromShards(List<FeedbackSessionAttributes> fsaList) {
+        if (fsaList.isEmpty()) {
+            return;
+        }
+
+        List<String> shardIds = new ArrayList<String>();
+        for (FeedbackSessionAttributes fsa : fsaList) {
+            for (int i = 0; i < RESPONDENT_SHARD_COUNT; i++) {
+                shardIds.add(FeedbackSessionRespondentShard.generateId(
+                        fsa.getFeedbackSessionName(), fsa.getCourseId(), i));
+            }
+        }
+
+        Map<String, List<FeedbackSessionRespondentShard>> shardsForSession =
+                new HashMap<String, List<FeedbackSessionRespondentShard>>();
+        for (FeedbackSessionRespondentShard shard : getRespondentShardEntities(shardIds)) {
+            String sessionKey = shard.getFeedbackSessionName() + "%" + shard.getCourseId();
+            if (!shardsForSession.containsKey(sessionKey)) {
+                shardsForSession.put(sessionKey, new ArrayList<FeedbackSessionRespondentShard>());
+            }
+            shardsForSession.get(sessionKey).add(shard);
+        }
+
+        for (FeedbackSessionAttributes fsa : fsaList) {
+            List<FeedbackSessionRespondentShard> shards =
+                    shardsForSession.get(fsa.getFeedbackSessionName() + "%" + fsa.getCourseId());
+            if (shards == null) {
+                continue;
+            }
+
+            // copy the lists as they may be backed by the session entity
+            Set<String> instructors = new HashSet<String>(fsa.getRespondingInstructorList());
+            Set<String> students = new HashSet<String>(fsa.getRespondingStudentList());
+            for (FeedbackSessionRespondentShard shard : shards) {
+                instructors.addAll(shard.getRespondingInstructorList());
+                students.addAll(shard.getRespondingStudentList());
+            }
+            fsa.setRespondingInstructorList(instructors);
+            fsa.setRespondingStudentList(students);
+        }
+    }
+
+    private void deleteRespondentShards(FeedbackSessionAttributes feedbackSession) {
+        Query q = getPm().newQuery(FeedbackSessionRespondentShard.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        q.deletePersistentAll(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId());
+    }
+
+    private void initializeResponseCounts(FeedbackSessionAttributes feedbackSession) {
+        responseCounters.setResponseCountsForSession(feedbackSession.getFeedbackSessionName(),
+                feedbackSession.getCourseId(), new HashMap<String, Integer>());
+    }
+
+    private void deleteResponseCounts(FeedbackSessionAttributes feedbackSession) {
+        responseCounters.deleteResponseCountsForSession(
+                feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId());
+    }
+
+    /**
+     * Gets the shards with the given IDs using batch gets of at most {@link #MAX_KEYS_PER_BATCH_GET} keys.
+     */
+    private List<FeedbackSessionRespondentShard> getRespondentShardEntities(List<String> shardIds) {
+        List<FeedbackSessionRespondentShard> shards = new ArrayList<FeedbackSessionRespondentShard>();
+        for (int from = 0; from < shardIds.size(); from += MAX_KEYS_PER_BATCH_GET) {
+            List<String> batch = shardIds.subList(from, Math.min(from + MAX_KEYS_PER_BATCH_GET, shardIds.size()));
+
+            // a contains() filter on the primary key is executed as a batch get
+            Query q = getPm().newQuery(FeedbackSessionRespondentShard.class);
+            q.setFilter(":p.contains(shardId)");
+
+            @SuppressWarnings("unchecked")
+            List<FeedbackSessionRespondentShard> batchShards =
+                    (List<FeedbackSessionRespondentShard>) q.execute(new ArrayList<String>(batch));
+            for (FeedbackSessionRespondentShard shard : batchShards) {
+                if (!JDOHelper.isDeleted(shard)) {
+                    shards.add(shard);
+                }
+            }
+        }
+        return shards;
+    }
+
     @SuppressWarnings("unchecked")
     private List<FeedbackSession> getAllFeedbackSessionEntities() {
         Query q = getPm().newQuery(FeedbackSession.class);
@@ -2,9 +2,11 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -39,6 +41,8 @@ public class InstructorsDb extends EntitiesDb {
 
     private static final Logger log = Logger.getLogger();
 
+    private CourseRosterCache rosterCache = new CourseRosterCache();
+
     /* =========================================================================
      * Methods related to Google Search API
      * =========================================================================
@@ -166,14 +170,23 @@ public class InstructorsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
+        String cacheKey = "email%" + courseId + "%" + email;
+        Object cached = getCachedEntity(cacheKey);
+        if (cached != RequestScopedEntityCache.MISS) {
+            return cached == null ? null : ((InstructorAttributes) cached).getCopy();
+        }
+
         Instructor i = getInstructorEntityForEmail(courseId, email);
 
         if (i == null) {
             log.info("Trying to get non-existent Instructor: " + courseId + "/" + email);
+            putCachedEntity(cacheKey, null);
             return null;
         }
 
-        return new InstructorAttributes(i);
+        InstructorAttributes instructor = new InstructorAttributes(i);
+        putCachedEntity(cacheKey, instructor.getCopy());
+        return instructor;
     }
 
     /**
@@ -184,14 +197,23 @@ public class InstructorsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
+        String cacheKey = "googleId%" + courseId + "%" + googleId;
+        Object cached = getCachedEntity(cacheKey);
+        if (cached != RequestScopedEntityCache.MISS) {
+            return cached == null ? null : ((InstructorAttributes) cached).getCopy();
+        }
+
         Instructor i = getInstructorEntityForGoogleId(courseId, googleId);
 
         if (i == null || JDOHelper.isDeleted(i)) {
             log.info("Trying to get non-existent Instructor: " + googleId);
+            putCachedEntity(cacheKey, null);
             return null;
         }
 
-        return new InstructorAttributes(i);
+        InstructorAttributes instructor = new InstructorAttributes(i);
+        putCachedEntity(cacheKey, instructor.getCopy());
+        return instructor;
     }
 
     /**
@@ -334,6 +356,8 @@ public class InstructorsDb extends EntitiesDb {
         putDocument(new InstructorAttributes(instructorToUpdate));
         log.info(instructorAttributesToUpdate.getBackupIdentifier());
         getPm().close();
+        invalidateCachedEntities();
+        rosterCache.incrementGeneration(instructorAttributesToUpdate.courseId);
     }
 
     /**
@@ -369,6 +393,8 @@ public class InstructorsDb extends EntitiesDb {
         putDocument(new InstructorAttributes(instructorToUpdate));
         log.info(instructorAttributesToUpdate.getBackupIdentifier());
         getPm().close();
+        invalidateCachedEntities();
+        rosterCache.incrementGeneration(instructorAttributesToUpdate.courseId);
     }
 
     /**
@@ -389,6 +415,8 @@ public class InstructorsDb extends EntitiesDb {
 
         getPm().deletePersistent(instructorToDelete);
         getPm().flush();
+        invalidateCachedEntities();
+        rosterCache.incrementGeneration(courseId);
 
         // Check delete operation persisted
         if (Config.PERSISTENCE_CHECK_DURATION > 0) {
@@ -427,6 +455,10 @@ public class InstructorsDb extends EntitiesDb {
 
         getPm().deletePersistentAll(instructorsToDelete);
         getPm().flush();
+        invalidateCachedEntities();
+        for (String courseId : courseIds) {
+            rosterCache.incrementGeneration(courseId);
+        }
     }
 
     /**
@@ -437,13 +469,19 @@ public class InstructorsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
 
         List<Instructor> instructorList = getInstructorEntitiesForGoogleId(googleId);
+        Set<String> courseIds = new HashSet<String>();
 
         for (Instructor instructor : instructorList) {
             deleteDocument(new InstructorAttributes(instructor));
+            courseIds.add(instructor.getCourseId());
         }
 
         getPm().deletePersistentAll(instructorList);
         getPm().flush();
+        invalidateCachedEntities();
+        for (String courseId : courseIds) {
+            rosterCache.incrementGeneration(courseId);
+        }
 
     }
 
@@ -461,6 +499,8 @@ public class InstructorsDb extends EntitiesDb {
         }
         getPm().deletePersistentAll(instructorList);
         getPm().flush();
+        invalidateCachedEntities();
+        rosterCache.incrementGeneration(courseId);
 
     }
 
@@ -590,6 +630,18 @@ public class InstructorsDb extends EntitiesDb {
         return instructorList;
     }
 
+    @Override
+    protected void onEntitiesWritten(Collection<? extends EntityAttributes> entities) {
+        super.onEntitiesWritten(entities);
+        Set<String> courseIds = new HashSet<String>();
+        for (EntityAttributes entity : entities) {
+            courseIds.add(((InstructorAttributes) entity).courseId);
+        }
+        for (String courseId : courseIds) {
+            rosterCache.incrementGeneration(courseId);
+        }
+    }
+
     @Override
     protected Object getEntity(EntityAttributes attributes) {
 
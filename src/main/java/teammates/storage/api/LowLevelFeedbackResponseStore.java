@@ -0,0 +1,312 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.appengine.api.datastore.AsyncDatastoreService;
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.EntityNotFoundException;
+import com.google.appengine.api.datastore.FetchOptions;
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
+import com.google.appengine.api.datastore.Query;
+import com.google.appengine.api.datastore.Query.CompositeFilterOperator;
+import com.google.appengine.api.datastore.Query.Filter;
+import com.google.appengine.api.datastore.Query.FilterOperator;
+import com.google.appengine.api.datastore.Query.FilterPredicate;
+import com.google.appengine.api.datastore.Text;
+
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.util.Const;
+import teammates.questions.FeedbackQuestionType;
+import teammates.storage.entity.FeedbackResponse;
+
+/**
+ * Reads and writes {@link FeedbackResponse} entities through the low-level Datastore API,
+ * mapping them directly to and from {@link FeedbackResponseAttributes}.
+ *
+ * <p>The entities are stored in the same kind and with the same property names as JDO stores them,
+ * so that they can be read and written interchangeably through either API. As nothing is tracked
+ * by a persistence manager, every change must be written explicitly.
+ *
+ * @see FeedbackResponsesDb
+ */
+class LowLevelFeedbackResponseStore {
+
+    static final String PROPERTY_FEEDBACK_SESSION_NAME = "feedbackSessionName";
+    static final String PROPERTY_COURSE_ID = "courseId";
+    static final String PROPERTY_FEEDBACK_QUESTION_ID = "feedbackQuestionId";
+    static final String PROPERTY_FEEDBACK_QUESTION_TYPE = "feedbackQuestionType";
+    static final String PROPERTY_GIVER_EMAIL = "giverEmail";
+    static final String PROPERTY_GIVER_SECTION = "giverSection";
+    static final String PROPERTY_RECEIVER = "receiver";
+    static final String PROPERTY_RECEIVER_SECTION = "receiverSection";
+    static final String PROPERTY_ANSWER = "answer";
+    static final String PROPERTY_CREATED_AT = "createdAt";
+    static final String PROPERTY_UPDATED_AT = "updatedAt";
+
+    private static final String KIND = FeedbackResponse.class.getSimpleName();
+
+    private final DatastoreService datastore = DatastoreServiceFactory.getDatastoreService();
+
+    private final AsyncDatastoreService asyncDatastore = DatastoreServiceFactory.getAsyncDatastoreService();
+
+    /**
+     * Returns a filter which matches the responses whose property {@code propertyName} is {@code value}.
+     */
+    static Filter equal(String propertyName, Object value) {
+        return new FilterPredicate(propertyName, FilterOperator.EQUAL, value);
+    }
+
+    /**
+     * Returns a filter which matches the responses matched by all of {@code filters}.
+     */
+    static Filter and(Filter... filters) {
+        return CompositeFilterOperator.and(filters);
+    }
+
+    /**
+     * Returns the response with the given ID, or null if there is none.
+     */
+    FeedbackResponseAttributes getResponse(String feedbackResponseId) {
+        try {
+            return toAttributes(datastore.get(getKey(feedbackResponseId)));
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the stored version of the response identified by {@code response}, either by its ID or,
+     * if it has none, by its question, giver and recipient. Returns null if there is none.
+     */
+    FeedbackResponseAttributes getResponse(FeedbackResponseAttributes response) {
+        Entity entity = getEntity(response);
+        return entity == null ? null : toAttributes(entity);
+    }
+
+    /**
+     * Gets the responses with the given IDs using a single batch get.
+     * @return a map from response ID to response, without entries for IDs that are not found.
+     */
+    Map<String, FeedbackResponseAttributes> getResponses(Collection<String> feedbackResponseIds) {
+        List<Key> keys = new ArrayList<Key>();
+        for (String feedbackResponseId : feedbackResponseIds) {
+            keys.add(getKey(feedbackResponseId));
+        }
+
+        Map<String, FeedbackResponseAttributes> responses = new HashMap<String, FeedbackResponseAttributes>();
+        for (Entity entity : datastore.get(keys).values()) {
+            responses.put(entity.getKey().getName(), toAttributes(entity));
+        }
+        return responses;
+    }
+
+    /**
+     * Returns the responses matched by {@code filter}, limited by {@code options}.
+     */
+    List<FeedbackResponseAttributes> getResponses(Filter filter, FetchOptions options) {
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (Entity entity : datastore.prepare(new Query(KIND).setFilter(filter)).asList(options)) {
+            responses.add(toAttributes(entity));
+        }
+        return responses;
+    }
+
+    /**
+     * Returns the responses matched by any of {@code filters}, each limited by {@code options}, without duplicates.
+     *
+     * @see #startQueries
+     */
+    Collection<FeedbackResponseAttributes> getResponsesMatchingAny(FetchOptions options, Filter... filters) {
+        Map<String, FeedbackResponseAttributes> responses = new HashMap<String, FeedbackResponseAttributes>();
+        for (Iterator<Entity> result : startQueries(false, options, filters)) {
+            while (result.hasNext()) {
+                Entity entity = result.next();
+                responses.put(entity.getKey().getName(), toAttributes(entity));
+            }
+        }
+        return responses.values();
+    }
+
+    /**
+     * Returns the IDs of the responses matched by any of {@code filters}, each limited by {@code options},
+     * without duplicates. Only the keys of the responses are queried.
+     *
+     * @see #startQueries
+     */
+    Set<String> getResponseIdsMatchingAny(FetchOptions options, Filter... filters) {
+        Set<String> feedbackResponseIds = new LinkedHashSet<String>();
+        for (Iterator<Entity> result : startQueries(true, options, filters)) {
+            while (result.hasNext()) {
+                feedbackResponseIds.add(result.next().getKey().getName());
+            }
+        }
+        return feedbackResponseIds;
+    }
+
+    /**
+     * Starts a query for each of {@code filters} on the asynchronous Datastore service.
+     *
+     * <p>The asynchronous service sends a query as soon as its iterator is created, and only a read
+     * from the iterator waits for the results. As all queries are started before any result is read,
+     * the Datastore runs them concurrently instead of one after the other.
+     */
+    private List<Iterator<Entity>> startQueries(boolean isKeysOnly, FetchOptions options, Filter... filters) {
+        List<Iterator<Entity>> results = new ArrayList<Iterator<Entity>>();
+        for (Filter filter : filters) {
+            Query query = new Query(KIND).setFilter(filter);
+            if (isKeysOnly) {
+                query.setKeysOnly();
+            }
+            results.add(asyncDatastore.prepare(query).asIterator(options));
+        }
+        return results;
+    }
+
+    /**
+     * Returns true if there is at least one response matched by {@code filter}.
+     */
+    boolean hasResponses(Filter filter) {
+        Query query = new Query(KIND).setFilter(filter).setKeysOnly();
+        return !datastore.prepare(query).asList(FetchOptions.Builder.withLimit(1)).isEmpty();
+    }
+
+    /**
+     * Writes the responses as new entities, overwriting any existing entities with the same IDs.
+     */
+    void createResponses(Collection<FeedbackResponseAttributes> responses) {
+        Date now = new Date();
+        List<Entity> entities = new ArrayList<Entity>();
+        for (FeedbackResponseAttributes response : responses) {
+            String feedbackResponseId = response.feedbackQuestionId + "%" + response.giver + "%" + response.recipient;
+            entities.add(toEntity(response, feedbackResponseId, now, now));
+        }
+        datastore.put(entities);
+    }
+
+    /**
+     * Updates the answer, recipient and sections of the response identified by {@code newAttributes}.
+     * The {@code updatedAt} timestamp is set to the time of update unless {@code keepUpdateTimestamp} is true.
+     */
+    void updateResponse(FeedbackResponseAttributes newAttributes, boolean keepUpdateTimestamp)
+            throws EntityDoesNotExistException {
+        Entity entity = getEntity(newAttributes);
+        if (entity == null) {
+            throw new EntityDoesNotExistException(EntitiesDb.ERROR_UPDATE_NON_EXISTENT + newAttributes.toString());
+        }
+
+        entity.setUnindexedProperty(PROPERTY_ANSWER, newAttributes.responseMetaData);
+        entity.setProperty(PROPERTY_RECEIVER, newAttributes.recipient);
+        entity.setProperty(PROPERTY_GIVER_SECTION, newAttributes.giverSection);
+        entity.setProperty(PROPERTY_RECEIVER_SECTION, newAttributes.recipientSection);
+        if (!keepUpdateTimestamp) {
+            entity.setProperty(PROPERTY_UPDATED_AT, new Date());
+        }
+        datastore.put(entity);
+    }
+
+    /**
+     * Deletes the responses identified by {@code responses}, ignoring those which do not exist.
+     * @return the stored versions of the responses which have been deleted
+     */
+    List<FeedbackResponseAttributes> deleteResponses(Collection<FeedbackResponseAttributes> responses) {
+        List<FeedbackResponseAttributes> deletedResponses = new ArrayList<FeedbackResponseAttributes>();
+        List<Key> keys = new ArrayList<Key>();
+        for (FeedbackResponseAttributes response : responses) {
+            Entity entity = getEntity(response);
+            if (entity != null) {
+                deletedResponses.add(toAttributes(entity));
+                keys.add(entity.getKey());
+            }
+        }
+        datastore.delete(keys);
+        return deletedResponses;
+    }
+
+    /**
+     * Deletes all responses in the courses.
+     */
+    void deleteResponsesForCourses(Collection<String> courseIds) {
+        for (String courseId : courseIds) {
+            Query query = new Query(KIND).setFilter(equal(PROPERTY_COURSE_ID, courseId)).setKeysOnly();
+            List<Key> keys = new ArrayList<Key>();
+            for (Entity entity : datastore.prepare(query).asIterable()) {
+                keys.add(entity.getKey());
+            }
+            datastore.delete(keys);
+        }
+    }
+
+    private Entity getEntity(FeedbackResponseAttributes response) {
+        if (response.getId() != null) {
+            try {
+                return datastore.get(getKey(response.getId()));
+            } catch (EntityNotFoundException e) {
+                return null;
+            }
+        }
+
+        // the ID of a response is not changed when its recipient is updated, so it cannot be derived here
+        Query query = new Query(KIND).setFilter(
+                and(equal(PROPERTY_FEEDBACK_QUESTION_ID, response.feedbackQuestionId),
+                    equal(PROPERTY_GIVER_EMAIL, response.giver),
+                    equal(PROPERTY_RECEIVER, response.recipient)));
+        List<Entity> entities = datastore.prepare(query).asList(FetchOptions.Builder.withLimit(1));
+        return entities.isEmpty() ? null : entities.get(0);
+    }
+
+    private static Key getKey(String feedbackResponseId) {
+        return KeyFactory.createKey(KIND, feedbackResponseId);
+    }
+
+    private static Entity toEntity(FeedbackResponseAttributes response, String feedbackResponseId,
+                                   Date createdAt, Date updatedAt) {
+        Entity entity = new Entity(getKey(feedbackResponseId));
+        entity.setProperty(PROPERTY_FEEDBACK_SESSION_NAME, response.feedbackSessionName);
+        entity.setProperty(PROPERTY_COURSE_ID, response.courseId);
+        entity.setProperty(PROPERTY_FEEDBACK_QUESTION_ID, response.feedbackQuestionId);
+        entity.setProperty(PROPERTY_FEEDBACK_QUESTION_TYPE,
+                           response.feedbackQuestionType == null ? null : response.feedbackQuestionType.name());
+        entity.setProperty(PROPERTY_GIVER_EMAIL, response.giver);
+        entity.setProperty(PROPERTY_GIVER_SECTION, response.giverSection);
+        entity.setProperty(PROPERTY_RECEIVER, response.recipient);
+        entity.setProperty(PROPERTY_RECEIVER_SECTION, response.recipientSection);
+        entity.setUnindexedProperty(PROPERTY_ANSWER, response.responseMetaData);
+        entity.setProperty(PROPERTY_CREATED_AT, createdAt);
+        entity.setProperty(PROPERTY_UPDATED_AT, updatedAt);
+        return entity;
+    }
+
+    private static FeedbackResponseAttributes toAttributes(Entity entity) {
+        String questionType = (String) entity.getProperty(PROPERTY_FEEDBACK_QUESTION_TYPE);
+        String giverSection = (String) entity.getProperty(PROPERTY_GIVER_SECTION);
+        String receiverSection = (String) entity.getProperty(PROPERTY_RECEIVER_SECTION);
+
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                (String) entity.getProperty(PROPERTY_FEEDBACK_SESSION_NAME),
+                (String) entity.getProperty(PROPERTY_COURSE_ID),
+                (String) entity.getProperty(PROPERTY_FEEDBACK_QUESTION_ID),
+                questionType == null ? null : FeedbackQuestionType.valueOf(questionType),
+                (String) entity.getProperty(PROPERTY_GIVER_EMAIL),
+                giverSection == null ? Const.DEFAULT_SECTION : giverSection,
+                (String) entity.getProperty(PROPERTY_RECEIVER),
+                receiverSection == null ? Const.DEFAULT_SECTION : receiverSection,
+                (Text) entity.getProperty(PROPERTY_ANSWER));
+        response.setId(entity.getKey().getName());
+        response.setTimestamps((Date) entity.getProperty(PROPERTY_CREATED_AT),
+                               (Date) entity.getProperty(PROPERTY_UPDATED_AT));
+        return response;
+    }
+
+}
@@ -0,0 +1,47 @@
+package teammates.storage.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link CacheBackend} that keeps the most recently used values in the memory of the current instance.
+ * Intended for local development and testing, where memcache is not shared with other instances anyway.
+ */
+public class LruCacheBackend implements CacheBackend {
+
+    private final Map<String, Object> values;
+
+    /**
+     * Creates a backend that retains at most {@code capacity} values and counters.
+     */
+    public LruCacheBackend(final int capacity) {
+        this.values = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public synchronized String get(String key) {
+        Object value = values.get(key);
+        return value instanceof String ? (String) value : null;
+    }
+
+    @Override
+    public synchronized void put(String key, String value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public synchronized Long increment(String key, long delta, long initialValue) {
+        Object current = values.get(key);
+        long updated = (current instanceof Long ? (Long) current : initialValue) + delta;
+        values.put(key, updated);
+        return updated;
+    }
+
+}
@@ -0,0 +1,47 @@
+package teammates.storage.api;
+
+import com.google.appengine.api.memcache.Expiration;
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Logger;
+
+/**
+ * {@link CacheBackend} backed by the App Engine memcache, shared by all instances of the application.
+ */
+public class MemcacheBackend implements CacheBackend {
+
+    private static final Logger log = Logger.getLogger();
+
+    private final MemcacheService memcache = MemcacheServiceFactory.getMemcacheService();
+    private final int expirySeconds;
+
+    /**
+     * Creates a backend whose stored values expire {@code expirySeconds} after they are put.
+     */
+    public MemcacheBackend(int expirySeconds) {
+        this.expirySeconds = expirySeconds;
+    }
+
+    @Override
+    public String get(String key) {
+        return (String) memcache.get(key);
+    }
+
+    @Override
+    public void put(String key, String value) {
+        try {
+            memcache.put(key, value, Expiration.byDeltaSeconds(expirySeconds));
+        } catch (IllegalArgumentException e) {
+            // thrown if the value exceeds the memcache size limit
+            log.warning("Unable to cache value for " + key + ": " + TeammatesException.toStringWithStackTrace(e));
+        }
+    }
+
+    @Override
+    public Long increment(String key, long delta, long initialValue) {
+        return memcache.increment(key, delta, initialValue);
+    }
+
+}
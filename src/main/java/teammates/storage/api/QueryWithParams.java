@@ -1,9 +1,15 @@
 package teammates.storage.api;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.jdo.Query;
 
+import org.datanucleus.store.appengine.query.JDOCursorHelper;
+
+import com.google.appengine.api.datastore.Cursor;
+
 /**
  * Data transfer object for bundling a Query together with parameters and expected result field.
  */
@@ -27,6 +33,13 @@ public class QueryWithParams {
         this.expectedResultField = expectedResultField;
     }
 
+    /**
+     * Limits the query to its first {@code limit} results.
+     */
+    void setRange(long limit) {
+        query.setRange(0, limit);
+    }
+
     List<?> execute() {
         if (expectedResultField != null) {
             query.setResult(expectedResultField);
@@ -34,6 +47,21 @@ public class QueryWithParams {
         return (List<?>) query.executeWithArray(params);
     }
 
+    /**
+     * Executes the query for at most {@code limit} results, starting from {@code cursor}
+     * or from the first result if {@code cursor} is null.
+     * The cursor for the next batch can be retrieved from the returned list via {@link JDOCursorHelper#getCursor}.
+     */
+    List<?> executeFromCursor(Cursor cursor, int limit) {
+        if (cursor != null) {
+            Map<String, Object> extensions = new HashMap<String, Object>();
+            extensions.put(JDOCursorHelper.CURSOR_EXTENSION, cursor);
+            query.setExtensions(extensions);
+        }
+        setRange(limit);
+        return execute();
+    }
+
     long deletePersistentAll() {
         return query.deletePersistentAll(params);
     }
@@ -0,0 +1,118 @@
+package teammates.storage.api;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import teammates.common.util.Logger;
+
+/**
+ * Caches entities read through the {@code *Db} classes for the duration of a single request.
+ *
+ * <p>The cache is active on the current thread only between {@link #start()} and {@link #end()}.
+ * Outside of that window every lookup is a miss and nothing is stored, so code paths that do not
+ * run within a request (e.g. tests and scripts) always read from the Datastore.
+ *
+ * <p>Cached values are grouped by the {@code *Db} class that stored them. Any write made through
+ * a {@code *Db} class discards all values cached by that class.
+ */
+public final class RequestScopedEntityCache {
+
+    /**
+     * Returned by {@link #get(Class, String)} if there is no value cached for the given key.
+     * Note that {@code null} is a valid cached value, indicating that the entity does not exist.
+     */
+    static final Object MISS = new Object();
+
+    private static final ThreadLocal<RequestScopedEntityCache> PER_THREAD_CACHE =
+            new ThreadLocal<RequestScopedEntityCache>();
+    private static final Logger log = Logger.getLogger();
+
+    private final Map<Class<?>, Map<String, Object>> valuesByDb = new HashMap<Class<?>, Map<String, Object>>();
+    private int hitCount;
+    private int missCount;
+
+    private RequestScopedEntityCache() {
+        // instantiated only via start()
+    }
+
+    /**
+     * Starts a new, empty cache for the current thread, discarding any existing one.
+     */
+    public static void start() {
+        PER_THREAD_CACHE.set(new RequestScopedEntityCache());
+    }
+
+    /**
+     * Discards the cache of the current thread. Does nothing if there is no active cache.
+     */
+    public static void end() {
+        RequestScopedEntityCache cache = PER_THREAD_CACHE.get();
+        if (cache == null) {
+            return;
+        }
+        PER_THREAD_CACHE.remove();
+        log.fine("Request-scoped entity cache: " + cache.hitCount + " hits, " + cache.missCount + " misses");
+    }
+
+    public static boolean isActive() {
+        return PER_THREAD_CACHE.get() != null;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache of the current thread, or 0 if there is no active cache.
+     */
+    public static int getHitCount() {
+        RequestScopedEntityCache cache = PER_THREAD_CACHE.get();
+        return cache == null ? 0 : cache.hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that had to go to the Datastore while the cache of the current thread
+     * was active, or 0 if there is no active cache.
+     */
+    public static int getMissCount() {
+        RequestScopedEntityCache cache = PER_THREAD_CACHE.get();
+        return cache == null ? 0 : cache.missCount;
+    }
+
+    /**
+     * Returns the value cached by {@code db} for {@code key}, or {@link #MISS} if there is none.
+     */
+    static Object get(Class<?> db, String key) {
+        RequestScopedEntityCache cache = PER_THREAD_CACHE.get();
+        if (cache == null) {
+            return MISS;
+        }
+
+        Map<String, Object> values = cache.valuesByDb.get(db);
+        if (values == null || !values.containsKey(key)) {
+            cache.missCount++;
+            return MISS;
+        }
+
+        cache.hitCount++;
+        return values.get(key);
+    }
+
+    static void put(Class<?> db, String key, Object value) {
+        RequestScopedEntityCache cache = PER_THREAD_CACHE.get();
+        if (cache == null) {
+            return;
+        }
+
+        Map<String, Object> values = cache.valuesByDb.get(db);
+        if (values == null) {
+            values = new HashMap<String, Object>();
+            cache.valuesByDb.put(db, values);
+        }
+        values.put(key, value);
+    }
+
+    static void invalidate(Class<?> db) {
+        RequestScopedEntityCache cache = PER_THREAD_CACHE.get();
+        if (cache != null) {
+            cache.valuesByDb.remove(db);
+        }
+    }
+
+}
@@ -2,14 +2,18 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import com.google.appengine.api.datastore.Entity;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
 
@@ -42,21 +46,38 @@ public class StudentsDb extends EntitiesDb {
 
     public static final String ERROR_UPDATE_EMAIL_ALREADY_USED = "Trying to update to an email that is already used by: ";
 
+    /** The maximum number of students written to the datastore in one batch. */
+    private static final int MAX_STUDENTS_PER_BATCH_WRITE = 100;
+
+    /** The maximum number of documents the search service accepts in one batch put. */
+    private static final int MAX_DOCUMENTS_PER_BATCH_PUT = 200;
+
+    /** The maximum number of keys the datastore accepts in one batch get. */
+    private static final int MAX_KEYS_PER_BATCH_GET = 1000;
+
+    private static final String PROPERTY_REGISTRATION_KEY = "registrationKey";
+
     private static final Logger log = Logger.getLogger();
 
+    private CourseRosterCache rosterCache = new CourseRosterCache();
+
     public void putDocument(StudentAttributes student) {
         putDocument(Const.SearchIndex.STUDENT, new StudentSearchDocument(student));
     }
 
     /**
-     * Batch creates or updates search documents for the given students.
+     * Batch creates or updates search documents for the given students,
+     * in batches of at most {@link #MAX_DOCUMENTS_PER_BATCH_PUT} documents.
      */
     public void putDocuments(List<StudentAttributes> students) {
-        List<SearchDocument> studentDocuments = new ArrayList<SearchDocument>();
-        for (StudentAttributes student : students) {
-            studentDocuments.add(new StudentSearchDocument(student));
+        for (int from = 0; from < students.size(); from += MAX_DOCUMENTS_PER_BATCH_PUT) {
+            List<SearchDocument> studentDocuments = new ArrayList<SearchDocument>();
+            for (StudentAttributes student
+                    : students.subList(from, Math.min(from + MAX_DOCUMENTS_PER_BATCH_PUT, students.size()))) {
+                studentDocuments.add(new StudentSearchDocument(student));
+            }
+            putDocuments(Const.SearchIndex.STUDENT, studentDocuments);
         }
-        putDocuments(Const.SearchIndex.STUDENT, studentDocuments);
     }
 
     /**
@@ -123,6 +144,48 @@ public class StudentsDb extends EntitiesDb {
         }
     }
 
+    /**
+     * Creates the records of students who are known not to be in the datastore, without searchability.
+     * Unlike {@link #createStudentsWithoutSearchability}, the students are not looked up before they are created,
+     * and they are written in batches of at most {@link #MAX_STUDENTS_PER_BATCH_WRITE} students.
+     * Existing students would be overwritten, so the students must have been looked up by key first,
+     * with {@link #getStudentsForEmails}, rather than only by a query, which may miss recently created students.
+     *
+     * @return the created students, with their registration keys
+     * @throws InvalidParametersException if any of the students is invalid, in which case none is created
+     */
+    public List<StudentAttributes> createNewStudentsWithoutSearchability(List<StudentAttributes> studentsToAdd)
+            throws InvalidParametersException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, studentsToAdd);
+
+        for (StudentAttributes student : studentsToAdd) {
+            student.sanitizeForSaving();
+            if (!student.isValid()) {
+                throw new InvalidParametersException(student.getInvalidityInfo());
+            }
+        }
+
+        List<StudentAttributes> createdStudents = new ArrayList<StudentAttributes>();
+        for (int from = 0; from < studentsToAdd.size(); from += MAX_STUDENTS_PER_BATCH_WRITE) {
+            List<StudentAttributes> batch =
+                    studentsToAdd.subList(from, Math.min(from + MAX_STUDENTS_PER_BATCH_WRITE, studentsToAdd.size()));
+            List<CourseStudent> courseStudents = new ArrayList<CourseStudent>();
+            for (StudentAttributes student : batch) {
+                courseStudents.add((CourseStudent) student.toEntity());
+                log.info(student.getBackupIdentifier());
+            }
+
+            getPm().makePersistentAll(courseStudents);
+            getPm().flush();
+            onEntitiesWritten(batch);
+
+            for (CourseStudent courseStudent : courseStudents) {
+                createdStudents.add(new StudentAttributes(courseStudent));
+            }
+        }
+        return createdStudents;
+    }
+
     public void createStudent(StudentAttributes student)
             throws InvalidParametersException, EntityAlreadyExistsException {
 
@@ -153,11 +216,37 @@ public class StudentsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
 
+        String cacheKey = email + "%" + courseId;
+        Object cached = getCachedEntity(cacheKey);
+        if (cached != RequestScopedEntityCache.MISS) {
+            return cached == null ? null : ((StudentAttributes) cached).getCopy();
+        }
+
         CourseStudent cs = getCourseStudentEntityForEmail(courseId, email);
         if (cs == null) {
+            putCachedEntity(cacheKey, null);
             return null;
         }
-        return new StudentAttributes(cs);
+
+        StudentAttributes student = new StudentAttributes(cs);
+        putCachedEntity(cacheKey, student.getCopy());
+        return student;
+    }
+
+    /**
+     * Returns the students of a course with the given emails who are in the datastore.
+     * Unlike the other methods, which query the students, the students are looked up by key in batches,
+     * so students created just before, e.g. by another enrollment into the same course, are found.
+     */
+    public List<StudentAttributes> getStudentsForEmails(String courseId, Collection<String> emails) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
+
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        for (CourseStudent courseStudent : getCourseStudentEntitiesForEmails(courseId, emails)) {
+            students.add(new StudentAttributes(courseStudent));
+        }
+        return students;
     }
 
     /**
@@ -427,6 +516,59 @@ public class StudentsDb extends EntitiesDb {
 
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+        invalidateCachedEntities();
+        rosterCache.incrementGeneration(courseId);
+    }
+
+    /**
+     * Updates the name, team, section, Google ID and comments of existing students of a course, without searchability.
+     * The students are matched by email, which is not changed. The students of the course are read with a single query,
+     * and those the query misses, e.g. because they were created just before, are looked up by key.
+     * The updates are written in batches of at most {@link #MAX_STUDENTS_PER_BATCH_WRITE} students.
+     *
+     * @return the updated students
+     * @throws EntityDoesNotExistException if any of the students is not in the course, in which case none is updated
+     */
+    public List<StudentAttributes> updateStudentsWithoutSearchability(String courseId,
+            Collection<StudentAttributes> students) throws EntityDoesNotExistException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, students);
+
+        Map<String, CourseStudent> courseStudentsByEmail = new HashMap<String, CourseStudent>();
+        for (CourseStudent courseStudent : getCourseStudentEntitiesForCourse(courseId)) {
+            courseStudentsByEmail.put(courseStudent.getEmail(), courseStudent);
+        }
+        List<String> emailsMissedByQuery = new ArrayList<String>();
+        for (StudentAttributes student : students) {
+            if (!courseStudentsByEmail.containsKey(student.email)) {
+                emailsMissedByQuery.add(student.email);
+            }
+        }
+        for (CourseStudent courseStudent : getCourseStudentEntitiesForEmails(courseId, emailsMissedByQuery)) {
+            courseStudentsByEmail.put(courseStudent.getEmail(), courseStudent);
+        }
+        for (StudentAttributes student : students) {
+            if (!courseStudentsByEmail.containsKey(student.email)) {
+                throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT_STUDENT + courseId + "/" + student.email);
+            }
+        }
+
+        List<StudentAttributes> updatedStudents = new ArrayList<StudentAttributes>();
+        for (StudentAttributes student : students) {
+            CourseStudent courseStudent = courseStudentsByEmail.get(student.email);
+            updateStudentDetails(student.name, student.team, student.section, student.googleId, student.comments,
+                                 false, false, courseStudent, StringHelper.splitName(student.name)[1]);
+            updatedStudents.add(new StudentAttributes(courseStudent));
+            if (updatedStudents.size() % MAX_STUDENTS_PER_BATCH_WRITE == 0) {
+                getPm().flush();
+            }
+        }
+
+        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        getPm().close();
+        invalidateCachedEntities();
+        rosterCache.incrementGeneration(courseId);
+        return updatedStudents;
     }
 
     @SuppressWarnings("PMD.PreserveStackTrace")
@@ -502,6 +644,8 @@ public class StudentsDb extends EntitiesDb {
             getCourseStudentForEmailQuery(courseId, email)
                 .deletePersistentAll();
         }
+        invalidateCachedEntities();
+        rosterCache.incrementGeneration(courseId);
 
         // Check delete operation persisted
         if (Config.PERSISTENCE_CHECK_DURATION > 0) {
@@ -540,8 +684,13 @@ public class StudentsDb extends EntitiesDb {
     public void deleteStudentsForGoogleId(String googleId, boolean hasDocument) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
 
+        List<CourseStudent> courseStudents = getCourseStudentEntitiesForGoogleId(googleId);
+        Set<String> courseIds = new HashSet<String>();
+        for (CourseStudent student : courseStudents) {
+            courseIds.add(student.getCourseId());
+        }
+
         if (hasDocument) {
-            List<CourseStudent> courseStudents = getCourseStudentEntitiesForGoogleId(googleId);
             for (CourseStudent student : courseStudents) {
                 deleteDocument(new StudentAttributes(student));
             }
@@ -551,6 +700,10 @@ public class StudentsDb extends EntitiesDb {
             getCourseStudentsForGoogleIdQuery(googleId)
                 .deletePersistentAll();
         }
+        invalidateCachedEntities();
+        for (String courseId : courseIds) {
+            rosterCache.incrementGeneration(courseId);
+        }
     }
 
     /**
@@ -582,6 +735,8 @@ public class StudentsDb extends EntitiesDb {
             getCourseStudentsForCourseQuery(courseId)
                 .deletePersistentAll();
         }
+        invalidateCachedEntities();
+        rosterCache.incrementGeneration(courseId);
     }
 
     public void deleteStudentsForCourses(List<String> courseIds) {
@@ -590,6 +745,26 @@ public class StudentsDb extends EntitiesDb {
 
         getCourseStudentsForCoursesQuery(courseIds)
             .deletePersistentAll();
+        invalidateCachedEntities();
+        for (String courseId : courseIds) {
+            rosterCache.incrementGeneration(courseId);
+        }
+    }
+
+    /**
+     * Deletes the next chunk of at most {@code limit} students of the course, starting from {@code cursor},
+     * together with their search documents.
+     */
+    CourseEntityChunk deleteChunkForCourse(String courseId, String cursor, int limit) {
+        // the search documents of students are identified by a property of the student
+        CourseEntityChunk chunk = CourseEntityChunk.get(CourseStudent.class.getSimpleName(), courseId, cursor, limit, false);
+        for (Entity entity : chunk.getEntities()) {
+            deleteDocument(Const.SearchIndex.STUDENT, (String) entity.getProperty(PROPERTY_REGISTRATION_KEY));
+        }
+        chunk.delete();
+        invalidateCachedEntities();
+        rosterCache.incrementGeneration(courseId);
+        return chunk;
     }
 
     /**
@@ -693,6 +868,30 @@ public class StudentsDb extends EntitiesDb {
         return new QueryWithParams(q, new Object[] {googleId});
     }
 
+    private List<CourseStudent> getCourseStudentEntitiesForEmails(String courseId, Collection<String> emails) {
+        List<String> ids = new ArrayList<String>();
+        for (String email : emails) {
+            ids.add(CourseStudent.makeId(email, courseId));
+        }
+
+        List<CourseStudent> courseStudents = new ArrayList<CourseStudent>();
+        for (int from = 0; from < ids.size(); from += MAX_KEYS_PER_BATCH_GET) {
+            // a contains() filter on the primary key is executed as a batch get
+            Query q = getPm().newQuery(CourseStudent.class);
+            q.setFilter(":p.contains(id)");
+
+            @SuppressWarnings("unchecked")
+            List<CourseStudent> batch = (List<CourseStudent>) q.execute(
+                    new ArrayList<String>(ids.subList(from, Math.min(from + MAX_KEYS_PER_BATCH_GET, ids.size()))));
+            for (CourseStudent courseStudent : batch) {
+                if (!JDOHelper.isDeleted(courseStudent)) {
+                    courseStudents.add(courseStudent);
+                }
+            }
+        }
+        return courseStudents;
+    }
+
     @SuppressWarnings("unchecked")
     private List<CourseStudent> getCourseStudentEntitiesForGoogleId(String googleId) {
         return (List<CourseStudent>) getCourseStudentsForGoogleIdQuery(googleId).execute();
@@ -728,6 +927,18 @@ public class StudentsDb extends EntitiesDb {
         return (List<CourseStudent>) q.execute();
     }
 
+    @Override
+    protected void onEntitiesWritten(Collection<? extends EntityAttributes> entities) {
+        super.onEntitiesWritten(entities);
+        Set<String> courseIds = new HashSet<String>();
+        for (EntityAttributes entity : entities) {
+            courseIds.add(((StudentAttributes) entity).course);
+        }
+        for (String courseId : courseIds) {
+            rosterCache.incrementGeneration(courseId);
+        }
+    }
+
     @Override
     protected Object getEntity(EntityAttributes entity) {
         StudentAttributes studentToGet = (StudentAttributes) entity;
@@ -39,7 +39,7 @@ public class CourseStudent extends Entity implements StoreCallback {
     /**
      * ID of the student.
      *
-     * @see #makeId()
+     * @see #makeId(String, String)
      */
     @PrimaryKey
     @Persistent
@@ -107,12 +107,15 @@ public class CourseStudent extends Entity implements StoreCallback {
 
         setCreatedAt(new Date());
 
-        this.id = makeId();
+        this.id = makeId(getEmail(), getCourseId());
         registrationKey = generateRegistrationKey();
     }
 
-    private String makeId() {
-        return getEmail() + '%' + getCourseId();
+    /**
+     * Returns the ID of the student with {@code email} in the course with {@code courseId}.
+     */
+    public static String makeId(String email, String courseId) {
+        return email + '%' + courseId;
     }
 
     public Date getCreatedAt() {
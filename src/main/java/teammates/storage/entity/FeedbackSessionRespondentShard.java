@@ -0,0 +1,90 @@
+package teammates.storage.entity;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.NotPersistent;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Represents one shard of the respondents of a Feedback Session.
+ *
+ * <p>The respondents of a session are spread over a fixed number of shards by the hash of their email,
+ * so that concurrent submissions by different users seldom write to the same entity.
+ */
+@PersistenceCapable
+public class FeedbackSessionRespondentShard extends Entity {
+
+    /**
+     * The name of the primary key of this entity type.
+     */
+    @NotPersistent
+    public static final String PRIMARY_KEY_NAME = getFieldWithPrimaryKeyAnnotation(FeedbackSessionRespondentShard.class);
+
+    // Format is feedbackSessionName%courseId%shardIndex
+    // PMD.UnusedPrivateField and SingularField are suppressed
+    // as shardId is persisted to the database
+    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"})
+    @PrimaryKey
+    @Persistent
+    private transient String shardId;
+
+    @Persistent
+    private String feedbackSessionName;
+
+    @Persistent
+    private String courseId;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Set<String> respondingInstructorList;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Set<String> respondingStudentList;
+
+    public FeedbackSessionRespondentShard(String feedbackSessionName, String courseId, int shardIndex) {
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+        this.shardId = generateId(feedbackSessionName, courseId, shardIndex);
+        this.respondingInstructorList = new HashSet<String>();
+        this.respondingStudentList = new HashSet<String>();
+    }
+
+    public static String generateId(String feedbackSessionName, String courseId, int shardIndex) {
+        return feedbackSessionName + "%" + courseId + "%" + shardIndex;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public Set<String> getRespondingInstructorList() {
+        if (respondingInstructorList == null) {
+            respondingInstructorList = new HashSet<String>();
+        }
+        return respondingInstructorList;
+    }
+
+    public Set<String> getRespondingStudentList() {
+        if (respondingStudentList == null) {
+            respondingStudentList = new HashSet<String>();
+        }
+        return respondingStudentList;
+    }
+
+    @Override
+    public String toString() {
+        return "FeedbackSessionRespondentShard [shardId=" + shardId
+                + ", respondingInstructorList=" + respondingInstructorList
+                + ", respondingStudentList=" + respondingStudentList + "]";
+    }
+
+}
@@ -137,11 +137,11 @@ public class CommentSearchDocument extends SearchDocument {
                                             .setDate(comment.createdAt))
                 // attribute field is used to convert a doc back to attribute
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.COMMENT_ATTRIBUTE)
-                                            .setText(JsonUtils.toJson(comment)))
+                                            .setText(JsonUtils.toCompactJson(comment)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.COMMENT_GIVER_NAME)
-                                            .setText(JsonUtils.toJson(displayedName)))
+                                            .setText(JsonUtils.toCompactJson(displayedName)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.COMMENT_RECIPIENT_NAME)
-                                            .setText(JsonUtils.toJson(commentRecipientName)))
+                                            .setText(JsonUtils.toCompactJson(commentRecipientName)))
                 .setId(comment.getCommentId().toString())
                 .build();
     }
@@ -202,19 +202,19 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
                                             .setDate(comment.createdAt))
                 // attribute field is used to convert a doc back to attribute
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_COMMENT_ATTRIBUTE)
-                                            .setText(JsonUtils.toJson(comment)))
+                                            .setText(JsonUtils.toCompactJson(comment)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_ATTRIBUTE)
-                                            .setText(JsonUtils.toJson(relatedResponse)))
+                                            .setText(JsonUtils.toCompactJson(relatedResponse)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_GIVER_NAME)
-                                            .setText(JsonUtils.toJson(responseGiverName)))
+                                            .setText(JsonUtils.toCompactJson(responseGiverName)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_RECEIVER_NAME)
-                                            .setText(JsonUtils.toJson(responseRecipientName)))
+                                            .setText(JsonUtils.toCompactJson(responseRecipientName)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_QUESTION_ATTRIBUTE)
-                                            .setText(JsonUtils.toJson(relatedQuestion)))
+                                            .setText(JsonUtils.toCompactJson(relatedQuestion)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_SESSION_ATTRIBUTE)
-                                            .setText(JsonUtils.toJson(relatedSession)))
+                                            .setText(JsonUtils.toCompactJson(relatedSession)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_COMMENT_GIVER_NAME)
-                                            .setText(JsonUtils.toJson(displayedName)))
+                                            .setText(JsonUtils.toCompactJson(displayedName)))
                 .setId(comment.getId().toString())
                 .build();
     }
@@ -241,12 +241,33 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
         Set<String> isAdded = new HashSet<String>();
 
         List<ScoredDocument> filteredResults = filterOutCourseId(results, instructors);
+
+        // check that the comments and responses still exist using one batch get for each kind
+        List<FeedbackResponseCommentAttributes> resultComments = new ArrayList<FeedbackResponseCommentAttributes>();
+        List<FeedbackResponseAttributes> resultResponses = new ArrayList<FeedbackResponseAttributes>();
+        Set<Long> commentIds = new HashSet<Long>();
+        Set<String> responseIds = new HashSet<String>();
         for (ScoredDocument doc : filteredResults) {
-            // get FeedbackResponseComment from results
             FeedbackResponseCommentAttributes comment = JsonUtils.fromJson(
                     doc.getOnlyField(Const.SearchDocumentField.FEEDBACK_RESPONSE_COMMENT_ATTRIBUTE).getText(),
                     FeedbackResponseCommentAttributes.class);
-            if (frcDb.getFeedbackResponseComment(comment.getId()) == null) {
+            FeedbackResponseAttributes response = JsonUtils.fromJson(
+                    doc.getOnlyField(Const.SearchDocumentField.FEEDBACK_RESPONSE_ATTRIBUTE).getText(),
+                    FeedbackResponseAttributes.class);
+            resultComments.add(comment);
+            resultResponses.add(response);
+            commentIds.add(comment.getId());
+            responseIds.add(response.getId());
+        }
+        Set<Long> existingCommentIds = frcDb.getFeedbackResponseComments(commentIds).keySet();
+        Set<String> existingResponseIds = frDb.getFeedbackResponses(responseIds).keySet();
+
+        for (int i = 0; i < filteredResults.size(); i++) {
+            ScoredDocument doc = filteredResults.get(i);
+
+            // get FeedbackResponseComment from results
+            FeedbackResponseCommentAttributes comment = resultComments.get(i);
+            if (!existingCommentIds.contains(comment.getId())) {
                 frcDb.deleteDocument(comment);
                 continue;
             }
@@ -259,10 +280,8 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
             commentList.add(comment);
 
             // get related response from results
-            FeedbackResponseAttributes response = JsonUtils.fromJson(
-                    doc.getOnlyField(Const.SearchDocumentField.FEEDBACK_RESPONSE_ATTRIBUTE).getText(),
-                    FeedbackResponseAttributes.class);
-            if (frDb.getFeedbackResponse(response.getId()) == null) {
+            FeedbackResponseAttributes response = resultResponses.get(i);
+            if (!existingResponseIds.contains(response.getId())) {
                 frcDb.deleteDocument(comment);
                 continue;
             }
@@ -61,7 +61,7 @@ public class StudentSearchDocument extends SearchDocument {
                                             .setText(searchableText))
                 // attribute field is used to convert a doc back to attribute
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.STUDENT_ATTRIBUTE)
-                                            .setText(JsonUtils.toJson(student)))
+                                            .setText(JsonUtils.toCompactJson(student)))
                 .setId(student.key)
                 .build();
     }
@@ -8,6 +8,7 @@ import teammates.common.datatransfer.attributes.AdminEmailAttributes;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Logger;
+import teammates.logic.api.TaskQueuer;
 
 /**
  * Task queue worker action: prepares admin email to be sent via task queue in address mode,
@@ -37,7 +38,7 @@ public class AdminPrepareEmailAddressModeWorkerAction extends AutomatedAction {
         String addressReceiverListString = getRequestParamValue(ParamsNames.ADMIN_EMAIL_ADDRESS_RECEIVERS);
         Assumption.assertNotNull(addressReceiverListString);
 
-        AdminEmailAttributes adminEmail = logic.getAdminEmailById(emailId);
+        AdminEmailAttributes adminEmail = logic.getAdminEmailForSending(emailId);
         Assumption.assertNotNull(adminEmail);
         List<String> addressList = new ArrayList<String>();
 
@@ -47,10 +48,9 @@ public class AdminPrepareEmailAddressModeWorkerAction extends AutomatedAction {
             addressList.add(addressReceiverListString);
         }
 
-        for (String emailAddress : addressList) {
-            taskQueuer.scheduleAdminEmailForSending(emailId, emailAddress, adminEmail.getSubject(),
-                                                    adminEmail.getContentValue());
-        }
+        long startTime = System.currentTimeMillis();
+        int numberOfTasksAdded = taskQueuer.scheduleAdminEmailsForSending(emailId, addressList);
+        log.info(TaskQueuer.getTaskAddingRateMessage(numberOfTasksAdded, System.currentTimeMillis() - startTime));
     }
 
 }
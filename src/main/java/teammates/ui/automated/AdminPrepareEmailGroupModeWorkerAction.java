@@ -1,6 +1,7 @@
 package teammates.ui.automated;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.google.appengine.api.blobstore.BlobKey;
@@ -11,7 +12,9 @@ import teammates.common.exception.TeammatesException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.common.util.GroupReceiverListReader;
 import teammates.common.util.Logger;
+import teammates.logic.api.TaskQueuer;
 
 /**
  * Task queue worker action: prepares admin email to be sent via task queue in group mode,
@@ -19,6 +22,10 @@ import teammates.common.util.Logger;
  */
 public class AdminPrepareEmailGroupModeWorkerAction extends AutomatedAction {
 
+    /** The number of receivers whose tasks are added together, as many as fill the largest batch of tasks. */
+    private static final int RECEIVERS_PER_BATCH =
+            TaskQueuer.MAX_TASKS_PER_BATCH * TaskQueuer.MAX_RECEIVERS_PER_ADMIN_EMAIL_TASK;
+
     private static final Logger log = Logger.getLogger();
 
     @Override
@@ -41,22 +48,19 @@ public class AdminPrepareEmailGroupModeWorkerAction extends AutomatedAction {
         String groupReceiverListFileKey = getRequestParamValue(ParamsNames.ADMIN_EMAIL_GROUP_RECEIVER_LIST_FILE_KEY);
         Assumption.assertNotNull(groupReceiverListFileKey);
 
-        String indexOfEmailListToResumeAsString =
-                getRequestParamValue(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX);
-        String indexOfEmailToResumeAsString = getRequestParamValue(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_INDEX);
-
-        int indexOfEmailListToResume = indexOfEmailListToResumeAsString == null
-                                       ? 0
-                                       : Integer.parseInt(indexOfEmailListToResumeAsString);
-        int indexOfEmailToResume = indexOfEmailToResumeAsString == null
-                                   ? 0
-                                   : Integer.parseInt(indexOfEmailToResumeAsString);
+        String receiverListOffsetToResumeAsString = getRequestParamValue(ParamsNames.ADMIN_GROUP_RECEIVER_LIST_OFFSET);
+        long receiverListOffsetToResume = receiverListOffsetToResumeAsString == null
+                                          ? 0
+                                          : Long.parseLong(receiverListOffsetToResumeAsString);
 
         try {
-            List<List<String>> processedReceiverEmails =
-                    GoogleCloudStorageHelper.getGroupReceiverList(new BlobKey(groupReceiverListFileKey));
-            addAdminEmailToTaskQueue(emailId, groupReceiverListFileKey, processedReceiverEmails,
-                                     indexOfEmailListToResume, indexOfEmailToResume);
+            GroupReceiverListReader receiverListReader = GoogleCloudStorageHelper.readGroupReceiverList(
+                    new BlobKey(groupReceiverListFileKey), receiverListOffsetToResume);
+            try {
+                addAdminEmailToTaskQueue(emailId, groupReceiverListFileKey, receiverListReader);
+            } finally {
+                receiverListReader.close();
+            }
         } catch (IOException e) {
             log.severe("Unexpected error while adding admin email tasks: "
                        + TeammatesException.toStringWithStackTrace(e));
@@ -69,37 +73,43 @@ public class AdminPrepareEmailGroupModeWorkerAction extends AutomatedAction {
     }
 
     private void addAdminEmailToTaskQueue(String emailId, String groupReceiverListFileKey,
-            List<List<String>> processedReceiverEmails,
-            int indexOfEmailListToResume, int indexOfEmailToResume) {
-        AdminEmailAttributes adminEmail = logic.getAdminEmailById(emailId);
+            GroupReceiverListReader receiverListReader) throws IOException {
+        AdminEmailAttributes adminEmail = logic.getAdminEmailForSending(emailId);
         Assumption.assertNotNull(adminEmail);
 
-        log.info("Resume adding group mail tasks for mail with id " + emailId + " from list index: "
-                 + indexOfEmailListToResume + " and email index: " + indexOfEmailToResume);
-
-        int indexOfLastEmailList = 0;
-        int indexOfLastEmail = 0;
-
-        for (int i = indexOfEmailListToResume; i < processedReceiverEmails.size(); i++) {
-            List<String> currentEmailList = processedReceiverEmails.get(i);
-            for (int j = indexOfEmailToResume; j < currentEmailList.size(); j++) {
-                String receiverEmail = currentEmailList.get(j);
-                taskQueuer.scheduleAdminEmailForSending(emailId, receiverEmail, adminEmail.getSubject(),
-                                                        adminEmail.getContentValue());
-                if (isNearDeadline()) {
-                    taskQueuer.scheduleAdminEmailPreparationInGroupMode(emailId, groupReceiverListFileKey, i, j);
-                    log.info("Adding group mail tasks for mail with id " + emailId
-                             + " have been paused with list index: " + i + " and email index: " + j);
-                    return;
-                }
-                indexOfLastEmail = j;
+        log.info("Resume adding group mail tasks for mail with id " + emailId + " from receiver list offset: "
+                 + receiverListReader.getOffset());
+
+        List<String> receiverEmailsToSchedule = new ArrayList<String>();
+        int numberOfTasksAdded = 0;
+        long startTime = System.currentTimeMillis();
+
+        for (String receiverEmail = receiverListReader.readNextReceiver(); receiverEmail != null;
+                receiverEmail = receiverListReader.readNextReceiver()) {
+            receiverEmailsToSchedule.add(receiverEmail);
+            if (receiverEmailsToSchedule.size() < RECEIVERS_PER_BATCH) {
+                continue;
+            }
+
+            numberOfTasksAdded += taskQueuer.scheduleAdminEmailsForSending(emailId, receiverEmailsToSchedule);
+            receiverEmailsToSchedule.clear();
+
+            if (isNearDeadline()) {
+                // resume from the receiver after the last one scheduled, without reading the list up to it again
+                long offsetToResume = receiverListReader.getOffset();
+                taskQueuer.scheduleAdminEmailPreparationInGroupMode(emailId, groupReceiverListFileKey, offsetToResume);
+                log.info("Adding group mail tasks for mail with id " + emailId
+                         + " have been paused with receiver list offset: " + offsetToResume + ". "
+                         + TaskQueuer.getTaskAddingRateMessage(numberOfTasksAdded,
+                                                               System.currentTimeMillis() - startTime));
+                return;
             }
-            indexOfLastEmailList = i;
         }
 
-        log.info("Adding group mail tasks for mail with id " + emailId
-                 + "was complete with last reached list index: " + indexOfLastEmailList
-                 + " and last reached email index: " + indexOfLastEmail);
+        numberOfTasksAdded += taskQueuer.scheduleAdminEmailsForSending(emailId, receiverEmailsToSchedule);
+
+        log.info("Adding group mail tasks for mail with id " + emailId + " was complete. "
+                 + TaskQueuer.getTaskAddingRateMessage(numberOfTasksAdded, System.currentTimeMillis() - startTime));
     }
 
 }
@@ -9,10 +9,13 @@ import teammates.common.util.Logger;
 import teammates.logic.api.EmailGenerator;
 
 /**
- * Task queue worker action: sends queued admin email.
+ * Task queue worker action: sends queued admin email to a batch of receivers.
  */
 public class AdminSendEmailWorkerAction extends AutomatedAction {
 
+    /** The header with the name of the task, which stays the same when the task is retried. */
+    private static final String TASK_NAME_HEADER = "X-AppEngine-TaskName";
+
     private static final Logger log = Logger.getLogger();
 
     @Override
@@ -27,9 +30,9 @@ public class AdminSendEmailWorkerAction extends AutomatedAction {
 
     @Override
     public void execute() {
-        String receiverEmail = getRequestParamValue(ParamsNames.ADMIN_EMAIL_RECEIVER);
-        Assumption.assertNotNull(receiverEmail);
+        String[] receiverEmails = getNonNullRequestParamValues(ParamsNames.ADMIN_EMAIL_RECEIVER);
 
+        // tasks queued before admin emails were read by ID carry the subject and content of the email
         String emailContent = getRequestParamValue(ParamsNames.ADMIN_EMAIL_CONTENT);
         String emailSubject = getRequestParamValue(ParamsNames.ADMIN_EMAIL_SUBJECT);
 
@@ -37,8 +40,8 @@ public class AdminSendEmailWorkerAction extends AutomatedAction {
             String emailId = getRequestParamValue(ParamsNames.ADMIN_EMAIL_ID);
             Assumption.assertNotNull(emailId);
 
-            log.info("Sending large email. Going to retrieve email content and subject from datastore.");
-            AdminEmailAttributes adminEmail = logic.getAdminEmailById(emailId);
+            // the content is read once for all receivers of the task, usually from the cache of admin emails
+            AdminEmailAttributes adminEmail = logic.getAdminEmailForSending(emailId);
             Assumption.assertNotNull(adminEmail);
 
             emailContent = adminEmail.getContentValue();
@@ -48,13 +51,32 @@ public class AdminSendEmailWorkerAction extends AutomatedAction {
         Assumption.assertNotNull(emailContent);
         Assumption.assertNotNull(emailSubject);
 
-        try {
-            EmailWrapper email =
-                    new EmailGenerator().generateAdminEmail(emailContent, emailSubject, receiverEmail);
-            emailSender.sendEmail(email);
-            log.info("Email sent to " + receiverEmail);
-        } catch (Exception e) {
-            log.severe("Unexpected error while sending admin emails: " + TeammatesException.toStringWithStackTrace(e));
+        // the receivers sent to are recorded under the task name, so that a retry of the task skips them
+        String taskName = request.getHeader(TASK_NAME_HEADER);
+        boolean isSendingToAnyReceiverFailed = false;
+
+        EmailGenerator emailGenerator = new EmailGenerator();
+        for (String receiverEmail : receiverEmails) {
+            if (taskName != null && logic.isAdminEmailSentInTask(taskName, receiverEmail)) {
+                log.info("Email already sent to " + receiverEmail + " by an earlier run of the task");
+                continue;
+            }
+            try {
+                EmailWrapper email = emailGenerator.generateAdminEmail(emailContent, emailSubject, receiverEmail);
+                emailSender.sendEmail(email);
+                log.info("Email sent to " + receiverEmail);
+                if (taskName != null) {
+                    logic.markAdminEmailSentInTask(taskName, receiverEmail);
+                }
+            } catch (Exception e) {
+                isSendingToAnyReceiverFailed = true;
+                log.severe("Unexpected error while sending admin emails: "
+                           + TeammatesException.toStringWithStackTrace(e));
+            }
+        }
+
+        if (isSendingToAnyReceiverFailed) {
+            setForRetry();
         }
     }
 
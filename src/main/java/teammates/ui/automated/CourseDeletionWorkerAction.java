@@ -0,0 +1,50 @@
+package teammates.ui.automated;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Logger;
+
+/**
+ * Task queue worker action: deletes part of the data of a course whose deletion has been started,
+ * and schedules itself again if there is more to delete.
+ */
+public class CourseDeletionWorkerAction extends AutomatedAction {
+
+    /**
+     * Maximum number of chunks deleted by one task, which keeps each task well within the request deadline.
+     */
+    private static final int MAX_CHUNKS_PER_TASK = 20;
+
+    private static final Logger log = Logger.getLogger();
+
+    @Override
+    protected String getActionDescription() {
+        return null;
+    }
+
+    @Override
+    protected String getActionMessage() {
+        return null;
+    }
+
+    @Override
+    public void execute() {
+        String courseId = getRequestParamValue(ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+
+        long startTime = System.currentTimeMillis();
+        int chunksDeleted = 0;
+        boolean hasMoreData = true;
+        while (hasMoreData && chunksDeleted < MAX_CHUNKS_PER_TASK) {
+            hasMoreData = logic.deleteNextChunkOfCourse(courseId);
+            chunksDeleted++;
+        }
+        log.info("Deleted " + chunksDeleted + " chunks of course " + courseId
+                 + " in " + (System.currentTimeMillis() - startTime) + " ms");
+
+        if (hasMoreData) {
+            taskQueuer.scheduleCourseDeletion(courseId);
+        }
+    }
+
+}
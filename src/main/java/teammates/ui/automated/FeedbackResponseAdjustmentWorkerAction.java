@@ -6,7 +6,6 @@ import com.google.gson.reflect.TypeToken;
 
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.UserType;
-import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
 import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
 import teammates.common.util.ActivityLogEntry;
 import teammates.common.util.Assumption;
@@ -56,21 +55,16 @@ public class FeedbackResponseAdjustmentWorkerAction extends AutomatedAction {
             return;
         }
 
-        List<FeedbackResponseAttributes> allResponses =
-                logic.getFeedbackResponsesForSession(feedbackSession.getFeedbackSessionName(),
-                                                     feedbackSession.getCourseId());
         List<StudentEnrollDetails> enrollmentList =
                 JsonUtils.fromJson(enrollmentDetails, new TypeToken<List<StudentEnrollDetails>>(){}.getType());
-        for (FeedbackResponseAttributes response : allResponses) {
-            try {
-                logic.adjustFeedbackResponseForEnrollments(enrollmentList, response);
-            } catch (Exception e) {
-                UserType userType = new GateKeeper().getCurrentUser();
-                log.severe(String.format(errorString, sessionName, courseId, e.getMessage(),
-                                         ActivityLogEntry.generateServletActionFailureLogMessage(request, e, userType)));
-                setForRetry();
-                return;
-            }
+        try {
+            logic.adjustFeedbackResponsesForEnrollments(enrollmentList, feedbackSession.getFeedbackSessionName(),
+                                                        feedbackSession.getCourseId());
+        } catch (Exception e) {
+            UserType userType = new GateKeeper().getCurrentUser();
+            log.severe(String.format(errorString, sessionName, courseId, e.getMessage(),
+                                     ActivityLogEntry.generateServletActionFailureLogMessage(request, e, userType)));
+            setForRetry();
         }
     }
 
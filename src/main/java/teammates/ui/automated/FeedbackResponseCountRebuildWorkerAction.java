@@ -0,0 +1,39 @@
+package teammates.ui.automated;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+
+/**
+ * Task queue worker action: recounts the responses to each question of a feedback session.
+ */
+public class FeedbackResponseCountRebuildWorkerAction extends AutomatedAction {
+
+    @Override
+    protected String getActionDescription() {
+        return null;
+    }
+
+    @Override
+    protected String getActionMessage() {
+        return null;
+    }
+
+    @Override
+    public void execute() {
+        String courseId = getRequestParamValue(ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+
+        String feedbackSessionName = getRequestParamValue(ParamsNames.FEEDBACK_SESSION_NAME);
+        Assumption.assertNotNull(feedbackSessionName);
+
+        if (logic.getFeedbackSession(feedbackSessionName, courseId) == null) {
+            // the session has been deleted after the task was scheduled
+            return;
+        }
+        if (!logic.rebuildFeedbackResponseCountsForSession(feedbackSessionName, courseId)) {
+            // responses were written during the recount, which is tried again when they are less frequent
+            setForRetry();
+        }
+    }
+
+}
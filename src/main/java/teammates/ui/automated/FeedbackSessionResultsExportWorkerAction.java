@@ -0,0 +1,76 @@
+package teammates.ui.automated;
+
+import com.google.apphosting.api.ApiProxy;
+
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Logger;
+import teammates.logic.api.EmailGenerator;
+
+/**
+ * Task queue worker action: writes part of the file of a feedback session results export,
+ * and schedules itself again if there is more to write. Once the file is complete,
+ * the instructor who requested the export is sent the link to download it.
+ *
+ * <p>Completing the file and sending the link are recorded separately, so that a retry of the task
+ * after the file is completed still sends the link, and a retry after the link is sent does nothing.
+ */
+public class FeedbackSessionResultsExportWorkerAction extends AutomatedAction {
+
+    /**
+     * Time left before the request deadline at which the export is checkpointed,
+     * which leaves enough time to finish writing the current question and to save the checkpoint.
+     */
+    private static final long DEADLINE_MARGIN_MILLIS = 100 * 1000;
+
+    /** The deadline of task queue requests, which bounds the remaining time reported outside of requests. */
+    private static final long REQUEST_DEADLINE_MILLIS = 10 * 60 * 1000;
+
+    private static final String EMAIL_TASK_NAME_PREFIX = "feedbackSessionResultsExportedEmail-";
+
+    private static final Logger log = Logger.getLogger();
+
+    @Override
+    protected String getActionDescription() {
+        return null;
+    }
+
+    @Override
+    protected String getActionMessage() {
+        return null;
+    }
+
+    @Override
+    public void execute() {
+        String exportId = getRequestParamValue(ParamsNames.FEEDBACK_RESULTS_EXPORT_ID);
+        Assumption.assertNotNull(exportId);
+
+        FeedbackSessionResultsExport export = logic.getFeedbackSessionResultsExport(exportId);
+        if (export == null || export.isEmailSent) {
+            // the export has been deleted together with its course, or this is a retry of the last task
+            return;
+        }
+
+        long remainingMillis = Math.min(ApiProxy.getCurrentEnvironment().getRemainingMillis(),
+                                        REQUEST_DEADLINE_MILLIS);
+        long stopTimeMillis = System.currentTimeMillis() + remainingMillis - DEADLINE_MARGIN_MILLIS;
+        try {
+            if (!export.isCompleted && logic.continueFeedbackSessionResultsExport(exportId, stopTimeMillis)) {
+                taskQueuer.scheduleFeedbackSessionResultsExport(exportId);
+                return;
+            }
+            // the email task is named after the export, so that the email is not sent twice
+            // if recording that it has been sent fails
+            taskQueuer.scheduleEmailForSending(EMAIL_TASK_NAME_PREFIX + exportId,
+                    new EmailGenerator().generateFeedbackSessionResultsExportedEmail(export));
+            logic.markFeedbackSessionResultsExportEmailSent(exportId);
+        } catch (Exception e) {
+            log.severe("Unexpected error while exporting feedback session results: "
+                       + TeammatesException.toStringWithStackTrace(e));
+            setForRetry();
+        }
+    }
+
+}
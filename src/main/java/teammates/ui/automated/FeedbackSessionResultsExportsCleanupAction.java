@@ -0,0 +1,37 @@
+package teammates.ui.automated;
+
+import teammates.common.util.Logger;
+
+/**
+ * Cron job: deletes the feedback session results exports which are old enough to be deleted,
+ * together with their files.
+ */
+public class FeedbackSessionResultsExportsCleanupAction extends AutomatedAction {
+
+    private static final int EXPORTS_PER_BATCH = 100;
+
+    private static final Logger log = Logger.getLogger();
+
+    @Override
+    protected String getActionDescription() {
+        return "delete expired results exports";
+    }
+
+    @Override
+    protected String getActionMessage() {
+        return "Deleting expired feedback session results exports.";
+    }
+
+    @Override
+    public void execute() {
+        int numberOfExportsDeleted = 0;
+        int numberOfExportsInBatch;
+        do {
+            numberOfExportsInBatch = logic.deleteExpiredFeedbackSessionResultsExports(EXPORTS_PER_BATCH);
+            numberOfExportsDeleted += numberOfExportsInBatch;
+        } while (numberOfExportsInBatch == EXPORTS_PER_BATCH);
+
+        log.info("Deleted " + numberOfExportsDeleted + " expired feedback session results exports");
+    }
+
+}
@@ -11,6 +11,7 @@ import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
 
 import teammates.common.util.Const;
 import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.common.util.GroupReceiverListReader;
 import teammates.common.util.Logger;
 import teammates.ui.pagedata.AdminEmailComposePageData;
 
@@ -38,17 +39,20 @@ public class AdminEmailGroupReceiverListUploadAction extends Action {
         }
 
         try {
-            List<List<String>> groupReceiverList =
-                    GoogleCloudStorageHelper.getGroupReceiverList(blobInfo.getBlobKey());
+            GroupReceiverListReader groupReceiverListReader =
+                    GoogleCloudStorageHelper.readGroupReceiverList(blobInfo.getBlobKey(), 0);
 
-            // log all email addresses retrieved from the txt file
-            int i = 0;
+            try {
+                // log all email addresses retrieved from the txt file
+                int i = 0;
 
-            for (List<String> list : groupReceiverList) {
-                for (String str : list) {
+                for (String str = groupReceiverListReader.readNextReceiver(); str != null;
+                        str = groupReceiverListReader.readNextReceiver()) {
                     log.info(str + " - " + i + " \n");
                     i++;
                 }
+            } finally {
+                groupReceiverListReader.close();
             }
         } catch (IOException e) {
             data.isFileUploaded = false;
@@ -51,9 +51,8 @@ public class AjaxResult extends ActionResult {
 
         resp.setContentType("application/json");
         resp.setCharacterEncoding("UTF-8");
-        String jsonData = JsonUtils.toJson(data);
-
-        resp.getWriter().write(jsonData);
+        // the data is only read by scripts, so it is streamed as compact JSON instead of built as a string first
+        JsonUtils.toCompactJson(data, data.getClass(), resp.getWriter());
     }
 
     /**
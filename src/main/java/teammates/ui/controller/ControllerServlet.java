@@ -25,6 +25,7 @@ import teammates.common.util.Logger;
 import teammates.common.util.StatusMessage;
 import teammates.common.util.StatusMessageColor;
 import teammates.logic.api.GateKeeper;
+import teammates.logic.api.Logic;
 
 /**
  * Receives requests from the Browser, executes the matching action and sends
@@ -45,6 +46,9 @@ public class ControllerServlet extends HttpServlet {
     @SuppressWarnings("PMD.AvoidCatchingThrowable") // used as fallback
     public final void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
 
+        Logic logic = new Logic();
+        logic.startRequestScopedCache();
+
         UserType userType = new GateKeeper().getCurrentUser();
 
         try {
@@ -130,6 +134,8 @@ public class ControllerServlet extends HttpServlet {
                         + TeammatesException.toStringWithStackTrace(t));
             cleanUpStatusMessageInSession(req);
             resp.sendRedirect(Const.ViewURIs.ERROR_PAGE);
+        } finally {
+            logic.endRequestScopedCache();
         }
 
     }
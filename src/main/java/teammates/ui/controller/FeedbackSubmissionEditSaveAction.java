@@ -20,7 +20,6 @@ import teammates.questions.FeedbackQuestionDetails;
 import teammates.questions.FeedbackQuestionType;
 import teammates.questions.FeedbackResponseDetails;
 import teammates.common.exception.EmailSendingException;
-import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.exception.TeammatesException;
@@ -283,13 +282,15 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
 
     private void updateResponses(List<FeedbackResponseAttributes> responsesToUpdate)
             throws EntityDoesNotExistException {
-        for (FeedbackResponseAttributes response : responsesToUpdate) {
-            try {
-                logic.updateFeedbackResponse(response);
-                hasValidResponse = true;
-            } catch (EntityAlreadyExistsException | InvalidParametersException e) {
-                setStatusForException(e);
-            }
+        if (responsesToUpdate.isEmpty()) {
+            return;
+        }
+        Map<FeedbackResponseAttributes, Exception> failedResponses = logic.updateFeedbackResponses(responsesToUpdate);
+        for (Exception e : failedResponses.values()) {
+            setStatusForException(e);
+        }
+        if (failedResponses.size() < responsesToUpdate.size()) {
+            hasValidResponse = true;
         }
     }
 
@@ -2,20 +2,37 @@ package teammates.ui.controller;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import teammates.common.datatransfer.attributes.AccountAttributes;
+import teammates.common.util.Const;
 import teammates.common.util.SanitizationHelper;
 import teammates.common.util.StatusMessage;
 import teammates.common.util.StringHelper;
 
 public class FileDownloadResult extends ActionResult {
 
+    /**
+     * Writes the content of a file while it is being sent, for files which are too large
+     * to be built in memory before sending.
+     */
+    public interface FileContentWriter {
+
+        /**
+         * Writes the whole content of the file to {@code writer}.
+         */
+        void writeTo(Writer writer) throws IOException;
+
+    }
+
     private String fileContent = "";
     private String fileName = "";
+    private FileContentWriter fileContentWriter;
 
     public FileDownloadResult(String destination, AccountAttributes account,
             List<StatusMessage> status) {
@@ -31,6 +48,15 @@ public class FileDownloadResult extends ActionResult {
         this.fileContent = fileContent;
     }
 
+    public FileDownloadResult(
+            String destination, AccountAttributes account,
+            List<StatusMessage> status,
+            String fileName, FileContentWriter fileContentWriter) {
+        super(destination, account, status);
+        this.fileName = fileName;
+        this.fileContentWriter = fileContentWriter;
+    }
+
     @Override
     public void send(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         /*
@@ -43,7 +69,18 @@ public class FileDownloadResult extends ActionResult {
         resp.setHeader("Content-Disposition", getContentDispositionHeader());
         PrintWriter writer = resp.getWriter();
         writer.write("\uFEFF");
-        writer.append(fileContent);
+        if (fileContentWriter == null) {
+            writer.append(fileContent);
+            return;
+        }
+        try {
+            fileContentWriter.writeTo(writer);
+        } catch (IOException | RuntimeException e) {
+            // the status and the headers may have been sent already, so the failure is marked in the file itself
+            writer.append(Const.EOL).append(Const.StatusMessages.FILE_DOWNLOAD_INCOMPLETE);
+            writer.flush();
+            throw e;
+        }
     }
 
     /**
@@ -67,8 +104,24 @@ public class FileDownloadResult extends ActionResult {
         return this.fileName;
     }
 
+    /**
+     * Returns the content of the file. If the content is written while it is being sent,
+     * the whole content is built in memory the first time, so that the content is written only once.
+     */
     public String getFileContent() {
-        return this.fileContent;
+        if (fileContentWriter == null) {
+            return this.fileContent;
+        }
+        StringWriter writer = new StringWriter();
+        try {
+            fileContentWriter.writeTo(writer);
+        } catch (IOException e) {
+            // writing to a StringWriter does not throw IOException
+            throw new RuntimeException(e);
+        }
+        fileContent = writer.toString();
+        fileContentWriter = null;
+        return fileContent;
     }
 
 }
@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import teammates.common.datatransfer.CourseDeletionStatus;
 import teammates.common.datatransfer.attributes.CourseAttributes;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.util.Const;
@@ -70,6 +71,13 @@ public class InstructorCoursesPageAction extends Action {
         if (data.isUsingAjax() && allCourses.isEmpty()) {
             statusToUser.add(new StatusMessage(Const.StatusMessages.COURSE_EMPTY, StatusMessageColor.WARNING));
         }
+        if (data.isUsingAjax()) {
+            for (CourseDeletionStatus deletion : logic.getCourseDeletionsInProgress(data.account.googleId)) {
+                statusToUser.add(new StatusMessage(String.format(Const.StatusMessages.COURSE_DELETION_IN_PROGRESS,
+                                                                 deletion.courseId, deletion.deletedCount),
+                                                   StatusMessageColor.INFO));
+            }
+        }
 
         /* Explanation: We must set this variable. It is the text that will
          * represent this particular execution of this action in the
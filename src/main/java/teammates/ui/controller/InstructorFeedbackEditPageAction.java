@@ -35,9 +35,16 @@ public class InstructorFeedbackEditPageAction extends Action {
         List<FeedbackQuestionAttributes> questions = logic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
 
         Map<String, Boolean> questionHasResponses = new HashMap<String, Boolean>();
+        Map<String, Integer> responseCounts = logic.getFeedbackResponseCountsForSession(feedbackSessionName, courseId);
+        if (responseCounts == null && logic.markFeedbackResponseCountRebuildScheduled(feedbackSessionName, courseId)) {
+            // the counts of sessions created before responses were counted are built once in the background
+            taskQueuer.scheduleFeedbackResponseCountRebuild(courseId, feedbackSessionName);
+        }
 
         for (FeedbackQuestionAttributes question : questions) {
-            boolean hasResponse = logic.areThereResponsesForQuestion(question.getId());
+            boolean hasResponse = responseCounts == null
+                                  ? logic.areThereResponsesForQuestion(question.getId())
+                                  : responseCounts.containsKey(question.getId());
             questionHasResponses.put(question.getId(), hasResponse);
         }
 
@@ -44,8 +44,7 @@ public class InstructorFeedbackResponseCommentsLoadAction extends Action {
 
         gateKeeper.verifyAccessible(instructor, logic.getCourse(courseId));
 
-        CourseRoster roster = new CourseRoster(logic.getStudentsForCourse(courseId),
-                                               logic.getInstructorsForCourse(courseId));
+        CourseRoster roster = logic.getCourseRoster(courseId);
 
         int numberOfPendingComments = logic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size()
                 + logic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
@@ -84,6 +83,7 @@ public class InstructorFeedbackResponseCommentsLoadAction extends Action {
                 iter.remove();
             }
         }
+        bundle.invalidateResponseViews();
     }
 
     private void removeQuestionsAndResponsesWithoutFeedbackResponseComment(FeedbackSessionResultsBundle bundle) {
@@ -1,8 +1,14 @@
 package teammates.ui.controller;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.EntityNotFoundException;
 import teammates.common.exception.ExceedingRangeException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
@@ -13,13 +19,13 @@ public class InstructorFeedbackResultsDownloadAction extends Action {
 
     @Override
     protected ActionResult execute() throws EntityDoesNotExistException {
-        String courseId = getRequestParamValue(Const.ParamsNames.COURSE_ID);
-        String feedbackSessionName = getRequestParamValue(Const.ParamsNames.FEEDBACK_SESSION_NAME);
+        final String courseId = getRequestParamValue(Const.ParamsNames.COURSE_ID);
+        final String feedbackSessionName = getRequestParamValue(Const.ParamsNames.FEEDBACK_SESSION_NAME);
         String section = getRequestParamValue(Const.ParamsNames.SECTION_NAME);
-        boolean isMissingResponsesShown = getRequestParamAsBoolean(
+        final boolean isMissingResponsesShown = getRequestParamAsBoolean(
                 Const.ParamsNames.FEEDBACK_RESULTS_INDICATE_MISSING_RESPONSES);
-        String filterText = getRequestParamValue(Const.ParamsNames.FEEDBACK_QUESTION_FILTER_TEXT);
-        boolean isStatsShown = getRequestParamAsBoolean(Const.ParamsNames.FEEDBACK_RESULTS_SHOWSTATS);
+        final String filterText = getRequestParamValue(Const.ParamsNames.FEEDBACK_QUESTION_FILTER_TEXT);
+        final boolean isStatsShown = getRequestParamAsBoolean(Const.ParamsNames.FEEDBACK_RESULTS_SHOWSTATS);
         String questionId = getRequestParamValue(Const.ParamsNames.FEEDBACK_QUESTION_ID);
         String questionNumber = getRequestParamValue(Const.ParamsNames.FEEDBACK_QUESTION_NUMBER);
 
@@ -27,43 +33,64 @@ public class InstructorFeedbackResultsDownloadAction extends Action {
         Assumption.assertPostParamNotNull(Const.ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
 
         InstructorAttributes instructor = logic.getInstructorForGoogleId(courseId, account.googleId);
-        FeedbackSessionAttributes session = logic.getFeedbackSession(feedbackSessionName, courseId);
+        final FeedbackSessionAttributes session = logic.getFeedbackSession(feedbackSessionName, courseId);
         boolean isCreatorOnly = true;
 
         gateKeeper.verifyAccessible(instructor, session, !isCreatorOnly);
 
-        String fileContent = "";
-        String fileName = "";
+        final String selectedSection = section == null || "All".equals(section) ? null : section;
 
-        try {
-            String questionName = "";
-            if (questionNumber != null) {
-                questionName = "_question" + questionNumber;
-            }
+        String questionName = "";
+        if (questionNumber != null) {
+            questionName = "_question" + questionNumber;
+        }
+
+        String fileName;
+        if (selectedSection == null) {
+            fileName = courseId + "_" + feedbackSessionName + questionName;
+            statusToAdmin = "Summary data for Feedback Session " + feedbackSessionName
+                          + " in Course " + courseId + " was downloaded";
+        } else {
+            fileName = courseId + "_" + feedbackSessionName + "_" + selectedSection + questionName;
+            statusToAdmin = "Summary data for Feedback Session " + feedbackSessionName
+                          + " in Course " + courseId + " within " + selectedSection + " was downloaded";
+        }
+
+        if (questionId == null) {
+            // the results of a whole session can be too large to be built in memory, so they are written as they are sent;
+            // the session and its questions are read beforehand, as errors can no longer be reported once sending starts
+            final List<FeedbackQuestionAttributes> questions =
+                    logic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+            final String instructorEmail = instructor.email;
+            return createFileDownloadResult(fileName, new FileDownloadResult.FileContentWriter() {
+                @Override
+                public void writeTo(Writer writer) throws IOException {
+                    try {
+                        logic.writeFeedbackSessionResultSummaryInSectionAsCsv(
+                                session, questions, instructorEmail, selectedSection,
+                                filterText, isMissingResponsesShown, isStatsShown, writer);
+                    } catch (EntityDoesNotExistException e) {
+                        throw new EntityNotFoundException(e);
+                    }
+                }
+            });
+        }
 
-            if (section == null || "All".equals(section)) {
+        String fileContent;
+        try {
+            if (selectedSection == null) {
                 fileContent = logic.getFeedbackSessionResultSummaryAsCsv(
                         courseId, feedbackSessionName, instructor.email, filterText,
                         isMissingResponsesShown, isStatsShown, questionId);
-
-                fileName = courseId + "_" + feedbackSessionName + questionName;
-                statusToAdmin = "Summary data for Feedback Session " + feedbackSessionName
-                              + " in Course " + courseId + " was downloaded";
             } else {
                 fileContent = logic.getFeedbackSessionResultSummaryInSectionAsCsv(
-                        courseId, feedbackSessionName, instructor.email, section,
+                        courseId, feedbackSessionName, instructor.email, selectedSection,
                         questionId, filterText, isMissingResponsesShown, isStatsShown);
-                fileName = courseId + "_" + feedbackSessionName + "_" + section + questionName;
-                statusToAdmin = "Summary data for Feedback Session " + feedbackSessionName
-                              + " in Course " + courseId + " within " + section + " was downloaded";
             }
         } catch (ExceedingRangeException e) {
-            // not tested as the test file is not large enough to reach this catch block
-            statusToUser.add(new StatusMessage("This session has more responses than that can be downloaded in one go. "
-                        + "Please download responses for "
-                        + (questionNumber == null ? "one question at a time instead. "
-                        + "To download responses for a specific question, click on the corresponding question number."
-                                                 : "section instead."),
+            // not expected, as the results of a single question are not limited in range
+            statusToUser.add(new StatusMessage("This question has more responses than that can be downloaded in one go. "
+                        + "Please download responses for section instead.",
                                                  StatusMessageColor.DANGER));
             isError = true;
             RedirectResult result = createRedirectResult(Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE);
@@ -0,0 +1,57 @@
+package teammates.ui.controller;
+
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.StatusMessage;
+import teammates.common.util.StatusMessageColor;
+
+/**
+ * Action: starts exporting the summary results of a feedback session to a file in the background.
+ * The instructor is sent the link to download the file once it is complete.
+ */
+public class InstructorFeedbackResultsExportAction extends Action {
+
+    @Override
+    protected ActionResult execute() throws EntityDoesNotExistException {
+        String courseId = getRequestParamValue(Const.ParamsNames.COURSE_ID);
+        String feedbackSessionName = getRequestParamValue(Const.ParamsNames.FEEDBACK_SESSION_NAME);
+        String section = getRequestParamValue(Const.ParamsNames.SECTION_NAME);
+        boolean isMissingResponsesShown = getRequestParamAsBoolean(
+                Const.ParamsNames.FEEDBACK_RESULTS_INDICATE_MISSING_RESPONSES);
+        String filterText = getRequestParamValue(Const.ParamsNames.FEEDBACK_QUESTION_FILTER_TEXT);
+        boolean isStatsShown = getRequestParamAsBoolean(Const.ParamsNames.FEEDBACK_RESULTS_SHOWSTATS);
+
+        Assumption.assertPostParamNotNull(Const.ParamsNames.COURSE_ID, courseId);
+        Assumption.assertPostParamNotNull(Const.ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
+
+        InstructorAttributes instructor = logic.getInstructorForGoogleId(courseId, account.googleId);
+        FeedbackSessionAttributes session = logic.getFeedbackSession(feedbackSessionName, courseId);
+        boolean isCreatorOnly = true;
+
+        gateKeeper.verifyAccessible(instructor, session, !isCreatorOnly);
+
+        String selectedSection = section == null || "All".equals(section) ? null : section;
+
+        FeedbackSessionResultsExport export = logic.createFeedbackSessionResultsExport(
+                new FeedbackSessionResultsExport(courseId, feedbackSessionName, instructor.email, selectedSection,
+                                                 filterText, isMissingResponsesShown, isStatsShown));
+        taskQueuer.scheduleFeedbackSessionResultsExport(export.exportId);
+
+        statusToUser.add(new StatusMessage(Const.StatusMessages.FEEDBACK_RESULTS_EXPORT_STARTED,
+                                           StatusMessageColor.SUCCESS));
+        statusToAdmin = "Export of summary data for Feedback Session " + feedbackSessionName
+                      + " in Course " + courseId
+                      + (selectedSection == null ? "" : " within " + selectedSection)
+                      + " was started with ID " + export.exportId;
+
+        RedirectResult result = createRedirectResult(Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE);
+        result.addResponseParam(Const.ParamsNames.COURSE_ID, courseId);
+        result.addResponseParam(Const.ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
+        return result;
+    }
+
+}
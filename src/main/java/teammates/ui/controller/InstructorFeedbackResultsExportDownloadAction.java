@@ -0,0 +1,61 @@
+package teammates.ui.controller;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.EntityNotFoundException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.StatusMessage;
+import teammates.common.util.StatusMessageColor;
+
+/**
+ * Action: downloads the file of a feedback session results export which was written in the background.
+ */
+public class InstructorFeedbackResultsExportDownloadAction extends Action {
+
+    @Override
+    protected ActionResult execute() throws EntityDoesNotExistException {
+        final String exportId = getRequestParamValue(Const.ParamsNames.FEEDBACK_RESULTS_EXPORT_ID);
+        Assumption.assertPostParamNotNull(Const.ParamsNames.FEEDBACK_RESULTS_EXPORT_ID, exportId);
+
+        FeedbackSessionResultsExport export = logic.getFeedbackSessionResultsExport(exportId);
+        if (export == null) {
+            throw new EntityDoesNotExistException("Results export with ID " + exportId + " does not exist");
+        }
+
+        InstructorAttributes instructor = logic.getInstructorForGoogleId(export.courseId, account.googleId);
+        FeedbackSessionAttributes session = logic.getFeedbackSession(export.feedbackSessionName, export.courseId);
+        boolean isCreatorOnly = true;
+
+        gateKeeper.verifyAccessible(instructor, session, !isCreatorOnly);
+
+        if (!export.isCompleted) {
+            statusToUser.add(new StatusMessage(Const.StatusMessages.FEEDBACK_RESULTS_EXPORT_IN_PROGRESS,
+                                               StatusMessageColor.WARNING));
+            RedirectResult result = createRedirectResult(Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE);
+            result.addResponseParam(Const.ParamsNames.COURSE_ID, export.courseId);
+            result.addResponseParam(Const.ParamsNames.FEEDBACK_SESSION_NAME, export.feedbackSessionName);
+            return result;
+        }
+
+        statusToAdmin = "Exported summary data for Feedback Session " + export.feedbackSessionName
+                      + " in Course " + export.courseId + " was downloaded";
+
+        return createFileDownloadResult(export.getDownloadFileName(), new FileDownloadResult.FileContentWriter() {
+            @Override
+            public void writeTo(Writer writer) throws IOException {
+                try {
+                    logic.writeFeedbackSessionResultsExportFile(exportId, writer);
+                } catch (EntityDoesNotExistException e) {
+                    throw new EntityNotFoundException(e);
+                }
+            }
+        });
+    }
+
+}
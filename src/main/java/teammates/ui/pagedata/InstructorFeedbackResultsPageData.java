@@ -1,6 +1,7 @@
 package teammates.ui.pagedata;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -314,7 +315,7 @@ public class InstructorFeedbackResultsPageData extends PageData {
                                 List<FeedbackResponseAttributes>>> sortedResponses, String additionalInfoId) {
         sectionPanels = new LinkedHashMap<String, InstructorFeedbackResultsSectionPanel>();
 
-        LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> responsesGroupedByTeam =
+        Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> responsesGroupedByTeam =
                 viewType.isPrimaryGroupingOfGiverType() ? bundle.getQuestionResponseMapBundle().getQuestionResponseMapByGiverTeam(bundle)
                                                         : bundle.getQuestionResponseMapBundle().getQuestionResponseMapByRecipientTeam(bundle);
 
@@ -1040,8 +1041,9 @@ public class InstructorFeedbackResultsPageData extends PageData {
             FeedbackQuestionAttributes question, List<FeedbackResponseAttributes> responses) {
         List<InstructorFeedbackResultsResponseRow> responseRows = new ArrayList<InstructorFeedbackResultsResponseRow>();
 
-        List<String> possibleGiversWithoutResponses = bundle.getPossibleGiversBundle().getPossibleGivers(question, bundle);
-        List<String> possibleReceiversWithoutResponsesForGiver = new ArrayList<String>();
+        Set<String> possibleGiversWithoutResponses =
+                bundle.getPossibleGiversBundle().getPossibleGiversAsSet(question, bundle);
+        Set<String> possibleReceiversWithoutResponsesForGiver = new LinkedHashSet<String>();
 
         String prevGiver = "";
 
@@ -1052,7 +1054,7 @@ public class InstructorFeedbackResultsPageData extends PageData {
             }
 
             // keep track of possible givers who did not give a response
-            removeParticipantIdentifierFromList(possibleGiversWithoutResponses, response.giver);
+            possibleGiversWithoutResponses.remove(response.giver);
 
             boolean isNewGiver = !prevGiver.equals(response.giver);
             if (isNewGiver) {
@@ -1065,11 +1067,12 @@ public class InstructorFeedbackResultsPageData extends PageData {
                 }
                 String giverIdentifier = response.giver;
 
-                possibleReceiversWithoutResponsesForGiver = new PossibleRecipientsBundle().getPossibleRecipients(question, giverIdentifier, bundle);
+                possibleReceiversWithoutResponsesForGiver =
+                        new PossibleRecipientsBundle().getPossibleRecipientsAsSet(question, giverIdentifier, bundle);
             }
 
             // keep track of possible recipients without a response from the current giver
-            removeParticipantIdentifierFromList(possibleReceiversWithoutResponsesForGiver, response.recipient);
+            possibleReceiversWithoutResponsesForGiver.remove(response.recipient);
             prevGiver = response.giver;
 
             InstructorFeedbackResultsModerationButton moderationButton = buildModerationButtonForExistingResponse(
@@ -1114,9 +1117,10 @@ public class InstructorFeedbackResultsPageData extends PageData {
                                     String participantIdentifier, boolean isFirstGroupedByGiver) {
         List<InstructorFeedbackResultsResponseRow> responseRows = new ArrayList<InstructorFeedbackResultsResponseRow>();
 
-        List<String> possibleParticipantsWithoutResponses = isFirstGroupedByGiver
-                                                          ? new PossibleRecipientsBundle().getPossibleRecipients(question, participantIdentifier, bundle)
-                                                          : bundle.getPossibleGiversBundle().getPossibleGivers(question, participantIdentifier, bundle);
+        Set<String> possibleParticipantsWithoutResponses =
+                isFirstGroupedByGiver
+                ? new PossibleRecipientsBundle().getPossibleRecipientsAsSet(question, participantIdentifier, bundle)
+                : bundle.getPossibleGiversBundle().getPossibleGiversAsSet(question, participantIdentifier, bundle);
 
         for (FeedbackResponseAttributes response : responses) {
             if (!bundle.isGiverVisible(response) || !bundle.isRecipientVisible(response)) {
@@ -1125,8 +1129,7 @@ public class InstructorFeedbackResultsPageData extends PageData {
 
             // keep track of possible participant who did not give/receive a response to/from the participantIdentifier
             String participantWithResponse = isFirstGroupedByGiver ? response.recipient : response.giver;
-            removeParticipantIdentifierFromList(possibleParticipantsWithoutResponses,
-                                                participantWithResponse);
+            possibleParticipantsWithoutResponses.remove(participantWithResponse);
 
             InstructorFeedbackResultsModerationButton moderationButton =
                     buildModerationButtonForExistingResponse(question, response);
@@ -1210,7 +1213,7 @@ public class InstructorFeedbackResultsPageData extends PageData {
      */
     private List<InstructorFeedbackResultsResponseRow> buildMissingResponseRowsBetweenGiverAndPossibleRecipients(
                                                                     FeedbackQuestionAttributes question,
-                                                                    List<String> possibleReceivers,
+                                                                    Collection<String> possibleReceivers,
                                                                     String giverIdentifier,
                                                                     String giverName, String giverTeam) {
         List<InstructorFeedbackResultsResponseRow> missingResponses = new ArrayList<InstructorFeedbackResultsResponseRow>();
@@ -1246,7 +1249,7 @@ public class InstructorFeedbackResultsPageData extends PageData {
      */
     private List<InstructorFeedbackResultsResponseRow> buildMissingResponseRowsBetweenRecipientAndPossibleGivers(
                                     FeedbackQuestionAttributes question,
-                                    List<String> possibleGivers, String recipientIdentifier,
+                                    Collection<String> possibleGivers, String recipientIdentifier,
                                     String recipientName, String recipientTeam) {
         List<InstructorFeedbackResultsResponseRow> missingResponses = new ArrayList<InstructorFeedbackResultsResponseRow>();
         FeedbackQuestionDetails questionDetails = questionToDetailsMap.get(question);
@@ -1277,17 +1280,9 @@ public class InstructorFeedbackResultsPageData extends PageData {
         return missingResponses;
     }
 
-    /**
-     * Given a participantIdentifier, remove it from participantIdentifierList.
-     */
-    private void removeParticipantIdentifierFromList(
-                    List<String> participantIdentifierList, String participantIdentifier) {
-        participantIdentifierList.remove(participantIdentifier);
-    }
-
     private List<InstructorFeedbackResultsResponseRow> getRemainingMissingResponseRows(
-            FeedbackQuestionAttributes question, List<String> remainingPossibleGivers,
-            List<String> possibleRecipientsForGiver, String prevGiver) {
+            FeedbackQuestionAttributes question, Set<String> remainingPossibleGivers,
+            Set<String> possibleRecipientsForGiver, String prevGiver) {
         List<InstructorFeedbackResultsResponseRow> responseRows = new ArrayList<InstructorFeedbackResultsResponseRow>();
 
         if (possibleRecipientsForGiver != null && isMissingResponsesShown) {
@@ -1297,7 +1292,7 @@ public class InstructorFeedbackResultsPageData extends PageData {
                                             bundle.getTeamNameForEmail(prevGiver)));
         }
 
-        removeParticipantIdentifierFromList(remainingPossibleGivers, prevGiver);
+        remainingPossibleGivers.remove(prevGiver);
 
         for (String possibleGiverWithNoResponses : remainingPossibleGivers) {
             if (!isAllSectionsSelected()
@@ -1,5 +1,15 @@
 package teammates.test.cases.action;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.servlet.http.HttpServletResponse;
+
 import org.testng.annotations.Test;
 
 import teammates.common.util.Const;
@@ -37,4 +47,54 @@ public class ActionResultTest extends BaseTestCase {
                      download.getContentDispositionHeader());
     }
 
+    @Test
+    public void testFileDownloadResult_failureWhileWriting_marksFileAsIncomplete() throws Exception {
+        FileDownloadResult download = new FileDownloadResult("/page/instructorFeedbackResultsDownload",
+                null, null, "Failing file", new FileDownloadResult.FileContentWriter() {
+                    @Override
+                    public void writeTo(Writer writer) throws IOException {
+                        writer.append("partial content");
+                        throw new IOException("failure while writing");
+                    }
+                });
+        StringWriter content = new StringWriter();
+
+        try {
+            download.send(null, createResponseWritingTo(content));
+            signalFailureToDetectException();
+        } catch (IOException e) {
+            assertEquals("failure while writing", e.getMessage());
+        }
+        assertEquals("\uFEFFpartial content" + Const.EOL + Const.StatusMessages.FILE_DOWNLOAD_INCOMPLETE,
+                     content.toString());
+    }
+
+    @Test
+    public void testFileDownloadResult_contentWrittenWhileSending_isWrittenOnceForTests() {
+        final int[] writeCount = {0};
+        FileDownloadResult download = new FileDownloadResult("/page/instructorFeedbackResultsDownload",
+                null, null, "Streamed file", new FileDownloadResult.FileContentWriter() {
+                    @Override
+                    public void writeTo(Writer writer) throws IOException {
+                        writeCount[0]++;
+                        writer.append("abcabc");
+                    }
+                });
+
+        assertEquals("abcabc", download.getFileContent());
+        assertEquals("abcabc", download.getFileContent());
+        assertEquals(1, writeCount[0]);
+    }
+
+    private HttpServletResponse createResponseWritingTo(final Writer content) {
+        return (HttpServletResponse) Proxy.newProxyInstance(HttpServletResponse.class.getClassLoader(),
+                new Class<?>[] {HttpServletResponse.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        // only the writer is needed, the headers are not checked
+                        return "getWriter".equals(method.getName()) ? new PrintWriter(content) : null;
+                    }
+                });
+    }
+
 }
@@ -12,6 +12,7 @@ import org.testng.annotations.Test;
 import com.google.appengine.api.datastore.Text;
 
 import teammates.common.datatransfer.CommentParticipantType;
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
 import teammates.common.datatransfer.attributes.CommentAttributes;
 import teammates.common.datatransfer.attributes.CourseAttributes;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
@@ -721,6 +722,35 @@ public class AllActionsAccessControlTest extends BaseActionTest {
         verifyOnlyInstructorsOfTheSameCourseCanAccess(submissionParams);
     }
 
+    @Test
+    public void testInstructorFeedbackResultsExport() {
+        uri = Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_EXPORT;
+        FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+
+        String[] submissionParams = new String[]{
+                Const.ParamsNames.COURSE_ID, session.getCourseId(),
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, session.getFeedbackSessionName()
+        };
+
+        verifyOnlyInstructorsOfTheSameCourseCanAccess(submissionParams);
+    }
+
+    @Test
+    public void testInstructorFeedbackResultsExportDownload() throws Exception {
+        uri = Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_EXPORT_DOWNLOAD;
+        FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+        FeedbackSessionResultsExport export = FeedbackSessionsLogic.inst().createFeedbackSessionResultsExport(
+                new FeedbackSessionResultsExport(session.getCourseId(), session.getFeedbackSessionName(),
+                                                 dataBundle.instructors.get("instructor1OfCourse1").email,
+                                                 null, null, false, false));
+
+        String[] submissionParams = new String[]{
+                Const.ParamsNames.FEEDBACK_RESULTS_EXPORT_ID, export.exportId
+        };
+
+        verifyOnlyInstructorsOfTheSameCourseCanAccess(submissionParams);
+    }
+
     @Test
     public void testInstructorFeedbackResultsPage() {
         uri = Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE;
@@ -53,6 +53,10 @@ public class InstructorCourseDeleteActionTest extends BaseActionTest {
         assertEquals(1, courseList.size());
         assertEquals("icdct.tpa.id1", courseList.get(0).getId());
 
+        // the rest of the data of the course is deleted in the background
+        assertEquals(1, deleteAction.getTaskQueuer().getNumberOfTasksAdded()
+                                    .get(Const.TaskQueue.COURSE_DELETION_QUEUE_NAME).intValue());
+
         String expectedLogMessage = "TEAMMATESLOG|||instructorCourseDelete|||instructorCourseDelete|||true|||"
                                     + "Instructor|||Instructor 1 of Course 1|||idOfInstructor1OfCourse1|||"
                                     + "instr1@course1.tmt|||Course deleted: idOfTypicalCourse1|||"
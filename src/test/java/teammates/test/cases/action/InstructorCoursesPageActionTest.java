@@ -102,6 +102,24 @@ public class InstructorCoursesPageActionTest extends BaseActionTest {
                 + "|||instr1@course1.tmt|||instructorCourse Page Load<br>Total courses: 0"
                 + "|||/page/instructorCoursesPage";
         AssertHelper.assertLogMessageEquals(expectedLogMessage, a.getLogMessage());
+
+        ______TS("Course whose data is still being deleted");
+
+        CoursesLogic.inst().createCourseAndInstructor(instructorId, "icpat.deleted-course", "Deleted course", "UTC");
+        CoursesLogic.inst().startCourseDeletion("icpat.deleted-course", instructorId);
+        gaeSimulation.loginAsInstructor(instructorId);
+        a = getAction(submissionParams);
+        r = getShowPageResult(a);
+
+        AssertHelper.assertContains(
+                String.format(Const.StatusMessages.COURSE_DELETION_IN_PROGRESS, "icpat.deleted-course", 0),
+                r.getStatusMessage());
+
+        while (CoursesLogic.inst().deleteNextChunkOfCourse("icpat.deleted-course")) {
+            // delete the rest of the data of the course
+        }
+        r = getShowPageResult(getAction(submissionParams));
+        assertFalse(r.getStatusMessage().contains("icpat.deleted-course"));
     }
 
     @Override
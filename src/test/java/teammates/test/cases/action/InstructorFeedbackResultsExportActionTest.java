@@ -0,0 +1,110 @@
+package teammates.test.cases.action;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.TaskWrapper;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.test.driver.AssertHelper;
+import teammates.ui.controller.InstructorFeedbackResultsExportAction;
+import teammates.ui.controller.RedirectResult;
+
+/**
+ * SUT: {@link InstructorFeedbackResultsExportAction}.
+ */
+public class InstructorFeedbackResultsExportActionTest extends BaseActionTest {
+
+    @Override
+    protected String getActionUri() {
+        return Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_EXPORT;
+    }
+
+    @Override
+    @Test
+    public void testExecuteAndPostProcess() throws Exception {
+        InstructorAttributes instructor = dataBundle.instructors.get("instructor1OfCourse1");
+        FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+        gaeSimulation.loginAsInstructor(instructor.googleId);
+
+        ______TS("Not enough parameters");
+
+        verifyAssumptionFailure();
+        verifyAssumptionFailure(Const.ParamsNames.COURSE_ID, session.getCourseId());
+        verifyAssumptionFailure(Const.ParamsNames.FEEDBACK_SESSION_NAME, session.getFeedbackSessionName());
+
+        ______TS("Typical case: export of all sections started in the background");
+
+        String[] submissionParams = {
+                Const.ParamsNames.COURSE_ID, session.getCourseId(),
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, session.getFeedbackSessionName(),
+                Const.ParamsNames.SECTION_NAME, "All",
+                Const.ParamsNames.FEEDBACK_QUESTION_FILTER_TEXT, "My comments",
+                Const.ParamsNames.FEEDBACK_RESULTS_INDICATE_MISSING_RESPONSES, "true"
+        };
+
+        InstructorFeedbackResultsExportAction action = getAction(submissionParams);
+        RedirectResult result = getRedirectResult(action);
+
+        assertFalse(result.isError);
+        assertEquals(Const.StatusMessages.FEEDBACK_RESULTS_EXPORT_STARTED, result.getStatusMessage());
+        AssertHelper.assertContains(Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE,
+                                    result.getDestinationWithParams());
+        AssertHelper.assertContains("courseid=" + session.getCourseId(), result.getDestinationWithParams());
+
+        FeedbackSessionResultsExport export = getScheduledExport(action);
+        assertEquals(session.getCourseId(), export.courseId);
+        assertEquals(session.getFeedbackSessionName(), export.feedbackSessionName);
+        assertEquals(instructor.email, export.instructorEmail);
+        assertNull(export.section);
+        assertEquals("My comments", export.filterText);
+        assertTrue(export.isMissingResponsesShown);
+        assertFalse(export.isStatsShown);
+        assertFalse(export.isCompleted);
+        assertTrue(export.writtenQuestionIds.isEmpty());
+
+        ______TS("Typical case: export of one section started in the background");
+
+        submissionParams = new String[] {
+                Const.ParamsNames.COURSE_ID, session.getCourseId(),
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, session.getFeedbackSessionName(),
+                Const.ParamsNames.SECTION_NAME, "Section 1",
+                Const.ParamsNames.FEEDBACK_RESULTS_SHOWSTATS, "true"
+        };
+
+        action = getAction(submissionParams);
+        result = getRedirectResult(action);
+
+        assertFalse(result.isError);
+        export = getScheduledExport(action);
+        assertEquals("Section 1", export.section);
+        assertNull(export.filterText);
+        assertFalse(export.isMissingResponsesShown);
+        assertTrue(export.isStatsShown);
+        AssertHelper.assertContains("was started with ID " + export.exportId, action.getLogMessage());
+    }
+
+    /**
+     * Returns the export scheduled by the action, verifying that the action scheduled exactly one export.
+     */
+    private FeedbackSessionResultsExport getScheduledExport(InstructorFeedbackResultsExportAction action) {
+        List<TaskWrapper> tasksAdded = action.getTaskQueuer().getTasksAdded();
+        assertEquals(1, tasksAdded.size());
+        assertEquals(Const.TaskQueue.FEEDBACK_SESSION_RESULTS_EXPORT_QUEUE_NAME, tasksAdded.get(0).getQueueName());
+
+        String exportId = tasksAdded.get(0).getParamMap().get(Const.ParamsNames.FEEDBACK_RESULTS_EXPORT_ID)[0];
+        FeedbackSessionResultsExport export = FeedbackSessionsLogic.inst().getFeedbackSessionResultsExport(exportId);
+        assertNotNull(export);
+        return export;
+    }
+
+    @Override
+    protected InstructorFeedbackResultsExportAction getAction(String... params) {
+        return (InstructorFeedbackResultsExportAction) gaeSimulation.getActionObject(getActionUri(), params);
+    }
+
+}
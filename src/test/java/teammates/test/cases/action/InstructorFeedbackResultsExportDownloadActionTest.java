@@ -0,0 +1,102 @@
+package teammates.test.cases.action;
+
+import java.io.StringWriter;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.UnauthorizedAccessException;
+import teammates.common.util.Const;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.ui.controller.FileDownloadResult;
+import teammates.ui.controller.InstructorFeedbackResultsExportDownloadAction;
+import teammates.ui.controller.RedirectResult;
+
+/**
+ * SUT: {@link InstructorFeedbackResultsExportDownloadAction}.
+ */
+public class InstructorFeedbackResultsExportDownloadActionTest extends BaseActionTest {
+
+    private static FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
+
+    @Override
+    protected String getActionUri() {
+        return Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_EXPORT_DOWNLOAD;
+    }
+
+    @Override
+    @Test
+    public void testExecuteAndPostProcess() throws Exception {
+        InstructorAttributes instructor = dataBundle.instructors.get("instructor1OfCourse1");
+        FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+        gaeSimulation.loginAsInstructor(instructor.googleId);
+
+        FeedbackSessionResultsExport export = fsLogic.createFeedbackSessionResultsExport(
+                new FeedbackSessionResultsExport(session.getCourseId(), session.getFeedbackSessionName(),
+                                                 instructor.email, "Section 1", null, true, false));
+        String[] submissionParams = {
+                Const.ParamsNames.FEEDBACK_RESULTS_EXPORT_ID, export.exportId
+        };
+
+        ______TS("Not enough parameters");
+
+        verifyAssumptionFailure();
+
+        ______TS("Export still being written: redirected to the results page");
+
+        InstructorFeedbackResultsExportDownloadAction action = getAction(submissionParams);
+        RedirectResult redirectResult = getRedirectResult(action);
+
+        assertEquals(Const.StatusMessages.FEEDBACK_RESULTS_EXPORT_IN_PROGRESS, redirectResult.getStatusMessage());
+        assertTrue(redirectResult.getDestinationWithParams().startsWith(
+                Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE));
+
+        ______TS("Export completed: the file is downloaded with the results as they are downloaded directly");
+
+        assertFalse(fsLogic.continueFeedbackSessionResultsExport(export.exportId, Long.MAX_VALUE));
+
+        action = getAction(submissionParams);
+        FileDownloadResult fileResult = getFileDownloadResult(action);
+
+        assertFalse(fileResult.isError);
+        assertEquals(session.getCourseId() + "_" + session.getFeedbackSessionName() + "_Section 1",
+                     fileResult.getFileName());
+
+        StringWriter expectedContent = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email, "Section 1",
+                null, true, false, expectedContent);
+        assertEquals(expectedContent.toString(), fileResult.getFileContent());
+
+        ______TS("Failure case: instructor of another course cannot download the export");
+
+        gaeSimulation.loginAsInstructor(dataBundle.instructors.get("instructor1OfCourse2").googleId);
+        action = getAction(submissionParams);
+        try {
+            action.executeAndPostProcess();
+            signalFailureToDetectException("an instructor of another course should not download the export");
+        } catch (UnauthorizedAccessException e) {
+            ignoreExpectedException();
+        }
+
+        ______TS("Failure case: non-existent export");
+
+        gaeSimulation.loginAsInstructor(instructor.googleId);
+        action = getAction(Const.ParamsNames.FEEDBACK_RESULTS_EXPORT_ID, "123456789");
+        try {
+            action.executeAndPostProcess();
+            signalFailureToDetectException("a non-existent export should not be downloaded");
+        } catch (EntityDoesNotExistException e) {
+            ignoreExpectedException();
+        }
+    }
+
+    @Override
+    protected InstructorFeedbackResultsExportDownloadAction getAction(String... params) {
+        return (InstructorFeedbackResultsExportDownloadAction) gaeSimulation.getActionObject(getActionUri(), params);
+    }
+
+}
@@ -0,0 +1,142 @@
+package teammates.test.cases.automated;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.datastore.Text;
+
+import teammates.common.datatransfer.attributes.AdminEmailAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.EmailWrapper;
+import teammates.logic.core.AdminEmailsLogic;
+import teammates.ui.automated.AdminSendEmailWorkerAction;
+
+/**
+ * SUT: {@link AdminSendEmailWorkerAction}.
+ */
+public class AdminSendEmailWorkerActionTest extends BaseAutomatedActionTest {
+
+    private static final AdminEmailsLogic adminEmailsLogic = AdminEmailsLogic.inst();
+
+    @Override
+    protected String getActionUri() {
+        return Const.TaskQueue.ADMIN_SEND_EMAIL_WORKER_URL;
+    }
+
+    @Test
+    public void allTests() throws Exception {
+        AdminEmailAttributes adminEmail = createAdminEmail("Admin email subject", "<p>Admin email content</p>");
+        String emailId = adminEmail.getEmailId();
+
+        ______TS("the email is sent to every receiver of the task");
+
+        String[] submissionParams = new String[] {
+                ParamsNames.ADMIN_EMAIL_ID, emailId,
+                ParamsNames.ADMIN_EMAIL_RECEIVER, "receiver1@example.tmt",
+                ParamsNames.ADMIN_EMAIL_RECEIVER, "receiver2@example.tmt",
+                ParamsNames.ADMIN_EMAIL_RECEIVER, "receiver3@example.tmt"
+        };
+
+        AdminSendEmailWorkerAction action = getAction(submissionParams);
+        action.execute();
+
+        verifyEmailsSent(action, adminEmail.getSubject(), adminEmail.getContentValue(),
+                         "receiver1@example.tmt", "receiver2@example.tmt", "receiver3@example.tmt");
+
+        ______TS("an edited email is sent with its new content, not the content cached before the edit");
+
+        AdminEmailAttributes editedEmail = new AdminEmailAttributes(
+                "Edited subject", adminEmail.getAddressReceiver(), adminEmail.getGroupReceiver(),
+                new Text("<p>Edited content</p>"), adminEmail.getSendDate());
+        adminEmailsLogic.updateAdminEmailById(editedEmail, emailId);
+
+        action = getAction(submissionParams);
+        action.execute();
+
+        verifyEmailsSent(action, "Edited subject", "<p>Edited content</p>",
+                         "receiver1@example.tmt", "receiver2@example.tmt", "receiver3@example.tmt");
+
+        ______TS("a retried task does not send the email again to the receivers it has sent it to");
+
+        adminEmailsLogic.markAdminEmailSentInTask("retriedTask", "receiver1@example.tmt");
+
+        action = getActionForTask("retriedTask", submissionParams);
+        action.execute();
+
+        verifyEmailsSent(action, "Edited subject", "<p>Edited content</p>",
+                         "receiver2@example.tmt", "receiver3@example.tmt");
+        assertTrue(adminEmailsLogic.isAdminEmailSentInTask("retriedTask", "receiver2@example.tmt"));
+        assertTrue(adminEmailsLogic.isAdminEmailSentInTask("retriedTask", "receiver3@example.tmt"));
+
+        action = getActionForTask("retriedTask", submissionParams);
+        action.execute();
+
+        verifyNoEmailsSent(action);
+
+        ______TS("the same receivers of another task are sent the email");
+
+        action = getActionForTask("otherTask", submissionParams);
+        action.execute();
+
+        verifyNumberOfEmailsSent(action, 3);
+
+        ______TS("task queued before emails were read by ID: subject and content are read from the task");
+
+        action = getAction(ParamsNames.ADMIN_EMAIL_SUBJECT, "Queued subject",
+                           ParamsNames.ADMIN_EMAIL_CONTENT, "<p>Queued content</p>",
+                           ParamsNames.ADMIN_EMAIL_RECEIVER, "receiver1@example.tmt");
+        action.execute();
+
+        verifyEmailsSent(action, "Queued subject", "<p>Queued content</p>", "receiver1@example.tmt");
+
+        ______TS("task queued before emails were read by ID: large email read by ID");
+
+        action = getAction(ParamsNames.ADMIN_EMAIL_ID, emailId,
+                           ParamsNames.ADMIN_EMAIL_RECEIVER, "receiver1@example.tmt");
+        action.execute();
+
+        verifyEmailsSent(action, "Edited subject", "<p>Edited content</p>", "receiver1@example.tmt");
+
+        ______TS("an email deleted from the trash bin is no longer read from the cache");
+
+        adminEmailsLogic.moveAdminEmailToTrashBin(emailId);
+        adminEmailsLogic.deleteAllEmailsInTrashBin();
+
+        assertNull(adminEmailsLogic.getAdminEmailForSending(emailId));
+    }
+
+    private void verifyEmailsSent(AdminSendEmailWorkerAction action, String subject, String content,
+                                  String... receivers) {
+        List<EmailWrapper> emailsSent = getEmailsSent(action);
+        List<String> recipients = new ArrayList<String>();
+        for (EmailWrapper email : emailsSent) {
+            assertEquals(subject, email.getSubject());
+            assertEquals(content, email.getContent());
+            recipients.add(email.getRecipient());
+        }
+        assertEquals(Arrays.asList(receivers), recipients);
+    }
+
+    private AdminEmailAttributes createAdminEmail(String subject, String content) throws Exception {
+        AdminEmailAttributes adminEmail = new AdminEmailAttributes(
+                subject, Arrays.asList("receiver1@example.tmt"), new ArrayList<String>(), new Text(content), new Date());
+        Date createDate = adminEmailsLogic.createAdminEmail(adminEmail);
+        return adminEmailsLogic.getAdminEmail(subject, createDate);
+    }
+
+    @Override
+    protected AdminSendEmailWorkerAction getAction(String... params) {
+        return (AdminSendEmailWorkerAction) gaeSimulation.getAutomatedActionObject(getActionUri(), params);
+    }
+
+    private AdminSendEmailWorkerAction getActionForTask(String taskName, String... params) {
+        return (AdminSendEmailWorkerAction)
+                gaeSimulation.getAutomatedActionObjectForTask(taskName, getActionUri(), params);
+    }
+
+}
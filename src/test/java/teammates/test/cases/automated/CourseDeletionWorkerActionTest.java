@@ -0,0 +1,76 @@
+package teammates.test.cases.automated;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.attributes.CourseAttributes;
+import teammates.common.exception.EntityAlreadyExistsException;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.logic.core.StudentsLogic;
+import teammates.ui.automated.CourseDeletionWorkerAction;
+
+/**
+ * SUT: {@link CourseDeletionWorkerAction}.
+ */
+public class CourseDeletionWorkerActionTest extends BaseAutomatedActionTest {
+
+    private static final CoursesLogic coursesLogic = CoursesLogic.inst();
+    private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+    private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
+    private static final StudentsLogic studentsLogic = StudentsLogic.inst();
+
+    @Override
+    protected String getActionUri() {
+        return Const.TaskQueue.COURSE_DELETION_WORKER_URL;
+    }
+
+    @Test
+    public void allTests() throws Exception {
+        CourseAttributes course = dataBundle.courses.get("typicalCourse1");
+
+        ______TS("starting the deletion removes the course at once");
+
+        coursesLogic.startCourseDeletion(course.getId(), "idOfInstructor1OfCourse1");
+        assertNull(coursesLogic.getCourse(course.getId()));
+        assertFalse(studentsLogic.getStudentsForCourse(course.getId()).isEmpty());
+
+        ______TS("a course with the same ID cannot be created while its data is being deleted");
+
+        try {
+            coursesLogic.createCourse(course.getId(), course.getName(), course.getTimeZone());
+            signalFailureToDetectException();
+        } catch (EntityAlreadyExistsException e) {
+            assertTrue(e.getMessage().contains(course.getId()));
+        }
+
+        ______TS("the worker deletes the rest of the data of the course");
+
+        String[] submissionParams = new String[] {
+                ParamsNames.COURSE_ID, course.getId()
+        };
+
+        CourseDeletionWorkerAction action = getAction(submissionParams);
+        action.execute();
+
+        // the typical course fits in a single task
+        verifyNoTasksAdded(action);
+        assertTrue(studentsLogic.getStudentsForCourse(course.getId()).isEmpty());
+        assertTrue(fsLogic.getFeedbackSessionsForCourse(course.getId()).isEmpty());
+        assertFalse(frLogic.hasResponsesForCourse(course.getId()));
+        assertFalse(coursesLogic.deleteNextChunkOfCourse(course.getId()));
+
+        ______TS("the course can be created again once its data has been deleted");
+
+        coursesLogic.createCourse(course.getId(), course.getName(), course.getTimeZone());
+        assertNotNull(coursesLogic.getCourse(course.getId()));
+    }
+
+    @Override
+    protected CourseDeletionWorkerAction getAction(String... params) {
+        return (CourseDeletionWorkerAction) gaeSimulation.getAutomatedActionObject(getActionUri(), params);
+    }
+
+}
@@ -10,12 +10,14 @@ import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.StudentUpdateStatus;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttributes;
 import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.JsonUtils;
 import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.logic.core.FeedbackResponseCommentsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.StudentsLogic;
 import teammates.ui.automated.FeedbackResponseAdjustmentWorkerAction;
@@ -26,6 +28,7 @@ import teammates.ui.automated.FeedbackResponseAdjustmentWorkerAction;
 public class FeedbackResponseAdjustmentWorkerActionTest extends BaseAutomatedActionTest {
 
     private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
+    private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
     private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
     private static final StudentsLogic studentsLogic = StudentsLogic.inst();
 
@@ -76,6 +79,58 @@ public class FeedbackResponseAdjustmentWorkerActionTest extends BaseAutomatedAct
                 getAllResponsesForStudentForSession(student, session.getFeedbackSessionName());
         assertTrue(newResponsesForSession.isEmpty());
 
+        ______TS("typical case : existing student changes section only");
+
+        // the previous case has moved the student to another team
+        prepareTestData();
+        session = dataBundle.feedbackSessions.get("session1InCourse1");
+        student = dataBundle.students.get("student1InCourse1");
+        StudentAttributes unchangedStudent = dataBundle.students.get("student3InCourse1");
+
+        enrollList = new ArrayList<StudentEnrollDetails>();
+        enrollList.add(new StudentEnrollDetails(StudentUpdateStatus.MODIFIED, student.course, student.email,
+                                                student.team, student.team, student.section, "Section 2"));
+        enrollList.add(new StudentEnrollDetails(StudentUpdateStatus.MODIFIED, student.course, unchangedStudent.email,
+                                                unchangedStudent.team, unchangedStudent.team,
+                                                unchangedStudent.section, unchangedStudent.section));
+
+        submissionParams = new String[] {
+                ParamsNames.COURSE_ID, student.course,
+                ParamsNames.FEEDBACK_SESSION_NAME, session.getFeedbackSessionName(),
+                ParamsNames.ENROLLMENT_DETAILS, JsonUtils.toJson(enrollList)
+        };
+
+        action = getAction(submissionParams);
+        action.execute();
+
+        // the student is both the giver and the recipient
+        FeedbackResponseAttributes response = getResponseFromDatastore("response1ForQ1S1C1");
+        assertEquals("Section 2", response.giverSection);
+        assertEquals("Section 2", response.recipientSection);
+
+        response = getResponseFromDatastore("response2ForQ2S1C1");
+        assertEquals("Section 2", response.giverSection);
+        assertEquals("Section 1", response.recipientSection);
+
+        response = getResponseFromDatastore("response1ForQ2S1C1");
+        assertEquals("Section 1", response.giverSection);
+        assertEquals("Section 2", response.recipientSection);
+
+        List<FeedbackResponseCommentAttributes> comments =
+                frcLogic.getFeedbackResponseCommentForResponse(response.getId());
+        assertEquals(1, comments.size());
+        assertEquals("Section 1", comments.get(0).giverSection);
+        assertEquals("Section 2", comments.get(0).receiverSection);
+
+        ______TS("responses of students whose team and section are unchanged are untouched");
+
+        response = getResponseFromDatastore("response3ForQ2S1C1");
+        assertEquals("Section 1", response.giverSection);
+        assertEquals("Section 1", response.recipientSection);
+
+        response = getResponseFromDatastore("response2ForQ1S1C1");
+        assertEquals("Section 1", response.giverSection);
+        assertEquals("Section 1", response.recipientSection);
     }
 
     @Override
@@ -83,6 +138,13 @@ public class FeedbackResponseAdjustmentWorkerActionTest extends BaseAutomatedAct
         return (FeedbackResponseAdjustmentWorkerAction) gaeSimulation.getAutomatedActionObject(getActionUri(), params);
     }
 
+    private FeedbackResponseAttributes getResponseFromDatastore(String jsonId) {
+        FeedbackResponseAttributes response = dataBundle.feedbackResponses.get(jsonId);
+        String questionId = fqLogic.getFeedbackQuestion(response.feedbackSessionName, response.courseId,
+                                                         Integer.parseInt(response.feedbackQuestionId)).getId();
+        return frLogic.getFeedbackResponse(questionId, response.giver, response.recipient);
+    }
+
     private List<FeedbackResponseAttributes> getAllResponsesForStudentForSession(StudentAttributes student,
             String feedbackSessionName) {
         List<FeedbackResponseAttributes> returnList = new ArrayList<FeedbackResponseAttributes>();
@@ -0,0 +1,64 @@
+package teammates.test.cases.automated;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.ui.automated.FeedbackResponseCountRebuildWorkerAction;
+
+/**
+ * SUT: {@link FeedbackResponseCountRebuildWorkerAction}.
+ */
+public class FeedbackResponseCountRebuildWorkerActionTest extends BaseAutomatedActionTest {
+
+    private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+
+    @Override
+    protected String getActionUri() {
+        return Const.TaskQueue.FEEDBACK_RESPONSE_COUNT_REBUILD_WORKER_URL;
+    }
+
+    @Test
+    public void allTests() {
+        FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+        String feedbackSessionName = session.getFeedbackSessionName();
+        String courseId = session.getCourseId();
+
+        Map<String, Integer> expectedCounts = new HashMap<String, Integer>();
+        for (FeedbackResponseAttributes response : frLogic.getFeedbackResponsesForSession(feedbackSessionName, courseId)) {
+            Integer count = expectedCounts.get(response.feedbackQuestionId);
+            expectedCounts.put(response.feedbackQuestionId, count == null ? 1 : count + 1);
+        }
+
+        ______TS("typical case: the counts are rebuilt from the responses");
+
+        FeedbackResponseCountRebuildWorkerAction action = getAction(
+                ParamsNames.COURSE_ID, courseId,
+                ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
+        action.execute();
+
+        assertEquals(expectedCounts, frLogic.getFeedbackResponseCountsForSession(feedbackSessionName, courseId));
+        assertFalse(frLogic.markFeedbackResponseCountRebuildScheduled(feedbackSessionName, courseId));
+
+        ______TS("deleted session: nothing is counted");
+
+        action = getAction(
+                ParamsNames.COURSE_ID, courseId,
+                ParamsNames.FEEDBACK_SESSION_NAME, "non-existent session");
+        action.execute();
+
+        assertNull(frLogic.getFeedbackResponseCountsForSession("non-existent session", courseId));
+    }
+
+    @Override
+    protected FeedbackResponseCountRebuildWorkerAction getAction(String... params) {
+        return (FeedbackResponseCountRebuildWorkerAction) gaeSimulation.getAutomatedActionObject(getActionUri(), params);
+    }
+
+}
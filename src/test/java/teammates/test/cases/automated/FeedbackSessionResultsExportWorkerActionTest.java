@@ -0,0 +1,84 @@
+package teammates.test.cases.automated;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.TaskWrapper;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.test.driver.AssertHelper;
+import teammates.ui.automated.FeedbackSessionResultsExportWorkerAction;
+
+/**
+ * SUT: {@link FeedbackSessionResultsExportWorkerAction}.
+ */
+public class FeedbackSessionResultsExportWorkerActionTest extends BaseAutomatedActionTest {
+
+    private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
+
+    @Override
+    protected String getActionUri() {
+        return Const.TaskQueue.FEEDBACK_SESSION_RESULTS_EXPORT_WORKER_URL;
+    }
+
+    @Test
+    public void allTests() throws Exception {
+        InstructorAttributes instructor = dataBundle.instructors.get("instructor1OfCourse1");
+        FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+        FeedbackSessionResultsExport export = fsLogic.createFeedbackSessionResultsExport(
+                new FeedbackSessionResultsExport(session.getCourseId(), session.getFeedbackSessionName(),
+                                                 instructor.email, null, null, false, true));
+
+        ______TS("export checkpointed before any question is written");
+
+        assertTrue(fsLogic.continueFeedbackSessionResultsExport(export.exportId, 0));
+
+        export = fsLogic.getFeedbackSessionResultsExport(export.exportId);
+        assertFalse(export.isCompleted);
+        assertTrue(export.writtenQuestionIds.isEmpty());
+
+        ______TS("export continued from the checkpoint: the file is completed and the link is sent once");
+
+        String[] submissionParams = new String[] {
+                ParamsNames.FEEDBACK_RESULTS_EXPORT_ID, export.exportId
+        };
+
+        FeedbackSessionResultsExportWorkerAction action = getAction(submissionParams);
+        action.execute();
+
+        export = fsLogic.getFeedbackSessionResultsExport(export.exportId);
+        assertTrue(export.isCompleted);
+        assertTrue(export.isEmailSent);
+
+        verifySpecifiedTasksAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 1);
+        List<TaskWrapper> tasksAdded = action.getTaskQueuer().getTasksAdded();
+        TaskWrapper emailTask = tasksAdded.get(0);
+        AssertHelper.assertContains(export.exportId, emailTask.getTaskName());
+        assertEquals(instructor.email, emailTask.getParamMap().get(ParamsNames.EMAIL_RECEIVER)[0]);
+
+        ______TS("retry of the last task: nothing is written or sent again");
+
+        action = getAction(submissionParams);
+        action.execute();
+
+        verifyNoTasksAdded(action);
+
+        ______TS("export of a deleted course: nothing is done");
+
+        action = getAction(ParamsNames.FEEDBACK_RESULTS_EXPORT_ID, "123456789");
+        action.execute();
+
+        verifyNoTasksAdded(action);
+    }
+
+    @Override
+    protected FeedbackSessionResultsExportWorkerAction getAction(String... params) {
+        return (FeedbackSessionResultsExportWorkerAction) gaeSimulation.getAutomatedActionObject(getActionUri(), params);
+    }
+
+}
@@ -0,0 +1,108 @@
+package teammates.test.cases.datatransfer;
+
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.datastore.Text;
+
+import teammates.common.datatransfer.FeedbackIdentifierDictionary;
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.util.StringHelper;
+import teammates.test.cases.BaseTestCase;
+
+/**
+ * SUT: {@link FeedbackIdentifierDictionary}.
+ */
+public class FeedbackIdentifierDictionaryTest extends BaseTestCase {
+
+    @Test
+    public void testInternIdentifier() {
+        FeedbackIdentifierDictionary dictionary = new FeedbackIdentifierDictionary();
+
+        ______TS("the first copy of an identifier is kept and returned for equal identifiers");
+
+        String identifier = copyOf("student1@email.tmt");
+        assertSame(identifier, dictionary.intern(identifier));
+        assertSame(identifier, dictionary.intern(copyOf(identifier)));
+
+        ______TS("different identifiers are kept apart");
+
+        String otherIdentifier = copyOf("student2@email.tmt");
+        assertSame(otherIdentifier, dictionary.intern(otherIdentifier));
+        assertSame(identifier, dictionary.intern(copyOf(identifier)));
+
+        ______TS("null is returned as it is");
+
+        assertNull(dictionary.intern((String) null));
+    }
+
+    @Test
+    public void testInternAnswer() {
+        FeedbackIdentifierDictionary dictionary = new FeedbackIdentifierDictionary();
+
+        ______TS("short answers are shared");
+
+        Text answer = new Text(copyOf("Strongly agree"));
+        assertSame(answer, dictionary.intern(answer));
+        assertSame(answer, dictionary.intern(new Text(copyOf("Strongly agree"))));
+
+        ______TS("long answers are not added to the dictionary");
+
+        String longAnswerValue = StringHelper.generateStringOfLength(
+                FeedbackIdentifierDictionary.MAX_SHARED_ANSWER_LENGTH + 1, 'a');
+        Text longAnswer = new Text(longAnswerValue);
+        assertSame(longAnswer, dictionary.intern(longAnswer));
+        Text equalLongAnswer = new Text(copyOf(longAnswerValue));
+        assertSame(equalLongAnswer, dictionary.intern(equalLongAnswer));
+
+        ______TS("missing answers are returned as they are");
+
+        assertNull(dictionary.intern((Text) null));
+    }
+
+    @Test
+    public void testInternResponse() {
+        FeedbackIdentifierDictionary dictionary = new FeedbackIdentifierDictionary();
+        FeedbackResponseAttributes response = getResponse();
+        FeedbackResponseAttributes otherResponse = getResponse();
+        otherResponse.giver = copyOf("student2@email.tmt");
+
+        dictionary.intern(response);
+        dictionary.intern(otherResponse);
+
+        assertSame(response.courseId, otherResponse.courseId);
+        assertSame(response.feedbackSessionName, otherResponse.feedbackSessionName);
+        assertSame(response.feedbackQuestionId, otherResponse.feedbackQuestionId);
+        assertSame(response.recipient, otherResponse.recipient);
+        assertSame(response.giverSection, otherResponse.giverSection);
+        assertSame(response.recipientSection, otherResponse.recipientSection);
+        assertSame(response.responseMetaData, otherResponse.responseMetaData);
+
+        // identifiers repeated within a response are shared too
+        assertSame(response.giverSection, response.recipientSection);
+
+        assertEquals("student1@email.tmt", response.giver);
+        assertEquals("student2@email.tmt", otherResponse.giver);
+    }
+
+    private FeedbackResponseAttributes getResponse() {
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes();
+        response.courseId = copyOf("FIDT.course");
+        response.feedbackSessionName = copyOf("FIDT session");
+        response.feedbackQuestionId = copyOf("FIDT.question");
+        response.giver = copyOf("student1@email.tmt");
+        response.recipient = copyOf("student3@email.tmt");
+        response.giverSection = copyOf("Section 1");
+        response.recipientSection = copyOf("Section 1");
+        response.responseMetaData = new Text(copyOf("Agree"));
+        return response;
+    }
+
+    /**
+     * Returns a copy of {@code value} which is equal to it but not the same object,
+     * as the strings of responses loaded from the datastore are.
+     */
+    private static String copyOf(String value) {
+        return String.valueOf(value.toCharArray());
+    }
+
+}
@@ -13,6 +13,7 @@ import com.google.appengine.api.datastore.Text;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
+import teammates.questions.FeedbackQuestionDetails;
 import teammates.questions.FeedbackQuestionType;
 import teammates.questions.FeedbackTextQuestionDetails;
 import teammates.common.util.Const;
@@ -195,6 +196,17 @@ public class FeedbackQuestionAttributesTest extends BaseTestCase {
 
         fq = typicalBundle.feedbackQuestions.get("qn2InSession1InCourse1");
         assertEquals(fq.getQuestionDetails().getQuestionText(), "Rate 1 other student's product");
+
+        ______TS("details are decoded once while the question is unchanged");
+
+        FeedbackQuestionDetails decodedDetails = fq.getQuestionDetails();
+        assertSame(decodedDetails, fq.getQuestionDetails());
+        assertSame(decodedDetails, fq.getCopy().getQuestionDetails());
+
+        ______TS("details are decoded again after the question is changed");
+
+        fq.setQuestionDetails(new FeedbackTextQuestionDetails("Changed text question"));
+        assertEquals("Changed text question", fq.getQuestionDetails().getQuestionText());
     }
 
     @Test
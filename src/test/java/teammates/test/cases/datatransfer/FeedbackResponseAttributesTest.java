@@ -4,8 +4,12 @@ import java.util.Date;
 
 import org.testng.annotations.Test;
 
+import com.google.appengine.api.datastore.Text;
+
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
 import teammates.common.util.Const;
+import teammates.questions.FeedbackQuestionType;
+import teammates.questions.FeedbackResponseDetails;
 import teammates.test.cases.BaseTestCase;
 
 /**
@@ -44,4 +48,29 @@ public class FeedbackResponseAttributesTest extends BaseTestCase {
         assertEquals(defaultTimeStamp, fra.getUpdatedAt());
     }
 
+    @Test
+    public void testGetResponseDetails() {
+        FeedbackResponseAttributes fra = new FeedbackResponseAttributes(
+                "session", "course", "question", FeedbackQuestionType.TEXT,
+                "giver@example.com", Const.DEFAULT_SECTION, "recipient@example.com", Const.DEFAULT_SECTION,
+                new Text("first answer"));
+
+        ______TS("details are decoded once while the response is unchanged");
+
+        FeedbackResponseDetails details = fra.getResponseDetails();
+        assertEquals("first answer", details.getAnswerString());
+        assertSame(details, fra.getResponseDetails());
+        assertSame(details, new FeedbackResponseAttributes(fra).getResponseDetails());
+
+        ______TS("details are decoded again after the response is changed");
+
+        fra.responseMetaData = new Text("second answer");
+        assertEquals("second answer", fra.getResponseDetails().getAnswerString());
+
+        ______TS("missing response");
+
+        fra.responseMetaData = null;
+        assertNull(fra.getResponseDetails());
+    }
+
 }
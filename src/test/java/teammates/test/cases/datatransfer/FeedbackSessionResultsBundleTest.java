@@ -0,0 +1,195 @@
+package teammates.test.cases.datatransfer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.datastore.Text;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackSessionResponseStatus;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.test.cases.BaseTestCase;
+
+/**
+ * SUT: {@link FeedbackSessionResultsBundle}.
+ */
+public class FeedbackSessionResultsBundleTest extends BaseTestCase {
+
+    private DataBundle dataBundle = getTypicalDataBundle();
+
+    @Test
+    public void testResponseViews_builtOnce_cachedUntilResponsesChange() {
+        FeedbackSessionResultsBundle bundle = getBundle();
+        FeedbackResponseAttributes response1 = bundle.responses.get(0);
+        FeedbackResponseAttributes response2 = bundle.responses.get(1);
+        FeedbackQuestionAttributes question = bundle.questions.get("1");
+
+        ______TS("the same view is returned until the responses change");
+
+        Map<String, Map<String, List<FeedbackResponseAttributes>>> byRecipient =
+                bundle.getResponsesSortedByRecipientGiverQuestion(false);
+        assertSame(byRecipient, bundle.getResponsesSortedByRecipientGiverQuestion(false));
+        assertEquals(2, byRecipient.size());
+
+        Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> byQuestion =
+                bundle.getQuestionResponseMapBundle().getQuestionResponseMap(bundle);
+        assertSame(byQuestion, bundle.getQuestionResponseMapBundle().getQuestionResponseMap(bundle));
+        assertEquals(Arrays.asList(response1, response2), byQuestion.get(question));
+
+        ______TS("views with different options are kept apart");
+
+        assertTrue(byRecipient != bundle.getResponsesSortedByRecipientGiverQuestion(true));
+
+        ______TS("the views cannot be modified by their callers");
+
+        verifyUnmodifiable(byRecipient);
+        verifyUnmodifiable(byRecipient.get(response1.recipient));
+        verifyUnmodifiable(byRecipient.get(response1.recipient).get(response1.giver));
+        verifyUnmodifiable(byQuestion);
+        verifyUnmodifiable(byQuestion.get(question));
+        Iterator<Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> entries =
+                byQuestion.entrySet().iterator();
+        entries.next();
+        try {
+            entries.remove();
+            signalFailureToDetectException("the entries of a view should not be removable");
+        } catch (UnsupportedOperationException e) {
+            ignoreExpectedException();
+        }
+
+        ______TS("the views are rebuilt after the responses are modified in place and the views are invalidated");
+
+        bundle.responses.remove(response2);
+        bundle.invalidateResponseViews();
+
+        Map<String, Map<String, List<FeedbackResponseAttributes>>> rebuiltByRecipient =
+                bundle.getResponsesSortedByRecipientGiverQuestion(false);
+        assertTrue(byRecipient != rebuiltByRecipient);
+        assertEquals(1, rebuiltByRecipient.size());
+        assertEquals(Arrays.asList(response1),
+                     bundle.getQuestionResponseMapBundle().getQuestionResponseMap(bundle).get(question));
+
+        ______TS("the views are rebuilt after the responses are replaced");
+
+        bundle.responses = new ArrayList<FeedbackResponseAttributes>(Arrays.asList(response1, response2));
+
+        assertEquals(2, bundle.getResponsesSortedByRecipientGiverQuestion(false).size());
+        assertEquals(Arrays.asList(response1, response2),
+                     bundle.getQuestionResponseMapBundle().getQuestionResponseMap(bundle).get(question));
+
+        ______TS("the views are rebuilt after the questions are replaced");
+
+        byQuestion = bundle.getQuestionResponseMapBundle().getQuestionResponseMap(bundle);
+        bundle.questions = new HashMap<String, FeedbackQuestionAttributes>(bundle.questions);
+
+        assertTrue(byQuestion != bundle.getQuestionResponseMapBundle().getQuestionResponseMap(bundle));
+    }
+
+    @Test
+    public void testResponses_shareEqualIdentifiersAndAnswers() {
+        FeedbackResponseAttributes response1 = dataBundle.feedbackResponses.get("response1ForQ1S1C1");
+        FeedbackResponseAttributes response2 = dataBundle.feedbackResponses.get("response2ForQ1S1C1");
+        // copies equal to those of the other response, as responses loaded from the datastore hold
+        response2.courseId = String.valueOf(response1.courseId.toCharArray());
+        response2.feedbackSessionName = String.valueOf(response1.feedbackSessionName.toCharArray());
+        response2.giverSection = String.valueOf(response1.giverSection.toCharArray());
+        response2.recipientSection = String.valueOf(response1.recipientSection.toCharArray());
+        response2.responseMetaData = new Text(String.valueOf(response1.responseMetaData.getValue().toCharArray()));
+        assertTrue(response1.courseId != response2.courseId);
+
+        FeedbackSessionResultsBundle bundle = getBundle();
+        FeedbackResponseAttributes bundledResponse1 = bundle.responses.get(0);
+        FeedbackResponseAttributes bundledResponse2 = bundle.responses.get(1);
+
+        ______TS("equal identifiers and answers of the responses are the same objects");
+
+        assertSame(bundledResponse1.courseId, bundledResponse2.courseId);
+        assertSame(bundledResponse1.feedbackSessionName, bundledResponse2.feedbackSessionName);
+        assertSame(bundledResponse1.giverSection, bundledResponse2.giverSection);
+        assertSame(bundledResponse1.recipientSection, bundledResponse2.recipientSection);
+        assertSame(bundledResponse1.responseMetaData, bundledResponse2.responseMetaData);
+
+        ______TS("the responses share the question ID of the question");
+
+        assertSame(bundle.questions.get("1").getId(), bundledResponse1.feedbackQuestionId);
+        assertSame(bundle.questions.get("1").getId(), bundledResponse2.feedbackQuestionId);
+
+        ______TS("the copies of the responses kept before anonymisation share them too");
+
+        assertSame(bundledResponse1.courseId, bundle.actualResponses.get(0).courseId);
+        assertSame(bundledResponse1.courseId, bundle.actualResponses.get(1).courseId);
+        assertSame(bundledResponse1.giver, bundle.actualResponses.get(0).giver);
+    }
+
+    private void verifyUnmodifiable(Map<?, ?> view) {
+        try {
+            view.clear();
+            signalFailureToDetectException("the view should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            ignoreExpectedException();
+        }
+    }
+
+    private void verifyUnmodifiable(List<FeedbackResponseAttributes> view) {
+        try {
+            view.add(null);
+            signalFailureToDetectException("the view should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            ignoreExpectedException();
+        }
+    }
+
+    /**
+     * Creates a bundle of the responses of two students to the first question of the first session.
+     */
+    private FeedbackSessionResultsBundle getBundle() {
+        StudentAttributes student1 = dataBundle.students.get("student1InCourse1");
+        StudentAttributes student2 = dataBundle.students.get("student2InCourse1");
+        CourseRoster roster = new CourseRoster(Arrays.asList(student1, student2),
+                                               new ArrayList<InstructorAttributes>());
+
+        FeedbackQuestionAttributes question = dataBundle.feedbackQuestions.get("qn1InSession1InCourse1");
+        question.setId("1");
+        Map<String, FeedbackQuestionAttributes> questions = new HashMap<String, FeedbackQuestionAttributes>();
+        questions.put(question.getId(), question);
+
+        FeedbackResponseAttributes response1 = dataBundle.feedbackResponses.get("response1ForQ1S1C1");
+        response1.setId("1");
+        FeedbackResponseAttributes response2 = dataBundle.feedbackResponses.get("response2ForQ1S1C1");
+        response2.setId("2");
+        List<FeedbackResponseAttributes> responses =
+                new ArrayList<FeedbackResponseAttributes>(Arrays.asList(response1, response2));
+
+        Map<String, String> emailNameTable = new HashMap<String, String>();
+        Map<String, String> emailLastNameTable = new HashMap<String, String>();
+        Map<String, String> emailTeamNameTable = new HashMap<String, String>();
+        for (StudentAttributes student : Arrays.asList(student1, student2)) {
+            emailNameTable.put(student.email, student.name);
+            emailLastNameTable.put(student.email, student.lastName);
+            emailTeamNameTable.put(student.email, student.team);
+        }
+        Map<String, boolean[]> visibilityTable = new HashMap<String, boolean[]>();
+        visibilityTable.put(response1.getId(), new boolean[] {true, true});
+        visibilityTable.put(response2.getId(), new boolean[] {true, true});
+
+        return new FeedbackSessionResultsBundle(
+                dataBundle.feedbackSessions.get("session1InCourse1"), responses, questions,
+                emailNameTable, emailLastNameTable, emailTeamNameTable, new HashMap<String, Set<String>>(),
+                visibilityTable, new FeedbackSessionResponseStatus(), roster,
+                new HashMap<String, List<FeedbackResponseCommentAttributes>>(), true);
+    }
+
+}
@@ -12,6 +12,7 @@ import org.testng.annotations.Test;
 import com.google.appengine.api.log.AppLogLine;
 import com.google.appengine.api.log.LogService.LogLevel;
 
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
 import teammates.common.datatransfer.attributes.AccountAttributes;
 import teammates.common.datatransfer.attributes.CourseAttributes;
 import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
@@ -329,6 +330,24 @@ public class EmailGeneratorTest extends BaseLogicTest {
 
     }
 
+    @Test
+    public void testGenerateFeedbackSessionResultsExportedEmail() throws IOException {
+
+        ______TS("feedback session results exported email");
+
+        InstructorAttributes instructor = instructorsLogic.getInstructorForEmail("idOfTypicalCourse1",
+                                                                                 "instructor1@course1.tmt");
+        FeedbackSessionResultsExport export = new FeedbackSessionResultsExport(
+                "idOfTypicalCourse1", "First feedback session", instructor.email, null, null, false, false);
+        export.exportId = "123";
+
+        EmailWrapper email = new EmailGenerator().generateFeedbackSessionResultsExportedEmail(export);
+        String subject = String.format(EmailType.FEEDBACK_RESULTS_EXPORTED.getSubject(),
+                                       "Typical Course 1 with 2 Evals", "First feedback session");
+
+        verifyEmail(email, instructor.email, subject, "/feedbackSessionResultsExportedEmail.html");
+    }
+
     @Test
     public void testGenerateCompiledLogsEmail() throws IOException {
         AppLogLine typicalLogLine = new AppLogLine();
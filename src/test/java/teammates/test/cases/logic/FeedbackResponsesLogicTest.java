@@ -1,7 +1,10 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -57,6 +60,7 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         testIsNameVisibleTo();
         testGetViewableResponsesForQuestionInSection();
         testUpdateFeedbackResponse();
+        testUpdateFeedbackResponses();
         testUpdateFeedbackResponsesForChangingTeam();
         testUpdateFeedbackResponsesForChangingTeam_deleteLastResponse_decreaseResponseRate();
         testUpdateFeedbackResponsesForChangingTeam_deleteNotLastResponse_sameResponseRate();
@@ -64,6 +68,7 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         testDeleteFeedbackResponsesForStudent();
         testSpecialCharactersInTeamName();
         testDeleteFeedbackResponsesForCourse();
+        testUpdateFeedbackResponsesForChangingSections();
     }
 
     private void testSpecialCharactersInTeamName() {
@@ -219,6 +224,52 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         }
     }
 
+    private void testUpdateFeedbackResponses() throws Exception {
+
+        ______TS("failure of one response: the other responses are still updated");
+
+        FeedbackResponseAttributes responseToUpdate = getResponseFromDatastore("response1ForQ1S1C1");
+        Text originalAnswer = responseToUpdate.responseMetaData;
+        responseToUpdate.responseMetaData = new Text("Updated Response in batch");
+
+        // changed to the giver and recipient of the response above, which already exists
+        FeedbackResponseAttributes clashingResponse = getResponseFromDatastore("response2ForQ1S1C1");
+        clashingResponse.giver = responseToUpdate.giver;
+        clashingResponse.recipient = responseToUpdate.recipient;
+
+        Map<FeedbackResponseAttributes, Exception> failedResponses =
+                frLogic.updateFeedbackResponses(Arrays.asList(clashingResponse, responseToUpdate));
+
+        assertEquals(1, failedResponses.size());
+        assertTrue(failedResponses.get(clashingResponse) instanceof EntityAlreadyExistsException);
+        assertEquals("Updated Response in batch",
+                     getResponseFromDatastore("response1ForQ1S1C1").responseMetaData.getValue());
+        assertNotNull(getResponseFromDatastore("response2ForQ1S1C1"));
+
+        ______TS("success: all responses updated");
+
+        responseToUpdate.responseMetaData = originalAnswer;
+
+        failedResponses = frLogic.updateFeedbackResponses(Arrays.asList(responseToUpdate));
+
+        assertTrue(failedResponses.isEmpty());
+        assertEquals(originalAnswer.getValue(),
+                     getResponseFromDatastore("response1ForQ1S1C1").responseMetaData.getValue());
+
+        ______TS("failure: no such response");
+
+        responseToUpdate.setId("invalidId");
+
+        try {
+            frLogic.updateFeedbackResponses(Arrays.asList(responseToUpdate));
+            signalFailureToDetectException("Should have detected that this response does not exist");
+        } catch (EntityDoesNotExistException e) {
+            AssertHelper.assertContains(
+                        "Trying to update a feedback response that does not exist.",
+                        e.getMessage());
+        }
+    }
+
     private void testUpdateFeedbackResponsesForChangingTeam() throws Exception {
 
         ______TS("standard update team case");
@@ -658,6 +709,46 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
 
     }
 
+    private void testUpdateFeedbackResponsesForChangingSections() throws Exception {
+        // the responses of the course have been deleted by the previous test
+        removeAndRestoreTypicalDataBundle();
+
+        StudentAttributes student1 = dataBundle.students.get("student1InCourse1");
+        StudentAttributes student2 = dataBundle.students.get("student2InCourse1");
+        Map<String, String> newSections = new HashMap<String, String>();
+        newSections.put(student1.email, "Section 2");
+        newSections.put(student2.email, "Section 3");
+
+        frLogic.updateFeedbackResponsesForChangingSections(
+                Arrays.asList(getResponseFromDatastore("response1ForQ2S1C1"),
+                              getResponseFromDatastore("response3ForQ2S1C1")),
+                newSections);
+
+        ______TS("giver and recipient moved: both sections of the response and its comments are updated");
+
+        FeedbackResponseAttributes response = getResponseFromDatastore("response1ForQ2S1C1");
+        assertEquals("Section 3", response.giverSection);
+        assertEquals("Section 2", response.recipientSection);
+
+        List<FeedbackResponseCommentAttributes> comments =
+                frcLogic.getFeedbackResponseCommentForResponse(response.getId());
+        assertEquals(1, comments.size());
+        assertEquals("Section 3", comments.get(0).giverSection);
+        assertEquals("Section 2", comments.get(0).receiverSection);
+
+        ______TS("only the recipient moved: only the recipient section is updated");
+
+        response = getResponseFromDatastore("response3ForQ2S1C1");
+        assertEquals("Section 1", response.giverSection);
+        assertEquals("Section 3", response.recipientSection);
+
+        ______TS("responses not given to update are untouched");
+
+        response = getResponseFromDatastore("response2ForQ2S1C1");
+        assertEquals("Section 1", response.giverSection);
+        assertEquals("Section 1", response.recipientSection);
+    }
+
     private FeedbackQuestionAttributes getQuestionFromDatastore(DataBundle dataBundle, String jsonId) {
         FeedbackQuestionAttributes questionToGet = dataBundle.feedbackQuestions.get(jsonId);
         questionToGet = fqLogic.getFeedbackQuestion(questionToGet.feedbackSessionName,
@@ -1,5 +1,6 @@
 package teammates.test.cases.logic;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -1815,6 +1816,27 @@ public class FeedbackSessionsLogicTest extends BaseLogicTest {
 
         assertFalse(export.contains("Summary Statistics"));
 
+        ______TS("results written to a writer are the same as the results built in memory");
+
+        session = dataBundle.feedbackSessions.get("session1InCourse1");
+        instructor = dataBundle.instructors.get("instructor1OfCourse1");
+
+        export = fsLogic.getFeedbackSessionResultsSummaryAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email, null, null, true, true);
+        StringWriter writer = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email, null, null, true, true, writer);
+        assertEquals(export, writer.toString());
+
+        export = fsLogic.getFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email, "Section 1",
+                null, null, true, true);
+        writer = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email, "Section 1",
+                null, true, true, writer);
+        assertEquals(export, writer.toString());
+
         ______TS("Non-existent Course/Session");
 
         try {
@@ -1,6 +1,7 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -1099,10 +1100,15 @@ public class StudentsLogicTest extends BaseLogicTest {
         }
     }
 
+    @SuppressWarnings("unchecked")
     private static StudentEnrollDetails enrollStudent(StudentAttributes student) throws Exception {
-        return (StudentEnrollDetails) invokeMethod(StudentsLogic.class, "enrollStudent",
-                                                   new Class<?>[] { StudentAttributes.class, Boolean.class },
-                                                   StudentsLogic.inst(), new Object[] { student, false });
+        List<StudentAttributes> studentsInCourse = StudentsLogic.inst().getStudentsForCourse(student.course);
+        List<StudentEnrollDetails> enrollmentList =
+                (List<StudentEnrollDetails>) invokeMethod(StudentsLogic.class, "enrollStudents",
+                        new Class<?>[] { List.class, List.class, String.class, boolean.class },
+                        StudentsLogic.inst(), new Object[] { Arrays.asList(student), studentsInCourse,
+                                                             student.course, false });
+        return enrollmentList.get(0);
     }
 
     @AfterClass
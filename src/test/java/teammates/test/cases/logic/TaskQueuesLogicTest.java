@@ -0,0 +1,150 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.taskqueue.dev.LocalTaskQueue;
+import com.google.appengine.api.taskqueue.dev.QueueStateInfo;
+import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
+
+import teammates.common.util.Const.TaskQueue;
+import teammates.common.util.EmailWrapper;
+import teammates.common.util.TaskWrapper;
+import teammates.logic.api.TaskQueuer;
+import teammates.logic.core.TaskQueuesLogic;
+
+/**
+ * SUT: {@link TaskQueuesLogic},
+ *      {@link TaskQueuer#scheduleEmailsForSending},
+ *      the configuration of the admin send email queue.
+ */
+public class TaskQueuesLogicTest extends BaseLogicTest {
+
+    private static final String OTHER_QUEUE_NAME = TaskQueue.ADMIN_SEND_EMAIL_QUEUE_NAME;
+
+    private static TaskQueuesLogic taskQueuesLogic = new TaskQueuesLogic();
+
+    @Override
+    protected void prepareTestData() {
+        // no test data used in this test
+    }
+
+    @BeforeMethod
+    public void flushQueues() {
+        getLocalTaskQueue().flushQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME);
+        getLocalTaskQueue().flushQueue(OTHER_QUEUE_NAME);
+    }
+
+    @Test
+    public void testAddTasks() {
+
+        ______TS("tasks are added to their own queues, in batches of at most the maximum size");
+
+        int numberOfTasks = 2 * TaskQueuesLogic.MAX_TASKS_PER_BATCH_ADD + 1;
+        List<TaskWrapper> tasks = new ArrayList<TaskWrapper>();
+        for (int i = 0; i < numberOfTasks; i++) {
+            tasks.add(getTask(TaskQueue.SEND_EMAIL_QUEUE_NAME, null));
+        }
+        tasks.add(getTask(OTHER_QUEUE_NAME, null));
+        taskQueuesLogic.addTasks(tasks);
+
+        assertEquals(numberOfTasks, getNumberOfTasksInQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME));
+        assertEquals(1, getNumberOfTasksInQueue(OTHER_QUEUE_NAME));
+
+        ______TS("named tasks already added are not added again, while the other tasks of the batch are added");
+
+        flushQueues();
+        tasks.clear();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(getTask(TaskQueue.SEND_EMAIL_QUEUE_NAME, "addTasks-" + i));
+        }
+        taskQueuesLogic.addTasks(tasks.subList(0, 3));
+        assertEquals(3, getNumberOfTasksInQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME));
+
+        taskQueuesLogic.addTasks(tasks);
+        assertEquals(5, getNumberOfTasksInQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME));
+
+        ______TS("a named task already added is not added again");
+
+        taskQueuesLogic.addTask(tasks.get(0));
+        assertEquals(5, getNumberOfTasksInQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME));
+
+        ______TS("no tasks");
+
+        taskQueuesLogic.addTasks(new ArrayList<TaskWrapper>());
+        assertEquals(5, getNumberOfTasksInQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME));
+    }
+
+    @Test
+    public void testScheduleEmailsForSending() {
+        int numberOfEmails = TaskQueuer.MAX_TASKS_PER_BATCH + 10;
+        List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
+        for (int i = 0; i < numberOfEmails; i++) {
+            emails.add(getEmail("receiver" + i + "@email.com"));
+        }
+
+        ______TS("each email is added as one task");
+
+        new TaskQueuer().scheduleEmailsForSending(emails);
+        assertEquals(numberOfEmails, getNumberOfTasksInQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME));
+
+        ______TS("emails of a batch which failed after adding some of its tasks are added once");
+
+        flushQueues();
+        TaskQueuer partiallyFailingTaskQueuer = new TaskQueuer() {
+            @Override
+            protected void addTasks(List<TaskWrapper> tasks) {
+                if (tasks.size() == 1) {
+                    super.addTasks(tasks);
+                    return;
+                }
+                super.addTasks(tasks.subList(0, tasks.size() / 2));
+                throw new RuntimeException("Simulated failure after adding half of the batch");
+            }
+        };
+        partiallyFailingTaskQueuer.scheduleEmailsForSending(emails);
+        assertEquals(numberOfEmails, getNumberOfTasksInQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME));
+
+        ______TS("emails scheduled again by another call are added again");
+
+        new TaskQueuer().scheduleEmailsForSending(emails.subList(0, 1));
+        assertEquals(numberOfEmails + 1, getNumberOfTasksInQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME));
+    }
+
+    @Test
+    public void testAdminSendEmailQueueRate() {
+        // each task sends an admin email to several receivers, so the queue runs tasks at a fraction
+        // of the rate of 20 emails per second at which admin emails were sent when each task had one receiver
+        QueueStateInfo queue = getLocalTaskQueue().getQueueStateInfo().get(TaskQueue.ADMIN_SEND_EMAIL_QUEUE_NAME);
+        assertEquals(20, queue.getBucketRefillPerSecond() * TaskQueuer.MAX_RECEIVERS_PER_ADMIN_EMAIL_TASK, 0.001);
+        assertEquals(40, queue.getBucketSize() * TaskQueuer.MAX_RECEIVERS_PER_ADMIN_EMAIL_TASK);
+    }
+
+    private static TaskWrapper getTask(String queueName, String taskName) {
+        return new TaskWrapper(queueName, "/worker", new HashMap<String, String[]>(), 0, taskName);
+    }
+
+    private static EmailWrapper getEmail(String recipient) {
+        EmailWrapper email = new EmailWrapper();
+        email.setSenderName("Sender Name");
+        email.setSenderEmail("sender@email.com");
+        email.setReplyTo("replyto@email.com");
+        email.setRecipient(recipient);
+        email.setSubject("Test subject");
+        email.setContent("<p>This is a test content</p>");
+        return email;
+    }
+
+    private static LocalTaskQueue getLocalTaskQueue() {
+        return LocalTaskQueueTestConfig.getLocalTaskQueue();
+    }
+
+    private static int getNumberOfTasksInQueue(String queueName) {
+        return getLocalTaskQueue().getQueueStateInfo().get(queueName).getCountTasks();
+    }
+
+}
@@ -0,0 +1,94 @@
+package teammates.test.cases.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.logic.core.CoursesLogic;
+import teammates.storage.api.CourseRosterCache;
+import teammates.storage.api.StudentsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link CourseRosterCache}.
+ */
+public class CourseRosterCacheTest extends BaseComponentTestCase {
+
+    private CourseRosterCache rosterCache = new CourseRosterCache();
+    private StudentsDb studentsDb = new StudentsDb();
+    private CoursesLogic coursesLogic = CoursesLogic.inst();
+
+    @Test
+    public void testRosterCaching() {
+        String courseId = "CRCT.course";
+        StudentAttributes student = new StudentAttributes("", "crct.student@email.tmt", "Roster Student", "",
+                                                          courseId, "Team 1", "Section 1");
+        CourseRoster roster = new CourseRoster(Arrays.asList(student), new ArrayList<InstructorAttributes>());
+
+        ______TS("rosters are cached under the current generation");
+
+        Long generation = rosterCache.getGeneration(courseId);
+        assertNotNull(generation);
+        assertNull(rosterCache.getRoster(courseId, generation));
+
+        rosterCache.putRoster(courseId, generation, roster);
+        CourseRoster cachedRoster = rosterCache.getRoster(courseId, generation);
+        assertTrue(cachedRoster.isStudentInCourse(student.email));
+        assertEquals("Team 1", cachedRoster.getStudentForEmail(student.email).team);
+
+        ______TS("incrementing the generation makes cached rosters unreachable");
+
+        rosterCache.incrementGeneration(courseId);
+        Long newGeneration = rosterCache.getGeneration(courseId);
+        assertFalse(generation.equals(newGeneration));
+        assertNull(rosterCache.getRoster(courseId, newGeneration));
+    }
+
+    @Test
+    public void testInvalidationByStudentsDb() throws Exception {
+        String courseId = "CRCT.students-course";
+        StudentAttributes student = new StudentAttributes("", "crct.student2@email.tmt", "Roster Student", "",
+                                                          courseId, "Team 1", "Section 1");
+
+        ______TS("creating a student increments the generation of the course");
+
+        Long generation = rosterCache.getGeneration(courseId);
+        studentsDb.createEntity(student);
+        Long generationAfterCreate = rosterCache.getGeneration(courseId);
+        assertFalse(generation.equals(generationAfterCreate));
+
+        ______TS("deleting a student increments the generation of the course");
+
+        studentsDb.deleteStudentWithoutDocument(courseId, student.email);
+        assertFalse(generationAfterCreate.equals(rosterCache.getGeneration(courseId)));
+    }
+
+    @Test
+    public void testRosterReadRightAfterWrite() throws Exception {
+        String courseId = "CRCT.recent-course";
+        StudentAttributes student = new StudentAttributes("", "crct.student3@email.tmt", "Roster Student", "",
+                                                          courseId, "Team 1", "Section 1");
+
+        ______TS("a roster read right after a write is built but not cached");
+
+        studentsDb.createEntity(student);
+        Long generation = rosterCache.getGeneration(courseId);
+
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
+        assertTrue(roster.isStudentInCourse(student.email));
+        assertNull(rosterCache.getRoster(courseId, generation));
+        assertFalse(rosterCache.putRoster(courseId, generation, roster));
+
+        ______TS("a roster of a course which has not changed recently is cached");
+
+        String unchangedCourseId = "CRCT.unchanged-course";
+        Long unchangedGeneration = rosterCache.getGeneration(unchangedCourseId);
+        coursesLogic.getCourseRoster(unchangedCourseId);
+        assertNotNull(rosterCache.getRoster(unchangedCourseId, unchangedGeneration));
+    }
+
+}
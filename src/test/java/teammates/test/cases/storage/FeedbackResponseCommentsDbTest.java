@@ -1,8 +1,10 @@
 package teammates.test.cases.storage;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -118,6 +120,20 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
         ______TS("non-existent comment");
 
         assertNull(frcDb.getFeedbackResponseComment(-1L));
+
+        ______TS("batch get by ids");
+
+        Map<Long, FeedbackResponseCommentAttributes> commentsById =
+                frcDb.getFeedbackResponseComments(Arrays.asList(frcaExpected.getId(), anotherFrcaData.getId(), -1L));
+
+        assertEquals(2, commentsById.size());
+        assertEquals(frcaExpected.toString(), commentsById.get(frcaExpected.getId()).toString());
+        assertEquals(anotherFrcaData.toString(), commentsById.get(anotherFrcaData.getId()).toString());
+        assertFalse(commentsById.containsKey(-1L));
+
+        ______TS("batch get with no ids");
+
+        assertTrue(frcDb.getFeedbackResponseComments(new ArrayList<Long>()).isEmpty());
     }
 
     private void testGetFeedbackResponseCommentFromCommentDetails() {
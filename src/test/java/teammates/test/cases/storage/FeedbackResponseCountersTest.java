@@ -0,0 +1,92 @@
+package teammates.test.cases.storage;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Transaction;
+
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.storage.api.FeedbackResponseCounters;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link FeedbackResponseCounters}.
+ */
+public class FeedbackResponseCountersTest extends BaseComponentTestCase {
+
+    private FeedbackResponseCounters responseCounters = new FeedbackResponseCounters();
+
+    @Test
+    public void testAddToResponseCounts() {
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes();
+        response.feedbackSessionName = "FRCT.session";
+        response.courseId = "FRCT.course";
+        response.feedbackQuestionId = "FRCT.question";
+        response.giver = "giver@email.tmt";
+
+        responseCounters.setResponseCountsForSession(response.feedbackSessionName, response.courseId,
+                                                     new HashMap<String, Integer>());
+
+        ______TS("typical case: the count of the question is updated");
+
+        responseCounters.addToResponseCounts(Arrays.asList(response), 1);
+
+        assertEquals(1, responseCounters.getResponseCountsForSession(response.feedbackSessionName, response.courseId)
+                                        .get(response.feedbackQuestionId).intValue());
+
+        ______TS("contention on every attempt: the counts are no longer reported and can be rebuilt");
+
+        new FeedbackResponseCounters(getDatastoreFailingToCommit()).addToResponseCounts(Arrays.asList(response), 1);
+
+        assertNull(responseCounters.getResponseCountsForSession(response.feedbackSessionName, response.courseId));
+        assertTrue(responseCounters.markRebuildScheduled(response.feedbackSessionName, response.courseId));
+    }
+
+    /**
+     * Returns a datastore whose transactions always fail to commit because of contention.
+     */
+    private static DatastoreService getDatastoreFailingToCommit() {
+        final DatastoreService datastore = DatastoreServiceFactory.getDatastoreService();
+        return (DatastoreService) Proxy.newProxyInstance(DatastoreService.class.getClassLoader(),
+                new Class<?>[] {DatastoreService.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        Object result = invokeOn(datastore, method, args);
+                        return "beginTransaction".equals(method.getName())
+                               ? getTransactionFailingToCommit((Transaction) result)
+                               : result;
+                    }
+                });
+    }
+
+    private static Transaction getTransactionFailingToCommit(final Transaction txn) {
+        return (Transaction) Proxy.newProxyInstance(Transaction.class.getClassLoader(),
+                new Class<?>[] {Transaction.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if ("commit".equals(method.getName())) {
+                            throw new ConcurrentModificationException("contention forced by the test");
+                        }
+                        return invokeOn(txn, method, args);
+                    }
+                });
+    }
+
+    private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
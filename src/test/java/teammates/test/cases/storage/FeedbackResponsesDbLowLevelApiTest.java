@@ -0,0 +1,14 @@
+package teammates.test.cases.storage;
+
+import teammates.storage.api.FeedbackResponsesDb;
+
+/**
+ * SUT: {@link FeedbackResponsesDb}, reading and writing responses through the low-level Datastore API.
+ */
+public class FeedbackResponsesDbLowLevelApiTest extends FeedbackResponsesDbTest {
+
+    public FeedbackResponsesDbLowLevelApiTest() {
+        super(new FeedbackResponsesDb(true));
+    }
+
+}
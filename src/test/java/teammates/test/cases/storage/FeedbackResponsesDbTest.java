@@ -1,9 +1,14 @@
 package teammates.test.cases.storage;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -28,10 +33,18 @@ import teammates.test.driver.AssertHelper;
  */
 public class FeedbackResponsesDbTest extends BaseComponentTestCase {
 
-    private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+    private final FeedbackResponsesDb frDb;
     private DataBundle dataBundle = getTypicalDataBundle();
     private Map<String, FeedbackResponseAttributes> fras;
 
+    public FeedbackResponsesDbTest() {
+        this(new FeedbackResponsesDb(false));
+    }
+
+    protected FeedbackResponsesDbTest(FeedbackResponsesDb frDb) {
+        this.frDb = frDb;
+    }
+
     @BeforeClass
     public void classSetup() throws Exception {
         addResponsesToDb();
@@ -208,6 +221,25 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         actual = frDb.getFeedbackResponse("non-existent id");
 
         assertNull(actual);
+
+        ______TS("batch get by ids");
+
+        FeedbackResponseAttributes other = getResponseAttributes("response2ForQ1S1C1");
+        String otherId = frDb.getFeedbackResponse(other.feedbackQuestionId, other.giver, other.recipient).getId();
+        String expectedId = frDb.getFeedbackResponse(
+                expected.feedbackQuestionId, expected.giver, expected.recipient).getId();
+
+        Map<String, FeedbackResponseAttributes> responsesById =
+                frDb.getFeedbackResponses(Arrays.asList(expectedId, otherId, "non-existent id"));
+
+        assertEquals(2, responsesById.size());
+        assertEquals(expected.toString(), responsesById.get(expectedId).toString());
+        assertEquals(other.toString(), responsesById.get(otherId).toString());
+        assertFalse(responsesById.containsKey("non-existent id"));
+
+        ______TS("batch get with no ids");
+
+        assertTrue(frDb.getFeedbackResponses(new ArrayList<String>()).isEmpty());
     }
 
     @Test
@@ -309,6 +341,221 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
 
     }
 
+    @Test
+    public void testGetFeedbackResponseIteratorsForSession() {
+
+        String feedbackSessionName = fras.get("response1ForQ1S1C1").feedbackSessionName;
+        String courseId = fras.get("response1ForQ1S1C1").courseId;
+
+        ______TS("iterators return the same responses as the list getters");
+
+        assertEquals(getResponseIds(frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId)),
+                     getResponseIds(frDb.getFeedbackResponseIteratorForSession(feedbackSessionName, courseId)));
+        assertEquals(getResponseIds(frDb.getFeedbackResponsesForSessionFromSection(
+                             feedbackSessionName, courseId, "Section 1")),
+                     getResponseIds(frDb.getFeedbackResponseIteratorForSessionFromSection(
+                             feedbackSessionName, courseId, "Section 1")));
+        assertEquals(getResponseIds(frDb.getFeedbackResponsesForSessionToSection(
+                             feedbackSessionName, courseId, "Section 1")),
+                     getResponseIds(frDb.getFeedbackResponseIteratorForSessionToSection(
+                             feedbackSessionName, courseId, "Section 1")));
+
+        ______TS("in-section iterator returns responses given and received in the section once");
+
+        List<String> inSectionIds = getResponseIds(
+                frDb.getFeedbackResponseIteratorForSessionInSection(feedbackSessionName, courseId, "Section 1"));
+        assertEquals(5, inSectionIds.size());
+        assertEquals(getResponseIds(frDb.getFeedbackResponsesForSessionInSection(
+                             feedbackSessionName, courseId, "Section 1")),
+                     inSectionIds);
+
+        ______TS("non-existent feedback session");
+
+        assertFalse(frDb.getFeedbackResponseIteratorForSession("non-existent feedback session", courseId).hasNext());
+
+        ______TS("null params");
+
+        try {
+            frDb.getFeedbackResponseIteratorForSession(null, courseId);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+
+        try {
+            frDb.getFeedbackResponseIteratorForSessionInSection(feedbackSessionName, courseId, null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
+
+    @Test
+    public void testGetFeedbackResponseIteratorsForSession_severalChunks() throws Exception {
+
+        String feedbackSessionName = fras.get("response1ForQ1S1C1").feedbackSessionName;
+        String courseId = fras.get("response1ForQ1S1C1").courseId;
+        FeedbackResponsesDb singleResponseChunksDb = new FeedbackResponsesDb(false, 1);
+        FeedbackResponsesDb twoResponseChunksDb = new FeedbackResponsesDb(false, 2);
+
+        ______TS("each chunk is resumed from the cursor of the previous one");
+
+        List<String> sessionIds = getResponseIds(frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId));
+        assertEquals(6, sessionIds.size());
+        assertEquals(sessionIds, getResponseIds(
+                singleResponseChunksDb.getFeedbackResponseIteratorForSession(feedbackSessionName, courseId)));
+        assertEquals(sessionIds, getResponseIds(
+                twoResponseChunksDb.getFeedbackResponseIteratorForSession(feedbackSessionName, courseId)));
+
+        ______TS("responses can be written between chunks, after the previous chunk is evicted");
+
+        Iterator<FeedbackResponseAttributes> iterator =
+                twoResponseChunksDb.getFeedbackResponseIteratorForSession(feedbackSessionName, courseId);
+        List<String> iteratedIds = new ArrayList<String>();
+        while (iterator.hasNext()) {
+            FeedbackResponseAttributes response = iterator.next();
+            iteratedIds.add(response.getId());
+            if (iteratedIds.size() % 2 == 0) {
+                // the last response of the chunk: the write closes the persistence manager the chunk was read with
+                frDb.updateFeedbackResponse(response, true);
+            }
+        }
+        Collections.sort(iteratedIds);
+        assertEquals(sessionIds, iteratedIds);
+
+        ______TS("in-section iterator continues with the responses received from other sections across chunks");
+
+        FeedbackResponseAttributes fromOtherSection = getNewFeedbackResponseAttributes();
+        fromOtherSection.feedbackSessionName = feedbackSessionName;
+        fromOtherSection.courseId = courseId;
+        fromOtherSection.feedbackQuestionId = fras.get("response1ForQ2S1C1").feedbackQuestionId;
+        fromOtherSection.giver = "student5InCourse1@gmail.tmt";
+        fromOtherSection.giverSection = "Section 2";
+        fromOtherSection.recipient = fras.get("response1ForQ1S1C1").giver;
+        fromOtherSection.recipientSection = "Section 1";
+        frDb.createEntity(fromOtherSection);
+
+        try {
+            List<String> inSectionIds = getResponseIds(
+                    frDb.getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, "Section 1"));
+            // the five responses given in the section, which are received in it too, and the new one
+            assertEquals(6, inSectionIds.size());
+            assertEquals(inSectionIds, getResponseIds(singleResponseChunksDb
+                    .getFeedbackResponseIteratorForSessionInSection(feedbackSessionName, courseId, "Section 1")));
+            assertEquals(inSectionIds, getResponseIds(twoResponseChunksDb
+                    .getFeedbackResponseIteratorForSessionInSection(feedbackSessionName, courseId, "Section 1")));
+        } finally {
+            frDb.deleteEntity(fromOtherSection);
+        }
+    }
+
+    private List<String> getResponseIds(List<FeedbackResponseAttributes> responses) {
+        return getResponseIds(responses.iterator());
+    }
+
+    private List<String> getResponseIds(Iterator<FeedbackResponseAttributes> responses) {
+        List<String> ids = new ArrayList<String>();
+        while (responses.hasNext()) {
+            ids.add(responses.next().getId());
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    @Test
+    public void testFeedbackResponseCounts() throws Exception {
+
+        FeedbackResponseAttributes fra = getNewFeedbackResponseAttributes();
+        fra.feedbackSessionName = "fsResponseCountTest";
+        FeedbackResponseAttributes otherFra = getNewFeedbackResponseAttributes();
+        otherFra.feedbackSessionName = "fsResponseCountTest";
+        otherFra.giver = "other.giver@email.tmt";
+
+        ______TS("counts are not reported before they are initialized");
+
+        assertNull(frDb.getFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId));
+
+        frDb.setFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId,
+                                                 new HashMap<String, Integer>());
+        assertTrue(frDb.getFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId).isEmpty());
+
+        ______TS("creating responses increments the count of their question");
+
+        frDb.createEntity(fra);
+        frDb.createEntities(Arrays.asList(otherFra));
+        Map<String, Integer> counts = frDb.getFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId);
+        assertEquals(1, counts.size());
+        assertEquals(2, counts.get(fra.feedbackQuestionId).intValue());
+
+        ______TS("deleting responses decrements the count of their question");
+
+        frDb.deleteEntity(fra);
+        counts = frDb.getFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId);
+        assertEquals(1, counts.get(fra.feedbackQuestionId).intValue());
+
+        // deleting a response which does not exist leaves the counts unchanged
+        frDb.deleteEntity(fra);
+        counts = frDb.getFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId);
+        assertEquals(1, counts.get(fra.feedbackQuestionId).intValue());
+
+        frDb.deleteEntities(Arrays.asList(otherFra));
+        assertTrue(frDb.getFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId).isEmpty());
+
+        ______TS("setting the counts replaces them");
+
+        Map<String, Integer> newCounts = new HashMap<String, Integer>();
+        newCounts.put("questionId", 3);
+        frDb.setFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId, newCounts);
+        assertEquals(newCounts, frDb.getFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId));
+
+        ______TS("reconciling corrects the counts unless responses are written during the recount");
+
+        List<String> questionIds = Arrays.asList("questionId", fra.feedbackQuestionId);
+        Map<String, Long> totals =
+                frDb.getFeedbackResponseCountTotals(fra.feedbackSessionName, fra.courseId, questionIds);
+        assertEquals(3L, totals.get("questionId").longValue());
+        assertEquals(0L, totals.get(fra.feedbackQuestionId).longValue());
+
+        // written after the totals are read, so it may or may not be included in the recount
+        frDb.createEntity(fra);
+        Map<String, Integer> recountedCounts = new HashMap<String, Integer>();
+        recountedCounts.put(fra.feedbackQuestionId, 1);
+
+        assertFalse(frDb.reconcileFeedbackResponseCountsForSession(
+                fra.feedbackSessionName, fra.courseId, totals, recountedCounts));
+        counts = frDb.getFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId);
+        assertEquals(3, counts.get("questionId").intValue());
+
+        totals = frDb.getFeedbackResponseCountTotals(fra.feedbackSessionName, fra.courseId, questionIds);
+        assertTrue(frDb.reconcileFeedbackResponseCountsForSession(
+                fra.feedbackSessionName, fra.courseId, totals, recountedCounts));
+        assertEquals(recountedCounts,
+                     frDb.getFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId));
+
+        ______TS("a rebuild is scheduled once, and only while the counts are not initialized");
+
+        assertFalse(frDb.markFeedbackResponseCountRebuildScheduled(fra.feedbackSessionName, fra.courseId));
+
+        String otherSessionName = "fsResponseCountRebuildTest";
+        assertTrue(frDb.markFeedbackResponseCountRebuildScheduled(otherSessionName, fra.courseId));
+        assertFalse(frDb.markFeedbackResponseCountRebuildScheduled(otherSessionName, fra.courseId));
+        assertNull(frDb.getFeedbackResponseCountsForSession(otherSessionName, fra.courseId));
+
+        ______TS("deleting the responses of the course deletes the counts");
+
+        frDb.deleteFeedbackResponsesForCourse(fra.courseId);
+        assertNull(frDb.getFeedbackResponseCountsForSession(fra.feedbackSessionName, fra.courseId));
+
+        ______TS("null params");
+
+        try {
+            frDb.getFeedbackResponseCountsForSession(null, fra.courseId);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
+
     @Test
     public void testGetFeedbackResponsesForReceiverForQuestion() {
 
@@ -636,6 +883,14 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
 
         assertEquals(5, responses.size());
 
+        ______TS("responses both given and received in the section are returned once");
+
+        Set<String> expectedIds = new TreeSet<String>(getResponseIds(
+                frDb.getFeedbackResponsesForSessionFromSection(feedbackSessionName, courseId, "Section 1").iterator()));
+        expectedIds.addAll(getResponseIds(
+                frDb.getFeedbackResponsesForSessionToSection(feedbackSessionName, courseId, "Section 1").iterator()));
+        assertEquals(new ArrayList<String>(expectedIds), getResponseIds(responses.iterator()));
+
         ______TS("null params");
 
         try {
@@ -753,6 +1008,55 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
                 "Empty feedback session", "idOfTypicalCourse1", "Section 1").isEmpty());
     }
 
+    @Test
+    public void testGetFeedbackResponsesForSessionFromOrToParticipants() {
+
+        String courseId = fras.get("response1ForQ1S1C1").courseId;
+        String feedbackSessionName = fras.get("response1ForQ1S1C1").feedbackSessionName;
+        String student1Email = fras.get("response1ForQ1S1C1").giver;
+        String student3Email = fras.get("response3ForQ2S1C1").giver;
+
+        ______TS("standard success case: responses given by the participant");
+
+        List<FeedbackResponseAttributes> responses = frDb.getFeedbackResponsesForSessionFromOrToParticipants(
+                feedbackSessionName, courseId, Arrays.asList(student3Email));
+
+        assertEquals(1, responses.size());
+        assertEquals(student3Email, responses.get(0).giver);
+
+        ______TS("responses given by or to several participants are returned once");
+
+        responses = frDb.getFeedbackResponsesForSessionFromOrToParticipants(
+                feedbackSessionName, courseId, Arrays.asList(student1Email, student3Email));
+
+        // the self response of student 1 matches both by giver and by recipient
+        assertEquals(4, responses.size());
+        assertEquals(4, new TreeSet<String>(getResponseIds(responses)).size());
+        for (FeedbackResponseAttributes response : responses) {
+            assertTrue(student1Email.equals(response.giver) || student1Email.equals(response.recipient)
+                       || student3Email.equals(response.giver));
+        }
+
+        ______TS("no participants");
+
+        assertTrue(frDb.getFeedbackResponsesForSessionFromOrToParticipants(
+                feedbackSessionName, courseId, new ArrayList<String>()).isEmpty());
+
+        ______TS("non-existent feedback session");
+
+        assertTrue(frDb.getFeedbackResponsesForSessionFromOrToParticipants(
+                "non-existent feedback session", courseId, Arrays.asList(student1Email)).isEmpty());
+
+        ______TS("null params");
+
+        try {
+            frDb.getFeedbackResponsesForSessionFromOrToParticipants(feedbackSessionName, courseId, null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
+
     @Test
     public void testUpdateFeedbackResponse() throws Exception {
 
@@ -0,0 +1,99 @@
+package teammates.test.cases.storage;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.testng.annotations.Test;
+
+import com.google.appengine.tools.cloudstorage.GcsOutputChannel;
+
+import teammates.common.datatransfer.FeedbackSessionResultsExport;
+import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.storage.api.FeedbackSessionResultsExports;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link FeedbackSessionResultsExports}.
+ */
+public class FeedbackSessionResultsExportsTest extends BaseComponentTestCase {
+
+    private FeedbackSessionResultsExports resultsExports = new FeedbackSessionResultsExports();
+
+    @Test
+    public void testProgress() throws Exception {
+        FeedbackSessionResultsExport export = createExport();
+
+        ______TS("new export");
+
+        assertFalse(export.isCompleted);
+        assertFalse(export.isEmailSent);
+        assertTrue(export.writtenQuestionIds.isEmpty());
+        assertNull(resultsExports.getOutputChannel(export.exportId));
+
+        ______TS("checkpointed export: the written questions and the channel are recorded");
+
+        GcsOutputChannel outputChannel =
+                GoogleCloudStorageHelper.createFile(export.getFileName(), "text/csv; charset=UTF-8");
+        resultsExports.saveProgress(export.exportId, Arrays.asList("question1", "question2"), outputChannel);
+
+        export = resultsExports.getExport(export.exportId);
+        assertEquals(Arrays.asList("question1", "question2"), export.writtenQuestionIds);
+        assertFalse(export.isCompleted);
+        assertNotNull(resultsExports.getOutputChannel(export.exportId));
+
+        ______TS("completed export: the channel is no longer recorded");
+
+        resultsExports.getOutputChannel(export.exportId).close();
+        resultsExports.markCompleted(export.exportId);
+
+        export = resultsExports.getExport(export.exportId);
+        assertTrue(export.isCompleted);
+        assertFalse(export.isEmailSent);
+        assertNull(resultsExports.getOutputChannel(export.exportId));
+
+        ______TS("export with the link sent");
+
+        resultsExports.markEmailSent(export.exportId);
+
+        assertTrue(resultsExports.getExport(export.exportId).isEmailSent);
+
+        ______TS("non-existent export");
+
+        assertNull(resultsExports.getExport("123456789"));
+        assertNull(resultsExports.getExport("non-numeric ID"));
+        resultsExports.markCompleted("123456789");
+        resultsExports.markEmailSent("123456789");
+    }
+
+    @Test
+    public void testDeleteExportsCreatedBefore() throws Exception {
+        FeedbackSessionResultsExport export = createExport();
+        GoogleCloudStorageHelper.createFile(export.getFileName(), "text/csv; charset=UTF-8").close();
+        assertTrue(GoogleCloudStorageHelper.doesFileExist(export.getFileName()));
+
+        ______TS("exports created after the given time are kept");
+
+        Date beforeCreation = new Date(System.currentTimeMillis() - 60 * 1000);
+        assertEquals(0, resultsExports.deleteExportsCreatedBefore(beforeCreation, 100));
+        assertNotNull(resultsExports.getExport(export.exportId));
+
+        ______TS("exports created before the given time are deleted with their files");
+
+        FeedbackSessionResultsExport exportWithoutFile = createExport();
+        Date afterCreation = new Date(System.currentTimeMillis() + 60 * 1000);
+
+        assertEquals(1, resultsExports.deleteExportsCreatedBefore(afterCreation, 1));
+        assertEquals(1, resultsExports.deleteExportsCreatedBefore(afterCreation, 100));
+        assertEquals(0, resultsExports.deleteExportsCreatedBefore(afterCreation, 100));
+
+        assertNull(resultsExports.getExport(export.exportId));
+        assertNull(resultsExports.getExport(exportWithoutFile.exportId));
+        assertFalse(GoogleCloudStorageHelper.doesFileExist(export.getFileName()));
+    }
+
+    private FeedbackSessionResultsExport createExport() {
+        return resultsExports.createExport(new FeedbackSessionResultsExport(
+                "FSRET.course", "Session", "instructor@example.tmt", null, null, false, false));
+    }
+
+}
@@ -4,8 +4,10 @@ import static teammates.common.util.FieldValidator.SESSION_END_TIME_FIELD_NAME;
 import static teammates.common.util.FieldValidator.SESSION_START_TIME_FIELD_NAME;
 import static teammates.common.util.FieldValidator.TIME_FRAME_ERROR_MESSAGE;
 
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -284,6 +286,64 @@ public class FeedbackSessionsDbTest extends BaseComponentTestCase {
         verifyPresentInDatastore(modifiedSession);
     }
 
+    @Test
+    public void testRespondents() throws Exception {
+        FeedbackSessionAttributes fsa = getNewFeedbackSession();
+        fsa.setFeedbackSessionName("fsRespondentsTest");
+        fsa.setRespondingStudentList(new HashSet<String>(Arrays.asList("legacy@email.tmt")));
+        fsDb.deleteEntity(fsa);
+        fsDb.createEntity(fsa);
+
+        ______TS("respondents in shards are merged with the respondents stored in the session");
+
+        fsDb.addStudentRespondents(Arrays.asList("student1@email.tmt", "student2@email.tmt"), fsa);
+        fsDb.addInstructorRespondent("instructor@email.tmt", fsa);
+
+        FeedbackSessionAttributes session = fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName());
+        assertEquals(new HashSet<String>(Arrays.asList("legacy@email.tmt", "student1@email.tmt", "student2@email.tmt")),
+                     session.getRespondingStudentList());
+        assertEquals(new HashSet<String>(Arrays.asList("instructor@email.tmt")), session.getRespondingInstructorList());
+
+        ______TS("respondents can be renamed and deleted regardless of where they are stored");
+
+        fsDb.updateStudentRespondent("legacy@email.tmt", "renamed@email.tmt", fsa);
+        fsDb.deleteStudentRespondent("student1@email.tmt", fsa);
+        fsDb.deleteInstructorRespondent("instructor@email.tmt", fsa);
+
+        session = fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName());
+        assertEquals(new HashSet<String>(Arrays.asList("renamed@email.tmt", "student2@email.tmt")),
+                     session.getRespondingStudentList());
+        assertTrue(session.getRespondingInstructorList().isEmpty());
+
+        ______TS("sessions in a course list include the respondents in shards");
+
+        boolean isSessionFound = false;
+        for (FeedbackSessionAttributes sessionInCourse : fsDb.getFeedbackSessionsForCourse(fsa.getCourseId())) {
+            if (sessionInCourse.getFeedbackSessionName().equals(fsa.getFeedbackSessionName())) {
+                assertTrue(sessionInCourse.getRespondingStudentList().contains("student2@email.tmt"));
+                isSessionFound = true;
+            }
+        }
+        assertTrue(isSessionFound);
+
+        ______TS("clearing removes all respondents of the type");
+
+        fsDb.clearStudentRespondents(fsa);
+        session = fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName());
+        assertTrue(session.getRespondingStudentList().isEmpty());
+
+        ______TS("respondents are deleted together with the session");
+
+        fsDb.addStudentRespondent("student3@email.tmt", fsa);
+        fsDb.deleteEntity(fsa);
+        fsa.setRespondingStudentList(new HashSet<String>());
+        fsDb.createEntity(fsa);
+        session = fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName());
+        assertTrue(session.getRespondingStudentList().isEmpty());
+
+        fsDb.deleteEntity(fsa);
+    }
+
     private FeedbackSessionAttributes getNewFeedbackSession() {
         FeedbackSessionAttributes fsa = new FeedbackSessionAttributes();
         fsa.setFeedbackSessionType(FeedbackSessionType.STANDARD);
@@ -0,0 +1,84 @@
+package teammates.test.cases.storage;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.attributes.CourseAttributes;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.RequestScopedEntityCache;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link RequestScopedEntityCache}.
+ */
+public class RequestScopedEntityCacheTest extends BaseComponentTestCase {
+
+    private CoursesDb coursesDb = new CoursesDb();
+
+    @AfterMethod
+    public void endCache() {
+        RequestScopedEntityCache.end();
+    }
+
+    @Test
+    public void testInactiveCache() throws Exception {
+        CourseAttributes course = new CourseAttributes("RSECT.inactive", "Inactive Cache Course", "UTC");
+        coursesDb.createEntity(course);
+
+        ______TS("lookups are not counted when the cache is not started");
+
+        assertFalse(RequestScopedEntityCache.isActive());
+        coursesDb.getCourse(course.getId());
+        coursesDb.getCourse(course.getId());
+        assertEquals(0, RequestScopedEntityCache.getHitCount());
+        assertEquals(0, RequestScopedEntityCache.getMissCount());
+
+        coursesDb.deleteCourse(course.getId());
+    }
+
+    @Test
+    public void testReadThroughAndInvalidation() throws Exception {
+        CourseAttributes course = new CourseAttributes("RSECT.course", "Cached Course", "UTC");
+        coursesDb.createEntity(course);
+
+        RequestScopedEntityCache.start();
+
+        ______TS("repeated lookups are answered from the cache");
+
+        CourseAttributes first = coursesDb.getCourse(course.getId());
+        CourseAttributes second = coursesDb.getCourse(course.getId());
+        assertEquals(1, RequestScopedEntityCache.getMissCount());
+        assertEquals(1, RequestScopedEntityCache.getHitCount());
+        assertEquals(first.getName(), second.getName());
+
+        ______TS("callers receive copies of the cached value");
+
+        assertFalse(first == second);
+        first.setTimeZone("Asia/Singapore");
+        assertEquals("UTC", coursesDb.getCourse(course.getId()).getTimeZone());
+
+        ______TS("non-existent entities are cached too");
+
+        assertNull(coursesDb.getCourse("RSECT.non-existent"));
+        assertNull(coursesDb.getCourse("RSECT.non-existent"));
+        assertEquals(2, RequestScopedEntityCache.getMissCount());
+        assertEquals(3, RequestScopedEntityCache.getHitCount());
+
+        ______TS("writes through the same Db discard the cached values");
+
+        coursesDb.updateCourse(new CourseAttributes(course.getId(), "Renamed Course", "UTC"));
+        assertEquals("Renamed Course", coursesDb.getCourse(course.getId()).getName());
+        assertEquals(3, RequestScopedEntityCache.getMissCount());
+
+        coursesDb.deleteCourse(course.getId());
+        assertNull(coursesDb.getCourse(course.getId()));
+        assertEquals(4, RequestScopedEntityCache.getMissCount());
+
+        ______TS("ending the cache resets the counters");
+
+        RequestScopedEntityCache.end();
+        assertFalse(RequestScopedEntityCache.isActive());
+        assertEquals(0, RequestScopedEntityCache.getHitCount());
+    }
+
+}
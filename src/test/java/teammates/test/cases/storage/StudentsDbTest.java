@@ -3,6 +3,10 @@ package teammates.test.cases.storage;
 import static teammates.common.util.FieldValidator.COURSE_ID_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.attributes.StudentAttributes;
@@ -242,6 +246,97 @@ public class StudentsDbTest extends BaseComponentTestCase {
 
     }
 
+    @Test
+    public void testCreateAndUpdateStudentsInBatches() throws Exception {
+        String courseId = "batch-course";
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        for (int i = 0; i < 150; i++) {
+            students.add(new StudentAttributes("", "student" + i + "@batch.tmt", "Student " + i, "",
+                                               courseId, "Team " + i % 10, "Section " + i % 2));
+        }
+
+        ______TS("students not yet created are not found by email");
+
+        assertTrue(studentsDb.getStudentsForEmails(courseId, getEmails(students)).isEmpty());
+
+        ______TS("fail : invalid student, none of the students is created");
+
+        StudentAttributes invalidStudent = new StudentAttributes("", "invalid email", "Invalid Student", "",
+                                                                 courseId, "Team 0", "Section 0");
+        List<StudentAttributes> studentsWithInvalidStudent = new ArrayList<StudentAttributes>(students);
+        studentsWithInvalidStudent.add(invalidStudent);
+        try {
+            studentsDb.createNewStudentsWithoutSearchability(studentsWithInvalidStudent);
+            signalFailureToDetectException();
+        } catch (InvalidParametersException e) {
+            AssertHelper.assertContains("invalid email", e.getMessage());
+        }
+        assertTrue(studentsDb.getStudentsForEmails(courseId, getEmails(students)).isEmpty());
+
+        ______TS("success : students created over several batches");
+
+        List<StudentAttributes> createdStudents = studentsDb.createNewStudentsWithoutSearchability(students);
+
+        assertEquals(students.size(), createdStudents.size());
+        for (StudentAttributes createdStudent : createdStudents) {
+            assertNotNull(createdStudent.key);
+        }
+        assertEquals(students.size(), studentsDb.getStudentsForCourse(courseId).size());
+
+        ______TS("students just created are found by email, and other emails are not");
+
+        List<String> emails = new ArrayList<String>(Arrays.asList("student0@batch.tmt", "student149@batch.tmt"));
+        emails.add("non-existent@batch.tmt");
+        List<StudentAttributes> foundStudents = studentsDb.getStudentsForEmails(courseId, emails);
+        assertEquals(2, foundStudents.size());
+        for (StudentAttributes foundStudent : foundStudents) {
+            assertTrue(emails.contains(foundStudent.email));
+            assertEquals(courseId, foundStudent.course);
+        }
+        assertTrue(studentsDb.getStudentsForEmails("other-course", emails).isEmpty());
+
+        ______TS("success : students updated over several batches, matched by email");
+
+        List<StudentAttributes> studentsToUpdate = new ArrayList<StudentAttributes>();
+        for (StudentAttributes student : students) {
+            studentsToUpdate.add(new StudentAttributes("", student.email, "New " + student.name,
+                                                       "new comments", courseId, "New " + student.team, "New Section"));
+        }
+
+        List<StudentAttributes> updatedStudents = studentsDb.updateStudentsWithoutSearchability(courseId, studentsToUpdate);
+
+        assertEquals(students.size(), updatedStudents.size());
+        StudentAttributes updatedStudent = studentsDb.getStudentForEmail(courseId, "student1@batch.tmt");
+        assertEquals("New Student 1", updatedStudent.name);
+        assertEquals("new comments", updatedStudent.comments);
+        assertEquals("New Team 1", updatedStudent.team);
+        assertEquals("New Section", updatedStudent.section);
+
+        ______TS("fail : non-existent student, none of the students is updated");
+
+        StudentAttributes nonExistentStudent = new StudentAttributes("", "non-existent@batch.tmt", "Name", "",
+                                                                     courseId, "Team", "Section");
+        studentsToUpdate.get(0).name = "Not Updated";
+        studentsToUpdate.add(nonExistentStudent);
+        try {
+            studentsDb.updateStudentsWithoutSearchability(courseId, studentsToUpdate);
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            AssertHelper.assertContains(nonExistentStudent.email, e.getMessage());
+        }
+        assertEquals("New Student 0", studentsDb.getStudentForEmail(courseId, "student0@batch.tmt").name);
+
+        studentsDb.deleteStudentsForCourseWithoutDocument(courseId);
+    }
+
+    private static List<String> getEmails(List<StudentAttributes> students) {
+        List<String> emails = new ArrayList<String>();
+        for (StudentAttributes student : students) {
+            emails.add(student.email);
+        }
+        return emails;
+    }
+
     @SuppressWarnings("deprecation")
     @Test
     public void testDeleteStudent() throws InvalidParametersException, EntityDoesNotExistException {
@@ -0,0 +1,115 @@
+package teammates.test.cases.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.GroupReceiverListReader;
+import teammates.test.cases.BaseTestCase;
+
+/**
+ * SUT: {@link GroupReceiverListReader}.
+ */
+public class GroupReceiverListReaderTest extends BaseTestCase {
+
+    @Test
+    public void testReadNextReceiver() throws IOException {
+
+        ______TS("receivers are read in order, with surrounding whitespace removed");
+
+        assertEquals(Arrays.asList("alice@example.com", "bob@example.com", "carol@example.com"),
+                     readAll(" alice@example.com,bob@example.com ,\r\ncarol@example.com\n"));
+
+        ______TS("empty and whitespace-only entries are skipped");
+
+        assertEquals(Arrays.asList("alice@example.com", "bob@example.com"),
+                     readAll(",alice@example.com,,  ,bob@example.com,"));
+
+        ______TS("empty file");
+
+        assertEquals(new ArrayList<String>(), readAll(""));
+        assertEquals(new ArrayList<String>(), readAll(" , ,"));
+
+        ______TS("multibyte characters are decoded as UTF-8");
+
+        assertEquals(Arrays.asList("ütf8@exämple.com", "名前@example.com"),
+                     readAll("ütf8@exämple.com,名前@example.com"));
+
+        ______TS("no more receivers are read after the end of the file");
+
+        GroupReceiverListReader reader = getReader("alice@example.com", 0);
+        assertEquals("alice@example.com", reader.readNextReceiver());
+        assertNull(reader.readNextReceiver());
+        assertNull(reader.readNextReceiver());
+        reader.close();
+    }
+
+    @Test
+    public void testGetOffset() throws IOException {
+        String receiverList = "ütf8@exämple.com,,bob@example.com, 名前@example.com,";
+        byte[] bytes = receiverList.getBytes(Const.SystemParams.ENCODING);
+
+        ______TS("offset is the number of bytes read, past the separator of the last receiver");
+
+        GroupReceiverListReader reader = getReader(receiverList, 0);
+        assertEquals(0, reader.getOffset());
+        assertEquals("ütf8@exämple.com", reader.readNextReceiver());
+        long offsetAfterFirstReceiver = reader.getOffset();
+        assertEquals("ütf8@exämple.com,".getBytes(Const.SystemParams.ENCODING).length, offsetAfterFirstReceiver);
+        assertEquals("bob@example.com", reader.readNextReceiver());
+        long offsetAfterSecondReceiver = reader.getOffset();
+        assertEquals("名前@example.com", reader.readNextReceiver());
+        assertNull(reader.readNextReceiver());
+        assertEquals(bytes.length, reader.getOffset());
+        reader.close();
+
+        ______TS("reading resumed from an offset continues with the next receiver");
+
+        reader = getReader(bytes, offsetAfterFirstReceiver);
+        assertEquals(offsetAfterFirstReceiver, reader.getOffset());
+        assertEquals("bob@example.com", reader.readNextReceiver());
+        assertEquals(offsetAfterSecondReceiver, reader.getOffset());
+        reader.close();
+
+        reader = getReader(bytes, offsetAfterSecondReceiver);
+        assertEquals("名前@example.com", reader.readNextReceiver());
+        assertNull(reader.readNextReceiver());
+        reader.close();
+
+        ______TS("reading resumed from the end of the file has no more receivers");
+
+        reader = getReader(bytes, bytes.length);
+        assertNull(reader.readNextReceiver());
+        assertEquals(bytes.length, reader.getOffset());
+        reader.close();
+    }
+
+    private static List<String> readAll(String receiverList) throws IOException {
+        GroupReceiverListReader reader = getReader(receiverList, 0);
+        List<String> receivers = new ArrayList<String>();
+        for (String receiver = reader.readNextReceiver(); receiver != null; receiver = reader.readNextReceiver()) {
+            receivers.add(receiver);
+        }
+        reader.close();
+        return receivers;
+    }
+
+    private static GroupReceiverListReader getReader(String receiverList, long offset) throws IOException {
+        return getReader(receiverList.getBytes(Const.SystemParams.ENCODING), offset);
+    }
+
+    /**
+     * Returns a reader of {@code bytes} starting from {@code offset}, as the file would be streamed from that offset.
+     */
+    private static GroupReceiverListReader getReader(byte[] bytes, long offset) {
+        InputStream stream = new ByteArrayInputStream(bytes, (int) offset, bytes.length - (int) offset);
+        return new GroupReceiverListReader(stream, offset);
+    }
+
+}
@@ -0,0 +1,75 @@
+package teammates.test.cases.util;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.google.gson.reflect.TypeToken;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.util.JsonUtils;
+import teammates.test.cases.BaseTestCase;
+import teammates.test.driver.TestProperties;
+
+/**
+ * SUT: {@link JsonUtils}.
+ */
+public class JsonUtilsTest extends BaseTestCase {
+
+    private static final Type MAP_TYPE = new TypeToken<Map<String, String>>() { }.getType();
+
+    @Test
+    public void testToCompactJson() {
+        Map<String, String> map = new HashMap<String, String>();
+        map.put("key", "<value>");
+
+        ______TS("compact JSON has no whitespace and is not HTML-escaped");
+
+        String compactJson = JsonUtils.toCompactJson(map, MAP_TYPE);
+        assertEquals("{\"key\":\"<value>\"}", compactJson);
+
+        ______TS("compact and pretty-printed JSON are read back the same way");
+
+        assertEquals(map, JsonUtils.fromJson(compactJson, MAP_TYPE));
+        assertEquals(map, JsonUtils.fromJson(JsonUtils.toJson(map, MAP_TYPE), MAP_TYPE));
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        Map<String, String> map = new HashMap<String, String>();
+        map.put("key", "value");
+
+        ______TS("writing to a writer gives the compact JSON");
+
+        StringWriter writer = new StringWriter();
+        JsonUtils.toCompactJson(map, MAP_TYPE, writer);
+        assertEquals(JsonUtils.toCompactJson(map, MAP_TYPE), writer.toString());
+        assertEquals(map, JsonUtils.fromJson(writer.toString(), MAP_TYPE));
+
+        ______TS("reading from a reader gives the original object and leaves the reader open");
+
+        StringReader reader = new StringReader(writer.toString());
+        Map<String, String> read = JsonUtils.fromJson(reader, MAP_TYPE);
+        assertEquals(map, read);
+        assertEquals(-1, reader.read());
+
+        ______TS("a data bundle read from its file gives the same bundle as one read from a string");
+
+        BufferedReader fileReader =
+                new BufferedReader(new FileReader(TestProperties.TEST_DATA_FOLDER + "/typicalDataBundle.json"));
+        try {
+            DataBundle dataBundle = JsonUtils.fromJson(fileReader, DataBundle.class);
+            assertEquals(JsonUtils.toJson(getTypicalDataBundle()), JsonUtils.toJson(dataBundle));
+        } finally {
+            fileReader.close();
+        }
+    }
+
+}
@@ -11,6 +11,7 @@ import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 
 import com.google.appengine.api.log.dev.LocalLogService;
+import com.google.appengine.tools.development.testing.LocalBlobstoreServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalDatastoreServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalLogServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalMailServiceTestConfig;
@@ -75,8 +76,10 @@ public class GaeSimulation {
         localSearch.setPersistent(false);
         LocalModulesServiceTestConfig localModules = new LocalModulesServiceTestConfig();
         LocalLogServiceTestConfig localLog = new LocalLogServiceTestConfig();
+        // the local Google Cloud Storage stores its files in the local blobstore
+        LocalBlobstoreServiceTestConfig localBlobstore = new LocalBlobstoreServiceTestConfig();
         helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices,
-                                            localTasks, localSearch, localModules, localLog);
+                                            localTasks, localSearch, localModules, localLog, localBlobstore);
         helper.setUp();
 
         sc = new ServletRunner().newClient();
@@ -176,7 +179,22 @@ public class GaeSimulation {
      * @param parameters Parameters that appear in a HttpServletRequest received by the app.
      */
     public AutomatedAction getAutomatedActionObject(String uri, String... parameters) {
-        HttpServletRequest req = createWebRequest(uri, parameters);
+        return getAutomatedActionObject(createWebRequest(uri, parameters));
+    }
+
+    /**
+     * Returns an {@link AutomatedAction} object that matches the parameters given,
+     * run as the task queue would run the task named {@code taskName}.
+     *
+     * @param parameters Parameters that appear in a HttpServletRequest received by the app.
+     */
+    public AutomatedAction getAutomatedActionObjectForTask(String taskName, String uri, String... parameters) {
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("X-AppEngine-TaskName", taskName);
+        return getAutomatedActionObject(createWebRequest(uri, headers, parameters));
+    }
+
+    private AutomatedAction getAutomatedActionObject(HttpServletRequest req) {
         AutomatedAction action = new AutomatedActionFactory().getAction(req, null);
         action.setTaskQueuer(new MockTaskQueuer());
         action.setEmailSender(new MockEmailSender());
@@ -198,8 +216,15 @@ public class GaeSimulation {
     }
 
     private HttpServletRequest createWebRequest(String uri, String... parameters) {
+        return createWebRequest(uri, new HashMap<String, String>(), parameters);
+    }
+
+    private HttpServletRequest createWebRequest(String uri, Map<String, String> headers, String... parameters) {
 
         WebRequest request = new PostMethodWebRequest("http://localhost:8888" + uri);
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            request.setHeaderField(header.getKey(), header.getValue());
+        }
 
         Map<String, List<String>> paramMultiMap = new HashMap<String, List<String>>();
         for (int i = 0; i < parameters.length; i = i + 2) {
@@ -41,6 +41,11 @@ public class MockTaskQueuer extends TaskQueuer {
         tasksAdded.add(task);
     }
 
+    @Override
+    protected void addTasks(List<TaskWrapper> tasks) {
+        tasksAdded.addAll(tasks);
+    }
+
     @Override
     public List<TaskWrapper> getTasksAdded() {
         return tasksAdded;